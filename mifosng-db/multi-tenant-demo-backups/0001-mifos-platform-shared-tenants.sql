@@ -9,6 +9,11 @@ CREATE TABLE `mifosplatform-tenants`.`tenants` (
   `schema_server_port` varchar(10) NOT NULL DEFAULT '3306',
   `schema_username` varchar(100) NOT NULL DEFAULT 'root',
   `schema_password` varchar(100) NOT NULL DEFAULT 'mysql',
+  `pool_initial_size` int(5) NOT NULL DEFAULT 2,
+  `pool_min_idle` int(5) NOT NULL DEFAULT 1,
+  `pool_max_idle` int(5) NOT NULL DEFAULT 4,
+  `pool_max_active` int(5) NOT NULL DEFAULT 10,
+  `pool_max_wait` int(10) NOT NULL DEFAULT 30000,
   `timezone_id` int(11) DEFAULT NULL,
   `country_id` int(11) DEFAULT NULL,
   `joined_date` date DEFAULT NULL,
@@ -0,0 +1,2 @@
+-- supports keyset paging of clients in (display_name, id) order
+ALTER TABLE `m_client` ADD INDEX `display_name` (`display_name` ASC, `id` ASC);
@@ -0,0 +1,31 @@
+DROP TABLE IF EXISTS `m_deposit_interest_posting_failure`;
+DROP TABLE IF EXISTS `m_deposit_interest_posting_run`;
+
+CREATE TABLE `m_deposit_interest_posting_run` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `status_enum` smallint(5) NOT NULL,
+  `chunk_size` int(11) NOT NULL,
+  `total_accounts` int(11) NOT NULL,
+  `last_processed_account_id` bigint(20) DEFAULT NULL,
+  `processed_count` int(11) NOT NULL DEFAULT '0',
+  `failed_count` int(11) NOT NULL DEFAULT '0',
+  `started_date` datetime NOT NULL,
+  `lastmodified_date` datetime NOT NULL,
+  `completed_date` datetime DEFAULT NULL,
+  `error_message` varchar(500) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `status_enum` (`status_enum`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE `m_deposit_interest_posting_failure` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `run_id` bigint(20) NOT NULL,
+  `deposit_account_id` bigint(20) NOT NULL,
+  `error_message` varchar(500) DEFAULT NULL,
+  `failed_date` datetime NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `FKDIPF000000001` (`run_id`),
+  KEY `FKDIPF000000002` (`deposit_account_id`),
+  CONSTRAINT `FKDIPF000000001` FOREIGN KEY (`run_id`) REFERENCES `m_deposit_interest_posting_run` (`id`),
+  CONSTRAINT `FKDIPF000000002` FOREIGN KEY (`deposit_account_id`) REFERENCES `m_deposit_account` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
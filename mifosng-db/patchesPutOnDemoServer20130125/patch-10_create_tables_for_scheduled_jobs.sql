@@ -0,0 +1,40 @@
+DROP TABLE IF EXISTS `m_job_run_history`;
+DROP TABLE IF EXISTS `m_job`;
+
+-- lock_owner and lock_expiry_time hold the lease of the node running the job
+CREATE TABLE `m_job` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `name` varchar(50) NOT NULL,
+  `display_name` varchar(100) NOT NULL,
+  `cron_expression` varchar(50) NOT NULL,
+  `is_active` tinyint(1) NOT NULL DEFAULT '1',
+  `next_run_time` datetime DEFAULT NULL,
+  `lock_owner` varchar(100) DEFAULT NULL,
+  `lock_expiry_time` datetime DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `name` (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE `m_job_run_history` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `job_id` bigint(20) NOT NULL,
+  `trigger_type_enum` smallint(5) NOT NULL,
+  `status_enum` smallint(5) NOT NULL,
+  `node_id` varchar(100) NOT NULL,
+  `start_time` datetime NOT NULL,
+  `end_time` datetime DEFAULT NULL,
+  `duration_millis` bigint(20) DEFAULT NULL,
+  `rows_processed` bigint(20) DEFAULT NULL,
+  `error_message` varchar(500) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `FKJRH0000000001` (`job_id`),
+  CONSTRAINT `FKJRH0000000001` FOREIGN KEY (`job_id`) REFERENCES `m_job` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- cron expressions have a leading seconds field
+INSERT INTO `m_job` (`name`, `display_name`, `cron_expression`, `is_active`)
+VALUES ('DEPOSIT_INTEREST_POSTING', 'Post Interest For Deposit Accounts', '0 0 1 * * *', 1);
+
+insert into m_permission(grouping, code, entity_name, action_name, can_maker_checker)
+values ('jobs', 'READ_SCHEDULER', 'SCHEDULER', 'READ', 0),
+('jobs', 'EXECUTEJOB_SCHEDULER', 'SCHEDULER', 'EXECUTEJOB', 0);
@@ -0,0 +1,7 @@
+-- per tenant connection pool sizing, applied to the shared tenants database
+ALTER TABLE `mifosplatform-tenants`.`tenants`
+ADD COLUMN `pool_initial_size` INT(5) NOT NULL DEFAULT 2 AFTER `schema_password`,
+ADD COLUMN `pool_min_idle` INT(5) NOT NULL DEFAULT 1 AFTER `pool_initial_size`,
+ADD COLUMN `pool_max_idle` INT(5) NOT NULL DEFAULT 4 AFTER `pool_min_idle`,
+ADD COLUMN `pool_max_active` INT(5) NOT NULL DEFAULT 10 AFTER `pool_max_idle`,
+ADD COLUMN `pool_max_wait` INT(10) NOT NULL DEFAULT 30000 AFTER `pool_max_active`;
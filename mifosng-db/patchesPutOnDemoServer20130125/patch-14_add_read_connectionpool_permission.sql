@@ -0,0 +1,2 @@
+insert into m_permission(grouping, code, entity_name, action_name, can_maker_checker)
+values ('configuration', 'READ_CONNECTIONPOOL', 'CONNECTIONPOOL', 'READ', 0);
@@ -0,0 +1,20 @@
+DROP TABLE IF EXISTS `acc_gl_account_daily_balance`;
+
+-- debit and credit totals of the journal per office, gl account and entry date, kept up to date as journal entries are written
+CREATE TABLE `acc_gl_account_daily_balance` (
+  `office_id` bigint(20) NOT NULL,
+  `account_id` bigint(20) NOT NULL,
+  `balance_date` date NOT NULL,
+  `debit_amount` decimal(19,6) NOT NULL DEFAULT '0.000000',
+  `credit_amount` decimal(19,6) NOT NULL DEFAULT '0.000000',
+  PRIMARY KEY (`office_id`,`account_id`,`balance_date`),
+  KEY `account_id_balance_date` (`account_id`,`balance_date`),
+  CONSTRAINT `FK_acc_gl_account_daily_balance_m_office` FOREIGN KEY (`office_id`) REFERENCES `m_office` (`id`),
+  CONSTRAINT `FK_acc_gl_account_daily_balance_acc_gl_account` FOREIGN KEY (`account_id`) REFERENCES `acc_gl_account` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+insert into acc_gl_account_daily_balance (office_id, account_id, balance_date, debit_amount, credit_amount)
+select je.office_id, je.account_id, je.entry_date,
+sum(if(je.type_enum = 2, je.amount, 0)), sum(if(je.type_enum = 1, je.amount, 0))
+from acc_gl_journal_entry je
+group by je.office_id, je.account_id, je.entry_date;
@@ -0,0 +1,2 @@
+insert into m_permission(grouping, code, entity_name, action_name, can_maker_checker)
+values ('accounting', 'REBUILD_GLACCOUNTBALANCE', 'GLACCOUNTBALANCE', 'REBUILD', 0);
@@ -0,0 +1,5 @@
+-- match the office, gl account and date range filters of the journal entry search, and its (entry_date, id) order
+ALTER TABLE `acc_gl_journal_entry`
+ADD INDEX `entry_date_id` (`entry_date`, `id`),
+ADD INDEX `office_id_entry_date_id` (`office_id`, `entry_date`, `id`),
+ADD INDEX `account_id_entry_date_id` (`account_id`, `entry_date`, `id`);
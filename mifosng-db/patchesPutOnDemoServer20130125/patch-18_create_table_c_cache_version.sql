@@ -0,0 +1,8 @@
+DROP TABLE IF EXISTS `c_cache_version`;
+
+-- version of each in-memory cache, bumped in the same transaction as the change that makes the cached data stale so that every node reloads it
+CREATE TABLE `c_cache_version` (
+  `cache_name` varchar(50) NOT NULL,
+  `version` bigint(20) NOT NULL,
+  PRIMARY KEY (`cache_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
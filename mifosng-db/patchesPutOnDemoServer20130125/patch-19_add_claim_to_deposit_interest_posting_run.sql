@@ -0,0 +1,10 @@
+-- a tenant has at most one run that can be resumed, and a run is only posted by the node holding its claim
+ALTER TABLE `m_deposit_interest_posting_run`
+ADD COLUMN `resumable` tinyint(1) DEFAULT NULL,
+ADD COLUMN `lock_owner` varchar(100) DEFAULT NULL,
+ADD COLUMN `lock_expiry_time` datetime DEFAULT NULL,
+ADD UNIQUE KEY `resumable` (`resumable`);
+
+UPDATE `m_deposit_interest_posting_run` r
+JOIN (select max(id) as id from `m_deposit_interest_posting_run` where status_enum in (100, 300)) latest on latest.id = r.id
+SET r.resumable = 1;
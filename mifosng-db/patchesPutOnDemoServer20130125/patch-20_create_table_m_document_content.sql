@@ -0,0 +1,14 @@
+DROP TABLE IF EXISTS `m_document_content`;
+
+-- number of documents referring to each stored piece of content, locked while documents are added and removed so content still in use is never deleted
+CREATE TABLE `m_document_content` (
+  `location_hash` char(64) NOT NULL,
+  `location` varchar(500) NOT NULL,
+  `reference_count` int(11) NOT NULL,
+  PRIMARY KEY (`location_hash`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+insert into m_document_content (location_hash, location, reference_count)
+select sha2(d.location, 256), d.location, count(*)
+from m_document d
+group by d.location;
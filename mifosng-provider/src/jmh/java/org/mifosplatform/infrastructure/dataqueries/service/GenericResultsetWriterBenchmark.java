@@ -0,0 +1,136 @@
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mifosplatform.infrastructure.core.serialization.ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson;
+import org.mifosplatform.infrastructure.dataqueries.data.GenericResultsetData;
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnHeader;
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetDataRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes a large synthetic report through {@link GenericResultsetJsonWriter}
+ * and {@link GenericResultsetCsvWriter}, one row at a time as it is read from
+ * the database, and for comparison builds the whole
+ * {@link GenericResultsetData} before serializing it as reports used to.
+ *
+ * Rows are generated as they are written and the output is discarded, so
+ * only the writers themselves use memory. Run with <code>-prof gc</code> to
+ * compare allocation and collections per report; the streaming writers should
+ * not need a larger heap as the number of rows grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xmx1g" })
+public class GenericResultsetWriterBenchmark {
+
+    @Param({ "10000", "100000", "500000" })
+    private int numberOfRows;
+
+    private final List<ResultsetColumnHeader> columnHeaders = Arrays.asList(header("id", "BIGINT"), header("display_name", "VARCHAR"),
+            header("office_name", "VARCHAR"), header("loan_balance", "DECIMAL"), header("disbursed_on", "DATE"));
+
+    @Benchmark
+    public Writer streamedJson() throws IOException {
+        final DiscardingWriter out = new DiscardingWriter();
+        final GenericResultsetJsonWriter writer = new GenericResultsetJsonWriter(out, false);
+        writer.columnHeaders(this.columnHeaders);
+        for (int i = 0; i < this.numberOfRows; i++) {
+            writer.row(row(i));
+        }
+        writer.finish();
+        return out;
+    }
+
+    @Benchmark
+    public Writer streamedCsv() throws IOException {
+        final DiscardingWriter out = new DiscardingWriter();
+        final GenericResultsetCsvWriter writer = new GenericResultsetCsvWriter(out);
+        writer.columnHeaders(this.columnHeaders);
+        for (int i = 0; i < this.numberOfRows; i++) {
+            writer.row(row(i));
+        }
+        writer.finish();
+        return out;
+    }
+
+    @Benchmark
+    public String cachedJson() {
+        final List<ResultsetDataRow> rows = new ArrayList<ResultsetDataRow>(this.numberOfRows);
+        for (int i = 0; i < this.numberOfRows; i++) {
+            final Object[] columnValues = row(i);
+            final List<String> values = new ArrayList<String>(columnValues.length);
+            for (final Object value : columnValues) {
+                values.add(GenericResultsetValues.asText(value));
+            }
+            final ResultsetDataRow row = new ResultsetDataRow();
+            row.setRow(values);
+            rows.add(row);
+        }
+        return new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson().serialize(new GenericResultsetData(
+                this.columnHeaders, rows));
+    }
+
+    private static Object[] row(final int i) {
+        return new Object[] { Long.valueOf(i), "Client number " + i, "Branch office " + (i % 50), BigDecimal.valueOf(i * 100L + 50, 2),
+                "2013-01-" + (10 + i % 20) };
+    }
+
+    private static ResultsetColumnHeader header(final String name, final String type) {
+        final ResultsetColumnHeader header = new ResultsetColumnHeader();
+        header.setColumnName(name);
+        header.setColumnType(type);
+        return header;
+    }
+
+    /**
+     * Counts what is written instead of keeping it.
+     */
+    private static final class DiscardingWriter extends Writer {
+
+        private long written = 0;
+
+        @Override
+        public void write(@SuppressWarnings("unused") final char[] cbuf, @SuppressWarnings("unused") final int off, final int len) {
+            this.written += len;
+        }
+
+        @Override
+        public void write(final String str, @SuppressWarnings("unused") final int off, final int len) {
+            this.written += len;
+        }
+
+        @Override
+        public void flush() {
+            //
+        }
+
+        @Override
+        public void close() {
+            //
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(this.written);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.mifosplatform.organisation.monetary.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares building up a total with a chain of immutable {@link Money}
+ * operations against a {@link MoneyAccumulator}, as done when summing
+ * installment components and charges in schedule and allocation loops.
+ *
+ * Run with <code>-prof gc</code> to compare the allocation rate per
+ * operation as well as the time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAccumulatorBenchmark {
+
+    @Param({ "12", "52", "360" })
+    private int numberOfInstallments;
+
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2);
+    private final List<Money> principal = new ArrayList<Money>();
+    private final List<Money> interest = new ArrayList<Money>();
+    private final List<Money> paid = new ArrayList<Money>();
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < this.numberOfInstallments; i++) {
+            this.principal.add(Money.of(this.currency, BigDecimal.valueOf(10000 + random.nextInt(100000), 2)));
+            this.interest.add(Money.of(this.currency, BigDecimal.valueOf(100 + random.nextInt(10000), 2)));
+            this.paid.add(Money.of(this.currency, BigDecimal.valueOf(random.nextInt(50000), 2)));
+        }
+    }
+
+    @Benchmark
+    public Money totalOutstandingWithMoney() {
+        Money total = Money.zero(this.currency);
+        for (int i = 0; i < this.numberOfInstallments; i++) {
+            total = total.plus(this.principal.get(i)).plus(this.interest.get(i)).minus(this.paid.get(i));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money totalOutstandingWithAccumulator() {
+        final MoneyAccumulator total = MoneyAccumulator.zero(this.currency);
+        for (int i = 0; i < this.numberOfInstallments; i++) {
+            total.plus(this.principal.get(i)).plus(this.interest.get(i)).minus(this.paid.get(i));
+        }
+        return total.toMoney();
+    }
+}
@@ -0,0 +1,165 @@
+package org.mifosplatform.portfolio.loanaccount.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.portfolio.charge.domain.Charge;
+import org.mifosplatform.portfolio.charge.domain.ChargeCalculationType;
+import org.mifosplatform.portfolio.charge.domain.ChargeTimeType;
+import org.mifosplatform.portfolio.loanproduct.domain.PeriodFrequencyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks replaying the transactions of a loan against its repayment
+ * schedule for each of the transaction processing strategies, over loans of
+ * different term length, repayment frequency and number of transactions.
+ *
+ * <code>fullReprocess</code> replays every transaction from disbursement;
+ * <code>backdatedReprocess</code> adds a back dated repayment and replays every
+ * transaction, as a loan loaded for the request does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanRepaymentScheduleTransactionProcessorBenchmark {
+
+    @Param({ "heavensfamily", "creocore", "mifosstyle", "rbi" })
+    private String strategy;
+
+    @Param({ "WEEKS", "MONTHS" })
+    private PeriodFrequencyType repaymentFrequencyType;
+
+    @Param({ "12", "52", "260" })
+    private int numberOfRepayments;
+
+    @Param({ "10", "100", "500" })
+    private int numberOfTransactions;
+
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2);
+    private final LocalDate disbursementDate = new LocalDate(2013, 1, 2);
+
+    private LoanRepaymentScheduleTransactionProcessor processor;
+    private final List<LoanRepaymentScheduleInstallment> installments = new ArrayList<LoanRepaymentScheduleInstallment>();
+    private final List<LoanTransaction> transactions = new ArrayList<LoanTransaction>();
+    private final Set<LoanCharge> charges = new HashSet<LoanCharge>();
+    private LocalDate maturityDate;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        this.processor = processorFor(this.strategy);
+
+        LocalDate fromDate = this.disbursementDate;
+        for (int i = 1; i <= this.numberOfRepayments; i++) {
+            final LocalDate dueDate = nextDueDate(fromDate);
+            this.installments.add(new LoanRepaymentScheduleInstallment(null, Integer.valueOf(i), fromDate, dueDate, BigDecimal
+                    .valueOf(1000), BigDecimal.valueOf(120), BigDecimal.ZERO, BigDecimal.ZERO));
+            fromDate = dueDate;
+        }
+        this.maturityDate = fromDate;
+
+        final Random setUpRandom = new Random(42);
+        this.charges.add(new LoanCharge(null, new BenchmarkCharge(), null, BigDecimal.valueOf(25), ChargeTimeType.SPECIFIED_DUE_DATE,
+                ChargeCalculationType.FLAT, randomDate(setUpRandom)));
+        this.charges.add(new LoanCharge(null, new BenchmarkCharge(), null, BigDecimal.valueOf(10), ChargeTimeType.SPECIFIED_DUE_DATE,
+                ChargeCalculationType.FLAT, randomDate(setUpRandom)));
+
+        // enough repayments in total to roughly repay the loan
+        final int averageRepayment = (this.numberOfRepayments * 1120) / this.numberOfTransactions;
+        for (int i = 0; i < this.numberOfTransactions; i++) {
+            final BigDecimal amount = BigDecimal.valueOf(averageRepayment / 2 + setUpRandom.nextInt(averageRepayment + 1));
+            this.transactions.add(LoanTransaction.repayment(Money.of(this.currency, amount), randomDate(setUpRandom)));
+        }
+        Collections.sort(this.transactions, new LoanTransactionComparator());
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpRandom() {
+        this.random = new Random(7);
+    }
+
+    @Benchmark
+    public List<LoanRepaymentScheduleInstallment> fullReprocess() {
+        this.processor.handleTransaction(this.disbursementDate, this.transactions, this.currency, this.installments, this.charges);
+        return this.installments;
+    }
+
+    @Benchmark
+    public List<LoanRepaymentScheduleInstallment> backdatedReprocess() {
+        final LoanTransaction backdated = addBackdatedRepayment();
+
+        this.processor.handleTransaction(this.disbursementDate, this.transactions, this.currency, this.installments, this.charges);
+
+        this.transactions.remove(backdated);
+        return this.installments;
+    }
+
+    /**
+     * Adds a repayment at a random date; callers remove it again to keep the
+     * number of transactions constant across invocations.
+     */
+    private LoanTransaction addBackdatedRepayment() {
+        final LoanTransaction backdated = LoanTransaction.repayment(Money.of(this.currency, BigDecimal.valueOf(100)),
+                randomDate(this.random));
+        this.transactions.add(backdated);
+        Collections.sort(this.transactions, new LoanTransactionComparator());
+        return backdated;
+    }
+
+    private LocalDate nextDueDate(final LocalDate fromDate) {
+        LocalDate dueDate = fromDate.plusMonths(1);
+        if (PeriodFrequencyType.WEEKS.equals(this.repaymentFrequencyType)) {
+            dueDate = fromDate.plusWeeks(1);
+        }
+        return dueDate;
+    }
+
+    private LocalDate randomDate(final Random source) {
+        final int days = Days.daysBetween(this.disbursementDate, this.maturityDate).getDays();
+        return this.disbursementDate.plusDays(1 + source.nextInt(days));
+    }
+
+    private static LoanRepaymentScheduleTransactionProcessor processorFor(final String strategy) {
+        LoanRepaymentScheduleTransactionProcessor processor = new MifosStyleLoanRepaymentScheduleTransactionProcessor();
+        if ("heavensfamily".equals(strategy)) {
+            processor = new HeavensFamilyLoanRepaymentScheduleTransactionProcessor();
+        } else if ("creocore".equals(strategy)) {
+            processor = new CreocoreLoanRepaymentScheduleTransactionProcessor();
+        } else if ("rbi".equals(strategy)) {
+            processor = new RBILoanRepaymentScheduleTransactionProcessor();
+        }
+        return processor;
+    }
+
+    /**
+     * A fee charge definition that is never persisted; the loan charges
+     * created from it carry their own amount, time and calculation type.
+     */
+    private static final class BenchmarkCharge extends Charge {
+        //
+    }
+}
@@ -0,0 +1,71 @@
+package org.mifosplatform.portfolio.loanaccount.loanschedule.domain;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.portfolio.loanproduct.domain.AmortizationMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.mifosplatform.portfolio.loanproduct.domain.PeriodFrequencyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the calculators the loan schedule generators are built from:
+ * the due dates of a schedule and the equal installment payment amount.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanScheduleCalculatorBenchmark {
+
+    @Param({ "WEEKS", "MONTHS" })
+    private PeriodFrequencyType repaymentFrequencyType;
+
+    @Param({ "12", "52", "260" })
+    private int numberOfRepayments;
+
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2);
+    private final LocalDate disbursementDate = new LocalDate(2013, 1, 2);
+    private final PmtCalculator pmtCalculator = new PmtCalculator();
+    private final ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
+
+    private LoanProductRelatedDetail loanScheduleInfo;
+    private BigDecimal periodInterestRate;
+
+    @Setup
+    public void setUp() {
+        this.loanScheduleInfo = new LoanProductRelatedDetail(this.currency, BigDecimal.valueOf(100000), BigDecimal.valueOf(2),
+                PeriodFrequencyType.MONTHS, BigDecimal.valueOf(24), InterestMethod.DECLINING_BALANCE,
+                InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD, Integer.valueOf(1), this.repaymentFrequencyType,
+                Integer.valueOf(this.numberOfRepayments), AmortizationMethod.EQUAL_INSTALLMENTS, BigDecimal.ZERO);
+        this.periodInterestRate = new PeriodicInterestRateCalculator().calculateFrom(this.loanScheduleInfo);
+    }
+
+    @Benchmark
+    public List<LocalDate> generateScheduledDates() {
+        return this.scheduledDateGenerator.generate(this.loanScheduleInfo, this.disbursementDate, null);
+    }
+
+    @Benchmark
+    public Money calculatePaymentForOnePeriod() {
+        return this.pmtCalculator.calculatePaymentForOnePeriodFrom(this.loanScheduleInfo, this.periodInterestRate, this.currency);
+    }
+}
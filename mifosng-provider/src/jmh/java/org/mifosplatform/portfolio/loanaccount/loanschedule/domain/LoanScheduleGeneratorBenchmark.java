@@ -0,0 +1,104 @@
+package org.mifosplatform.portfolio.loanaccount.loanschedule.domain;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.organisation.monetary.domain.ApplicationCurrency;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.portfolio.charge.domain.Charge;
+import org.mifosplatform.portfolio.charge.domain.ChargeCalculationType;
+import org.mifosplatform.portfolio.charge.domain.ChargeTimeType;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.mifosplatform.portfolio.loanproduct.domain.AmortizationMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.mifosplatform.portfolio.loanproduct.domain.PeriodFrequencyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks generating a loan schedule for each combination of interest and
+ * amortization method over loans of different term length and repayment
+ * frequency.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanScheduleGeneratorBenchmark {
+
+    @Param({ "FLAT", "DECLINING_BALANCE" })
+    private InterestMethod interestMethod;
+
+    @Param({ "EQUAL_INSTALLMENTS", "EQUAL_PRINCIPAL" })
+    private AmortizationMethod amortizationMethod;
+
+    @Param({ "WEEKS", "MONTHS" })
+    private PeriodFrequencyType repaymentFrequencyType;
+
+    @Param({ "12", "52", "260" })
+    private int numberOfRepayments;
+
+    private final ApplicationCurrency applicationCurrency = new ApplicationCurrency("USD", "US Dollar", 2, "currency.USD", "$");
+    private final MonetaryCurrency currency = new MonetaryCurrency("USD", 2);
+    private final LocalDate disbursementDate = new LocalDate(2013, 1, 2);
+    private final ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
+    private final Set<LoanCharge> loanCharges = new HashSet<LoanCharge>();
+
+    private LoanScheduleGenerator generator;
+    private LoanProductRelatedDetail loanScheduleInfo;
+
+    @Setup
+    public void setUp() {
+        this.generator = new DefaultLoanScheduleGeneratorFactory().create(this.interestMethod);
+
+        this.loanScheduleInfo = new LoanProductRelatedDetail(this.currency, BigDecimal.valueOf(100000), BigDecimal.valueOf(2),
+                PeriodFrequencyType.MONTHS, BigDecimal.valueOf(24), this.interestMethod,
+                InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD, Integer.valueOf(1), this.repaymentFrequencyType,
+                Integer.valueOf(this.numberOfRepayments), this.amortizationMethod, BigDecimal.ZERO);
+
+        // a fee due half way through the loan and one due on the final repayment
+        final List<LocalDate> scheduledDates = this.scheduledDateGenerator.generate(this.loanScheduleInfo, this.disbursementDate, null);
+        this.loanCharges.add(LoanCharge.createNewWithoutLoan(new BenchmarkCharge(), null, BigDecimal.valueOf(25),
+                ChargeTimeType.SPECIFIED_DUE_DATE, ChargeCalculationType.FLAT, scheduledDates.get(this.numberOfRepayments / 2)));
+        this.loanCharges.add(LoanCharge.createNewWithoutLoan(new BenchmarkCharge(), null, BigDecimal.valueOf(10),
+                ChargeTimeType.SPECIFIED_DUE_DATE, ChargeCalculationType.FLAT, scheduledDates.get(this.numberOfRepayments - 1)));
+    }
+
+    @Benchmark
+    public LoanScheduleData generateSchedule() {
+        return this.generator.generate(this.applicationCurrency, this.loanScheduleInfo, Integer.valueOf(this.numberOfRepayments),
+                this.repaymentFrequencyType, this.disbursementDate, null, null, this.loanCharges, true);
+    }
+
+    @Benchmark
+    public LoanScheduleData generateTotalsOnly() {
+        return this.generator.generate(this.applicationCurrency, this.loanScheduleInfo, Integer.valueOf(this.numberOfRepayments),
+                this.repaymentFrequencyType, this.disbursementDate, null, null, this.loanCharges, false);
+    }
+
+    /**
+     * A fee charge definition that is never persisted; the loan charges
+     * created from it carry their own amount, time and calculation type.
+     */
+    private static final class BenchmarkCharge extends Charge {
+        //
+    }
+}
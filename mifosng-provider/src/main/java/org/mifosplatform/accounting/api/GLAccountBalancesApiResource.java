@@ -0,0 +1,111 @@
+package org.mifosplatform.accounting.api;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.commons.lang.StringUtils;
+import org.mifosplatform.accounting.api.data.GLAccountBalanceData;
+import org.mifosplatform.accounting.api.data.GLAccountBalanceRebuildData;
+import org.mifosplatform.accounting.api.infrastructure.AccountingApiJsonSerializerService;
+import org.mifosplatform.accounting.api.infrastructure.DateParam;
+import org.mifosplatform.accounting.service.GLAccountBalanceReadPlatformService;
+import org.mifosplatform.accounting.service.GLAccountBalanceWritePlatformService;
+import org.mifosplatform.infrastructure.core.api.ApiParameterHelper;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+@Path("/glaccountbalances")
+@Component
+@Scope("singleton")
+public class GLAccountBalancesApiResource {
+
+    @Autowired
+    private GLAccountBalanceReadPlatformService glAccountBalanceReadPlatformService;
+
+    @Autowired
+    private GLAccountBalanceWritePlatformService glAccountBalanceWritePlatformService;
+
+    @Autowired
+    private AccountingApiJsonSerializerService apiJsonSerializerService;
+
+    private final String entityType = "JOURNAL_ENTRY";
+
+    @Autowired
+    private PlatformSecurityContext context;
+
+    /**
+     * Trial balance: the balance of every GL account with journal entries on
+     * or before the given date (today if not given), for one office or all
+     * offices
+     */
+    @GET
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveTrialBalance(@Context final UriInfo uriInfo, @QueryParam("officeId") final Long officeId,
+            @QueryParam("asOfDate") final DateParam asOfDateParam) {
+
+        context.authenticatedUser().validateHasReadPermission(entityType);
+
+        final Set<String> responseParameters = ApiParameterHelper.extractFieldsForResponseIfProvided(uriInfo.getQueryParameters());
+        final boolean prettyPrint = ApiParameterHelper.prettyPrint(uriInfo.getQueryParameters());
+
+        final List<GLAccountBalanceData> balances = this.glAccountBalanceReadPlatformService.retrieveTrialBalance(officeId,
+                asDate(asOfDateParam));
+        return this.apiJsonSerializerService.serializeGLAccountBalanceDataToJson(prettyPrint, responseParameters, balances);
+    }
+
+    @GET
+    @Path("{glAccountId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveGLAccountBalance(@PathParam("glAccountId") final Long glAccountId, @Context final UriInfo uriInfo,
+            @QueryParam("officeId") final Long officeId, @QueryParam("asOfDate") final DateParam asOfDateParam) {
+
+        context.authenticatedUser().validateHasReadPermission(entityType);
+
+        final Set<String> responseParameters = ApiParameterHelper.extractFieldsForResponseIfProvided(uriInfo.getQueryParameters());
+        final boolean prettyPrint = ApiParameterHelper.prettyPrint(uriInfo.getQueryParameters());
+
+        final GLAccountBalanceData balance = this.glAccountBalanceReadPlatformService.retrieveGLAccountBalance(glAccountId, officeId,
+                asDate(asOfDateParam));
+        return this.apiJsonSerializerService.serializeGLAccountBalanceDataToJson(prettyPrint, responseParameters, balance);
+    }
+
+    /**
+     * Recalculates the daily balances from the journal, for use after
+     * journal entries are loaded or corrected directly in the database
+     */
+    @POST
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String rebuildBalances(@QueryParam("command") final String commandParam) {
+
+        if (!(StringUtils.isNotBlank(commandParam) && commandParam.trim().equalsIgnoreCase("rebuild"))) { throw new UnrecognizedQueryParamException(
+                "command", commandParam); }
+
+        context.authenticatedUser().validateHasPermissionTo("REBUILD_GLACCOUNTBALANCE");
+
+        final int balancesWritten = this.glAccountBalanceWritePlatformService.rebuildBalances();
+        return this.apiJsonSerializerService.serializeGLAccountBalanceRebuildData(new GLAccountBalanceRebuildData(balancesWritten));
+    }
+
+    private static Date asDate(final DateParam dateParam) {
+        if (dateParam == null) { return null; }
+        return dateParam.getDate();
+    }
+}
@@ -1,7 +1,6 @@
 package org.mifosplatform.accounting.api;
 
 import java.util.Date;
-import java.util.List;
 import java.util.Set;
 
 import javax.ws.rs.Consumes;
@@ -13,6 +12,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
 import org.mifosplatform.accounting.api.commands.GLJournalEntryCommand;
@@ -24,6 +24,11 @@ import org.mifosplatform.accounting.api.infrastructure.DateParam;
 import org.mifosplatform.accounting.service.GLJournalEntryReadPlatformService;
 import org.mifosplatform.accounting.service.GLJournalEntryWritePlatformService;
 import org.mifosplatform.infrastructure.core.api.ApiParameterHelper;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mifosplatform.infrastructure.core.service.KeysetCursor;
+import org.mifosplatform.infrastructure.core.service.Page;
+import org.mifosplatform.infrastructure.core.service.SearchParameters;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
@@ -54,22 +59,28 @@ public class GLJournalEntriesApiResource {
     // private final static Logger logger =
     // LoggerFactory.getLogger(GLJournalEntriesApiResource.class);
 
+    /**
+     * Lists journal entries in (entryDate, id) order. Passing a
+     * <code>limit</code> or the <code>nextCursor</code> of a previous page as
+     * <code>after</code> returns a single page of entries; otherwise every
+     * matching entry is written out as it is read, for full period extracts.
+     */
     @GET
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
-    public String retrieveAllJournalEntries(@Context final UriInfo uriInfo, @QueryParam("officeId") final Long officeId,
+    public Response retrieveAllJournalEntries(@Context final UriInfo uriInfo, @QueryParam("officeId") final Long officeId,
             @QueryParam("glAccountId") final Long glAccountId,
             @QueryParam("portfolioGenerated") final Boolean portfolioGenerated, @QueryParam("fromDate") final DateParam fromDateParam,
-            @QueryParam("toDate") final DateParam toDateParam) {
-
-        // TODO: Vishwas Add pagination, approach at
-        // http://www.javaworld.com/community/node/8295 looks good
+            @QueryParam("toDate") final DateParam toDateParam, @QueryParam("limit") final Integer limit,
+            @QueryParam("after") final String after) {
 
         context.authenticatedUser().validateHasReadPermission(entityType);
 
+        if (limit != null && limit.intValue() < 1) { throw new UnrecognizedQueryParamException("limit", limit.toString()); }
+        final KeysetCursor cursor = KeysetCursor.decode("after", after);
+
         final Set<String> responseParameters = ApiParameterHelper.extractFieldsForResponseIfProvided(uriInfo.getQueryParameters());
         final boolean prettyPrint = ApiParameterHelper.prettyPrint(uriInfo.getQueryParameters());
-        List<GLJournalEntryData> glJournalEntryDatas = null;
         // get dates from date params
         Date fromDate = null;
         if (fromDateParam != null) {
@@ -79,9 +90,21 @@ public class GLJournalEntriesApiResource {
         if (toDateParam != null) {
             toDate = toDateParam.getDate();
         }
-        glJournalEntryDatas = this.glJournalEntryReadPlatformService.retrieveAllGLJournalEntries(officeId, glAccountId,
-                portfolioGenerated, fromDate, toDate);
-        return this.apiJsonSerializerService.serializeGLJournalEntryDataToJson(prettyPrint, responseParameters, glJournalEntryDatas);
+
+        if (limit != null || cursor != null) {
+            final int maxResults = limit == null ? SearchParameters.DEFAULT_LIMIT : Math.min(limit.intValue(), SearchParameters.MAX_LIMIT);
+            final Page<GLJournalEntryData> glJournalEntryDatas = this.glJournalEntryReadPlatformService.retrieveGLJournalEntries(officeId,
+                    glAccountId, portfolioGenerated, fromDate, toDate, maxResults, cursor);
+            return Response.ok()
+                    .entity(this.apiJsonSerializerService.serializeGLJournalEntryDataToJson(prettyPrint, responseParameters, glJournalEntryDatas))
+                    .build();
+        }
+
+        final JdbcRowStream<GLJournalEntryData> glJournalEntryDatas = this.glJournalEntryReadPlatformService.streamGLJournalEntries(
+                officeId, glAccountId, portfolioGenerated, fromDate, toDate);
+        return Response.ok()
+                .entity(this.apiJsonSerializerService.serializeGLJournalEntryDataToJson(prettyPrint, responseParameters, glJournalEntryDatas))
+                .build();
     }
 
     @GET
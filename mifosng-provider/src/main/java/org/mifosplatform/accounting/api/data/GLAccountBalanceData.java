@@ -0,0 +1,49 @@
+package org.mifosplatform.accounting.api.data;
+
+import java.math.BigDecimal;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.infrastructure.core.data.EnumOptionData;
+
+/**
+ * Immutable object representing the balance of a General Ledger Account as of
+ * a date, for one office or (when officeId is null) for all offices
+ * 
+ * Note: no getter/setters required as google-gson will produce json from fields
+ * of object.
+ */
+public class GLAccountBalanceData {
+
+    @SuppressWarnings("unused")
+    private final Long glAccountId;
+    @SuppressWarnings("unused")
+    private final String glAccountName;
+    @SuppressWarnings("unused")
+    private final String glCode;
+    @SuppressWarnings("unused")
+    private final EnumOptionData glAccountClassification;
+    @SuppressWarnings("unused")
+    private final Long officeId;
+    @SuppressWarnings("unused")
+    private final LocalDate asOfDate;
+    @SuppressWarnings("unused")
+    private final BigDecimal debits;
+    @SuppressWarnings("unused")
+    private final BigDecimal credits;
+    @SuppressWarnings("unused")
+    private final BigDecimal balance;
+
+    public GLAccountBalanceData(final Long glAccountId, final String glAccountName, final String glCode,
+            final EnumOptionData glAccountClassification, final Long officeId, final LocalDate asOfDate, final BigDecimal debits,
+            final BigDecimal credits, final BigDecimal balance) {
+        this.glAccountId = glAccountId;
+        this.glAccountName = glAccountName;
+        this.glCode = glCode;
+        this.glAccountClassification = glAccountClassification;
+        this.officeId = officeId;
+        this.asOfDate = asOfDate;
+        this.debits = debits;
+        this.credits = credits;
+        this.balance = balance;
+    }
+}
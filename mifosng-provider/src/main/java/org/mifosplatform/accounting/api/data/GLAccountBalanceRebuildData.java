@@ -0,0 +1,14 @@
+package org.mifosplatform.accounting.api.data;
+
+/**
+ * Represents the result of rebuilding the daily GL account balances.
+ */
+public class GLAccountBalanceRebuildData {
+
+    @SuppressWarnings("unused")
+    private final int balancesWritten;
+
+    public GLAccountBalanceRebuildData(final int balancesWritten) {
+        this.balancesWritten = balancesWritten;
+    }
+}
@@ -13,7 +13,6 @@ import org.mifosplatform.infrastructure.core.data.EnumOptionData;
  */
 public class GLJournalEntryData {
 
-    @SuppressWarnings("unused")
     private final Long id;
     @SuppressWarnings("unused")
     private final Long officeId;
@@ -25,7 +24,6 @@ public class GLJournalEntryData {
     private final Long glAccountId;
     @SuppressWarnings("unused")
     private final EnumOptionData glAccountClassification;
-    @SuppressWarnings("unused")
     private final LocalDate entryDate;
     @SuppressWarnings("unused")
     private final EnumOptionData entryType;
@@ -74,4 +72,11 @@ public class GLJournalEntryData {
         this.reversed = reversed;
     }
 
+    public Long getId() {
+        return this.id;
+    }
+
+    public LocalDate getEntryDate() {
+        return this.entryDate;
+    }
 }
\ No newline at end of file
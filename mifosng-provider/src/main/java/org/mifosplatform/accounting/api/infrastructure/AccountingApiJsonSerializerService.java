@@ -3,11 +3,17 @@ package org.mifosplatform.accounting.api.infrastructure;
 import java.util.Collection;
 import java.util.Set;
 
+import javax.ws.rs.core.StreamingOutput;
+
+import org.mifosplatform.accounting.api.data.GLAccountBalanceData;
+import org.mifosplatform.accounting.api.data.GLAccountBalanceRebuildData;
 import org.mifosplatform.accounting.api.data.GLAccountData;
 import org.mifosplatform.accounting.api.data.GLClosureData;
 import org.mifosplatform.accounting.api.data.GLJournalEntryData;
 import org.mifosplatform.accounting.api.data.JournalEntryIdentifier;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mifosplatform.infrastructure.core.service.Page;
 
 
 public interface AccountingApiJsonSerializerService {
@@ -29,4 +35,16 @@ public interface AccountingApiJsonSerializerService {
     String serializeGLJournalEntryDataToJson(boolean prettyPrint, Set<String> responseParameters,
             Collection<GLJournalEntryData> journalEntryDatas);
 
+    String serializeGLJournalEntryDataToJson(boolean prettyPrint, Set<String> responseParameters, Page<GLJournalEntryData> journalEntryDatas);
+
+    StreamingOutput serializeGLJournalEntryDataToJson(boolean prettyPrint, Set<String> responseParameters,
+            JdbcRowStream<GLJournalEntryData> journalEntryDatas);
+
+    String serializeGLAccountBalanceDataToJson(boolean prettyPrint, Set<String> responseParameters, GLAccountBalanceData balanceData);
+
+    String serializeGLAccountBalanceDataToJson(boolean prettyPrint, Set<String> responseParameters,
+            Collection<GLAccountBalanceData> balanceDatas);
+
+    String serializeGLAccountBalanceRebuildData(GLAccountBalanceRebuildData rebuildData);
+
 }
\ No newline at end of file
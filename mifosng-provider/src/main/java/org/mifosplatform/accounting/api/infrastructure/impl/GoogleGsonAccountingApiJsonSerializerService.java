@@ -5,6 +5,10 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.ws.rs.core.StreamingOutput;
+
+import org.mifosplatform.accounting.api.data.GLAccountBalanceData;
+import org.mifosplatform.accounting.api.data.GLAccountBalanceRebuildData;
 import org.mifosplatform.accounting.api.data.GLAccountData;
 import org.mifosplatform.accounting.api.data.GLClosureData;
 import org.mifosplatform.accounting.api.data.GLJournalEntryData;
@@ -13,6 +17,8 @@ import org.mifosplatform.accounting.api.infrastructure.AccountingApiJsonSerializ
 import org.mifosplatform.infrastructure.core.api.PortfolioApiJsonSerializerService;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mifosplatform.infrastructure.core.service.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -38,6 +44,11 @@ public class GoogleGsonAccountingApiJsonSerializerService implements AccountingA
             "glAccountName", "glAccountId", "glAccountClassification", "entryDate", "entryType", "amount", "transactionId",
             "portfolioGenerated", "entityType", "entityId", "createdByUserId", "createdDate", "createdByUserName", "comments", "reversed"));
 
+    private static final Set<String> GL_ACCOUNT_BALANCE_DATA_PARAMETERS = new HashSet<String>(Arrays.asList("glAccountId",
+            "glAccountName", "glCode", "glAccountClassification", "officeId", "asOfDate", "debits", "credits", "balance"));
+
+    private static final Set<String> GL_ACCOUNT_BALANCE_REBUILD_DATA_PARAMETERS = new HashSet<String>(Arrays.asList("balancesWritten"));
+
     private final GoogleGsonSerializerHelper helper;
 
     @Autowired
@@ -103,4 +114,43 @@ public class GoogleGsonAccountingApiJsonSerializerService implements AccountingA
         return helper.serializedJsonFrom(gsonDeserializer, journalEntryDatas.toArray(new GLJournalEntryData[journalEntryDatas.size()]));
     }
 
+    @Override
+    public String serializeGLJournalEntryDataToJson(final boolean prettyPrint, final Set<String> responseParameters,
+            final Page<GLJournalEntryData> journalEntryDatas) {
+        final Gson gsonDeserializer = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(GL_JOURNAL_ENTRY_DATA_PARAMETERS,
+                prettyPrint, responseParameters);
+        return helper.serializedJsonFrom(gsonDeserializer, journalEntryDatas);
+    }
+
+    @Override
+    public StreamingOutput serializeGLJournalEntryDataToJson(final boolean prettyPrint, final Set<String> responseParameters,
+            final JdbcRowStream<GLJournalEntryData> journalEntryDatas) {
+        final Gson gsonDeserializer = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(GL_JOURNAL_ENTRY_DATA_PARAMETERS,
+                prettyPrint, responseParameters);
+        return helper.serializedJsonFrom(gsonDeserializer, prettyPrint, journalEntryDatas);
+    }
+
+    @Override
+    public String serializeGLAccountBalanceDataToJson(final boolean prettyPrint, final Set<String> responseParameters,
+            final GLAccountBalanceData balanceData) {
+        final Gson gsonDeserializer = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(
+                GL_ACCOUNT_BALANCE_DATA_PARAMETERS, prettyPrint, responseParameters);
+        return helper.serializedJsonFrom(gsonDeserializer, balanceData);
+    }
+
+    @Override
+    public String serializeGLAccountBalanceDataToJson(final boolean prettyPrint, final Set<String> responseParameters,
+            final Collection<GLAccountBalanceData> balanceDatas) {
+        final Gson gsonDeserializer = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(
+                GL_ACCOUNT_BALANCE_DATA_PARAMETERS, prettyPrint, responseParameters);
+        return helper.serializedJsonFrom(gsonDeserializer, balanceDatas.toArray(new GLAccountBalanceData[balanceDatas.size()]));
+    }
+
+    @Override
+    public String serializeGLAccountBalanceRebuildData(final GLAccountBalanceRebuildData rebuildData) {
+        final Gson gsonDeserializer = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(
+                GL_ACCOUNT_BALANCE_REBUILD_DATA_PARAMETERS, false, GL_ACCOUNT_BALANCE_REBUILD_DATA_PARAMETERS);
+        return helper.serializedJsonFrom(gsonDeserializer, rebuildData);
+    }
+
 }
\ No newline at end of file
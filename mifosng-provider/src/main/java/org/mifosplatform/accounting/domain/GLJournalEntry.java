@@ -34,7 +34,6 @@ public class GLJournalEntry extends AbstractAuditableCustom<AppUser, Long> {
     @JoinColumn(name = "reversal_id")
     private GLJournalEntry reversalJournalEntry;
 
-    @SuppressWarnings("unused")
     @Column(name = "transaction_id", nullable = false, length = 50)
     private String transactionId;
 
@@ -42,7 +41,6 @@ public class GLJournalEntry extends AbstractAuditableCustom<AppUser, Long> {
     @Column(name = "reversed", nullable = false)
     private boolean reversed = false;
 
-    @SuppressWarnings("unused")
     @Column(name = "portfolio_generated", nullable = false)
     private boolean portfolioGenerated = false;
 
@@ -56,15 +54,12 @@ public class GLJournalEntry extends AbstractAuditableCustom<AppUser, Long> {
     @Column(name = "amount", scale = 6, precision = 19, nullable = false)
     private BigDecimal amount;
 
-    @SuppressWarnings("unused")
     @Column(name = "description", length = 500)
     private String description;
 
-    @SuppressWarnings("unused")
     @Column(name = "entity_type", length = 50)
     private String entityType;
 
-    @SuppressWarnings("unused")
     @Column(name = "entity_id")
     private Long entityId;
 
@@ -118,6 +113,26 @@ public class GLJournalEntry extends AbstractAuditableCustom<AppUser, Long> {
         return this.amount;
     }
 
+    public String getTransactionId() {
+        return this.transactionId;
+    }
+
+    public boolean isPortfolioGenerated() {
+        return this.portfolioGenerated;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public String getEntityType() {
+        return this.entityType;
+    }
+
+    public Long getEntityId() {
+        return this.entityId;
+    }
+
     public void setReversalJournalEntry(GLJournalEntry reversalJournalEntry) {
         this.reversalJournalEntry = reversalJournalEntry;
     }
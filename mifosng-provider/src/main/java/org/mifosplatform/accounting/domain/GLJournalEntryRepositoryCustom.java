@@ -5,4 +5,15 @@ import java.util.List;
 public interface GLJournalEntryRepositoryCustom {
 
     List<GLJournalEntry> findFirstJournalEntryForAccount(long glAccountId);
+
+    /**
+     * Inserts new journal entries as a single JDBC batch on the current
+     * transaction's connection.
+     * 
+     * Entries are written directly and are not attached to the persistence
+     * context, so their ids are not populated. Use only for entries that are
+     * not referenced again within the same transaction (i.e. not for entries
+     * that are later linked as a reversal).
+     */
+    void insertAllInBatch(List<GLJournalEntry> journalEntries);
 }
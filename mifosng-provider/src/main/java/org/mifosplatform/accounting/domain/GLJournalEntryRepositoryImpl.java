@@ -1,18 +1,38 @@
 package org.mifosplatform.accounting.domain;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.List;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class GLJournalEntryRepositoryImpl implements GLJournalEntryRepositoryCustom {
 
+    private static final String INSERT_SQL = "insert into acc_gl_journal_entry (office_id, account_id, transaction_id, reversed, "
+            + "portfolio_generated, entry_date, type_enum, amount, description, entity_type, entity_id, createdby_id, created_date, "
+            + "lastmodifiedby_id, lastmodified_date) values (?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Autowired
+    private TenantAwareRoutingDataSource dataSource;
+
+    @Autowired
+    private AuditorAware<AppUser> auditorAware;
+
     @Override
     @SuppressWarnings("unchecked")
     public List<GLJournalEntry> findFirstJournalEntryForAccount(long glAccountId) {
@@ -21,4 +41,43 @@ public class GLJournalEntryRepositoryImpl implements GLJournalEntryRepositoryCus
                 .setParameter("glAccountId", glAccountId).setFirstResult(0).setMaxResults(1).getResultList();
         return journalEntries;
     }
+
+    @Override
+    public void insertAllInBatch(final List<GLJournalEntry> journalEntries) {
+        if (journalEntries.isEmpty()) { return; }
+
+        final Long auditorId = this.auditorAware.getCurrentAuditor().getId();
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        new JdbcTemplate(this.dataSource).batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                final GLJournalEntry journalEntry = journalEntries.get(i);
+                ps.setLong(1, journalEntry.getOffice().getId());
+                ps.setLong(2, journalEntry.getGlAccount().getId());
+                ps.setString(3, journalEntry.getTransactionId());
+                ps.setBoolean(4, journalEntry.isPortfolioGenerated());
+                ps.setDate(5, new java.sql.Date(journalEntry.getEntryDate().getTime()));
+                ps.setInt(6, journalEntry.getType());
+                ps.setBigDecimal(7, journalEntry.getAmount());
+                ps.setString(8, journalEntry.getDescription());
+                ps.setString(9, journalEntry.getEntityType());
+                if (journalEntry.getEntityId() == null) {
+                    ps.setNull(10, Types.BIGINT);
+                } else {
+                    ps.setLong(10, journalEntry.getEntityId());
+                }
+                ps.setLong(11, auditorId);
+                ps.setTimestamp(12, now);
+                ps.setLong(13, auditorId);
+                ps.setTimestamp(14, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return journalEntries.size();
+            }
+        });
+    }
 }
@@ -2,13 +2,18 @@ package org.mifosplatform.accounting.domain;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface ProductToGLAccountMappingRepository extends JpaRepository<ProductToGLAccountMapping, Long>,
         JpaSpecificationExecutor<ProductToGLAccountMapping> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     ProductToGLAccountMapping findByProductIdAndProductTypeAndFinancialAccountType(Long productId, int productType, int financialAccountType);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<ProductToGLAccountMapping> findByProductIdAndProductType(Long productId, int productType);
 }
@@ -0,0 +1,14 @@
+package org.mifosplatform.accounting.service;
+
+import java.util.Date;
+import java.util.List;
+
+import org.mifosplatform.accounting.api.data.GLAccountBalanceData;
+
+public interface GLAccountBalanceReadPlatformService {
+
+    List<GLAccountBalanceData> retrieveTrialBalance(Long officeId, Date asOfDate);
+
+    GLAccountBalanceData retrieveGLAccountBalance(long glAccountId, Long officeId, Date asOfDate);
+
+}
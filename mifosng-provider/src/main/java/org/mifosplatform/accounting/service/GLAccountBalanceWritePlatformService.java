@@ -0,0 +1,20 @@
+package org.mifosplatform.accounting.service;
+
+import java.util.List;
+
+import org.mifosplatform.accounting.domain.GLJournalEntry;
+
+public interface GLAccountBalanceWritePlatformService {
+
+    /**
+     * Adds the amounts of newly written journal entries to the daily balances
+     * of their office and gl account, on the current transaction.
+     */
+    void addToBalances(List<GLJournalEntry> journalEntries);
+
+    /**
+     * Recalculates all daily balances from the journal, returning the number
+     * of daily balances written.
+     */
+    int rebuildBalances();
+}
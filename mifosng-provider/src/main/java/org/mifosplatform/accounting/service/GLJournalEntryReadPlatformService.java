@@ -1,14 +1,27 @@
 package org.mifosplatform.accounting.service;
 
 import java.util.Date;
-import java.util.List;
 
 import org.mifosplatform.accounting.api.data.GLJournalEntryData;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mifosplatform.infrastructure.core.service.KeysetCursor;
+import org.mifosplatform.infrastructure.core.service.Page;
 
 public interface GLJournalEntryReadPlatformService {
 
-    List<GLJournalEntryData> retrieveAllGLJournalEntries(Long officeId, Long glAccountId, Boolean portfolioGenerated, Date fromDate,
-            Date toDate);
+    /**
+     * Returns up to <code>limit</code> entries in (entryDate, id) order,
+     * starting after the entry the cursor points to when one is passed.
+     */
+    Page<GLJournalEntryData> retrieveGLJournalEntries(Long officeId, Long glAccountId, Boolean portfolioGenerated, Date fromDate,
+            Date toDate, int limit, KeysetCursor after);
+
+    /**
+     * All matching entries in (entryDate, id) order, read as they are
+     * written out, for extracts of whole periods.
+     */
+    JdbcRowStream<GLJournalEntryData> streamGLJournalEntries(Long officeId, Long glAccountId, Boolean portfolioGenerated,
+            Date fromDate, Date toDate);
 
     GLJournalEntryData retrieveGLJournalEntryById(long glJournalEntryId);
 
@@ -0,0 +1,125 @@
+package org.mifosplatform.accounting.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.accounting.api.data.GLAccountBalanceData;
+import org.mifosplatform.accounting.domain.GLAccountType;
+import org.mifosplatform.accounting.exceptions.GLAccountNotFoundException;
+import org.mifosplatform.accounting.service.AccountingEnumerations;
+import org.mifosplatform.accounting.service.GLAccountBalanceReadPlatformService;
+import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads balances from the daily balances kept in acc_gl_account_daily_balance
+ * rather than summing the journal, so the cost of a balance depends on the
+ * number of days with entries and not on the number of entries.
+ */
+@Service
+public class GLAccountBalanceReadPlatformServiceImpl implements GLAccountBalanceReadPlatformService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public GLAccountBalanceReadPlatformServiceImpl(final TenantAwareRoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    private static final class GLAccountBalanceMapper implements RowMapper<GLAccountBalanceData> {
+
+        private final Long officeId;
+        private final LocalDate asOfDate;
+
+        public GLAccountBalanceMapper(final Long officeId, final LocalDate asOfDate) {
+            this.officeId = officeId;
+            this.asOfDate = asOfDate;
+        }
+
+        public String schema(final String balanceJoin) {
+            final StringBuilder sqlBuilder = new StringBuilder(400);
+            sqlBuilder.append(" glAccount.id as glAccountId, glAccount.name as glAccountName, glAccount.gl_code as glCode, ");
+            sqlBuilder.append(" glAccount.classification_enum as classification, ");
+            sqlBuilder.append(" sum(balance.debit_amount) as debits, sum(balance.credit_amount) as credits ");
+            sqlBuilder.append(" from acc_gl_account glAccount ");
+            sqlBuilder.append(balanceJoin);
+            sqlBuilder.append(" acc_gl_account_daily_balance balance on balance.account_id = glAccount.id and balance.balance_date <= ? ");
+            if (this.officeId != null) {
+                sqlBuilder.append(" and balance.office_id = ? ");
+            }
+            return sqlBuilder.toString();
+        }
+
+        public Object[] parameters(final Long glAccountId) {
+            final List<Object> parameters = new ArrayList<Object>(3);
+            parameters.add(this.asOfDate.toString());
+            if (this.officeId != null) {
+                parameters.add(this.officeId);
+            }
+            if (glAccountId != null) {
+                parameters.add(glAccountId);
+            }
+            return parameters.toArray();
+        }
+
+        @Override
+        public GLAccountBalanceData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+
+            final Long glAccountId = rs.getLong("glAccountId");
+            final String glAccountName = rs.getString("glAccountName");
+            final String glCode = rs.getString("glCode");
+            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
+            final BigDecimal debits = JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "debits");
+            final BigDecimal credits = JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "credits");
+
+            // balances are reported on the side the account type normally
+            // carries
+            final GLAccountType accountType = GLAccountType.fromInt(accountTypeId);
+            final BigDecimal balance;
+            if (accountType == GLAccountType.ASSET || accountType == GLAccountType.EXPENSE) {
+                balance = debits.subtract(credits);
+            } else {
+                balance = credits.subtract(debits);
+            }
+
+            return new GLAccountBalanceData(glAccountId, glAccountName, glCode, AccountingEnumerations.gLAccountType(accountTypeId),
+                    this.officeId, this.asOfDate, debits, credits, balance);
+        }
+    }
+
+    @Override
+    public List<GLAccountBalanceData> retrieveTrialBalance(final Long officeId, final Date asOfDate) {
+
+        final GLAccountBalanceMapper rm = new GLAccountBalanceMapper(officeId, asOfDateOrToday(asOfDate));
+        final String sql = "select " + rm.schema("join") + " group by glAccount.id order by glAccount.gl_code";
+
+        return this.jdbcTemplate.query(sql, rm, rm.parameters(null));
+    }
+
+    @Override
+    public GLAccountBalanceData retrieveGLAccountBalance(final long glAccountId, final Long officeId, final Date asOfDate) {
+        try {
+            final GLAccountBalanceMapper rm = new GLAccountBalanceMapper(officeId, asOfDateOrToday(asOfDate));
+            final String sql = "select " + rm.schema("left join") + " where glAccount.id = ? group by glAccount.id";
+
+            return this.jdbcTemplate.queryForObject(sql, rm, rm.parameters(glAccountId));
+        } catch (EmptyResultDataAccessException e) {
+            throw new GLAccountNotFoundException(glAccountId);
+        }
+    }
+
+    private static LocalDate asOfDateOrToday(final Date asOfDate) {
+        if (asOfDate == null) { return new LocalDate(); }
+        return new LocalDate(asOfDate);
+    }
+}
@@ -0,0 +1,144 @@
+package org.mifosplatform.accounting.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.joda.time.LocalDate;
+import org.mifosplatform.accounting.domain.GLJournalEntry;
+import org.mifosplatform.accounting.domain.JournalEntryType;
+import org.mifosplatform.accounting.service.GLAccountBalanceWritePlatformService;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains acc_gl_account_daily_balance, the debit and credit totals of the
+ * journal per office, gl account and entry date.
+ * 
+ * Reversals are journal entries in their own right, so reversing a
+ * transaction adds the opposite amounts rather than removing the original
+ * ones.
+ */
+@Service
+public class GLAccountBalanceWritePlatformServiceImpl implements GLAccountBalanceWritePlatformService {
+
+    private final static Logger logger = LoggerFactory.getLogger(GLAccountBalanceWritePlatformServiceImpl.class);
+
+    private static final String ADD_TO_BALANCE_SQL = "insert into acc_gl_account_daily_balance "
+            + "(office_id, account_id, balance_date, debit_amount, credit_amount) values (?, ?, ?, ?, ?) "
+            + "on duplicate key update debit_amount = debit_amount + values(debit_amount), "
+            + "credit_amount = credit_amount + values(credit_amount)";
+
+    private static final String REBUILD_BALANCES_SQL = "insert into acc_gl_account_daily_balance "
+            + "(office_id, account_id, balance_date, debit_amount, credit_amount) "
+            + "select je.office_id, je.account_id, je.entry_date, sum(if(je.type_enum = ?, je.amount, 0)), "
+            + "sum(if(je.type_enum = ?, je.amount, 0)) from acc_gl_journal_entry je "
+            + "group by je.office_id, je.account_id, je.entry_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public GLAccountBalanceWritePlatformServiceImpl(final TenantAwareRoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void addToBalances(final List<GLJournalEntry> journalEntries) {
+        if (journalEntries.isEmpty()) { return; }
+
+        // sorted so that concurrent transactions lock balance rows in the same
+        // order
+        final Map<BalanceKey, BigDecimal[]> amounts = new TreeMap<BalanceKey, BigDecimal[]>();
+        for (final GLJournalEntry journalEntry : journalEntries) {
+            final BalanceKey key = new BalanceKey(journalEntry.getOffice().getId(), journalEntry.getGlAccount().getId(), new LocalDate(
+                    journalEntry.getEntryDate()));
+            BigDecimal[] debitAndCredit = amounts.get(key);
+            if (debitAndCredit == null) {
+                debitAndCredit = new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO };
+                amounts.put(key, debitAndCredit);
+            }
+            final int index = journalEntry.isDebitEntry() ? 0 : 1;
+            debitAndCredit[index] = debitAndCredit[index].add(journalEntry.getAmount());
+        }
+
+        final List<BalanceKey> keys = new ArrayList<BalanceKey>(amounts.keySet());
+        this.jdbcTemplate.batchUpdate(ADD_TO_BALANCE_SQL, new BatchPreparedStatementSetter() {
+
+            @Override
+            public void setValues(final PreparedStatement ps, final int i) throws SQLException {
+                final BalanceKey key = keys.get(i);
+                final BigDecimal[] debitAndCredit = amounts.get(key);
+                ps.setLong(1, key.officeId);
+                ps.setLong(2, key.glAccountId);
+                ps.setDate(3, new Date(key.balanceDate.toDateMidnight().getMillis()));
+                ps.setBigDecimal(4, debitAndCredit[0]);
+                ps.setBigDecimal(5, debitAndCredit[1]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return keys.size();
+            }
+        });
+    }
+
+    @Transactional
+    @Override
+    public int rebuildBalances() {
+        final long startTime = System.currentTimeMillis();
+
+        this.jdbcTemplate.update("delete from acc_gl_account_daily_balance");
+        final int balancesWritten = this.jdbcTemplate.update(REBUILD_BALANCES_SQL, JournalEntryType.DEBIT.getValue(),
+                JournalEntryType.CREDIT.getValue());
+
+        logger.info("Rebuilt " + balancesWritten + " gl account daily balances in " + (System.currentTimeMillis() - startTime) + "ms");
+        return balancesWritten;
+    }
+
+    private static final class BalanceKey implements Comparable<BalanceKey> {
+
+        private final Long officeId;
+        private final Long glAccountId;
+        private final LocalDate balanceDate;
+
+        BalanceKey(final Long officeId, final Long glAccountId, final LocalDate balanceDate) {
+            this.officeId = officeId;
+            this.glAccountId = glAccountId;
+            this.balanceDate = balanceDate;
+        }
+
+        @Override
+        public int compareTo(final BalanceKey other) {
+            int result = this.officeId.compareTo(other.officeId);
+            if (result == 0) {
+                result = this.glAccountId.compareTo(other.glAccountId);
+            }
+            if (result == 0) {
+                result = this.balanceDate.compareTo(other.balanceDate);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof BalanceKey)) { return false; }
+            return compareTo((BalanceKey) obj) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * this.officeId.hashCode() + this.glAccountId.hashCode()) * 31 + this.balanceDate.hashCode();
+        }
+    }
+}
@@ -16,6 +16,7 @@ import org.mifosplatform.accounting.exceptions.GLAccountInvalidUpdateException.G
 import org.mifosplatform.accounting.exceptions.GLAccountNotFoundException;
 import org.mifosplatform.accounting.service.GLAccountCommandValidator;
 import org.mifosplatform.accounting.service.GLAccountWritePlatformService;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,12 +32,14 @@ public class GLAccountWritePlatformServiceJpaRepositoryImpl implements GLAccount
 
     private final GLAccountRepository glAccountRepository;
     private final GLJournalEntryRepository glJournalEntryRepository;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
     public GLAccountWritePlatformServiceJpaRepositoryImpl(final GLAccountRepository glAccountRepository,
-            final GLJournalEntryRepository glJournalEntryRepository) {
+            final GLJournalEntryRepository glJournalEntryRepository, final TemplateDataCache templateDataCache) {
         this.glAccountRepository = glAccountRepository;
         this.glJournalEntryRepository = glJournalEntryRepository;
+        this.templateDataCache = templateDataCache;
     }
 
     @Transactional
@@ -55,6 +58,8 @@ public class GLAccountWritePlatformServiceJpaRepositoryImpl implements GLAccount
                     command.getManualEntriesAllowed(), command.getClassification(), command.getUsage(), command.getDescription());
 
             this.glAccountRepository.saveAndFlush(glAccount);
+            // gl account options are part of the loan product template
+            this.templateDataCache.evictAllForCurrentTenant();
 
             return glAccount.getId();
         } catch (DataIntegrityViolationException dve) {
@@ -94,6 +99,7 @@ public class GLAccountWritePlatformServiceJpaRepositoryImpl implements GLAccount
         glAccount.update(command, parentGLAccount);
 
         this.glAccountRepository.saveAndFlush(glAccount);
+        this.templateDataCache.evictAllForCurrentTenant();
 
         return glAccount.getId();
     }
@@ -114,6 +120,7 @@ public class GLAccountWritePlatformServiceJpaRepositoryImpl implements GLAccount
         if (journalEntriesForAccount.size() > 0) { throw new GLAccountInvalidDeleteException(
                 GL_ACCOUNT_INVALID_DELETE_REASON.TRANSANCTIONS_LOGGED, glAccountId); }
         this.glAccountRepository.delete(glAccount);
+        this.templateDataCache.evictAllForCurrentTenant();
 
         return glAccountId;
     }
@@ -5,7 +5,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -16,6 +16,9 @@ import org.mifosplatform.accounting.service.AccountingEnumerations;
 import org.mifosplatform.accounting.service.GLJournalEntryReadPlatformService;
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mifosplatform.infrastructure.core.service.KeysetCursor;
+import org.mifosplatform.infrastructure.core.service.Page;
 import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -80,63 +83,87 @@ public class GLJournalEntryReadPlatformServiceImpl implements GLJournalEntryRead
     }
 
     @Override
-    public List<GLJournalEntryData> retrieveAllGLJournalEntries(Long officeId, Long glAccountId, Boolean portfolioGenerated, Date fromDate,
-            Date toDate) {
+    public Page<GLJournalEntryData> retrieveGLJournalEntries(final Long officeId, final Long glAccountId, final Boolean portfolioGenerated,
+            final Date fromDate, final Date toDate, final int limit, final KeysetCursor after) {
         GLJournalEntryMapper rm = new GLJournalEntryMapper();
 
-        String sql = "select " + rm.schema();
-        Object[] objectArray = new Object[4];
-        int arrayPos = 0;
+        final List<Object> paramList = new ArrayList<Object>();
+        String sql = "select " + rm.schema() + criteria(officeId, glAccountId, portfolioGenerated, fromDate, toDate, paramList);
+
+        if (after != null) {
+            // seek past the last entry of the previous page so deep pages
+            // cost the same as the first
+            sql += " and (journalEntry.entry_date > ? or (journalEntry.entry_date = ? and journalEntry.id > ?))";
+            paramList.add(after.getSortValue());
+            paramList.add(after.getSortValue());
+            paramList.add(after.getId());
+        }
+
+        // one more than asked for tells whether there is a next page
+        sql += " order by journalEntry.entry_date, journalEntry.id limit ?";
+        paramList.add(Integer.valueOf(limit + 1));
+
+        final List<GLJournalEntryData> journalEntries = this.jdbcTemplate.query(sql, rm, paramList.toArray());
+
+        String nextCursor = null;
+        if (journalEntries.size() > limit) {
+            journalEntries.remove(journalEntries.size() - 1);
+            final GLJournalEntryData last = journalEntries.get(journalEntries.size() - 1);
+            nextCursor = KeysetCursor.after(last.getEntryDate().toString(), last.getId()).encode();
+        }
+
+        return new Page<GLJournalEntryData>(journalEntries, nextCursor, null);
+    }
+
+    @Override
+    public JdbcRowStream<GLJournalEntryData> streamGLJournalEntries(final Long officeId, final Long glAccountId,
+            final Boolean portfolioGenerated, final Date fromDate, final Date toDate) {
+        GLJournalEntryMapper rm = new GLJournalEntryMapper();
+
+        final List<Object> paramList = new ArrayList<Object>();
+        final String sql = "select " + rm.schema() + criteria(officeId, glAccountId, portfolioGenerated, fromDate, toDate, paramList)
+                + " order by journalEntry.entry_date, journalEntry.id";
+
+        return JdbcRowStream.of(this.jdbcTemplate, sql, rm, paramList.toArray());
+    }
+
+    /*
+     * the filters match the leading columns of the (office_id, entry_date,
+     * id), (account_id, entry_date, id) and (entry_date, id) indexes
+     */
+    private static String criteria(final Long officeId, final Long glAccountId, final Boolean portfolioGenerated, final Date fromDate,
+            final Date toDate, final List<Object> paramList) {
+        final StringBuilder sqlBuilder = new StringBuilder(200);
 
         if (officeId != null && officeId != 0) {
-            sql += " and journalEntry.office_id = ?";
-            objectArray[arrayPos] = officeId;
-            arrayPos = arrayPos + 1;
+            sqlBuilder.append(" and journalEntry.office_id = ?");
+            paramList.add(officeId);
         }
 
         if (glAccountId != null && glAccountId != 0) {
-            sql += " and journalEntry.account_id = ?";
-            objectArray[arrayPos] = glAccountId;
-            arrayPos = arrayPos + 1;
+            sqlBuilder.append(" and journalEntry.account_id = ?");
+            paramList.add(glAccountId);
         }
 
-        if (fromDate != null || toDate != null) {
-            DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
-            String fromDateString = null;
-            String toDateString = null;
-            if (fromDate != null && toDate != null) {
-                sql += " and journalEntry.entry_date between ? and ? ";
-                fromDateString = df.format(fromDate);
-                toDateString = df.format(toDate);
-                objectArray[arrayPos] = fromDateString;
-                arrayPos = arrayPos + 1;
-                objectArray[arrayPos] = toDateString;
-                arrayPos = arrayPos + 1;
-            } else if (fromDate != null) {
-                sql += " and journalEntry.entry_date >= ? ";
-                fromDateString = df.format(fromDate);
-                objectArray[arrayPos] = fromDateString;
-                arrayPos = arrayPos + 1;
-            } else if (toDate != null) {
-                sql += " and journalEntry.entry_date <= ? ";
-                toDateString = df.format(toDate);
-                objectArray[arrayPos] = toDateString;
-                arrayPos = arrayPos + 1;
-            }
+        final DateFormat df = new SimpleDateFormat("yyyy-MM-dd");
+        if (fromDate != null) {
+            sqlBuilder.append(" and journalEntry.entry_date >= ?");
+            paramList.add(df.format(fromDate));
+        }
+        if (toDate != null) {
+            sqlBuilder.append(" and journalEntry.entry_date <= ?");
+            paramList.add(df.format(toDate));
         }
 
         if (portfolioGenerated != null) {
             if (portfolioGenerated) {
-                sql += " and journalEntry.portfolio_generated = 1";
+                sqlBuilder.append(" and journalEntry.portfolio_generated = 1");
             } else {
-                sql += " and journalEntry.portfolio_generated = 0";
+                sqlBuilder.append(" and journalEntry.portfolio_generated = 0");
             }
         }
 
-        sql += " order by journalEntry.entry_date";
-
-        Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        return this.jdbcTemplate.query(sql, rm, finalObjectArray);
+        return sqlBuilder.toString();
     }
 
     @Override
@@ -1,8 +1,11 @@
 package org.mifosplatform.accounting.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.RandomStringUtils;
 import org.apache.commons.lang.StringUtils;
@@ -26,6 +29,8 @@ import org.mifosplatform.accounting.exceptions.GLAccountNotFoundException;
 import org.mifosplatform.accounting.exceptions.GLJournalEntriesNotFoundException;
 import org.mifosplatform.accounting.exceptions.GLJournalEntryInvalidException;
 import org.mifosplatform.accounting.exceptions.GLJournalEntryInvalidException.GL_JOURNAL_ENTRY_INVALID_REASON;
+import org.mifosplatform.accounting.exceptions.ProductToGLAccountMappingNotFoundException;
+import org.mifosplatform.accounting.service.GLAccountBalanceWritePlatformService;
 import org.mifosplatform.accounting.service.GLJournalEntryCommandValidator;
 import org.mifosplatform.accounting.service.GLJournalEntryWritePlatformService;
 import org.mifosplatform.infrastructure.core.exception.PlatformDataIntegrityException;
@@ -49,16 +54,19 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
     private final GLJournalEntryRepository glJournalEntryRepository;
     private final OfficeRepository officeRepository;
     private final ProductToGLAccountMappingRepository accountMappingRepository;
+    private final GLAccountBalanceWritePlatformService glAccountBalanceWritePlatformService;
 
     @Autowired
     public GLJournalEntryWritePlatformServiceJpaRepositoryImpl(final GLClosureRepository glClosureRepository,
             final GLAccountRepository glAccountRepository, final GLJournalEntryRepository glJournalEntryRepository,
-            final OfficeRepository officeRepository, final ProductToGLAccountMappingRepository accountMappingRepository) {
+            final OfficeRepository officeRepository, final ProductToGLAccountMappingRepository accountMappingRepository,
+            final GLAccountBalanceWritePlatformService glAccountBalanceWritePlatformService) {
         this.glClosureRepository = glClosureRepository;
         this.officeRepository = officeRepository;
         this.glAccountRepository = glAccountRepository;
         this.glJournalEntryRepository = glJournalEntryRepository;
         this.accountMappingRepository = accountMappingRepository;
+        this.glAccountBalanceWritePlatformService = glAccountBalanceWritePlatformService;
     }
 
     @Transactional
@@ -78,9 +86,13 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
             Date entryDate = command.getEntryDate().toDateMidnight().toDate();
             String transactionId = generateTransactionId();
 
-            saveAllDebitOrCreditEntries(command, office, entryDate, command.getDebits(), transactionId, JournalEntryType.DEBIT);
-
-            saveAllDebitOrCreditEntries(command, office, entryDate, command.getCredits(), transactionId, JournalEntryType.CREDIT);
+            List<GLJournalEntry> journalEntries = new ArrayList<GLJournalEntry>();
+            addAllDebitOrCreditEntries(journalEntries, command, office, entryDate, command.getDebits(), transactionId,
+                    JournalEntryType.DEBIT);
+            addAllDebitOrCreditEntries(journalEntries, command, office, entryDate, command.getCredits(), transactionId,
+                    JournalEntryType.CREDIT);
+            this.glJournalEntryRepository.insertAllInBatch(journalEntries);
+            this.glAccountBalanceWritePlatformService.addToBalances(journalEntries);
 
             return transactionId;
         } catch (DataIntegrityViolationException dve) {
@@ -100,6 +112,7 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
 
         String reversalTransactionId = generateTransactionId();
 
+        List<GLJournalEntry> reversalJournalEntries = new ArrayList<GLJournalEntry>();
         for (GLJournalEntry journalEntry : journalEntries) {
             GLJournalEntry reversalJournalEntry;
             String reversalComment = "Reversal entry for Journal Entry with Entry Id  :" + journalEntry.getId() + " and transaction Id "
@@ -113,13 +126,14 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
                         reversalTransactionId, false, journalEntry.getEntryDate(), JournalEntryType.DEBIT, journalEntry.getAmount(),
                         reversalComment, null, null);
             }
-            // save the reversal entry
-            this.glJournalEntryRepository.saveAndFlush(reversalJournalEntry);
+            // save the reversal entry, the updated journal entry is flushed on
+            // commit
+            this.glJournalEntryRepository.save(reversalJournalEntry);
             journalEntry.setReversed(true);
             journalEntry.setReversalJournalEntry(reversalJournalEntry);
-            // save the updated journal entry
-            this.glJournalEntryRepository.saveAndFlush(journalEntry);
+            reversalJournalEntries.add(reversalJournalEntry);
         }
+        this.glAccountBalanceWritePlatformService.addToBalances(reversalJournalEntries);
         return reversalTransactionId;
     }
 
@@ -135,13 +149,18 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
     }
 
     /**
+     * All legs for the loan's new transactions are collected and written as a
+     * single batch, and the product's GL account mappings are looked up once
+     * rather than once per leg.
+     * 
      * @param loanDTO
-     * @param loanTransactions
      */
     private void createJournalEntriesUsingCashRules(LoanDTO loanDTO) {
         GLClosure latestGLClosure = glClosureRepository.getLatestGLClosureByBranch(loanDTO.getOfficeId());
         Office office = officeRepository.findOne(loanDTO.getOfficeId());
         Long loanProductId = loanDTO.getLoanProductId();
+        Map<CASH_ACCOUNTS_FOR_LOAN, GLAccount> linkedFinAccounts = getLinkedFinAccountsForLoanProduct(loanProductId);
+        List<GLJournalEntry> journalEntries = new ArrayList<GLJournalEntry>();
         // TODO: Check for accounting type
         for (LoanTransactionDTO loanTransactionDTO : loanDTO.getNewLoanTransactions()) {
             Date entryDate = loanTransactionDTO.getTransactionDate();
@@ -159,15 +178,17 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
             /*** Debit loan Portfolio and credit Fund source for Disbursal **/
             if (loanTransactionDTO.isDisbursement()) {
 
-                GLAccount loanPortfolioAccount = getLinkedFinAccountForLoanProduct(loanProductId, CASH_ACCOUNTS_FOR_LOAN.LOAN_PORTFOLIO);
-                GLAccount fundSourceAccount = getLinkedFinAccountForLoanProduct(loanProductId, CASH_ACCOUNTS_FOR_LOAN.FUND_SOURCE);
+                GLAccount loanPortfolioAccount = getLinkedFinAccount(linkedFinAccounts, loanProductId, CASH_ACCOUNTS_FOR_LOAN.LOAN_PORTFOLIO);
+                GLAccount fundSourceAccount = getLinkedFinAccount(linkedFinAccounts, loanProductId, CASH_ACCOUNTS_FOR_LOAN.FUND_SOURCE);
 
                 BigDecimal disbursalAmount = loanTransactionDTO.getAmount();
-                createDebitJournalEntryForLoanProduct(office, loanPortfolioAccount, loanId, transactionId, entryDate, disbursalAmount);
-                createCreditJournalEntryForLoanProduct(office, fundSourceAccount, loanId, transactionId, entryDate, disbursalAmount);
+                journalEntries.add(createDebitJournalEntryForLoanProduct(office, loanPortfolioAccount, loanId, transactionId, entryDate,
+                        disbursalAmount));
+                journalEntries.add(createCreditJournalEntryForLoanProduct(office, fundSourceAccount, loanId, transactionId, entryDate,
+                        disbursalAmount));
             } else if (loanTransactionDTO.isRepayment() || loanTransactionDTO.isRepaymentAtDisbursement() || loanTransactionDTO.isContra()) {
-                createJournalEntriesForRepaymentOrContraUsingCashRules(office, loanProductId, loanTransactionDTO, entryDate, transactionId,
-                        loanId);
+                createJournalEntriesForRepaymentOrContraUsingCashRules(journalEntries, linkedFinAccounts, office, loanProductId,
+                        loanTransactionDTO, entryDate, transactionId, loanId);
             }/***
              * Only principal write off affects cash based accounting (interest
              * and fee write off need not be considered). Debit losses written
@@ -175,14 +196,18 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
              **/
             else if (loanTransactionDTO.isWriteOff()) {
                 BigDecimal principalAmount = loanTransactionDTO.getPrincipal();
-                GLAccount lossesWrittenOffAccount = getLinkedFinAccountForLoanProduct(loanProductId,
+                GLAccount lossesWrittenOffAccount = getLinkedFinAccount(linkedFinAccounts, loanProductId,
                         CASH_ACCOUNTS_FOR_LOAN.LOSSES_WRITTEN_OFF);
-                createDebitJournalEntryForLoanProduct(office, lossesWrittenOffAccount, loanId, transactionId, entryDate, principalAmount);
+                journalEntries.add(createDebitJournalEntryForLoanProduct(office, lossesWrittenOffAccount, loanId, transactionId, entryDate,
+                        principalAmount));
 
-                GLAccount loanPortfolioAccount = getLinkedFinAccountForLoanProduct(loanProductId, CASH_ACCOUNTS_FOR_LOAN.LOAN_PORTFOLIO);
-                createCreditJournalEntryForLoanProduct(office, loanPortfolioAccount, loanId, transactionId, entryDate, principalAmount);
+                GLAccount loanPortfolioAccount = getLinkedFinAccount(linkedFinAccounts, loanProductId, CASH_ACCOUNTS_FOR_LOAN.LOAN_PORTFOLIO);
+                journalEntries.add(createCreditJournalEntryForLoanProduct(office, loanPortfolioAccount, loanId, transactionId, entryDate,
+                        principalAmount));
             }
         }
+        this.glJournalEntryRepository.insertAllInBatch(journalEntries);
+        this.glAccountBalanceWritePlatformService.addToBalances(journalEntries);
     }
 
     /**
@@ -194,6 +219,8 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
      * In case the loan transaction is a contra, all debits are turned into
      * credits and vice versa
      * 
+     * @param journalEntries
+     * @param linkedFinAccounts
      * @param office
      * @param loanProductId
      * @param loanTransaction
@@ -201,7 +228,8 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
      * @param transactionId
      * @param loanId
      */
-    private void createJournalEntriesForRepaymentOrContraUsingCashRules(Office office, Long loanProductId,
+    private void createJournalEntriesForRepaymentOrContraUsingCashRules(List<GLJournalEntry> journalEntries,
+            Map<CASH_ACCOUNTS_FOR_LOAN, GLAccount> linkedFinAccounts, Office office, Long loanProductId,
             LoanTransactionDTO loanTransactionDTO, Date entryDate, String transactionId, Long loanId) {
         BigDecimal principalAmount = loanTransactionDTO.getPrincipal();
         BigDecimal interestAmount = loanTransactionDTO.getInterest();
@@ -217,72 +245,71 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
 
         if (principalAmount != null && !(principalAmount.compareTo(BigDecimal.ZERO) == 0)) {
             totalDebitAmount = totalDebitAmount.add(principalAmount);
-
-            GLAccount loanPortfolioAccount = getLinkedFinAccountForLoanProduct(loanProductId, CASH_ACCOUNTS_FOR_LOAN.LOAN_PORTFOLIO);
-            if (isContraTransaction) {
-                createDebitJournalEntryForLoanProduct(office, loanPortfolioAccount, loanId, transactionId, entryDate, principalAmount);
-            } else {
-                createCreditJournalEntryForLoanProduct(office, loanPortfolioAccount, loanId, transactionId, entryDate, principalAmount);
-            }
+            GLAccount loanPortfolioAccount = getLinkedFinAccount(linkedFinAccounts, loanProductId, CASH_ACCOUNTS_FOR_LOAN.LOAN_PORTFOLIO);
+            journalEntries.add(createJournalEntryForLoanProduct(office, loanPortfolioAccount, loanId, transactionId, entryDate,
+                    principalAmount, isContraTransaction));
         }
-        if (principalAmount != null && !(interestAmount.compareTo(BigDecimal.ZERO) == 0)) {
+        if (interestAmount != null && !(interestAmount.compareTo(BigDecimal.ZERO) == 0)) {
             totalDebitAmount = totalDebitAmount.add(interestAmount);
-
-            GLAccount interestAccount = getLinkedFinAccountForLoanProduct(loanProductId, CASH_ACCOUNTS_FOR_LOAN.INTEREST_ON_LOANS);
-            if (isContraTransaction) {
-                createDebitJournalEntryForLoanProduct(office, interestAccount, loanId, transactionId, entryDate, interestAmount);
-            } else {
-                createCreditJournalEntryForLoanProduct(office, interestAccount, loanId, transactionId, entryDate, interestAmount);
-            }
+            GLAccount interestAccount = getLinkedFinAccount(linkedFinAccounts, loanProductId, CASH_ACCOUNTS_FOR_LOAN.INTEREST_ON_LOANS);
+            journalEntries.add(createJournalEntryForLoanProduct(office, interestAccount, loanId, transactionId, entryDate, interestAmount,
+                    isContraTransaction));
         }
         if (feesAmount != null && !(feesAmount.compareTo(BigDecimal.ZERO) == 0)) {
             totalDebitAmount = totalDebitAmount.add(feesAmount);
-
-            GLAccount incomeFromFeesAccount = getLinkedFinAccountForLoanProduct(loanProductId, CASH_ACCOUNTS_FOR_LOAN.INCOME_FROM_FEES);
-            if (isContraTransaction) {
-                createDebitJournalEntryForLoanProduct(office, incomeFromFeesAccount, loanId, transactionId, entryDate, feesAmount);
-            } else {
-                createCreditJournalEntryForLoanProduct(office, incomeFromFeesAccount, loanId, transactionId, entryDate, feesAmount);
-            }
+            GLAccount incomeFromFeesAccount = getLinkedFinAccount(linkedFinAccounts, loanProductId, CASH_ACCOUNTS_FOR_LOAN.INCOME_FROM_FEES);
+            journalEntries.add(createJournalEntryForLoanProduct(office, incomeFromFeesAccount, loanId, transactionId, entryDate,
+                    feesAmount, isContraTransaction));
         }
         if (penaltiesAmount != null && !(penaltiesAmount.compareTo(BigDecimal.ZERO) == 0)) {
             totalDebitAmount = totalDebitAmount.add(penaltiesAmount);
-
-            GLAccount incomeFromPenaltiesAccount = getLinkedFinAccountForLoanProduct(loanProductId,
+            GLAccount incomeFromPenaltiesAccount = getLinkedFinAccount(linkedFinAccounts, loanProductId,
                     CASH_ACCOUNTS_FOR_LOAN.INCOME_FROM_PENALTIES);
-            if (isContraTransaction) {
-                createDebitJournalEntryForLoanProduct(office, incomeFromPenaltiesAccount, loanId, transactionId, entryDate, penaltiesAmount);
-            } else {
-                createCreditJournalEntryForLoanProduct(office, incomeFromPenaltiesAccount, loanId, transactionId, entryDate,
-                        penaltiesAmount);
-            }
+            journalEntries.add(createJournalEntryForLoanProduct(office, incomeFromPenaltiesAccount, loanId, transactionId, entryDate,
+                    penaltiesAmount, isContraTransaction));
         }
-        GLAccount fundSourceAccount = getLinkedFinAccountForLoanProduct(loanProductId, CASH_ACCOUNTS_FOR_LOAN.FUND_SOURCE);
-        if (isContraTransaction) {
-            createCreditJournalEntryForLoanProduct(office, fundSourceAccount, loanId, transactionId, entryDate, totalDebitAmount);
-        } else {
-            createDebitJournalEntryForLoanProduct(office, fundSourceAccount, loanId, transactionId, entryDate, totalDebitAmount);
+        GLAccount fundSourceAccount = getLinkedFinAccount(linkedFinAccounts, loanProductId, CASH_ACCOUNTS_FOR_LOAN.FUND_SOURCE);
+        journalEntries.add(createJournalEntryForLoanProduct(office, fundSourceAccount, loanId, transactionId, entryDate, totalDebitAmount,
+                !isContraTransaction));
+    }
+
+    private Map<CASH_ACCOUNTS_FOR_LOAN, GLAccount> getLinkedFinAccountsForLoanProduct(Long loanProductId) {
+        Map<CASH_ACCOUNTS_FOR_LOAN, GLAccount> linkedFinAccounts = new EnumMap<CASH_ACCOUNTS_FOR_LOAN, GLAccount>(
+                CASH_ACCOUNTS_FOR_LOAN.class);
+        for (ProductToGLAccountMapping accountMapping : accountMappingRepository.findByProductIdAndProductType(loanProductId,
+                PortfolioProductType.LOAN.getValue())) {
+            CASH_ACCOUNTS_FOR_LOAN finAccountType = CASH_ACCOUNTS_FOR_LOAN.fromInt(accountMapping.getFinancialAccountType());
+            if (finAccountType != null) {
+                linkedFinAccounts.put(finAccountType, accountMapping.getGlAccount());
+            }
         }
+        return linkedFinAccounts;
     }
 
-    private GLAccount getLinkedFinAccountForLoanProduct(Long loanProductId, CASH_ACCOUNTS_FOR_LOAN finAccountType) {
-        ProductToGLAccountMapping accountMapping = accountMappingRepository.findByProductIdAndProductTypeAndFinancialAccountType(
-                loanProductId, PortfolioProductType.LOAN.getValue(), finAccountType.getValue());
-        return accountMapping.getGlAccount();
+    private GLAccount getLinkedFinAccount(Map<CASH_ACCOUNTS_FOR_LOAN, GLAccount> linkedFinAccounts, Long loanProductId,
+            CASH_ACCOUNTS_FOR_LOAN finAccountType) {
+        GLAccount glAccount = linkedFinAccounts.get(finAccountType);
+        if (glAccount == null) { throw new ProductToGLAccountMappingNotFoundException(PortfolioProductType.LOAN, loanProductId,
+                finAccountType.toString()); }
+        return glAccount;
     }
 
-    private void createCreditJournalEntryForLoanProduct(Office office, GLAccount account, Long loanId, String transactionId,
+    private GLJournalEntry createJournalEntryForLoanProduct(Office office, GLAccount account, Long loanId, String transactionId,
+            Date entryDate, BigDecimal amount, boolean isDebit) {
+        if (isDebit) { return createDebitJournalEntryForLoanProduct(office, account, loanId, transactionId, entryDate, amount); }
+        return createCreditJournalEntryForLoanProduct(office, account, loanId, transactionId, entryDate, amount);
+    }
+
+    private GLJournalEntry createCreditJournalEntryForLoanProduct(Office office, GLAccount account, Long loanId, String transactionId,
             Date entryDate, BigDecimal amount) {
-        GLJournalEntry journalEntry = GLJournalEntry.createNew(office, account, transactionId, true, entryDate, JournalEntryType.CREDIT,
-                amount, null, PortfolioProductType.LOAN.toString(), loanId);
-        glJournalEntryRepository.saveAndFlush(journalEntry);
+        return GLJournalEntry.createNew(office, account, transactionId, true, entryDate, JournalEntryType.CREDIT, amount, null,
+                PortfolioProductType.LOAN.toString(), loanId);
     }
 
-    private void createDebitJournalEntryForLoanProduct(Office office, GLAccount account, Long loanId, String transactionId, Date entryDate,
-            BigDecimal amount) {
-        GLJournalEntry journalEntry = GLJournalEntry.createNew(office, account, transactionId, true, entryDate, JournalEntryType.DEBIT,
-                amount, null, PortfolioProductType.LOAN.toString(), loanId);
-        glJournalEntryRepository.saveAndFlush(journalEntry);
+    private GLJournalEntry createDebitJournalEntryForLoanProduct(Office office, GLAccount account, Long loanId, String transactionId,
+            Date entryDate, BigDecimal amount) {
+        return GLJournalEntry.createNew(office, account, transactionId, true, entryDate, JournalEntryType.DEBIT, amount, null,
+                PortfolioProductType.LOAN.toString(), loanId);
     }
 
     /**
@@ -329,13 +356,14 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
     }
 
     /**
+     * @param journalEntries
      * @param command
      * @param office
      * @param entryDate
      * @param singleDebitOrCreditEntryCommands
      * @param transactionId
      */
-    private void saveAllDebitOrCreditEntries(GLJournalEntryCommand command, final Office office, Date entryDate,
+    private void addAllDebitOrCreditEntries(List<GLJournalEntry> journalEntries, GLJournalEntryCommand command, final Office office, Date entryDate,
             SingleDebitOrCreditEntryCommand[] singleDebitOrCreditEntryCommands, String transactionId, JournalEntryType type) {
         for (SingleDebitOrCreditEntryCommand singleDebitOrCreditEntryCommand : singleDebitOrCreditEntryCommands) {
             GLAccount glAccount = glAccountRepository.findOne(singleDebitOrCreditEntryCommand.getGlAccountId());
@@ -358,7 +386,7 @@ public class GLJournalEntryWritePlatformServiceJpaRepositoryImpl implements GLJo
             }
             GLJournalEntry glJournalEntry = GLJournalEntry.createNew(office, glAccount, transactionId, false, entryDate, type,
                     singleDebitOrCreditEntryCommand.getAmount(), comments, null, null);
-            glJournalEntryRepository.saveAndFlush(glJournalEntry);
+            journalEntries.add(glJournalEntry);
         }
     }
 
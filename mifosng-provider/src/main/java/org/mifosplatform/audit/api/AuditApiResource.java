@@ -1,7 +1,6 @@
 package org.mifosplatform.audit.api;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -13,6 +12,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.apache.commons.lang.StringUtils;
@@ -23,6 +23,7 @@ import org.mifosplatform.infrastructure.core.api.ApiParameterHelper;
 import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
 import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.mifosplatform.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
@@ -63,7 +64,7 @@ public class AuditApiResource {
 	@GET
 	@Consumes({ MediaType.APPLICATION_JSON })
 	@Produces({ MediaType.APPLICATION_JSON })
-	public String retrieveAuditEntries(
+	public StreamingOutput retrieveAuditEntries(
 			@Context final UriInfo uriInfo,
 			@QueryParam("actionName") final String actionName,
 			@QueryParam("entityName") final String entityName,
@@ -86,8 +87,8 @@ public class AuditApiResource {
 		final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper
 				.process(uriInfo.getQueryParameters());
 
-		final Collection<AuditData> auditEntries = this.auditReadPlatformService
-				.retrieveAuditEntries(extraCriteria, settings.isIncludeJson());
+		final JdbcRowStream<AuditData> auditEntries = this.auditReadPlatformService
+				.streamAuditEntries(extraCriteria, settings.isIncludeJson());
 
 		return this.toApiJsonSerializer.serialize(settings, auditEntries,
 				RESPONSE_DATA_PARAMETERS);
@@ -1,13 +1,12 @@
 package org.mifosplatform.audit.service;
 
-import java.util.Collection;
-
 import org.mifosplatform.audit.data.AuditData;
 import org.mifosplatform.audit.data.AuditSearchData;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
 
 public interface AuditReadPlatformService {
 
-    Collection<AuditData> retrieveAuditEntries(String extraCriteria, boolean includeJson);
+    JdbcRowStream<AuditData> streamAuditEntries(String extraCriteria, boolean includeJson);
 
     AuditData retrieveAuditEntry(Long auditId);
 
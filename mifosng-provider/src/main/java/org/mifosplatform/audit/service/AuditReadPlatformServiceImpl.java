@@ -11,6 +11,7 @@ import org.mifosplatform.audit.api.ProcessingResultLookup;
 import org.mifosplatform.audit.data.AuditData;
 import org.mifosplatform.audit.data.AuditSearchData;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
 import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.mifosplatform.useradministration.data.AppUserLookup;
@@ -78,7 +79,7 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
     }
 
     @Override
-    public Collection<AuditData> retrieveAuditEntries(String extraCriteria, boolean includeJson) {
+    public JdbcRowStream<AuditData> streamAuditEntries(String extraCriteria, boolean includeJson) {
         context.authenticatedUser();
 
         final AuditMapper rm = new AuditMapper();
@@ -87,7 +88,7 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
         if (StringUtils.isNotBlank(extraCriteria)) sql += " where (" + extraCriteria + ")";
         sql += " order by aud.id DESC";
         logger.info("sql: " + sql);
-        return this.jdbcTemplate.query(sql, rm, new Object[] {});
+        return JdbcRowStream.of(this.jdbcTemplate, sql, rm);
     }
 
     @Override
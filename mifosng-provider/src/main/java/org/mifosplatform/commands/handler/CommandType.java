@@ -0,0 +1,27 @@
+package org.mifosplatform.commands.handler;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares which command a {@link NewCommandSourceHandler} processes.
+ * 
+ * The <code>entity</code> and <code>action</code> match the entity and action
+ * names set on commands by
+ * {@link org.mifosplatform.commands.service.CommandWrapperBuilder}. Handlers of
+ * datatable entries use the entity {@link #DATATABLE}.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CommandType {
+
+    String DATATABLE = "DATATABLE";
+
+    String entity();
+
+    String action();
+}
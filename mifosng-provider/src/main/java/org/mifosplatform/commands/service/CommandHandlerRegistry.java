@@ -0,0 +1,193 @@
+package org.mifosplatform.commands.service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.mifosplatform.commands.domain.CommandWrapper;
+import org.mifosplatform.commands.exception.UnsupportedCommandException;
+import org.mifosplatform.commands.handler.CommandType;
+import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the {@link NewCommandSourceHandler} for a command.
+ *
+ * Handlers declare the command they process through {@link CommandType}. The
+ * lookup table is built once when the application context is refreshed, at
+ * which point every command produced by {@link CommandWrapperBuilder} is
+ * checked to have exactly one handler so gaps fail at startup rather than on
+ * first use.
+ */
+@Service
+public class CommandHandlerRegistry implements ApplicationListener<ContextRefreshedEvent> {
+
+    private final static Logger logger = LoggerFactory.getLogger(CommandHandlerRegistry.class);
+
+    private static final String UPDATE_MULTIPLE = "UPDATEMULTIPLE";
+    private static final String DELETE_MULTIPLE = "DELETEMULTIPLE";
+
+    private final ApplicationContext applicationContext;
+
+    /*
+     * entity name -> action name -> handler, both upper case. Replaced as a
+     * whole once built so readers never see a partially populated table.
+     */
+    private volatile Map<String, Map<String, NewCommandSourceHandler>> handlers = Collections.emptyMap();
+
+    @Autowired
+    public CommandHandlerRegistry(final ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void onApplicationEvent(@SuppressWarnings("unused") final ContextRefreshedEvent event) {
+        if (this.handlers.isEmpty()) {
+            this.handlers = registerHandlers();
+            verifyAllBuilderCommandsAreHandled();
+        }
+    }
+
+    public NewCommandSourceHandler findCommandHandler(final CommandWrapper wrapper) {
+
+        final String entityName = wrapper.isDatatableResource() ? CommandType.DATATABLE : wrapper.entityName();
+        String actionName = wrapper.actionName();
+        if (wrapper.isUpdateMultiple()) {
+            actionName = UPDATE_MULTIPLE;
+        } else if (wrapper.isDeleteMultiple()) {
+            actionName = DELETE_MULTIPLE;
+        }
+
+        NewCommandSourceHandler handler = lookup(entityName, actionName);
+        if (handler == null && entityName != null && actionName != null) {
+            // command names were historically matched ignoring case
+            handler = lookup(entityName.toUpperCase(), actionName.toUpperCase());
+        }
+
+        if (handler == null) { throw new UnsupportedCommandException(wrapper.commandName()); }
+
+        return handler;
+    }
+
+    private NewCommandSourceHandler lookup(final String entityName, final String actionName) {
+        final Map<String, NewCommandSourceHandler> handlersForEntity = this.handlers.get(entityName);
+        return handlersForEntity == null ? null : handlersForEntity.get(actionName);
+    }
+
+    private Map<String, Map<String, NewCommandSourceHandler>> registerHandlers() {
+
+        final Map<String, Map<String, NewCommandSourceHandler>> registered = new HashMap<String, Map<String, NewCommandSourceHandler>>();
+
+        final Map<String, NewCommandSourceHandler> handlerBeans = this.applicationContext.getBeansOfType(NewCommandSourceHandler.class);
+        for (final Map.Entry<String, NewCommandSourceHandler> handlerBean : handlerBeans.entrySet()) {
+            final NewCommandSourceHandler handler = handlerBean.getValue();
+            final CommandType commandType = AnnotationUtils.findAnnotation(AopUtils.getTargetClass(handler), CommandType.class);
+            if (commandType == null) { throw new IllegalStateException("Command handler '" + handlerBean.getKey()
+                    + "' is missing a @CommandType annotation."); }
+
+            final String entityName = commandType.entity().toUpperCase();
+            final String actionName = commandType.action().toUpperCase();
+
+            Map<String, NewCommandSourceHandler> handlersForEntity = registered.get(entityName);
+            if (handlersForEntity == null) {
+                handlersForEntity = new HashMap<String, NewCommandSourceHandler>();
+                registered.put(entityName, handlersForEntity);
+            }
+
+            if (handlersForEntity.put(actionName, handler) != null) { throw new IllegalStateException("More than one command handler for "
+                    + actionName + "_" + entityName); }
+        }
+
+        logger.info("Registered " + handlerBeans.size() + " command handlers.");
+
+        return registered;
+    }
+
+    private void verifyAllBuilderCommandsAreHandled() {
+
+        final Set<String> unhandled = new TreeSet<String>();
+        for (final CommandWrapper wrapper : allBuilderCommands()) {
+            try {
+                findCommandHandler(wrapper);
+            } catch (UnsupportedCommandException e) {
+                unhandled.add(wrapper.commandName());
+            }
+        }
+
+        if (!unhandled.isEmpty()) { throw new IllegalStateException("No command handler registered for commands: " + unhandled); }
+    }
+
+    /*
+     * Invokes every command method of the builder, once with all ids present
+     * and, where a method takes several ids, once with the last one absent
+     * (e.g. one-to-one vs one-to-many datatable entries).
+     */
+    private static List<CommandWrapper> allBuilderCommands() {
+
+        final List<CommandWrapper> wrappers = new ArrayList<CommandWrapper>();
+        for (final Method method : CommandWrapperBuilder.class.getDeclaredMethods()) {
+            if (!Modifier.isPublic(method.getModifiers()) || !CommandWrapperBuilder.class.equals(method.getReturnType())) {
+                continue;
+            }
+
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            int longParameterCount = 0;
+            for (final Class<?> parameterType : parameterTypes) {
+                if (Long.class.equals(parameterType)) {
+                    longParameterCount++;
+                }
+            }
+
+            addIfCommand(wrappers, method, argumentsFor(parameterTypes, false));
+            if (longParameterCount > 1) {
+                addIfCommand(wrappers, method, argumentsFor(parameterTypes, true));
+            }
+        }
+
+        return wrappers;
+    }
+
+    private static Object[] argumentsFor(final Class<?>[] parameterTypes, final boolean omitLastId) {
+        final Object[] arguments = new Object[parameterTypes.length];
+        int lastLongIndex = -1;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (Long.class.equals(parameterTypes[i])) {
+                arguments[i] = Long.valueOf(1);
+                lastLongIndex = i;
+            } else if (String.class.equals(parameterTypes[i])) {
+                arguments[i] = "placeholder";
+            }
+        }
+        if (omitLastId && lastLongIndex >= 0) {
+            arguments[lastLongIndex] = null;
+        }
+        return arguments;
+    }
+
+    private static void addIfCommand(final List<CommandWrapper> wrappers, final Method method, final Object[] arguments) {
+        try {
+            final CommandWrapperBuilder builder = (CommandWrapperBuilder) method.invoke(new CommandWrapperBuilder(), arguments);
+            final CommandWrapper wrapper = builder.build();
+            // skip methods such as withJson(..) that do not describe a command
+            if (wrapper.actionName() != null && wrapper.entityName() != null) {
+                wrappers.add(wrapper);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to inspect " + method, e);
+        }
+    }
+}
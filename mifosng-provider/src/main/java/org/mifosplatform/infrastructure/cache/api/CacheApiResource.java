@@ -0,0 +1,64 @@
+package org.mifosplatform.infrastructure.cache.api;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+
+import org.mifosplatform.infrastructure.cache.data.CacheStatisticsData;
+import org.mifosplatform.infrastructure.cache.service.CacheReadPlatformService;
+import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
+import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.mifosplatform.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+@Path("/caches")
+@Component
+@Scope("singleton")
+public class CacheApiResource {
+
+    private final Set<String> CACHE_STATISTICS_DATA_PARAMETERS = new HashSet<String>(Arrays.asList("collectedSince",
+            "secondLevelCacheHitCount", "secondLevelCacheMissCount", "secondLevelCachePutCount", "queryCacheHitCount",
+            "queryCacheMissCount", "queryCachePutCount", "entityLoadCount", "queryExecutionCount", "regions", "tenantCacheHitCount",
+            "tenantCacheMissCount", "tenantCacheSize"));
+
+    private final String resourceNameForPermissions = "CACHE";
+
+    private final PlatformSecurityContext context;
+    private final CacheReadPlatformService readPlatformService;
+    private final DefaultToApiJsonSerializer<CacheStatisticsData> toApiJsonSerializer;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+
+    @Autowired
+    public CacheApiResource(final PlatformSecurityContext context, final CacheReadPlatformService readPlatformService,
+            final DefaultToApiJsonSerializer<CacheStatisticsData> toApiJsonSerializer,
+            final ApiRequestParameterHelper apiRequestParameterHelper) {
+        this.context = context;
+        this.readPlatformService = readPlatformService;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+        this.apiRequestParameterHelper = apiRequestParameterHelper;
+    }
+
+    @GET
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveCacheStatistics(@Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
+
+        final CacheStatisticsData statistics = this.readPlatformService.retrieveCacheStatistics();
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, statistics, this.CACHE_STATISTICS_DATA_PARAMETERS);
+    }
+}
@@ -0,0 +1,31 @@
+package org.mifosplatform.infrastructure.cache.data;
+
+/**
+ * Immutable data object representing the usage of one second level cache
+ * region, i.e. one cached entity type, collection or query cache.
+ */
+public class CacheRegionData {
+
+    @SuppressWarnings("unused")
+    private final String name;
+    @SuppressWarnings("unused")
+    private final long hitCount;
+    @SuppressWarnings("unused")
+    private final long missCount;
+    @SuppressWarnings("unused")
+    private final long putCount;
+    @SuppressWarnings("unused")
+    private final long elementCountInMemory;
+    @SuppressWarnings("unused")
+    private final long sizeInMemory;
+
+    public CacheRegionData(final String name, final long hitCount, final long missCount, final long putCount,
+            final long elementCountInMemory, final long sizeInMemory) {
+        this.name = name;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCountInMemory = elementCountInMemory;
+        this.sizeInMemory = sizeInMemory;
+    }
+}
@@ -0,0 +1,63 @@
+package org.mifosplatform.infrastructure.cache.data;
+
+import java.util.Collection;
+
+import org.joda.time.DateTime;
+
+/**
+ * Immutable data object representing the hits and misses of the second level
+ * and query caches since statistics were last cleared.
+ * 
+ * Regions are shared by all tenants so the figures are for the whole
+ * platform. The tenant cache figures are those of the node serving the
+ * request.
+ */
+public class CacheStatisticsData {
+
+    @SuppressWarnings("unused")
+    private final DateTime collectedSince;
+    @SuppressWarnings("unused")
+    private final long secondLevelCacheHitCount;
+    @SuppressWarnings("unused")
+    private final long secondLevelCacheMissCount;
+    @SuppressWarnings("unused")
+    private final long secondLevelCachePutCount;
+    @SuppressWarnings("unused")
+    private final long queryCacheHitCount;
+    @SuppressWarnings("unused")
+    private final long queryCacheMissCount;
+    @SuppressWarnings("unused")
+    private final long queryCachePutCount;
+    @SuppressWarnings("unused")
+    private final long entityLoadCount;
+    @SuppressWarnings("unused")
+    private final long queryExecutionCount;
+    @SuppressWarnings("unused")
+    private final Collection<CacheRegionData> regions;
+    @SuppressWarnings("unused")
+    private final long tenantCacheHitCount;
+    @SuppressWarnings("unused")
+    private final long tenantCacheMissCount;
+    @SuppressWarnings("unused")
+    private final int tenantCacheSize;
+
+    public CacheStatisticsData(final DateTime collectedSince, final long secondLevelCacheHitCount, final long secondLevelCacheMissCount,
+            final long secondLevelCachePutCount, final long queryCacheHitCount, final long queryCacheMissCount,
+            final long queryCachePutCount, final long entityLoadCount, final long queryExecutionCount,
+            final Collection<CacheRegionData> regions, final long tenantCacheHitCount, final long tenantCacheMissCount,
+            final int tenantCacheSize) {
+        this.collectedSince = collectedSince;
+        this.secondLevelCacheHitCount = secondLevelCacheHitCount;
+        this.secondLevelCacheMissCount = secondLevelCacheMissCount;
+        this.secondLevelCachePutCount = secondLevelCachePutCount;
+        this.queryCacheHitCount = queryCacheHitCount;
+        this.queryCacheMissCount = queryCacheMissCount;
+        this.queryCachePutCount = queryCachePutCount;
+        this.entityLoadCount = entityLoadCount;
+        this.queryExecutionCount = queryExecutionCount;
+        this.regions = regions;
+        this.tenantCacheHitCount = tenantCacheHitCount;
+        this.tenantCacheMissCount = tenantCacheMissCount;
+        this.tenantCacheSize = tenantCacheSize;
+    }
+}
@@ -0,0 +1,8 @@
+package org.mifosplatform.infrastructure.cache.service;
+
+import org.mifosplatform.infrastructure.cache.data.CacheStatisticsData;
+
+public interface CacheReadPlatformService {
+
+    CacheStatisticsData retrieveCacheStatistics();
+}
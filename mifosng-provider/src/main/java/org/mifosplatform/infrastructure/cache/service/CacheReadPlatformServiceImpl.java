@@ -0,0 +1,55 @@
+package org.mifosplatform.infrastructure.cache.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.joda.time.DateTime;
+import org.mifosplatform.infrastructure.cache.data.CacheRegionData;
+import org.mifosplatform.infrastructure.cache.data.CacheStatisticsData;
+import org.mifosplatform.infrastructure.security.service.CachingTenantDetailsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CacheReadPlatformServiceImpl implements CacheReadPlatformService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CachingTenantDetailsService tenantDetailsService;
+
+    @Autowired
+    public CacheReadPlatformServiceImpl(final EntityManagerFactory entityManagerFactory,
+            final CachingTenantDetailsService tenantDetailsService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.tenantDetailsService = tenantDetailsService;
+    }
+
+    @Override
+    public CacheStatisticsData retrieveCacheStatistics() {
+
+        final Statistics statistics = ((HibernateEntityManagerFactory) this.entityManagerFactory).getSessionFactory().getStatistics();
+
+        final String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+
+        final Collection<CacheRegionData> regions = new ArrayList<CacheRegionData>(regionNames.length);
+        for (final String regionName : regionNames) {
+            final SecondLevelCacheStatistics region = statistics.getSecondLevelCacheStatistics(regionName);
+            if (region != null) {
+                regions.add(new CacheRegionData(regionName, region.getHitCount(), region.getMissCount(), region.getPutCount(), region
+                        .getElementCountInMemory(), region.getSizeInMemory()));
+            }
+        }
+
+        return new CacheStatisticsData(new DateTime(statistics.getStartTime()), statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount(), statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount(), statistics.getEntityLoadCount(),
+                statistics.getQueryExecutionCount(), regions, this.tenantDetailsService.getHitCount(),
+                this.tenantDetailsService.getMissCount(), this.tenantDetailsService.getSize());
+    }
+}
@@ -0,0 +1,95 @@
+package org.mifosplatform.infrastructure.cache.service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Reads and changes the version of the in-memory caches of the current tenant,
+ * as held in <code>c_cache_version</code>.
+ * 
+ * A cache remembers the version it loaded its data under and reloads when the
+ * version has moved on, so a change made through any node is seen by all of
+ * them. The version is changed with the caller's transaction, so it only moves
+ * on once the change that made the cached data stale is committed.
+ * 
+ * Versions read from the database are reused for
+ * <code>mifos.cache.versionCheckSeconds</code> (5 by default), so a cache
+ * costs at most one query per tenant in that time. A change made through this
+ * node is seen as soon as it is committed; one made through another node is
+ * seen here at most that many seconds later.
+ */
+@Service
+public class CacheVersionService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long versionCheckMillis;
+    private final ConcurrentMap<String, CheckedVersion> checkedVersions = new ConcurrentHashMap<String, CheckedVersion>();
+
+    @Autowired
+    public CacheVersionService(final TenantAwareRoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.versionCheckMillis = TimeUnit.SECONDS.toMillis(Math.max(0, Long.getLong("mifos.cache.versionCheckSeconds", 5).longValue()));
+    }
+
+    /**
+     * The current version of the cache, zero if it has never been changed.
+     */
+    public long versionOf(final String cacheName) {
+        final String key = keyOf(cacheName);
+        final long now = System.currentTimeMillis();
+
+        final CheckedVersion checked = this.checkedVersions.get(key);
+        if (checked != null && now - checked.checkedAt < this.versionCheckMillis) { return checked.version; }
+
+        final List<Long> versions = this.jdbcTemplate.queryForList("select version from c_cache_version where cache_name = ?",
+                Long.class, cacheName);
+        final long version = versions.isEmpty() ? 0L : versions.get(0).longValue();
+        this.checkedVersions.put(key, new CheckedVersion(version, now));
+        return version;
+    }
+
+    public void changeVersionOf(final String cacheName) {
+        this.jdbcTemplate.update("insert into c_cache_version (cache_name, version) values (?, 1) "
+                + "on duplicate key update version = version + 1", cacheName);
+
+        final String key = keyOf(cacheName);
+        this.checkedVersions.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // the version read until then is the one before the change
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(@SuppressWarnings("unused") final int status) {
+                    CacheVersionService.this.checkedVersions.remove(key);
+                }
+            });
+        }
+    }
+
+    private static String keyOf(final String cacheName) {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        return (tenant == null ? "" : tenant.getId()) + ":" + cacheName;
+    }
+
+    private static final class CheckedVersion {
+
+        private final long version;
+        private final long checkedAt;
+
+        CheckedVersion(final long version, final long checkedAt) {
+            this.version = version;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
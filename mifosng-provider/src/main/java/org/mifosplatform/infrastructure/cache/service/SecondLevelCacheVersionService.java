@@ -0,0 +1,171 @@
+package org.mifosplatform.infrastructure.cache.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the hibernate second level cache of each node in step with changes to
+ * cached entities made through any other node.
+ * 
+ * Every insert, update or delete of a cached entity or collection changes the
+ * version of the second level cache of the tenant in
+ * <code>c_cache_version</code>, once per transaction and along with the change
+ * itself. Requests and jobs call {@link #evictIfChangedForCurrentTenant()}
+ * before doing any work; a node that finds the version moved on since it last
+ * looked evicts its cached entities, collections and queries.
+ * 
+ * Versions are re-read at most every
+ * <code>mifos.cache.versionCheckSeconds</code> (see
+ * {@link CacheVersionService}), which bounds how long another node serves
+ * the state from before a change. Regions are shared by all tenants, so a
+ * change for one tenant evicts the cached entities of every tenant on the
+ * nodes that see it.
+ */
+@Service
+public class SecondLevelCacheVersionService implements InitializingBean {
+
+    private static final String CACHE_NAME = "secondLevelCache";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheVersionService cacheVersionService;
+    private final ConcurrentMap<Long, Long> evictedVersionsByTenant = new ConcurrentHashMap<Long, Long>();
+
+    /*
+     * bound to the transactions that already changed the version
+     */
+    private final Object versionChangedKey = new Object();
+
+    @Autowired
+    public SecondLevelCacheVersionService(final EntityManagerFactory entityManagerFactory, final CacheVersionService cacheVersionService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheVersionService = cacheVersionService;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        final SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) ((HibernateEntityManagerFactory) this.entityManagerFactory)
+                .getSessionFactory();
+        final EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+
+        final CachedEntityChangeListener listener = new CachedEntityChangeListener();
+        listeners.appendListeners(EventType.POST_INSERT, listener);
+        listeners.appendListeners(EventType.POST_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_DELETE, listener);
+        listeners.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        listeners.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    public void evictIfChangedForCurrentTenant() {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null) { return; }
+
+        final Long version = Long.valueOf(this.cacheVersionService.versionOf(CACHE_NAME));
+        final Long evictedVersion = this.evictedVersionsByTenant.put(tenant.getId(), version);
+        if (!version.equals(evictedVersion)) {
+            // also on first use, the cache may hold entities from before a
+            // change that was made while this node was not looking
+            final Cache cache = ((HibernateEntityManagerFactory) this.entityManagerFactory).getSessionFactory().getCache();
+            cache.evictEntityRegions();
+            cache.evictCollectionRegions();
+            cache.evictDefaultQueryRegion();
+            cache.evictQueryRegions();
+        }
+    }
+
+    void cachedEntityChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.cacheVersionService.changeVersionOf(CACHE_NAME);
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this.versionChangedKey)) { return; }
+
+        this.cacheVersionService.changeVersionOf(CACHE_NAME);
+        TransactionSynchronizationManager.bindResource(this.versionChangedKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+            @Override
+            public void afterCompletion(@SuppressWarnings("unused") final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SecondLevelCacheVersionService.this.versionChangedKey);
+            }
+        });
+    }
+
+    @SuppressWarnings("serial")
+    private final class CachedEntityChangeListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+            PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+        @Override
+        public void onPostInsert(final PostInsertEvent event) {
+            entityChanged(event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(final PostUpdateEvent event) {
+            entityChanged(event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(final PostDeleteEvent event) {
+            entityChanged(event.getPersister());
+        }
+
+        @Override
+        public void onPostRecreateCollection(final PostCollectionRecreateEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostUpdateCollection(final PostCollectionUpdateEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(final PostCollectionRemoveEvent event) {
+            collectionChanged(event);
+        }
+
+        private void entityChanged(final EntityPersister persister) {
+            if (persister.hasCache()) {
+                cachedEntityChanged();
+            }
+        }
+
+        private void collectionChanged(final AbstractCollectionEvent event) {
+            final PersistentCollection collection = event.getCollection();
+            if (collection.getRole() != null && event.getSession().getFactory().getCollectionPersister(collection.getRole()).hasCache()) {
+                cachedEntityChanged();
+            }
+        }
+    }
+}
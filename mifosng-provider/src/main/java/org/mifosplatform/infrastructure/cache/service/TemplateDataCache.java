@@ -0,0 +1,117 @@
+package org.mifosplatform.infrastructure.cache.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per tenant cache of the option lists offered on template requests, such as
+ * loan products, funds, charges and currencies, and of lookups over the same
+ * data, which only change when an administrator edits them.
+ *
+ * Each tenant's entries belong to the version of the template data cache held
+ * in the database by {@link CacheVersionService}. The command handlers and
+ * write services that change any of the cached data call
+ * {@link #evictAllForCurrentTenant()}, which moves the version on in the same
+ * transaction. Entries are only served while the version they were loaded
+ * under is still current, so a change made through any node is seen by all of
+ * them, and template responses can be tagged with
+ * {@link #versionTagForCurrentTenant()} and revalidated cheaply.
+ *
+ * The version itself is read from the database at most once every
+ * <code>mifos.cache.versionCheckSeconds</code> per tenant, and shared by every
+ * list of a template request and its tag; changes made through another node
+ * are seen within that interval.
+ *
+ * Only data that is the same for every user of a tenant belongs here; office
+ * options, for example, depend on the user's office hierarchy.
+ */
+@Service
+public class TemplateDataCache {
+
+    private static final String CACHE_NAME = "templateData";
+
+    private final CacheVersionService cacheVersionService;
+    private final ConcurrentMap<Long, TemplateData> templateDataByTenant = new ConcurrentHashMap<Long, TemplateData>();
+
+    @Autowired
+    public TemplateDataCache(final CacheVersionService cacheVersionService) {
+        this.cacheVersionService = cacheVersionService;
+    }
+
+    public interface Loader<T> {
+
+        T load();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key, final Loader<T> loader) {
+        final TemplateData templateData = templateDataForCurrentTenant();
+        if (templateData == null) { return loader.load(); }
+
+        T value = (T) templateData.valuesByKey.get(key);
+        if (value == null) {
+            value = loader.load();
+            if (value != null) {
+                templateData.valuesByKey.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Identifies the version of the current tenant's template data; it changes
+     * whenever the data is evicted through any node, and survives restarts.
+     */
+    public String versionTagForCurrentTenant() {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null) { return null; }
+
+        final long version = this.cacheVersionService.versionOf(CACHE_NAME);
+        return Long.toHexString(tenant.getId().longValue()) + "-" + Long.toHexString(version);
+    }
+
+    /**
+     * Evicts the current tenant's template data by moving its version on. Must
+     * be called inside the transaction making the change so that the version
+     * only moves on if the change is committed.
+     */
+    public void evictAllForCurrentTenant() {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null) { return; }
+
+        this.cacheVersionService.changeVersionOf(CACHE_NAME);
+        this.templateDataByTenant.remove(tenant.getId());
+    }
+
+    private TemplateData templateDataForCurrentTenant() {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null) { return null; }
+
+        final long version = this.cacheVersionService.versionOf(CACHE_NAME);
+        final TemplateData templateData = this.templateDataByTenant.get(tenant.getId());
+        if (templateData != null && templateData.version == version) { return templateData; }
+
+        final TemplateData loaded = new TemplateData(version);
+        if (templateData == null) {
+            final TemplateData existing = this.templateDataByTenant.putIfAbsent(tenant.getId(), loaded);
+            return existing != null && existing.version == version ? existing : loaded;
+        }
+        this.templateDataByTenant.replace(tenant.getId(), templateData, loaded);
+        return loaded;
+    }
+
+    private static final class TemplateData {
+
+        private final long version;
+        private final ConcurrentMap<String, Object> valuesByKey = new ConcurrentHashMap<String, Object>();
+
+        TemplateData(final long version) {
+            this.version = version;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.mifosplatform.infrastructure.codes.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
 import org.mifosplatform.infrastructure.codes.service.CodeWritePlatformService;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "CODE", action = "UPDATE")
 public class UpdateCodeCommandHandler implements NewCommandSourceHandler {
 
     private final CodeWritePlatformService writePlatformService;
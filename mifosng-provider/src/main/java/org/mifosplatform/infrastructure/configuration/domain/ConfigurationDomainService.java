@@ -4,4 +4,6 @@ public interface ConfigurationDomainService {
 
     boolean isMakerCheckerEnabledForTask(String taskPermissionCode);
 
+    void evictCachedConfigurationForCurrentTenant();
+
 }
@@ -1,37 +1,181 @@
 package org.mifosplatform.infrastructure.configuration.domain;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.persistence.EntityManagerFactory;
+
 import org.apache.commons.lang.StringUtils;
+import org.hibernate.Cache;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.mifosplatform.infrastructure.cache.service.CacheVersionService;
 import org.mifosplatform.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
 import org.mifosplatform.useradministration.domain.Permission;
 import org.mifosplatform.useradministration.domain.PermissionRepository;
+import org.mifosplatform.useradministration.domain.Role;
 import org.mifosplatform.useradministration.exception.PermissionNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Answers configuration questions asked on every command from an in-memory,
+ * per tenant snapshot of the permissions maker-checker flags and the global
+ * configuration properties.
+ * 
+ * The snapshot is loaded on first use and evicted by the command handlers that
+ * change permissions or global configuration. Eviction also clears
+ * permissions from the second level cache, as the permissions of datatables
+ * are added and removed with plain SQL that hibernate does not see.
+ * 
+ * Eviction changes the version of the configuration cache in the database
+ * along with the change itself. Each snapshot remembers the version it was
+ * loaded under and is reloaded once that version has moved on, so changes made
+ * through other nodes are seen and a snapshot loaded while a change was being
+ * committed does not outlive it. The version is only read from the database
+ * every few seconds (see {@link CacheVersionService}), so a change made
+ * through another node takes up to <code>mifos.cache.versionCheckSeconds</code>
+ * to be seen here; one made through this node is seen once committed.
+ */
 @Service
 public class ConfigurationDomainServiceJpa implements ConfigurationDomainService {
 
+    private static final String MAKER_CHECKER_CONFIGURATION_PROPERTY = "maker-checker";
+    private static final String CACHE_NAME = "configuration";
+
     private final PermissionRepository permissionRepository;
     private final GlobalConfigurationRepository globalConfigurationRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheVersionService cacheVersionService;
+
+    private final ConcurrentMap<Long, ConfigurationSnapshot> snapshotsByTenant = new ConcurrentHashMap<Long, ConfigurationSnapshot>();
 
     @Autowired
     public ConfigurationDomainServiceJpa(final PermissionRepository permissionRepository,
-            final GlobalConfigurationRepository globalConfigurationRepository) {
+            final GlobalConfigurationRepository globalConfigurationRepository, final EntityManagerFactory entityManagerFactory,
+            final CacheVersionService cacheVersionService) {
         this.permissionRepository = permissionRepository;
         this.globalConfigurationRepository = globalConfigurationRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheVersionService = cacheVersionService;
     }
 
     @Override
     public boolean isMakerCheckerEnabledForTask(final String taskPermissionCode) {
         if (StringUtils.isBlank(taskPermissionCode)) { throw new PermissionNotFoundException(taskPermissionCode); }
 
-        final Permission thisTask = this.permissionRepository.findOneByCode(taskPermissionCode);
-        if (thisTask == null) { throw new PermissionNotFoundException(taskPermissionCode); }
+        ConfigurationSnapshot snapshot = snapshot(false);
+
+        Boolean taskMakerCheckerEnabled = snapshot.makerCheckerEnabledForPermission(taskPermissionCode);
+        if (taskMakerCheckerEnabled == null) {
+            // permission may have been added since the snapshot was taken
+            snapshot = snapshot(true);
+            taskMakerCheckerEnabled = snapshot.makerCheckerEnabledForPermission(taskPermissionCode);
+        }
+        if (taskMakerCheckerEnabled == null) { throw new PermissionNotFoundException(taskPermissionCode); }
+
+        final Boolean makerCheckerEnabled = snapshot.configurationPropertyEnabled(MAKER_CHECKER_CONFIGURATION_PROPERTY);
+        if (makerCheckerEnabled == null) { throw new GlobalConfigurationPropertyNotFoundException(MAKER_CHECKER_CONFIGURATION_PROPERTY); }
+
+        return taskMakerCheckerEnabled.booleanValue() && makerCheckerEnabled.booleanValue();
+    }
+
+    @Override
+    public void evictCachedConfigurationForCurrentTenant() {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null) { return; }
+
+        final Long tenantId = tenant.getId();
+        this.cacheVersionService.changeVersionOf(CACHE_NAME);
+        this.snapshotsByTenant.remove(tenantId);
+        evictCachedPermissions();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a concurrent command could otherwise re-load uncommitted state
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(@SuppressWarnings("unused") final int status) {
+                    ConfigurationDomainServiceJpa.this.snapshotsByTenant.remove(tenantId);
+                    evictCachedPermissions();
+                }
+            });
+        }
+    }
+
+    private void evictCachedPermissions() {
+        // regions are shared by all tenants so this evicts every tenant
+        final Cache cache = ((HibernateEntityManagerFactory) this.entityManagerFactory).getSessionFactory().getCache();
+        cache.evictEntityRegion(Permission.class);
+        cache.evictCollectionRegion(Role.class.getName() + ".permissions");
+        cache.evictDefaultQueryRegion();
+    }
+
+    private ConfigurationSnapshot snapshot(final boolean reload) {
+
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null) { return loadSnapshot(0L); }
+
+        final long version = this.cacheVersionService.versionOf(CACHE_NAME);
+        ConfigurationSnapshot snapshot = this.snapshotsByTenant.get(tenant.getId());
+        if (snapshot != null && snapshot.version != version) {
+            // changed through another node, whose eviction did not reach the
+            // second level cache of this one
+            evictCachedPermissions();
+            snapshot = null;
+        }
+        if (snapshot == null || reload) {
+            snapshot = loadSnapshot(version);
+            this.snapshotsByTenant.put(tenant.getId(), snapshot);
+        }
+
+        return snapshot;
+    }
+
+    private ConfigurationSnapshot loadSnapshot(final long version) {
+
+        final List<Permission> permissions = this.permissionRepository.findAll();
+        final Map<String, Boolean> makerCheckerByPermissionCode = new HashMap<String, Boolean>(permissions.size());
+        for (final Permission permission : permissions) {
+            makerCheckerByPermissionCode.put(permission.getCode().toUpperCase(), Boolean.valueOf(permission.hasMakerCheckerEnabled()));
+        }
+
+        final List<GlobalConfigurationProperty> properties = this.globalConfigurationRepository.findAll();
+        final Map<String, Boolean> enabledByPropertyName = new HashMap<String, Boolean>(properties.size());
+        for (final GlobalConfigurationProperty property : properties) {
+            enabledByPropertyName.put(property.getName(), Boolean.valueOf(property.isEnabled()));
+        }
+
+        return new ConfigurationSnapshot(version, makerCheckerByPermissionCode, enabledByPropertyName);
+    }
+
+    private static final class ConfigurationSnapshot {
+
+        private final long version;
+        private final Map<String, Boolean> makerCheckerByPermissionCode;
+        private final Map<String, Boolean> enabledByPropertyName;
+
+        public ConfigurationSnapshot(final long version, final Map<String, Boolean> makerCheckerByPermissionCode,
+                final Map<String, Boolean> enabledByPropertyName) {
+            this.version = version;
+            this.makerCheckerByPermissionCode = Collections.unmodifiableMap(makerCheckerByPermissionCode);
+            this.enabledByPropertyName = Collections.unmodifiableMap(enabledByPropertyName);
+        }
 
-        final String makerCheckerConfigurationProperty = "maker-checker";
-        final GlobalConfigurationProperty property = this.globalConfigurationRepository.findOneByName(makerCheckerConfigurationProperty);
-        if (property == null) { throw new GlobalConfigurationPropertyNotFoundException(makerCheckerConfigurationProperty); }
+        public Boolean makerCheckerEnabledForPermission(final String permissionCode) {
+            final Boolean enabled = this.makerCheckerByPermissionCode.get(permissionCode);
+            return enabled != null ? enabled : this.makerCheckerByPermissionCode.get(permissionCode.toUpperCase());
+        }
 
-        return thisTask.hasMakerCheckerEnabled() && property.isEnabled();
+        public Boolean configurationPropertyEnabled(final String propertyName) {
+            return this.enabledByPropertyName.get(propertyName);
+        }
     }
-}
\ No newline at end of file
+}
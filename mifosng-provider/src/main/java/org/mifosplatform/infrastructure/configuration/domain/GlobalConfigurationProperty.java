@@ -10,7 +10,6 @@ import org.springframework.data.jpa.domain.AbstractPersistable;
 @Table(name = "c_configuration")
 public class GlobalConfigurationProperty extends AbstractPersistable<Long> {
 
-    @SuppressWarnings("unused")
     @Column(name = "name", nullable = false)
     private final String name;
 
@@ -27,6 +26,10 @@ public class GlobalConfigurationProperty extends AbstractPersistable<Long> {
         this.enabled = enabled;
     }
     
+    public String getName() {
+        return this.name;
+    }
+
     public boolean isEnabled() {
         return this.enabled;
     }
@@ -0,0 +1,67 @@
+package org.mifosplatform.infrastructure.connectionpool.api;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+
+import org.mifosplatform.infrastructure.connectionpool.data.ConnectionPoolData;
+import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
+import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.mifosplatform.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.mifosplatform.infrastructure.core.service.DataSourcePerTenantService;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports on the database connection pool of the tenant making the request;
+ * tenants cannot see each other's pools.
+ */
+@Path("/connectionpool")
+@Component
+@Scope("singleton")
+public class ConnectionPoolApiResource {
+
+    private final Set<String> CONNECTION_POOL_DATA_PARAMETERS = new HashSet<String>(Arrays.asList("name", "open", "size", "active",
+            "idle", "waiting", "maxActive", "maxIdle", "minIdle", "borrowCount", "averageWaitMillis", "maxWaitMillis", "timeoutCount",
+            "idleCloseCount", "lastBorrowed"));
+
+    private final String resourceNameForPermissions = "CONNECTIONPOOL";
+
+    private final PlatformSecurityContext context;
+    private final DataSourcePerTenantService dataSourcePerTenantService;
+    private final DefaultToApiJsonSerializer<ConnectionPoolData> toApiJsonSerializer;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+
+    @Autowired
+    public ConnectionPoolApiResource(final PlatformSecurityContext context, final DataSourcePerTenantService dataSourcePerTenantService,
+            final DefaultToApiJsonSerializer<ConnectionPoolData> toApiJsonSerializer,
+            final ApiRequestParameterHelper apiRequestParameterHelper) {
+        this.context = context;
+        this.dataSourcePerTenantService = dataSourcePerTenantService;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+        this.apiRequestParameterHelper = apiRequestParameterHelper;
+    }
+
+    @GET
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveConnectionPool(@Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
+
+        final ConnectionPoolData connectionPool = this.dataSourcePerTenantService.retrieveConnectionPoolData();
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, connectionPool, this.CONNECTION_POOL_DATA_PARAMETERS);
+    }
+}
@@ -0,0 +1,61 @@
+package org.mifosplatform.infrastructure.connectionpool.data;
+
+import org.joda.time.DateTime;
+
+/**
+ * Immutable data object representing the size, limits and usage of a
+ * tenant's database connection pool.
+ */
+public class ConnectionPoolData {
+
+    @SuppressWarnings("unused")
+    private final String name;
+    @SuppressWarnings("unused")
+    private final boolean open;
+    @SuppressWarnings("unused")
+    private final int size;
+    @SuppressWarnings("unused")
+    private final int active;
+    @SuppressWarnings("unused")
+    private final int idle;
+    @SuppressWarnings("unused")
+    private final int waiting;
+    @SuppressWarnings("unused")
+    private final int maxActive;
+    @SuppressWarnings("unused")
+    private final int maxIdle;
+    @SuppressWarnings("unused")
+    private final int minIdle;
+    @SuppressWarnings("unused")
+    private final long borrowCount;
+    @SuppressWarnings("unused")
+    private final long averageWaitMillis;
+    @SuppressWarnings("unused")
+    private final long maxWaitMillis;
+    @SuppressWarnings("unused")
+    private final long timeoutCount;
+    @SuppressWarnings("unused")
+    private final long idleCloseCount;
+    @SuppressWarnings("unused")
+    private final DateTime lastBorrowed;
+
+    public ConnectionPoolData(final String name, final boolean open, final int size, final int active, final int idle, final int waiting,
+            final int maxActive, final int maxIdle, final int minIdle, final long borrowCount, final long averageWaitMillis,
+            final long maxWaitMillis, final long timeoutCount, final long idleCloseCount, final DateTime lastBorrowed) {
+        this.name = name;
+        this.open = open;
+        this.size = size;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.maxActive = maxActive;
+        this.maxIdle = maxIdle;
+        this.minIdle = minIdle;
+        this.borrowCount = borrowCount;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.timeoutCount = timeoutCount;
+        this.idleCloseCount = idleCloseCount;
+        this.lastBorrowed = lastBorrowed;
+    }
+}
@@ -0,0 +1,76 @@
+package org.mifosplatform.infrastructure.core.api;
+
+/**
+ * A single range of bytes requested through a HTTP <code>Range</code> header,
+ * e.g. <code>bytes=0-499</code>, <code>bytes=500-</code> or
+ * <code>bytes=-500</code> for the last 500 bytes.
+ * 
+ * Requests for several ranges at once are not supported and are answered with
+ * the whole content, as HTTP allows.
+ */
+public final class ByteRange {
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long first;
+    private final long last;
+    private final long length;
+
+    /**
+     * @return the range requested from content of the given length, or
+     *         <code>null</code> if the whole content should be returned
+     */
+    public static ByteRange parse(final String rangeHeader, final long contentLength) {
+        if (rangeHeader == null || !rangeHeader.startsWith(BYTES_UNIT)) { return null; }
+
+        final String spec = rangeHeader.substring(BYTES_UNIT.length()).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) { return null; }
+
+        try {
+            final String start = spec.substring(0, dash).trim();
+            final String end = spec.substring(dash + 1).trim();
+            if (start.isEmpty()) {
+                if (end.isEmpty()) { return null; }
+                final long suffixLength = Long.parseLong(end);
+                return new ByteRange(Math.max(0, contentLength - suffixLength), contentLength - 1, contentLength);
+            }
+
+            final long first = Long.parseLong(start);
+            if (end.isEmpty()) { return new ByteRange(first, contentLength - 1, contentLength); }
+
+            final long last = Long.parseLong(end);
+            if (last < first) { return null; }
+            return new ByteRange(first, Math.min(last, contentLength - 1), contentLength);
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private ByteRange(final long first, final long last, final long length) {
+        this.first = first;
+        this.last = last;
+        this.length = length;
+    }
+
+    public boolean isSatisfiable() {
+        return this.first < this.length && this.first <= this.last;
+    }
+
+    public long first() {
+        return this.first;
+    }
+
+    public long size() {
+        return this.last - this.first + 1;
+    }
+
+    /**
+     * @return the value of the <code>Content-Range</code> header answering
+     *         this range
+     */
+    public String contentRange() {
+        if (!isSatisfiable()) { return "bytes */" + this.length; }
+        return "bytes " + this.first + "-" + this.last + "/" + this.length;
+    }
+}
@@ -2,6 +2,16 @@ package org.mifosplatform.infrastructure.core.domain;
 
 public class MifosPlatformTenant {
 
+    /**
+     * Connection pool settings used for tenants that do not have their own,
+     * matching the column defaults of the <code>tenants</code> table.
+     */
+    public static final int DEFAULT_POOL_INITIAL_SIZE = 2;
+    public static final int DEFAULT_POOL_MIN_IDLE = 1;
+    public static final int DEFAULT_POOL_MAX_IDLE = 4;
+    public static final int DEFAULT_POOL_MAX_ACTIVE = 10;
+    public static final int DEFAULT_POOL_MAX_WAIT_MILLIS = 30000;
+
     private final Long id;
     private final String name;
     private final String schemaName;
@@ -9,9 +19,21 @@ public class MifosPlatformTenant {
     private final String schemaServerPort;
     private final String schemaUsername;
     private final String schemaPassword;
+    private final int poolInitialSize;
+    private final int poolMinIdle;
+    private final int poolMaxIdle;
+    private final int poolMaxActive;
+    private final int poolMaxWaitMillis;
 
     public MifosPlatformTenant(final Long id, final String name, final String schemaName, final String schemaServer,
             final String schemaServerPort, final String schemaUsername, final String schemaPassword) {
+        this(id, name, schemaName, schemaServer, schemaServerPort, schemaUsername, schemaPassword, DEFAULT_POOL_INITIAL_SIZE,
+                DEFAULT_POOL_MIN_IDLE, DEFAULT_POOL_MAX_IDLE, DEFAULT_POOL_MAX_ACTIVE, DEFAULT_POOL_MAX_WAIT_MILLIS);
+    }
+
+    public MifosPlatformTenant(final Long id, final String name, final String schemaName, final String schemaServer,
+            final String schemaServerPort, final String schemaUsername, final String schemaPassword, final int poolInitialSize,
+            final int poolMinIdle, final int poolMaxIdle, final int poolMaxActive, final int poolMaxWaitMillis) {
         this.id = id;
         this.name = name;
         this.schemaName = schemaName;
@@ -19,6 +41,11 @@ public class MifosPlatformTenant {
         this.schemaServerPort = schemaServerPort;
         this.schemaUsername = schemaUsername;
         this.schemaPassword = schemaPassword;
+        this.poolInitialSize = poolInitialSize;
+        this.poolMinIdle = poolMinIdle;
+        this.poolMaxIdle = poolMaxIdle;
+        this.poolMaxActive = poolMaxActive;
+        this.poolMaxWaitMillis = poolMaxWaitMillis;
     }
 
     public Long getId() {
@@ -48,4 +75,24 @@ public class MifosPlatformTenant {
     public String getSchemaPassword() {
         return schemaPassword;
     }
-}
\ No newline at end of file
+
+    public int getPoolInitialSize() {
+        return poolInitialSize;
+    }
+
+    public int getPoolMinIdle() {
+        return poolMinIdle;
+    }
+
+    public int getPoolMaxIdle() {
+        return poolMaxIdle;
+    }
+
+    public int getPoolMaxActive() {
+        return poolMaxActive;
+    }
+
+    public int getPoolMaxWaitMillis() {
+        return poolMaxWaitMillis;
+    }
+}
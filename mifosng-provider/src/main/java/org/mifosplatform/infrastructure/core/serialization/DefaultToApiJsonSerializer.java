@@ -1,8 +1,12 @@
 package org.mifosplatform.infrastructure.core.serialization;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 
+import javax.ws.rs.core.StreamingOutput;
+
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -68,6 +72,22 @@ public final class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
+    /*
+     * Requested fields are checked before anything is written. Once rows are
+     * being written the response status is already sent, so a failure part
+     * way through can only cut the response short.
+     */
+    @Override
+    public StreamingOutput serialize(final ApiRequestJsonSerializationSettings settings, final JdbcRowStream<T> rows,
+            final Set<String> supportedResponseParameters) {
+        final Set<String> responseParameters = settings.isPartialResponseRequired() ? settings.getParametersForPartialResponse()
+                : Collections.<String> emptySet();
+        final Gson gson = helper.createGsonBuilderWithParameterExclusionSerializationStrategy(supportedResponseParameters,
+                settings.isPrettyPrint(), responseParameters);
+
+        return helper.serializedJsonFrom(gson, settings.isPrettyPrint(), rows);
+    }
+
     private String serializeWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Object[] dataObject) {
         String json = null;
         if (gson != null) {
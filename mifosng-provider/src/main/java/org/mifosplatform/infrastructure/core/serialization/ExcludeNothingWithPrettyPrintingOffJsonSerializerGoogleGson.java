@@ -24,7 +24,7 @@ public final class ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson {
         builder.registerTypeAdapter(LocalDate.class, new JodaLocalDateAdapter());
         builder.registerTypeAdapter(DateTime.class, new JodaDateTimeAdapter());
         
-        this.gson = builder.create();
+        this.gson = GoogleGsonSerializerHelper.preloadAdapters(builder.create());
     }
 
     public String serialize(final Object result) {
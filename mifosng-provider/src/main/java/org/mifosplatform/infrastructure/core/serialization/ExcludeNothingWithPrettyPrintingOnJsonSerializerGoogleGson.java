@@ -25,7 +25,7 @@ public final class ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson {
         builder.registerTypeAdapter(DateTime.class, new JodaDateTimeAdapter());
         builder.setPrettyPrinting();
         
-        this.gson = builder.create();
+        this.gson = GoogleGsonSerializerHelper.preloadAdapters(builder.create());
     }
 
     public String serialize(final Object result) {
@@ -1,27 +1,87 @@
 package org.mifosplatform.infrastructure.core.serialization;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import javax.ws.rs.core.StreamingOutput;
+
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
 import org.mifosplatform.infrastructure.core.api.JodaDateTimeAdapter;
 import org.mifosplatform.infrastructure.core.api.JodaLocalDateAdapter;
 import org.mifosplatform.infrastructure.core.api.ParameterListExclusionStrategy;
 import org.mifosplatform.infrastructure.core.exception.UnsupportedParameterException;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mifosplatform.portfolio.client.data.ClientData;
+import org.mifosplatform.portfolio.group.data.GroupData;
+import org.mifosplatform.portfolio.loanaccount.data.LoanAccountData;
+import org.mifosplatform.portfolio.loanaccount.data.LoanBasicDetailsData;
+import org.mifosplatform.portfolio.loanaccount.data.LoanTransactionData;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanSchedulePeriodData;
 import org.springframework.stereotype.Service;
 
 import com.google.gson.ExclusionStrategy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Helper class for serialization of java objects into JSON using google-gson.
+ * 
+ * Gson instances are thread safe but build their reflective type adapters
+ * lazily and per instance, so instances used for partial responses are kept
+ * in a bounded cache keyed by the fields to skip and pretty printing. Its
+ * size can be set through the <code>mifos.serialization.gsonCacheSize</code>
+ * system property.
  */
 @Service
 public final class GoogleGsonSerializerHelper {
 
+    /**
+     * Data classes returned by the most used resources, whose adapters are
+     * built up front when a serializer is created.
+     */
+    private static final List<Class<?>> FREQUENTLY_SERIALIZED_TYPES = Arrays.<Class<?>> asList(ClientData.class, GroupData.class,
+            LoanBasicDetailsData.class, LoanAccountData.class, LoanTransactionData.class, LoanScheduleData.class,
+            LoanSchedulePeriodData.class);
+
+    private final Map<SerializerKey, Gson> serializers;
+
+    public GoogleGsonSerializerHelper() {
+        final int maximumSize = Integer.getInteger("mifos.serialization.gsonCacheSize", 256);
+        this.serializers = Collections.synchronizedMap(new LinkedHashMap<SerializerKey, Gson>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<SerializerKey, Gson> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    /**
+     * Builds the adapters of the frequently serialized data classes so the
+     * first request does not pay for reflection.
+     */
+    public static Gson preloadAdapters(final Gson gson) {
+        for (final Class<?> type : FREQUENTLY_SERIALIZED_TYPES) {
+            gson.getAdapter(type);
+        }
+        return gson;
+    }
+
     public Gson createGsonBuilder(final boolean prettyPrint) {
         final GsonBuilder builder = new GsonBuilder();
         builder.registerTypeAdapter(LocalDate.class, new JodaLocalDateAdapter());
@@ -51,6 +111,21 @@ public final class GoogleGsonSerializerHelper {
             parameterNamesToSkip.removeAll(responseParameters);
         }
 
+        final SerializerKey key = new SerializerKey(parameterNamesToSkip, prettyPrint);
+        Gson gson = this.serializers.get(key);
+        if (gson == null) {
+            gson = createGsonBuilderWithParameterExclusionSerializationStrategy(parameterNamesToSkip, prettyPrint);
+            this.serializers.put(key, gson);
+        }
+        return gson;
+    }
+
+    int cachedSerializerCount() {
+        return this.serializers.size();
+    }
+
+    private Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> parameterNamesToSkip,
+            final boolean prettyPrint) {
         final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
 
         final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
@@ -62,6 +137,30 @@ public final class GoogleGsonSerializerHelper {
         return builder.create();
     }
 
+    private static final class SerializerKey {
+
+        private final Set<String> parameterNamesToSkip;
+        private final boolean prettyPrint;
+
+        SerializerKey(final Set<String> parameterNamesToSkip, final boolean prettyPrint) {
+            this.parameterNamesToSkip = parameterNamesToSkip;
+            this.prettyPrint = prettyPrint;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) { return true; }
+            if (!(obj instanceof SerializerKey)) { return false; }
+            final SerializerKey other = (SerializerKey) obj;
+            return this.prettyPrint == other.prettyPrint && this.parameterNamesToSkip.equals(other.parameterNamesToSkip);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.parameterNamesToSkip.hashCode() + (this.prettyPrint ? 1 : 0);
+        }
+    }
+
     public String serializedJsonFrom(final Gson serializer, final Object[] dataObjects) {
         return serializer.toJson(dataObjects);
     }
@@ -69,4 +168,35 @@ public final class GoogleGsonSerializerHelper {
     public String serializedJsonFrom(final Gson serializer, final Object singleDataObject) {
         return serializer.toJson(singleDataObject);
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the rows as a JSON array as they are read, rather than
+     * collecting them first.
+     */
+    public <T> StreamingOutput serializedJsonFrom(final Gson serializer, final boolean prettyPrint, final JdbcRowStream<T> rows) {
+        return new StreamingOutput() {
+
+            @Override
+            public void write(final OutputStream output) throws IOException {
+                final JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(output, "UTF-8")));
+                if (prettyPrint) {
+                    writer.setIndent("  ");
+                }
+                writer.beginArray();
+                rows.forEachRow(new JdbcRowStream.RowHandler<T>() {
+
+                    @Override
+                    public void handle(final T row) throws IOException {
+                        if (row == null) {
+                            writer.nullValue();
+                        } else {
+                            serializer.toJson(row, row.getClass(), writer);
+                        }
+                    }
+                });
+                writer.endArray();
+                writer.flush();
+            }
+        };
+    }
+}
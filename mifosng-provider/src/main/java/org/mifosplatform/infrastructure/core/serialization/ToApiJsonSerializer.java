@@ -3,6 +3,10 @@ package org.mifosplatform.infrastructure.core.serialization;
 import java.util.Collection;
 import java.util.Set;
 
+import javax.ws.rs.core.StreamingOutput;
+
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+
 public interface ToApiJsonSerializer<T> {
 
     String serialize(Object object);
@@ -14,4 +18,10 @@ public interface ToApiJsonSerializer<T> {
     String serialize(ApiRequestJsonSerializationSettings settings, Collection<T> collection, Set<String> supportedResponseParameters);
 
     String serialize(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
+
+    /**
+     * Writes the rows to the response as a JSON array as they are read, rather
+     * than building the whole collection and its JSON in memory first.
+     */
+    StreamingOutput serialize(ApiRequestJsonSerializationSettings settings, JdbcRowStream<T> rows, Set<String> supportedResponseParameters);
 }
\ No newline at end of file
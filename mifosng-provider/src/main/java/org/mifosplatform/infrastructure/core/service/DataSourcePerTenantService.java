@@ -2,6 +2,8 @@ package org.mifosplatform.infrastructure.core.service;
 
 import javax.sql.DataSource;
 
+import org.mifosplatform.infrastructure.connectionpool.data.ConnectionPoolData;
+
 /**
  * A service for getting hold of the appropriate {@link DataSource} connection
  * pool for the given tenant.
@@ -9,4 +11,9 @@ import javax.sql.DataSource;
 public interface DataSourcePerTenantService {
 
     DataSource retrieveTenantAwareDataSource();
+
+    /**
+     * The size and usage of the connection pool of the current tenant.
+     */
+    ConnectionPoolData retrieveConnectionPoolData();
 }
\ No newline at end of file
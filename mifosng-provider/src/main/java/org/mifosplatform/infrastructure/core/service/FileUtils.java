@@ -1,5 +1,8 @@
 package org.mifosplatform.infrastructure.core.service;
 
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -7,8 +10,11 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Random;
 
+import javax.imageio.ImageIO;
+
 import org.mifosplatform.infrastructure.core.data.ApiParameterError;
 import org.mifosplatform.infrastructure.core.domain.Base64EncodedImage;
 import org.mifosplatform.infrastructure.core.exception.ImageDataURLNotValidException;
@@ -26,6 +32,10 @@ public class FileUtils {
 
     public static final String MIFOSX_BASE_DIR = System.getProperty("user.home") + File.separator + ".mifosx";
 
+    public static final int CLIENT_IMAGE_THUMBNAIL_SIZE = 150;
+
+    private static final String THUMBNAIL_PREFIX = "thumbnail_";
+
     public static Random random = new Random();
 
     /**
@@ -54,16 +64,12 @@ public class FileUtils {
     }
 
     /**
-     * Generate the directory path for storing the new document
-     * 
-     * @param entityType
-     * @param entityId
-     * @return
+     * Generate the directory path under which documents of the current tenant
+     * are stored
      */
-    public static String generateFileParentDirectory(String entityType, Long entityId) {
+    public static String generateDocumentStoreDirectory() {
         return FileUtils.MIFOSX_BASE_DIR + File.separator + ThreadLocalContextUtil.getTenant().getName().replaceAll(" ", "").trim()
-                + File.separator + "documents" + File.separator + entityType + File.separator + entityId + File.separator
-                + FileUtils.generateRandomString();
+                + File.separator + "documents";
     }
 
     /**
@@ -184,5 +190,68 @@ public class FileUtils {
             // no need to throw an Error, simply log a warning
             logger.warn("Unable to delete image associated with clients with Id " + resourceId);
         }
+
+        final File thumbnail = thumbnailFor(location);
+        if (thumbnail.exists() && !thumbnail.delete()) {
+            logger.warn("Unable to delete image thumbnail associated with clients with Id " + resourceId);
+        }
+    }
+
+    /**
+     * The location of the thumbnail kept next to an image, which may not
+     * exist for images stored before thumbnails were generated.
+     */
+    public static File thumbnailFor(final String imageLocation) {
+        final File image = new File(imageLocation);
+        return new File(image.getParentFile(), THUMBNAIL_PREFIX + image.getName());
+    }
+
+    /**
+     * Writes a thumbnail of an image, no larger than
+     * {@link #CLIENT_IMAGE_THUMBNAIL_SIZE} on its longest side, next to it.
+     * Thumbnails are optional so failures are only logged.
+     */
+    public static void generateThumbnail(final String imageLocation) {
+        try {
+            final BufferedImage image = ImageIO.read(new File(imageLocation));
+            if (image == null) {
+                logger.warn("Unable to read image at " + imageLocation + " to generate a thumbnail");
+                return;
+            }
+
+            final double scale = Math.min(1d, (double) CLIENT_IMAGE_THUMBNAIL_SIZE / Math.max(image.getWidth(), image.getHeight()));
+            final int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+            final int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+            final String format = imageFormat(imageLocation);
+            // jpeg has no alpha channel
+            final int type = "jpeg".equals(format) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+            final BufferedImage thumbnail = new BufferedImage(width, height, type);
+            final Graphics2D graphics = thumbnail.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(image, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            ImageIO.write(thumbnail, format, thumbnailFor(imageLocation));
+        } catch (final IOException e) {
+            logger.warn("Unable to generate a thumbnail for image at " + imageLocation, e);
+        }
+    }
+
+    /**
+     * The mime type of a stored image, from its file extension.
+     */
+    public static String imageMimeType(final String imageLocation) {
+        return "image/" + imageFormat(imageLocation);
+    }
+
+    private static String imageFormat(final String imageLocation) {
+        final String name = imageLocation.toLowerCase(Locale.ENGLISH);
+        if (name.endsWith(".gif")) { return "gif"; }
+        if (name.endsWith(".png")) { return "png"; }
+        return "jpeg";
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlProvider;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+
+/**
+ * A query whose rows are mapped and handed on one at a time rather than
+ * collected into a list.
+ *
+ * Nothing is read until {@link #forEachRow(RowHandler)} is called, so read
+ * services can return one after their permission checks and leave running it
+ * to whatever writes the response. The mysql driver is asked to stream the
+ * result set instead of buffering it, which means the connection cannot be
+ * used for any other statement until the last row is handled.
+ */
+public final class JdbcRowStream<T> {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String sql;
+    private final RowMapper<T> rowMapper;
+    private final Object[] args;
+
+    public static <T> JdbcRowStream<T> of(final JdbcTemplate jdbcTemplate, final String sql, final RowMapper<T> rowMapper,
+            final Object... args) {
+        return new JdbcRowStream<T>(jdbcTemplate, sql, rowMapper, args);
+    }
+
+    private JdbcRowStream(final JdbcTemplate jdbcTemplate, final String sql, final RowMapper<T> rowMapper, final Object[] args) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sql = sql;
+        this.rowMapper = rowMapper;
+        this.args = args;
+    }
+
+    public interface RowHandler<T> {
+
+        void handle(T row) throws IOException;
+    }
+
+    public void forEachRow(final RowHandler<T> handler) throws IOException {
+        try {
+            this.jdbcTemplate.query(new StreamingStatementCreator(this.sql, this.args), new RowCallbackHandler() {
+
+                private int rowNum = 0;
+
+                @Override
+                public void processRow(final ResultSet rs) throws SQLException {
+                    final T row = JdbcRowStream.this.rowMapper.mapRow(rs, this.rowNum++);
+                    try {
+                        handler.handle(row);
+                    } catch (final IOException e) {
+                        throw new RowHandlerFailedException(e);
+                    }
+                }
+            });
+        } catch (final RowHandlerFailedException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class StreamingStatementCreator implements PreparedStatementCreator, SqlProvider {
+
+        private final String sql;
+        private final Object[] args;
+
+        StreamingStatementCreator(final String sql, final Object[] args) {
+            this.sql = sql;
+            this.args = args;
+        }
+
+        @Override
+        public PreparedStatement createPreparedStatement(final Connection con) throws SQLException {
+            final PreparedStatement ps = con.prepareStatement(this.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // mysql only streams rows for this fetch size
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < this.args.length; i++) {
+                StatementCreatorUtils.setParameterValue(ps, i + 1, SqlTypeValue.TYPE_UNKNOWN, this.args[i]);
+            }
+            return ps;
+        }
+
+        @Override
+        public String getSql() {
+            return this.sql;
+        }
+    }
+
+    private static final class RowHandlerFailedException extends RuntimeException {
+
+        RowHandlerFailedException(final IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
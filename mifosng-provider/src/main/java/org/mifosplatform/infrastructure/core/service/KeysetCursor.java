@@ -0,0 +1,86 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import java.io.UnsupportedEncodingException;
+
+import org.apache.commons.lang.StringUtils;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+
+import com.sun.jersey.core.util.Base64;
+
+/**
+ * The position of the last row of a page in a search sorted by a single
+ * column followed by id.
+ *
+ * The next page is found by seeking past this position rather than skipping
+ * an offset, so retrieving any page costs the same however deep into the
+ * results it is. Encoded as an opaque, url safe string for passing back
+ * through the api.
+ */
+public final class KeysetCursor {
+
+    private static final String ENCODING = "UTF-8";
+
+    private final String sortValue;
+    private final Long id;
+
+    public static KeysetCursor after(final String sortValue, final Long id) {
+        return new KeysetCursor(sortValue, id);
+    }
+
+    /**
+     * Returns null when no cursor is passed and throws
+     * {@link UnrecognizedQueryParamException} for a cursor that was not
+     * produced by {@link #encode()}.
+     */
+    public static KeysetCursor decode(final String queryParamKey, final String encoded) {
+
+        if (StringUtils.isBlank(encoded)) { return null; }
+
+        final KeysetCursor cursor = parse(encoded);
+        if (cursor == null) { throw new UnrecognizedQueryParamException(queryParamKey, encoded); }
+
+        return cursor;
+    }
+
+    private static KeysetCursor parse(final String encoded) {
+        try {
+            String base64 = encoded.replace('-', '+').replace('_', '/');
+            while (base64.length() % 4 != 0) {
+                base64 += "=";
+            }
+            final String decoded = new String(Base64.decode(base64), ENCODING);
+
+            final int separator = decoded.indexOf(':');
+            if (separator < 1) { return null; }
+
+            return new KeysetCursor(decoded.substring(separator + 1), Long.valueOf(decoded.substring(0, separator)));
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        } catch (final RuntimeException e) {
+            // not valid base64 or not an id
+            return null;
+        }
+    }
+
+    private KeysetCursor(final String sortValue, final Long id) {
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    public String getSortValue() {
+        return this.sortValue;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String encode() {
+        try {
+            final String base64 = new String(Base64.encode((this.id + ":" + this.sortValue).getBytes(ENCODING)), ENCODING);
+            return StringUtils.stripEnd(base64, "=").replace('+', '-').replace('/', '_');
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
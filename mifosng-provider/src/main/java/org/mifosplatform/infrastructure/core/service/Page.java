@@ -0,0 +1,36 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import java.util.List;
+
+/**
+ * One page of the results of a search.
+ *
+ * <code>nextCursor</code> is passed back to retrieve the page after this one
+ * and is null on the last page. <code>totalFilteredRecords</code> is only
+ * populated when the total count was asked for as counting every match costs
+ * as much as the search itself.
+ */
+public class Page<E> {
+
+    private final Integer totalFilteredRecords;
+    private final List<E> pageItems;
+    private final String nextCursor;
+
+    public Page(final List<E> pageItems, final String nextCursor, final Integer totalFilteredRecords) {
+        this.pageItems = pageItems;
+        this.nextCursor = nextCursor;
+        this.totalFilteredRecords = totalFilteredRecords;
+    }
+
+    public Integer getTotalFilteredRecords() {
+        return this.totalFilteredRecords;
+    }
+
+    public List<E> getPageItems() {
+        return this.pageItems;
+    }
+
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+}
@@ -0,0 +1,129 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+
+/**
+ * The criteria and paging options of a search passed from the api to a read
+ * platform service. Search values, including those of <code>sqlSearch</code>,
+ * are bound as query parameters by the service rather than concatenated into
+ * sql.
+ *
+ * A search is paged when a <code>limit</code>, a cursor to continue
+ * <code>after</code> or a total count is asked for; otherwise all matches are
+ * returned as before.
+ */
+public final class SearchParameters {
+
+    public static final int DEFAULT_LIMIT = 200;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final Map<String, String> CLIENT_SEARCH_COLUMNS = searchColumns("c", "id", "account_no", "external_id", "firstname",
+            "middlename", "lastname", "fullname", "display_name", "office_id");
+
+    private final SqlSearch sqlSearch;
+    private final Long officeId;
+    private final String externalId;
+    private final String displayName;
+    private final String firstname;
+    private final String lastname;
+    private final String hierarchy;
+    private final Integer limit;
+    private final KeysetCursor after;
+    private final boolean totalCountRequired;
+
+    public static SearchParameters forClients(final String sqlSearch, final Long officeId, final String externalId,
+            final String displayName, final String firstname, final String lastname, final String hierarchy, final Integer limit,
+            final String after, final Boolean totalCount) {
+
+        if (limit != null && limit.intValue() < 1) { throw new UnrecognizedQueryParamException("limit", limit.toString()); }
+
+        final boolean totalCountRequired = totalCount != null && totalCount.booleanValue();
+        final KeysetCursor cursor = KeysetCursor.decode("after", after);
+
+        Integer maxResults = limit;
+        if (maxResults == null && (cursor != null || totalCountRequired)) {
+            maxResults = Integer.valueOf(DEFAULT_LIMIT);
+        } else if (maxResults != null && maxResults.intValue() > MAX_LIMIT) {
+            maxResults = Integer.valueOf(MAX_LIMIT);
+        }
+
+        final SqlSearch clientSearch = SqlSearch.parse("sqlSearch", sqlSearch, CLIENT_SEARCH_COLUMNS);
+        return new SearchParameters(clientSearch, officeId, externalId, displayName, firstname, lastname, hierarchy, maxResults, cursor,
+                totalCountRequired);
+    }
+
+    /*
+     * Columns of the table with the given alias, by their name with and
+     * without the alias.
+     */
+    private static Map<String, String> searchColumns(final String alias, final String... names) {
+        final Map<String, String> columnsByName = new HashMap<String, String>();
+        for (final String name : names) {
+            columnsByName.put(name, alias + "." + name);
+            columnsByName.put(alias + "." + name, alias + "." + name);
+        }
+        return columnsByName;
+    }
+
+    private SearchParameters(final SqlSearch sqlSearch, final Long officeId, final String externalId, final String displayName,
+            final String firstname, final String lastname, final String hierarchy, final Integer limit, final KeysetCursor after,
+            final boolean totalCountRequired) {
+        this.sqlSearch = sqlSearch;
+        this.officeId = officeId;
+        this.externalId = externalId;
+        this.displayName = displayName;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.hierarchy = hierarchy;
+        this.limit = limit;
+        this.after = after;
+        this.totalCountRequired = totalCountRequired;
+    }
+
+    public boolean isPaged() {
+        return this.limit != null;
+    }
+
+    public SqlSearch getSqlSearch() {
+        return this.sqlSearch;
+    }
+
+    public Long getOfficeId() {
+        return this.officeId;
+    }
+
+    public String getExternalId() {
+        return this.externalId;
+    }
+
+    public String getDisplayName() {
+        return this.displayName;
+    }
+
+    public String getFirstname() {
+        return this.firstname;
+    }
+
+    public String getLastname() {
+        return this.lastname;
+    }
+
+    public String getHierarchy() {
+        return this.hierarchy;
+    }
+
+    public Integer getLimit() {
+        return this.limit;
+    }
+
+    public KeysetCursor getAfter() {
+        return this.after;
+    }
+
+    public boolean isTotalCountRequired() {
+        return this.totalCountRequired;
+    }
+}
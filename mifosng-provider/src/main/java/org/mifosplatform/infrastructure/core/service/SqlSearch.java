@@ -0,0 +1,194 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+
+/**
+ * The free form criteria existing api clients pass as <code>sqlSearch</code>,
+ * limited to comparing whitelisted columns with literal values, e.g.
+ * <code>display_name like '%smith%' or (external_id = '1234' and office_id = 2)</code>.
+ *
+ * Columns may be compared with <code>=</code>, <code>&lt;&gt;</code>,
+ * <code>!=</code>, <code>like</code> and <code>not like</code>, and
+ * comparisons combined with <code>and</code>, <code>or</code> and
+ * parentheses. The sql is rebuilt from the recognised parts only, with the
+ * values bound as parameters; anything else is rejected.
+ */
+public final class SqlSearch {
+
+    private final String sql;
+    private final List<Object> values;
+
+    /**
+     * Returns null when no criteria are passed and throws
+     * {@link UnrecognizedQueryParamException} for criteria outside the
+     * supported form or naming a column missing from
+     * <code>columnsByName</code>, which maps the names api clients use to
+     * qualified columns.
+     */
+    public static SqlSearch parse(final String queryParamKey, final String sqlSearch, final Map<String, String> columnsByName) {
+
+        if (StringUtils.isBlank(sqlSearch)) { return null; }
+
+        final Parser parser = new Parser(tokenize(queryParamKey, sqlSearch), columnsByName, queryParamKey, sqlSearch);
+        return parser.parse();
+    }
+
+    private SqlSearch(final String sql, final List<Object> values) {
+        this.sql = sql;
+        this.values = Collections.unmodifiableList(values);
+    }
+
+    /**
+     * The criteria with a <code>?</code> in place of each value.
+     */
+    public String getSql() {
+        return this.sql;
+    }
+
+    public List<Object> getValues() {
+        return this.values;
+    }
+
+    private static List<String> tokenize(final String queryParamKey, final String sqlSearch) {
+
+        final List<String> tokens = new ArrayList<String>();
+        int i = 0;
+        while (i < sqlSearch.length()) {
+            final char c = sqlSearch.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')' || c == '=') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '<' || c == '!') {
+                if (!sqlSearch.startsWith(c == '<' ? "<>" : "!=", i)) { throw new UnrecognizedQueryParamException(queryParamKey, sqlSearch); }
+                tokens.add("<>");
+                i += 2;
+            } else if (c == '\'') {
+                // quotes inside a value are doubled
+                final StringBuilder literal = new StringBuilder("'");
+                i++;
+                while (true) {
+                    if (i >= sqlSearch.length()) { throw new UnrecognizedQueryParamException(queryParamKey, sqlSearch); }
+                    if (sqlSearch.charAt(i) == '\'') {
+                        if (i + 1 < sqlSearch.length() && sqlSearch.charAt(i + 1) == '\'') {
+                            literal.append('\'');
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    literal.append(sqlSearch.charAt(i));
+                    i++;
+                }
+                tokens.add(literal.toString());
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '-') {
+                final int start = i;
+                while (i < sqlSearch.length()
+                        && (Character.isLetterOrDigit(sqlSearch.charAt(i)) || "_.-".indexOf(sqlSearch.charAt(i)) >= 0)) {
+                    i++;
+                }
+                tokens.add(sqlSearch.substring(start, i));
+            } else {
+                throw new UnrecognizedQueryParamException(queryParamKey, sqlSearch);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private final Map<String, String> columnsByName;
+        private final String queryParamKey;
+        private final String sqlSearch;
+        private final StringBuilder sql = new StringBuilder();
+        private final List<Object> values = new ArrayList<Object>();
+        private int position = 0;
+
+        Parser(final List<String> tokens, final Map<String, String> columnsByName, final String queryParamKey, final String sqlSearch) {
+            this.tokens = tokens;
+            this.columnsByName = columnsByName;
+            this.queryParamKey = queryParamKey;
+            this.sqlSearch = sqlSearch;
+        }
+
+        SqlSearch parse() {
+            criteria();
+            if (this.position != this.tokens.size()) { throw unrecognized(); }
+            return new SqlSearch(this.sql.toString(), this.values);
+        }
+
+        private void criteria() {
+            term();
+            while (nextIs("and") || nextIs("or")) {
+                this.sql.append(' ').append(next().toLowerCase()).append(' ');
+                term();
+            }
+        }
+
+        private void term() {
+            if (nextIs("(")) {
+                next();
+                this.sql.append('(');
+                criteria();
+                if (!nextIs(")")) { throw unrecognized(); }
+                next();
+                this.sql.append(')');
+            } else {
+                comparison();
+            }
+        }
+
+        private void comparison() {
+            final String column = this.columnsByName.get(next().toLowerCase());
+            if (column == null) { throw unrecognized(); }
+            this.sql.append(column);
+
+            if (nextIs("=") || nextIs("<>") || nextIs("like")) {
+                this.sql.append(' ').append(next().toLowerCase());
+            } else if (nextIs("not")) {
+                next();
+                if (!nextIs("like")) { throw unrecognized(); }
+                next();
+                this.sql.append(" not like");
+            } else {
+                throw unrecognized();
+            }
+
+            this.sql.append(" ?");
+            this.values.add(value(next()));
+        }
+
+        private Object value(final String token) {
+            if (token.startsWith("'")) { return token.substring(1); }
+            try {
+                return new BigDecimal(token);
+            } catch (final NumberFormatException e) {
+                throw unrecognized();
+            }
+        }
+
+        private boolean nextIs(final String token) {
+            // quoted values are never keywords
+            return this.position < this.tokens.size() && this.tokens.get(this.position).equalsIgnoreCase(token);
+        }
+
+        private String next() {
+            if (this.position >= this.tokens.size()) { throw unrecognized(); }
+            return this.tokens.get(this.position++);
+        }
+
+        private UnrecognizedQueryParamException unrecognized() {
+            return new UnrecognizedQueryParamException(this.queryParamKey, this.sqlSearch);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import javax.sql.DataSource;
+
+import org.hibernate.service.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives hibernate sessions connections from the pool of the tenant they were
+ * opened for, as chosen by {@link DataSourcePerTenantService}.
+ * 
+ * Pools are looked up through the tenant of the current request so a session
+ * used after the request has switched to another tenant fails rather than
+ * reading from or writing to the wrong database.
+ */
+@Component
+public class TenantAwareMultiTenantConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl {
+
+    private final DataSourcePerTenantService dataSourcePerTenantService;
+
+    @Autowired
+    public TenantAwareMultiTenantConnectionProvider(final DataSourcePerTenantService dataSourcePerTenantService) {
+        this.dataSourcePerTenantService = dataSourcePerTenantService;
+    }
+
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return this.dataSourcePerTenantService.retrieveTenantAwareDataSource();
+    }
+
+    @Override
+    protected DataSource selectDataSource(final String tenantIdentifier) {
+        final String currentTenantIdentifier = ThreadLocalTenantIdentifierResolver.identifierOf(ThreadLocalContextUtil.getTenant());
+        if (!currentTenantIdentifier.equals(tenantIdentifier)) { throw new IllegalStateException("Session opened for tenant "
+                + tenantIdentifier + " used while tenant " + currentTenantIdentifier + " is current."); }
+
+        return this.dataSourcePerTenantService.retrieveTenantAwareDataSource();
+    }
+}
@@ -28,7 +28,12 @@ public class TenantAwareRoutingDataSource extends AbstractDataSource {
 
     @Override
     public Connection getConnection() throws SQLException {
-        return determineTargetDataSource().getConnection();
+        try {
+            return determineTargetDataSource().getConnection();
+        } catch (final TenantConnectionPool.RetiredPoolException e) {
+            // the pool was closed as idle after being looked up
+            return determineTargetDataSource().getConnection();
+        }
     }
 
     private DataSource determineTargetDataSource() {
@@ -0,0 +1,121 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs independent reads of a request, or slices of its CPU bound work such as
+ * batches of loan schedule calculations, alongside each other on a bounded
+ * pool of threads.
+ *
+ * The tenant and the authenticated user of the submitting thread are set on
+ * the thread a task runs on, so read services behave as they would on the
+ * request thread. When every thread is busy and the queue is full a task is
+ * run on the submitting thread instead, which keeps requests working (only
+ * slower) under load rather than failing them.
+ *
+ * Each running task holds its own connection from the tenant's pool, so the
+ * number of threads set by <code>mifos.reads.threads</code> should stay well
+ * under the pool's max active connections.
+ */
+@Component
+public class TenantAwareTaskExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor workers;
+
+    public TenantAwareTaskExecutor() {
+        final int threads = Math.max(1, Integer.getInteger("mifos.reads.threads", 8).intValue());
+        final int queueSize = Math.max(1, Integer.getInteger("mifos.reads.queueSize", 64).intValue());
+
+        this.workers = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueSize),
+                new NamedThreadFactory("mifos-reads-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy() {
+        this.workers.shutdownNow();
+    }
+
+    public <T> Future<T> submit(final Callable<T> task) {
+        return this.workers.submit(new ContextPropagatingCallable<T>(task));
+    }
+
+    /**
+     * Waits for a submitted task and hands back its result, rethrowing any
+     * runtime exception it failed with (such as a not found exception) as is.
+     */
+    public static <T> T resultOf(final Future<T> future) {
+        if (future == null) { return null; }
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) { throw (RuntimeException) cause; }
+            if (cause instanceof Error) { throw (Error) cause; }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static final class ContextPropagatingCallable<T> implements Callable<T> {
+
+        private final Callable<T> task;
+        private final Thread submitter = Thread.currentThread();
+        private final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        private final SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        ContextPropagatingCallable(final Callable<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public T call() throws Exception {
+            // run on the submitting thread when the pool is saturated, where
+            // the context is already set and must not be cleared
+            if (Thread.currentThread() == this.submitter) { return this.task.call(); }
+
+            if (this.tenant != null) {
+                ThreadLocalContextUtil.setTenant(this.tenant);
+            }
+            SecurityContextHolder.setContext(this.securityContext);
+            try {
+                return this.task.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, this.prefix + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolConfiguration;
+import org.apache.tomcat.jdbc.pool.PoolExhaustedException;
+import org.joda.time.DateTime;
+import org.mifosplatform.infrastructure.connectionpool.data.ConnectionPoolData;
+
+/**
+ * The tomcat jdbc connection pool of one tenant.
+ * 
+ * Records how long borrowers wait for a connection and how often they give up
+ * waiting, and can be retired while its tenant is idle. A retired pool is
+ * closed for good; the tenant's next request builds a new pool from its
+ * current settings.
+ */
+public class TenantConnectionPool extends DataSource {
+
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong idleCloseCount;
+    private volatile long lastBorrowedMillis = System.currentTimeMillis();
+    private volatile boolean retired = false;
+
+    /**
+     * @param idleCloseCount
+     *            counts the idle closes of the tenant's pools, so the count
+     *            carries over to the pool that replaces this one
+     */
+    public TenantConnectionPool(final PoolConfiguration poolConfiguration, final AtomicLong idleCloseCount) {
+        super(poolConfiguration);
+        this.idleCloseCount = idleCloseCount;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        // stops the pool being closed under a borrower
+        final Lock lock = this.closeLock.readLock();
+        lock.lock();
+        try {
+            // borrowing would silently re-open the pool from its original
+            // configuration, outside the registry that closes idle pools
+            if (this.retired) { throw new RetiredPoolException(getPoolProperties().getName()); }
+
+            this.lastBorrowedMillis = System.currentTimeMillis();
+            final long start = System.nanoTime();
+            try {
+                return super.getConnection();
+            } catch (final PoolExhaustedException e) {
+                this.timeoutCount.incrementAndGet();
+                throw e;
+            } finally {
+                recordWait(System.nanoTime() - start);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retires the pool, releasing all its connections, if nothing has been
+     * borrowed since the given time and no connection is in use.
+     * <code>unregister</code> is run before any borrower waiting on the pool
+     * can see it retired, so a borrower that retries finds no pool and gets a
+     * new one.
+     * 
+     * @return <code>true</code> if the pool was retired
+     */
+    public boolean retireIfIdleSince(final long idleSinceMillis, final Runnable unregister) {
+        final Lock lock = this.closeLock.writeLock();
+        if (!lock.tryLock()) { return false; }
+        try {
+            final ConnectionPool pool = getPool();
+            if (this.retired || pool == null || this.lastBorrowedMillis > idleSinceMillis || pool.getActive() > 0) { return false; }
+
+            unregister.run();
+            this.retired = true;
+            close();
+            this.idleCloseCount.incrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isRetired() {
+        return this.retired;
+    }
+
+    public ConnectionPoolData toData() {
+        // reads the pool without opening it again
+        final ConnectionPool pool = getPool();
+        final boolean open = pool != null && !pool.isClosed();
+        final long borrows = this.borrowCount.get();
+        final long averageWaitMillis = borrows == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(this.totalWaitNanos.get() / borrows);
+
+        return new ConnectionPoolData(getPoolProperties().getName(), open, open ? pool.getSize() : 0, open ? pool.getActive() : 0,
+                open ? pool.getIdle() : 0, open ? pool.getWaitCount() : 0, getPoolProperties().getMaxActive(), getPoolProperties()
+                        .getMaxIdle(), getPoolProperties().getMinIdle(), borrows, averageWaitMillis,
+                TimeUnit.NANOSECONDS.toMillis(this.maxWaitNanos.get()), this.timeoutCount.get(), this.idleCloseCount.get(),
+                new DateTime(this.lastBorrowedMillis));
+    }
+
+    private void recordWait(final long waitNanos) {
+        this.borrowCount.incrementAndGet();
+        this.totalWaitNanos.addAndGet(waitNanos);
+
+        long max = this.maxWaitNanos.get();
+        while (waitNanos > max && !this.maxWaitNanos.compareAndSet(max, waitNanos)) {
+            max = this.maxWaitNanos.get();
+        }
+    }
+
+    /**
+     * Thrown to a borrower that looked the pool up just before it was retired;
+     * looking the tenant's pool up again gives a new one.
+     */
+    public static class RetiredPoolException extends SQLException {
+
+        public RetiredPoolException(final String poolName) {
+            super("The connection pool " + poolName + " was closed as idle.");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells hibernate which tenant a new session belongs to, using the tenant
+ * stored in {@link ThreadLocalContextUtil} for the request.
+ * 
+ * Hibernate includes the tenant identifier in the keys of its second level
+ * and query caches, so cached entities of one tenant are never returned to
+ * another.
+ */
+@Component
+public class ThreadLocalTenantIdentifierResolver implements CurrentTenantIdentifierResolver {
+
+    /**
+     * Identifies sessions opened without a tenant, e.g. during start up, which
+     * use the tenant database datasource.
+     */
+    public static final String NO_TENANT_IDENTIFIER = "none";
+
+    public static String identifierOf(final MifosPlatformTenant tenant) {
+        return tenant == null ? NO_TENANT_IDENTIFIER : tenant.getId().toString();
+    }
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return identifierOf(ThreadLocalContextUtil.getTenant());
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
@@ -2,14 +2,24 @@ package org.mifosplatform.infrastructure.core.service;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.sql.DataSource;
 
 import org.apache.tomcat.jdbc.pool.PoolConfiguration;
 import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.mifosplatform.infrastructure.connectionpool.data.ConnectionPoolData;
 import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.security.service.CachingTenantDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
 
 /**
@@ -19,16 +29,58 @@ import org.springframework.stereotype.Service;
  * 
  * {@link ThreadLocalContextUtil} is used to retrieve the
  * {@link MifosPlatformTenant} for the request.
+ * 
+ * Each tenant's pool is sized from its row in the <code>tenants</code> table
+ * and created once, on first use. Pools of tenants that have not borrowed a
+ * connection for <code>mifos.tenantPools.idleCloseMinutes</code> (30 by
+ * default, 0 to never close) are closed and dropped along with the tenant's
+ * cached details, so the tenant's next request reads its row again and gets a
+ * new pool sized from its current settings.
  */
 @Service
-public class TomcatJdbcDataSourcePerTenantService implements DataSourcePerTenantService {
+public class TomcatJdbcDataSourcePerTenantService implements DataSourcePerTenantService, InitializingBean, DisposableBean {
+
+    private final static Logger logger = LoggerFactory.getLogger(TomcatJdbcDataSourcePerTenantService.class);
 
-    private final Map<Long, DataSource> tenantToDataSourceMap = new ConcurrentHashMap<Long, DataSource>(1);
+    private final ConcurrentMap<Long, TenantConnectionPool> tenantToDataSourceMap = new ConcurrentHashMap<Long, TenantConnectionPool>();
+    private final ConcurrentMap<Long, AtomicLong> idleCloseCountsByTenant = new ConcurrentHashMap<Long, AtomicLong>();
     private final DataSource tenantDataSource;
+    private final CachingTenantDetailsService tenantDetailsService;
+    private final long idleCloseMillis;
+    private ThreadPoolTaskScheduler idlePoolCloser;
 
     @Autowired
-    public TomcatJdbcDataSourcePerTenantService(final @Qualifier("tenantDataSourceJndi") DataSource tenantDataSource) {
+    public TomcatJdbcDataSourcePerTenantService(final @Qualifier("tenantDataSourceJndi") DataSource tenantDataSource,
+            final CachingTenantDetailsService tenantDetailsService) {
         this.tenantDataSource = tenantDataSource;
+        this.tenantDetailsService = tenantDetailsService;
+        this.idleCloseMillis = TimeUnit.MINUTES.toMillis(Long.getLong("mifos.tenantPools.idleCloseMinutes", 30).longValue());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.idleCloseMillis <= 0) { return; }
+
+        this.idlePoolCloser = new ThreadPoolTaskScheduler();
+        this.idlePoolCloser.setThreadNamePrefix("mifos-idle-pool-closer-");
+        this.idlePoolCloser.initialize();
+        this.idlePoolCloser.scheduleWithFixedDelay(new Runnable() {
+
+            @Override
+            public void run() {
+                closeIdlePools();
+            }
+        }, Math.min(this.idleCloseMillis, TimeUnit.MINUTES.toMillis(1)));
+    }
+
+    @Override
+    public void destroy() {
+        if (this.idlePoolCloser != null) {
+            this.idlePoolCloser.shutdown();
+        }
+        for (final TenantConnectionPool pool : this.tenantToDataSourceMap.values()) {
+            pool.close(true);
+        }
     }
 
     @Override
@@ -41,18 +93,59 @@ public class TomcatJdbcDataSourcePerTenantService implements DataSourcePerTenant
         if (tenant != null) {
             // if tenant information available switch to appropriate datasource
             // for that tenant.
-            if (this.tenantToDataSourceMap.containsKey(tenant.getId())) {
-                tenantDataSource = this.tenantToDataSourceMap.get(tenant.getId());
-            } else {
-                tenantDataSource = createNewDataSourceFor(tenant);
-                this.tenantToDataSourceMap.put(tenant.getId(), tenantDataSource);
-            }
+            tenantDataSource = poolFor(tenant);
         }
 
         return tenantDataSource;
     }
 
-    private DataSource createNewDataSourceFor(final MifosPlatformTenant tenant) {
+    @Override
+    public ConnectionPoolData retrieveConnectionPoolData() {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        return poolFor(tenant).toData();
+    }
+
+    private TenantConnectionPool poolFor(final MifosPlatformTenant tenant) {
+        TenantConnectionPool pool = this.tenantToDataSourceMap.get(tenant.getId());
+        if (pool == null) {
+            // connections are only opened on first borrow so a pool that
+            // loses the race to be registered is simply discarded
+            final TenantConnectionPool newPool = createNewDataSourceFor(tenant);
+            pool = this.tenantToDataSourceMap.putIfAbsent(tenant.getId(), newPool);
+            if (pool == null) {
+                pool = newPool;
+            }
+        }
+        return pool;
+    }
+
+    private void closeIdlePools() {
+        closePoolsIdleSince(System.currentTimeMillis() - this.idleCloseMillis);
+    }
+
+    void closePoolsIdleSince(final long idleSince) {
+        for (final Map.Entry<Long, TenantConnectionPool> entry : this.tenantToDataSourceMap.entrySet()) {
+            final Long tenantId = entry.getKey();
+            final TenantConnectionPool pool = entry.getValue();
+            try {
+                final boolean retired = pool.retireIfIdleSince(idleSince, new Runnable() {
+
+                    @Override
+                    public void run() {
+                        TomcatJdbcDataSourcePerTenantService.this.tenantToDataSourceMap.remove(tenantId, pool);
+                    }
+                });
+                if (retired) {
+                    this.tenantDetailsService.invalidate(tenantId);
+                    logger.info("Closed idle connection pool of tenant " + tenantId);
+                }
+            } catch (final RuntimeException e) {
+                logger.warn("Unable to close idle connection pool of tenant " + tenantId, e);
+            }
+        }
+    }
+
+    private TenantConnectionPool createNewDataSourceFor(final MifosPlatformTenant tenant) {
         // see
         // http://www.tomcatexpert.com/blog/2010/04/01/configuring-jdbc-pool-high-concurrency
 
@@ -65,18 +158,24 @@ public class TomcatJdbcDataSourcePerTenantService implements DataSourcePerTenant
         poolConfiguration.setUrl(jdbcUrlBuilder.toString());
         poolConfiguration.setUsername(tenant.getSchemaUsername());
         poolConfiguration.setPassword(tenant.getSchemaPassword());
+        // lets the mysql driver send a JDBC batch of inserts as one statement
+        poolConfiguration.setConnectionProperties("rewriteBatchedStatements=true");
 
-        poolConfiguration.setInitialSize(5);
-        poolConfiguration.setMaxActive(5);
-        poolConfiguration.setMinIdle(1);
-        poolConfiguration.setMaxIdle(4);
+        poolConfiguration.setInitialSize(tenant.getPoolInitialSize());
+        poolConfiguration.setMaxActive(tenant.getPoolMaxActive());
+        poolConfiguration.setMinIdle(tenant.getPoolMinIdle());
+        poolConfiguration.setMaxIdle(tenant.getPoolMaxIdle());
+        poolConfiguration.setMaxWait(tenant.getPoolMaxWaitMillis());
 
         poolConfiguration.setSuspectTimeout(60);
         poolConfiguration.setTimeBetweenEvictionRunsMillis(30000);
         poolConfiguration.setMinEvictableIdleTimeMillis(60000);
 
+        // connections are validated at most every 30 seconds, using the mysql
+        // driver's lightweight ping rather than running a query
         poolConfiguration.setTestOnBorrow(true);
-        poolConfiguration.setValidationQuery("SELECT 1");
+        poolConfiguration.setTestWhileIdle(true);
+        poolConfiguration.setValidationQuery("/* ping */ SELECT 1");
         poolConfiguration.setValidationInterval(30000);
 
         poolConfiguration.setRemoveAbandoned(true);
@@ -87,6 +186,15 @@ public class TomcatJdbcDataSourcePerTenantService implements DataSourcePerTenant
         poolConfiguration.setJdbcInterceptors("org.apache.tomcat.jdbc.pool.interceptor.ConnectionState;"
                 + "org.apache.tomcat.jdbc.pool.interceptor.StatementFinalizer;org.apache.tomcat.jdbc.pool.interceptor.SlowQueryReport");
 
-        return new org.apache.tomcat.jdbc.pool.DataSource(poolConfiguration);
+        AtomicLong idleCloseCount = this.idleCloseCountsByTenant.get(tenant.getId());
+        if (idleCloseCount == null) {
+            final AtomicLong newCount = new AtomicLong();
+            idleCloseCount = this.idleCloseCountsByTenant.putIfAbsent(tenant.getId(), newCount);
+            if (idleCloseCount == null) {
+                idleCloseCount = newCount;
+            }
+        }
+
+        return new TenantConnectionPool(poolConfiguration, idleCloseCount);
     }
-}
\ No newline at end of file
+}
@@ -19,8 +19,6 @@ import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.mifosplatform.infrastructure.core.api.ApiParameterHelper;
-import org.mifosplatform.infrastructure.core.serialization.ToApiJsonSerializer;
-import org.mifosplatform.infrastructure.dataqueries.data.GenericResultsetData;
 import org.mifosplatform.infrastructure.dataqueries.service.ReadReportingService;
 import org.mifosplatform.infrastructure.security.exception.NoAuthorizationException;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
@@ -35,15 +33,12 @@ import org.springframework.stereotype.Component;
 public class ReportsApiResource {
 
     private final PlatformSecurityContext context;
-    private final ToApiJsonSerializer<GenericResultsetData> toApiJsonSerializer;
     private final ReadReportingService readExtraDataAndReportingService;
 
     @Autowired
-    public ReportsApiResource(final PlatformSecurityContext context, final ReadReportingService readExtraDataAndReportingService,
-            final ToApiJsonSerializer<GenericResultsetData> toApiJsonSerializer) {
+    public ReportsApiResource(final PlatformSecurityContext context, final ReadReportingService readExtraDataAndReportingService) {
         this.context = context;
         this.readExtraDataAndReportingService = readExtraDataAndReportingService;
-        this.toApiJsonSerializer = toApiJsonSerializer;
     }
 
     @GET
@@ -64,11 +59,9 @@ public class ReportsApiResource {
         }
 
         if (!exportCsv) {
-            GenericResultsetData result = this.readExtraDataAndReportingService.retrieveGenericResultset(".", ".", extractedQueryParams);
+            StreamingOutput result = this.readExtraDataAndReportingService.retrieveReportJson(".", ".", extractedQueryParams, prettyPrint);
 
-            final String json = this.toApiJsonSerializer.serializePretty(prettyPrint, result);
-
-            return Response.ok().entity(json).build();
+            return Response.ok().entity(result).type(MediaType.APPLICATION_JSON).build();
         }
 
         StreamingOutput result = this.readExtraDataAndReportingService.retrieveReportCSV(".", ".", extractedQueryParams);
@@ -122,12 +115,10 @@ public class ReportsApiResource {
         if (!exportCsv) {
             Map<String, String> reportParams = getReportParams(queryParams, false);
 
-            GenericResultsetData result = this.readExtraDataAndReportingService.retrieveGenericResultset(reportName, parameterTypeValue,
-                    reportParams);
-
-            final String json = this.toApiJsonSerializer.serializePretty(prettyPrint, result);
+            StreamingOutput result = this.readExtraDataAndReportingService.retrieveReportJson(reportName, parameterTypeValue, reportParams,
+                    prettyPrint);
 
-            return Response.ok().entity(json).type(MediaType.APPLICATION_JSON).build();
+            return Response.ok().entity(result).type(MediaType.APPLICATION_JSON).build();
         }
 
         // CSV Export
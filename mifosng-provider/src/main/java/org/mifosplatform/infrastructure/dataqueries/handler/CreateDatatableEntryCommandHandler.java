@@ -1,5 +1,6 @@
 package org.mifosplatform.infrastructure.dataqueries.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = CommandType.DATATABLE, action = "CREATE")
 public class CreateDatatableEntryCommandHandler implements NewCommandSourceHandler {
 
     private final ReadWriteNonCoreDataService writePlatformService;
@@ -2,6 +2,7 @@ package org.mifosplatform.infrastructure.dataqueries.handler;
 
 import java.util.Map;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = CommandType.DATATABLE, action = "UPDATEMULTIPLE")
 public class UpdateOneToManyDatatableEntryCommandHandler implements NewCommandSourceHandler {
 
     private final ReadWriteNonCoreDataService writePlatformService;
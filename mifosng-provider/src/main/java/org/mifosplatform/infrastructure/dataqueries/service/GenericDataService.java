@@ -1,12 +1,17 @@
 package org.mifosplatform.infrastructure.dataqueries.service;
 
-import javax.sql.rowset.CachedRowSet;
+import java.io.IOException;
 
 import org.mifosplatform.infrastructure.dataqueries.data.GenericResultsetData;
 
 public interface GenericDataService {
 
-    CachedRowSet getCachedResultSet(String sql, String errorMsg);
+    /**
+     * Runs the query against a forward only, read only cursor and hands each
+     * row to the handler as it is read, so the resultset is never held in
+     * memory as a whole.
+     */
+    void streamGenericResultSet(String sql, GenericResultsetRowHandler handler) throws IOException;
 
     void updateSQL(String sql, String sqlErrorMsg);
 
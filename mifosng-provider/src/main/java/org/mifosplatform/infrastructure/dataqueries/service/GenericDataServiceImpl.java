@@ -1,15 +1,16 @@
 package org.mifosplatform.infrastructure.dataqueries.service;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.sql.DataSource;
-import javax.sql.rowset.CachedRowSet;
 
 import org.joda.time.LocalDate;
 import org.mifosplatform.infrastructure.core.exception.PlatformDataIntegrityException;
@@ -20,8 +21,6 @@ import org.mifosplatform.infrastructure.dataqueries.data.ResultsetDataRow;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.sun.rowset.CachedRowSetImpl;
-
 //TODO - Performance Item - most items (code values etc) can be cached but not doing that yet
 @Service
 public class GenericDataServiceImpl implements GenericDataService {
@@ -35,33 +34,71 @@ public class GenericDataServiceImpl implements GenericDataService {
     }
 
     @Override
-    public CachedRowSet getCachedResultSet(final String sql, final String sqlErrorMsg) {
-        // FIXME - Need to reimplement this away from Sun library - could be
-        // mixture of Lists and jdbcTemplate.query
+    public void streamGenericResultSet(final String sql, final GenericResultsetRowHandler handler) throws IOException {
 
-        // long startTime = System.currentTimeMillis();
+        final String sqlErrorMsg = "Sql: " + sql;
         Connection db_connection = null;
         Statement db_statement = null;
-        CachedRowSet crs = null;
         try {
             db_connection = dataSource.getConnection();
-            db_statement = db_connection.createStatement();
-            ResultSet rs = db_statement.executeQuery(sql);
-            crs = new CachedRowSetImpl();
+            db_statement = db_connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // mysql only streams rows (rather than reading them all into
+            // memory) for this fetch size
+            db_statement.setFetchSize(Integer.MIN_VALUE);
+            final ResultSet rs = db_statement.executeQuery(sql);
+
+            final ResultSetMetaData rsmd = rs.getMetaData();
+            final int columnCount = rsmd.getColumnCount();
+            final int[] columnTypes = new int[columnCount];
+            final boolean[] signedColumns = new boolean[columnCount];
+            final List<ResultsetColumnHeader> columnHeaders = new ArrayList<ResultsetColumnHeader>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                final ResultsetColumnHeader rsch = new ResultsetColumnHeader();
+                rsch.setColumnName(rsmd.getColumnLabel(i + 1));
+                rsch.setColumnType(rsmd.getColumnTypeName(i + 1));
+                columnHeaders.add(rsch);
+                columnTypes[i] = rsmd.getColumnType(i + 1);
+                signedColumns[i] = rsmd.isSigned(i + 1);
+            }
+            handler.columnHeaders(columnHeaders);
 
-            crs.populate(rs);
-            // logger.info("RS Size: " + crs.size() +
-            // "     getCachedResultSet sql: " + sql);
+            while (rs.next()) {
+                final Object[] columnValues = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    columnValues[i] = columnValue(rs, i + 1, columnTypes[i], signedColumns[i]);
+                }
+                handler.row(columnValues);
+            }
         } catch (SQLException e) {
             throw new PlatformDataIntegrityException("error.msg.sql.error", e.getMessage(), sqlErrorMsg);
         } finally {
             dbClose(db_statement, db_connection);
-
         }
+    }
 
-        // long elapsed = System.currentTimeMillis() - startTime;
-        // logger.info("Elapsed Time: " + elapsed + "    SQL: " + sql);
-        return crs;
+    private static Object columnValue(final ResultSet rs, final int columnIndex, final int columnType, final boolean signed)
+            throws SQLException {
+
+        final Object value;
+        switch (columnType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                value = rs.getLong(columnIndex);
+            break;
+            case Types.BIGINT:
+                // an unsigned bigint may not fit a long
+                value = signed ? Long.valueOf(rs.getLong(columnIndex)) : rs.getBigDecimal(columnIndex);
+            break;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                value = rs.getBigDecimal(columnIndex);
+            break;
+            default:
+                value = rs.getString(columnIndex);
+            break;
+        }
+        return rs.wasNull() ? null : value;
     }
 
     @Override
@@ -87,41 +124,34 @@ public class GenericDataServiceImpl implements GenericDataService {
     @Override
     public GenericResultsetData fillGenericResultSet(final String sql) {
 
-        String sqlErrorMsg = "Sql: " + sql;
-        CachedRowSet rs = getCachedResultSet(sql, sqlErrorMsg);
-
-        List<ResultsetColumnHeader> columnHeaders = new ArrayList<ResultsetColumnHeader>();
-        List<ResultsetDataRow> resultsetDataRows = new ArrayList<ResultsetDataRow>();
+        final List<ResultsetColumnHeader> columnHeaders = new ArrayList<ResultsetColumnHeader>();
+        final List<ResultsetDataRow> resultsetDataRows = new ArrayList<ResultsetDataRow>();
 
         try {
+            streamGenericResultSet(sql, new GenericResultsetRowHandler() {
 
-            ResultSetMetaData rsmd = rs.getMetaData();
-            String columnName = null;
-            String columnValue = null;
-            for (int i = 0; i < rsmd.getColumnCount(); i++) {
-                ResultsetColumnHeader rsch = new ResultsetColumnHeader();
-                rsch.setColumnName(rsmd.getColumnName(i + 1));
-                rsch.setColumnType(rsmd.getColumnTypeName(i + 1));
-                columnHeaders.add(rsch);
-            }
-
-            ResultsetDataRow resultsetDataRow;
-            while (rs.next()) {
-                resultsetDataRow = new ResultsetDataRow();
-                List<String> columnValues = new ArrayList<String>();
-                for (int i = 0; i < rsmd.getColumnCount(); i++) {
-                    columnName = rsmd.getColumnName(i + 1);
-                    columnValue = rs.getString(columnName);
-                    columnValues.add(columnValue);
+                @Override
+                public void columnHeaders(final List<ResultsetColumnHeader> headers) {
+                    columnHeaders.addAll(headers);
                 }
-                resultsetDataRow.setRow(columnValues);
-                resultsetDataRows.add(resultsetDataRow);
-            }
 
-            return new GenericResultsetData(columnHeaders, resultsetDataRows);
-        } catch (SQLException e) {
-            throw new PlatformDataIntegrityException("error.msg.sql.error", e.getMessage(), sqlErrorMsg);
+                @Override
+                public void row(final Object[] values) {
+                    final List<String> columnValues = new ArrayList<String>(values.length);
+                    for (final Object value : values) {
+                        columnValues.add(GenericResultsetValues.asText(value));
+                    }
+                    final ResultsetDataRow resultsetDataRow = new ResultsetDataRow();
+                    resultsetDataRow.setRow(columnValues);
+                    resultsetDataRows.add(resultsetDataRow);
+                }
+            });
+        } catch (IOException e) {
+            // rows are only collected in memory here
+            throw new IllegalStateException(e);
         }
+
+        return new GenericResultsetData(columnHeaders, resultsetDataRows);
     }
 
     @Override
@@ -144,19 +174,14 @@ public class GenericDataServiceImpl implements GenericDataService {
 
     @Override
     public String wrapSQL(final String sql) {
-        // wrap sql to prevent JDBC sql errors, prevent malicious sql and a
-        // CachedRowSetImpl bug
-
-        // http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=7046875 - prevent
-        // Invalid Column Name bug in sun's CachedRowSetImpl where it doesn't
-        // pick up on label names, only column names
+        // wrap sql to prevent JDBC sql errors and prevent malicious sql
         return "select x.* from (" + sql + ") x";
     }
 
     @Override
     public String generateJsonFromGenericResultsetData(final GenericResultsetData grs) {
 
-        StringBuffer writer = new StringBuffer();
+        StringBuilder writer = new StringBuilder();
 
         writer.append("[");
 
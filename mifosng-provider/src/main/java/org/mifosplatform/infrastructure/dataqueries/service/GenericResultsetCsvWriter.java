@@ -0,0 +1,73 @@
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnHeader;
+
+/**
+ * Writes a generic resultset as CSV, one row at a time. Numeric columns are
+ * written as they are and all others are quoted.
+ */
+public final class GenericResultsetCsvWriter implements GenericResultsetRowHandler {
+
+    private static final Set<String> NUMERIC_COLUMN_TYPES = new HashSet<String>(Arrays.asList("TINYINT", "SMALLINT", "MEDIUMINT",
+            "INT", "INTEGER", "BIGINT", "DECIMAL", "FLOAT", "DOUBLE"));
+
+    private final Writer out;
+    private boolean[] numericColumns;
+
+    public GenericResultsetCsvWriter(final Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void columnHeaders(final List<ResultsetColumnHeader> columnHeaders) throws IOException {
+        this.numericColumns = new boolean[columnHeaders.size()];
+        for (int i = 0; i < columnHeaders.size(); i++) {
+            // unsigned columns are reported as e.g. 'INT UNSIGNED'
+            final String columnType = columnHeaders.get(i).getColumnType().toUpperCase().replace(" UNSIGNED", "");
+            this.numericColumns[i] = NUMERIC_COLUMN_TYPES.contains(columnType);
+
+            if (i > 0) {
+                this.out.write(',');
+            }
+            writeQuoted(columnHeaders.get(i).getColumnName());
+        }
+        this.out.write('\n');
+    }
+
+    @Override
+    public void row(final Object[] columnValues) throws IOException {
+        for (int i = 0; i < columnValues.length; i++) {
+            if (i > 0) {
+                this.out.write(',');
+            }
+            final Object value = columnValues[i];
+            if (value == null) {
+                continue;
+            }
+            final String text = GenericResultsetValues.asText(value);
+            if (this.numericColumns[i]) {
+                this.out.write(text);
+            } else {
+                writeQuoted(text);
+            }
+        }
+        this.out.write('\n');
+    }
+
+    public void finish() throws IOException {
+        this.out.flush();
+    }
+
+    private void writeQuoted(final String text) throws IOException {
+        this.out.write('"');
+        this.out.write(text.replace("\"", "\"\""));
+        this.out.write('"');
+    }
+}
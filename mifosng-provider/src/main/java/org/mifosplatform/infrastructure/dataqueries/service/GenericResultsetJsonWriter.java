@@ -0,0 +1,63 @@
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.mifosplatform.infrastructure.dataqueries.data.GenericResultsetData;
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnHeader;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes a generic resultset as the JSON of a {@link GenericResultsetData},
+ * one row at a time.
+ */
+public final class GenericResultsetJsonWriter implements GenericResultsetRowHandler {
+
+    private static final Type COLUMN_HEADERS_TYPE = new TypeToken<List<ResultsetColumnHeader>>() {}.getType();
+
+    private final Gson gson = new Gson();
+    private final JsonWriter writer;
+
+    public GenericResultsetJsonWriter(final Writer out, final boolean prettyPrint) {
+        this.writer = new JsonWriter(out);
+        this.writer.setHtmlSafe(true);
+        if (prettyPrint) {
+            this.writer.setIndent("  ");
+        }
+    }
+
+    @Override
+    public void columnHeaders(final List<ResultsetColumnHeader> columnHeaders) throws IOException {
+        this.writer.beginObject();
+        this.writer.name("columnHeaders");
+        this.gson.toJson(columnHeaders, COLUMN_HEADERS_TYPE, this.writer);
+        this.writer.name("data");
+        this.writer.beginArray();
+    }
+
+    /*
+     * values are written as text, as in GenericResultsetData rows
+     */
+    @Override
+    public void row(final Object[] columnValues) throws IOException {
+        this.writer.beginObject();
+        this.writer.name("row");
+        this.writer.beginArray();
+        for (final Object value : columnValues) {
+            this.writer.value(GenericResultsetValues.asText(value));
+        }
+        this.writer.endArray();
+        this.writer.endObject();
+    }
+
+    public void finish() throws IOException {
+        this.writer.endArray();
+        this.writer.endObject();
+        this.writer.flush();
+    }
+}
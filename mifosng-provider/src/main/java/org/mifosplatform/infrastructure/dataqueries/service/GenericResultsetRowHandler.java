@@ -0,0 +1,22 @@
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnHeader;
+
+/**
+ * Receives a generic resultset as it is read from a forward only cursor: the
+ * column headers once, then each row in turn. Rows are not kept once handled.
+ *
+ * Column values are {@link Long} for integer columns, {@link BigDecimal} for
+ * decimal columns, the driver's text for all other columns and null for SQL
+ * NULL.
+ */
+public interface GenericResultsetRowHandler {
+
+    void columnHeaders(List<ResultsetColumnHeader> columnHeaders) throws IOException;
+
+    void row(Object[] columnValues) throws IOException;
+}
@@ -0,0 +1,21 @@
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Text form of the column values handed to a
+ * {@link GenericResultsetRowHandler}, matching what the driver returns from
+ * ResultSet.getString.
+ */
+final class GenericResultsetValues {
+
+    private GenericResultsetValues() {
+        //
+    }
+
+    static String asText(final Object value) {
+        if (value == null) { return null; }
+        if (value instanceof BigDecimal) { return ((BigDecimal) value).toPlainString(); }
+        return value.toString();
+    }
+}
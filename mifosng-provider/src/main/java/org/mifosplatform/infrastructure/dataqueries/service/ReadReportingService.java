@@ -11,6 +11,8 @@ public interface ReadReportingService {
 
     StreamingOutput retrieveReportCSV(String name, String type, Map<String, String> extractedQueryParams);
 
+    StreamingOutput retrieveReportJson(String name, String type, Map<String, String> extractedQueryParams, boolean prettyPrint);
+
     GenericResultsetData retrieveGenericResultset(String name, String type, Map<String, String> extractedQueryParams);
 
     Response processPentahoRequest(String reportName, String outputType, Map<String, String> queryParams);
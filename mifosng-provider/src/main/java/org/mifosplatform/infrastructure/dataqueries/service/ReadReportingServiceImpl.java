@@ -1,19 +1,17 @@
 package org.mifosplatform.infrastructure.dataqueries.service;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.sql.Date;
-import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import javax.sql.rowset.CachedRowSet;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 
@@ -74,74 +72,48 @@ public class ReadReportingServiceImpl implements ReadReportingService {
     @Override
     public StreamingOutput retrieveReportCSV(final String name, final String type, final Map<String, String> queryParams) {
 
+        final String sql = getReportSql(name, type, queryParams);
+
         return new StreamingOutput() {
 
             @Override
-            public void write(OutputStream out) {
-                try {
-
-                    GenericResultsetData result = retrieveGenericResultset(name, type, queryParams);
-                    StringBuffer sb = generateCsvFileBuffer(result);
-
-                    InputStream in = new ByteArrayInputStream(sb.toString().getBytes("UTF-8"));
+            public void write(final OutputStream out) throws IOException {
+                final long startTime = System.currentTimeMillis();
+                logger.info("STARTING REPORT: " + name + "   Type: " + type);
 
-                    byte[] outputByte = new byte[4096];
-                    Integer readLen = in.read(outputByte, 0, 4096);
+                final GenericResultsetCsvWriter writer = new GenericResultsetCsvWriter(new BufferedWriter(new OutputStreamWriter(out,
+                        "UTF-8")));
+                genericDataService.streamGenericResultSet(sql, writer);
+                writer.finish();
 
-                    while (readLen != -1) {
-                        out.write(outputByte, 0, readLen);
-                        readLen = in.read(outputByte, 0, 4096);
-                    }
-                    // in.close();
-                    // out.flush();
-                    // out.close();
-                } catch (Exception e) {
-                    throw new PlatformDataIntegrityException("error.msg.exception.error", e.getMessage());
-                }
+                final long elapsed = System.currentTimeMillis() - startTime;
+                logger.info("FINISHING Report/Request Name: " + name + " - " + type + "     Elapsed Time: " + elapsed);
             }
         };
-
     }
 
-    private static StringBuffer generateCsvFileBuffer(GenericResultsetData result) {
-        StringBuffer writer = new StringBuffer();
+    @Override
+    public StreamingOutput retrieveReportJson(final String name, final String type, final Map<String, String> queryParams,
+            final boolean prettyPrint) {
 
-        List<ResultsetColumnHeader> columnHeaders = result.getColumnHeaders();
-        logger.info("NO. of Columns: " + columnHeaders.size());
-        Integer chSize = columnHeaders.size();
-        for (int i = 0; i < chSize; i++) {
-            writer.append('"' + columnHeaders.get(i).getColumnName() + '"');
-            if (i < (chSize - 1)) writer.append(",");
-        }
-        writer.append('\n');
-
-        List<ResultsetDataRow> data = result.getData();
-        List<String> row;
-        Integer rSize;
-        // String currCol;
-        String currColType;
-        String currVal;
-        logger.info("NO. of Rows: " + data.size());
-        for (int i = 0; i < data.size(); i++) {
-            row = data.get(i).getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
-                // currCol = columnHeaders.get(j).getColumnName();
-                currColType = columnHeaders.get(j).getColumnType();
-                currVal = row.get(j);
-                if (currVal != null) {
-                    if (currColType.equals("DECIMAL") || currColType.equals("DOUBLE") || currColType.equals("BIGINT")
-                            || currColType.equals("SMALLINT") || currColType.equals("INT"))
-                        writer.append(currVal);
-                    else
-                        writer.append('"' + currVal + '"');
-                }
-                if (j < (rSize - 1)) writer.append(",");
-            }
-            writer.append('\n');
-        }
+        final String sql = getReportSql(name, type, queryParams);
+
+        return new StreamingOutput() {
+
+            @Override
+            public void write(final OutputStream out) throws IOException {
+                final long startTime = System.currentTimeMillis();
+                logger.info("STARTING REPORT: " + name + "   Type: " + type);
 
-        return writer;
+                final GenericResultsetJsonWriter writer = new GenericResultsetJsonWriter(new BufferedWriter(new OutputStreamWriter(out,
+                        "UTF-8")), prettyPrint);
+                genericDataService.streamGenericResultSet(sql, writer);
+                writer.finish();
+
+                final long elapsed = System.currentTimeMillis() - startTime;
+                logger.info("FINISHING Report/Request Name: " + name + " - " + type + "     Elapsed Time: " + elapsed);
+            }
+        };
     }
 
     @Override
@@ -150,13 +122,22 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         long startTime = System.currentTimeMillis();
         logger.info("STARTING REPORT: " + name + "   Type: " + type);
 
-        String sql;
+        final String sql = getReportSql(name, type, queryParams);
+        GenericResultsetData result = genericDataService.fillGenericResultSet(sql);
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        logger.info("FINISHING Report/Request Name: " + name + " - " + type + "     Elapsed Time: " + elapsed);
+        return result;
+    }
+
+    private String getReportSql(final String name, final String type, final Map<String, String> queryParams) {
+
         if (name.equals(".")) {
             // this is to support api /reports - which isn't an important
             // call. It isn't used in the default reporting UI. But there is a
             // need to provide an api that does bring back 'permitted' reports
             // PERMITTED REPORTS SQL
-            sql = "select r.report_id, r.report_name, r.report_type, r.report_subtype, r.report_category,"
+            return "select r.report_id, r.report_name, r.report_type, r.report_subtype, r.report_category,"
                     + " rp.parameter_id, rp.report_parameter_name, p.parameter_name" + " from stretchy_report r"
                     + " left join stretchy_report_parameter rp on rp.report_id = r.report_id"
                     + " left join stretchy_parameter p on p.parameter_id = rp.parameter_id" + " where exists" + " (select 'f'"
@@ -165,15 +146,9 @@ public class ReadReportingServiceImpl implements ReadReportingService {
                     + " where ur.appuser_id = " + context.authenticatedUser().getId()
                     + " and (p.code in ('ALL_FUNCTIONS', 'ALL_FUNCTIONS_READ') or p.code = concat('READ_', r.report_name))) "
                     + " order by r.report_name, rp.parameter_id";
-        } else {
-            sql = getSQLtoRun(name, type, queryParams);
         }
 
-        GenericResultsetData result = genericDataService.fillGenericResultSet(sql);
-
-        long elapsed = System.currentTimeMillis() - startTime;
-        logger.info("FINISHING Report/Request Name: " + name + " - " + type + "     Elapsed Time: " + elapsed);
-        return result;
+        return getSQLtoRun(name, type, queryParams);
     }
 
     private String getSQLtoRun(final String name, final String type, final Map<String, String> queryParams) {
@@ -206,18 +181,10 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         String inputSql = "select " + type + "_sql as the_sql from stretchy_" + type + " where " + type + "_name = '" + name + "'";
         inputSql = genericDataService.wrapSQL(inputSql);
 
-        String sqlErrorMsg = "Sql: " + inputSql;
-        CachedRowSet rs = genericDataService.getCachedResultSet(inputSql, sqlErrorMsg);
-
-        try {
-            if (rs.next()) { return rs.getString("the_sql"); }
-            throw new ReportNotFoundException(inputSql);
-
-        } catch (SQLException e) {
-            logger.info("msg: " + e.getMessage() + "   sql: " + inputSql);
-            throw new PlatformDataIntegrityException("error.msg.sql.error", e.getMessage(), sqlErrorMsg);
-        }
+        final List<ResultsetDataRow> data = genericDataService.fillGenericResultSet(inputSql).getData();
+        if (data.isEmpty()) { throw new ReportNotFoundException(inputSql); }
 
+        return data.get(0).getRow().get(0);
     }
 
     @Override
@@ -226,18 +193,10 @@ public class ReadReportingServiceImpl implements ReadReportingService {
 
         sql = genericDataService.wrapSQL(sql);
 
-        String sqlErrorMsg = "Report Name: " + reportName + "   Sql: " + sql;
-        CachedRowSet rs = genericDataService.getCachedResultSet(sql, sqlErrorMsg);
-
-        try {
-
-            if (rs.next()) { return rs.getString("report_type"); }
-            throw new ReportNotFoundException(sql);
-
-        } catch (SQLException e) {
-            throw new PlatformDataIntegrityException("error.msg.sql.error", e.getMessage(), sqlErrorMsg);
-        }
+        final List<ResultsetDataRow> data = genericDataService.fillGenericResultSet(sql).getData();
+        if (data.isEmpty()) { throw new ReportNotFoundException(sql); }
 
+        return data.get(0).getRow().get(0);
     }
 
     @Override
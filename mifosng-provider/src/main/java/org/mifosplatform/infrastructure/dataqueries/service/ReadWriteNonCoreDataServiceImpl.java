@@ -2,8 +2,6 @@ package org.mifosplatform.infrastructure.dataqueries.service;
 
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
-import java.sql.ResultSetMetaData;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -11,10 +9,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
-import javax.sql.rowset.CachedRowSet;
-
 import org.apache.commons.lang.StringUtils;
 import org.joda.time.LocalDate;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.ApiParameterError;
 import org.mifosplatform.infrastructure.core.exception.PlatformApiDataValidationException;
@@ -57,6 +54,9 @@ public class ReadWriteNonCoreDataServiceImpl implements
 	@Autowired
 	private GenericDataService genericDataService;
 
+	@Autowired
+	private ConfigurationDomainService configurationDomainService;
+
 	@Override
 	public List<DatatableData> retrieveDatatableNames(final String appTable) {
 
@@ -81,22 +81,13 @@ public class ReadWriteNonCoreDataServiceImpl implements
 				+ andClause
 				+ " order by application_table_name, registered_table_name";
 
-		String sqlErrorMsg = "Application Table Name: " + appTable + "   sql: "
-				+ sql;
-		CachedRowSet rs = genericDataService.getCachedResultSet(sql,
-				sqlErrorMsg);
+		List<ResultsetDataRow> rows = genericDataService.fillGenericResultSet(
+				sql).getData();
 
 		List<DatatableData> datatables = new ArrayList<DatatableData>();
-		try {
-			while (rs.next()) {
-				datatables.add(new DatatableData(rs
-						.getString("application_table_name"), rs
-						.getString("registered_table_name")));
-			}
-
-		} catch (SQLException e) {
-			throw new PlatformDataIntegrityException("error.msg.sql.error",
-					e.getMessage(), sqlErrorMsg);
+		for (ResultsetDataRow row : rows) {
+			datatables.add(new DatatableData(row.getRow().get(0), row.getRow()
+					.get(1)));
 		}
 
 		return datatables;
@@ -160,6 +151,8 @@ public class ReadWriteNonCoreDataServiceImpl implements
 				+ datatable + "', false)";
 
 		genericDataService.updateSQL(sql, "SQL: " + sql);
+
+		this.configurationDomainService.evictCachedConfigurationForCurrentTenant();
 	}
 
 	@Override
@@ -181,6 +174,8 @@ public class ReadWriteNonCoreDataServiceImpl implements
 		sql = "delete from x_registered_table where registered_table_name = '"
 				+ datatable + "'";
 		genericDataService.updateSQL(sql, "SQL: " + sql);
+
+		this.configurationDomainService.evictCachedConfigurationForCurrentTenant();
 	}
 
 	@Override
@@ -337,10 +332,7 @@ public class ReadWriteNonCoreDataServiceImpl implements
 
 		String sql = dataScopedSQL(unscopedSql, appTable);
 
-		CachedRowSet rs = genericDataService.getCachedResultSet(sql, "SQL : "
-				+ sql);
-
-		if (rs.size() == 0)
+		if (genericDataService.fillGenericResultSet(sql).getData().isEmpty())
 			throw new DataTableNotFoundException(appTable, appTableId);
 	}
 
@@ -392,37 +384,7 @@ public class ReadWriteNonCoreDataServiceImpl implements
 	private List<ResultsetDataRow> fillDatatableResultSetDataRows(
 			final String sql) {
 
-		String sqlErrorMsg = "Sql: " + sql;
-		CachedRowSet rs = genericDataService.getCachedResultSet(sql,
-				sqlErrorMsg);
-
-		List<ResultsetDataRow> resultsetDataRows = new ArrayList<ResultsetDataRow>();
-
-		try {
-
-			ResultSetMetaData rsmd = rs.getMetaData();
-			int columnCount = rsmd.getColumnCount();
-
-			ResultsetDataRow resultsetDataRow;
-			String columnName = null;
-			String columnValue = null;
-			while (rs.next()) {
-				resultsetDataRow = new ResultsetDataRow();
-				List<String> columnValues = new ArrayList<String>();
-				for (int i = 0; i < columnCount; i++) {
-					columnName = rsmd.getColumnName(i + 1);
-					columnValue = rs.getString(columnName);
-					columnValues.add(columnValue);
-				}
-				resultsetDataRow.setRow(columnValues);
-				resultsetDataRows.add(resultsetDataRow);
-			}
-
-			return resultsetDataRows;
-		} catch (SQLException e) {
-			throw new PlatformDataIntegrityException("error.msg.sql.error",
-					e.getMessage(), sqlErrorMsg);
-		}
+		return genericDataService.fillGenericResultSet(sql).getData();
 	}
 
 	private String getWithinScopeApplicationTableName(final String datatable,
@@ -430,23 +392,17 @@ public class ReadWriteNonCoreDataServiceImpl implements
 		String sql = "SELECT application_table_name FROM x_registered_table where registered_table_name = '"
 				+ datatable + "'";
 
-		CachedRowSet rs = genericDataService.getCachedResultSet(sql, "SQL : "
-				+ sql);
+		List<ResultsetDataRow> rows = genericDataService.fillGenericResultSet(
+				sql).getData();
 
-		if (rs.size() == 0)
+		if (rows.isEmpty())
 			throw new DataTableNotFoundException(datatable);
 
-		try {
-			rs.next();
-			String appTable = rs.getString("application_table_name");
+		String appTable = rows.get(0).getRow().get(0);
 
-			checkMainResourceExistsWithinScope(appTable, appTableId);
+		checkMainResourceExistsWithinScope(appTable, appTableId);
 
-			return appTable;
-		} catch (SQLException e) {
-			throw new PlatformDataIntegrityException("error.msg.sql.error",
-					e.getMessage());
-		}
+		return appTable;
 	}
 
 	private String getApplicationTableName(final String datatable) {
@@ -455,19 +411,13 @@ public class ReadWriteNonCoreDataServiceImpl implements
 		String sql = "SELECT application_table_name FROM x_registered_table where registered_table_name = '"
 				+ datatable + "'";
 
-		CachedRowSet rs = genericDataService.getCachedResultSet(sql, "SQL : "
-				+ sql);
+		List<ResultsetDataRow> rows = genericDataService.fillGenericResultSet(
+				sql).getData();
 
-		if (rs.size() == 0)
+		if (rows.isEmpty())
 			throw new DataTableNotFoundException(datatable);
 
-		try {
-			rs.next();
-			return rs.getString("application_table_name");
-		} catch (SQLException e) {
-			throw new PlatformDataIntegrityException("error.msg.sql.error",
-					e.getMessage());
-		}
+		return rows.get(0).getRow().get(0);
 	}
 
 	private String getFKField(final String applicationTableName) {
@@ -475,17 +425,17 @@ public class ReadWriteNonCoreDataServiceImpl implements
 		return applicationTableName.substring(2) + "_id";
 	}
 
-	private CachedRowSet getDatatableMetaData(final String datatable) {
+	private List<ResultsetDataRow> getDatatableMetaData(final String datatable) {
 
 		String sql = "select COLUMN_NAME, IS_NULLABLE, DATA_TYPE, CHARACTER_MAXIMUM_LENGTH, COLUMN_KEY"
 				+ " from INFORMATION_SCHEMA.COLUMNS "
 				+ " where TABLE_SCHEMA = schema() and TABLE_NAME = '"
 				+ datatable + "'order by ORDINAL_POSITION";
 
-		CachedRowSet columnDefinitions = genericDataService.getCachedResultSet(
-				sql, "SQL: " + sql);
+		List<ResultsetDataRow> columnDefinitions = genericDataService
+				.fillGenericResultSet(sql).getData();
 
-		if (columnDefinitions.size() > 0)
+		if (!columnDefinitions.isEmpty())
 			return columnDefinitions;
 
 		throw new DataTableNotFoundException(datatable);
@@ -494,56 +444,49 @@ public class ReadWriteNonCoreDataServiceImpl implements
 	private List<ResultsetColumnHeader> getDatatableResultsetColumnHeaders(
 			final String datatable) {
 
-		CachedRowSet columnDefinitions = getDatatableMetaData(datatable);
+		List<ResultsetDataRow> columnDefinitions = getDatatableMetaData(datatable);
 
 		List<ResultsetColumnHeader> columnHeaders = new ArrayList<ResultsetColumnHeader>();
 
-		try {
-
-			while (columnDefinitions.next()) {
-				ResultsetColumnHeader rsch = new ResultsetColumnHeader();
+		// COLUMN_NAME, IS_NULLABLE, DATA_TYPE, CHARACTER_MAXIMUM_LENGTH,
+		// COLUMN_KEY
+		for (ResultsetDataRow columnDefinition : columnDefinitions) {
+			List<String> row = columnDefinition.getRow();
+			ResultsetColumnHeader rsch = new ResultsetColumnHeader();
 
-				rsch.setColumnName(columnDefinitions.getString("COLUMN_NAME"));
+			rsch.setColumnName(row.get(0));
 
-				String isNullable = columnDefinitions.getString("IS_NULLABLE");
-				if (isNullable.equalsIgnoreCase("YES"))
-					rsch.setColumnNullable(true);
-				else
-					rsch.setColumnNullable(false);
+			String isNullable = row.get(1);
+			if (isNullable.equalsIgnoreCase("YES"))
+				rsch.setColumnNullable(true);
+			else
+				rsch.setColumnNullable(false);
 
-				String isPrimaryKey = columnDefinitions.getString("COLUMN_KEY");
-				if (isPrimaryKey.equalsIgnoreCase("PRI"))
-					rsch.setColumnPrimaryKey(true);
-				else
-					rsch.setColumnPrimaryKey(false);
+			String isPrimaryKey = row.get(4);
+			if (isPrimaryKey.equalsIgnoreCase("PRI"))
+				rsch.setColumnPrimaryKey(true);
+			else
+				rsch.setColumnPrimaryKey(false);
 
-				Long columnLength = columnDefinitions
-						.getLong("CHARACTER_MAXIMUM_LENGTH");
-				if (columnLength > 0)
-					rsch.setColumnLength(columnDefinitions
-							.getLong("CHARACTER_MAXIMUM_LENGTH"));
+			String columnLength = row.get(3);
+			if (columnLength != null && Long.valueOf(columnLength) > 0)
+				rsch.setColumnLength(Long.valueOf(columnLength));
 
-				rsch.setColumnType(columnDefinitions.getString("DATA_TYPE"));
+			rsch.setColumnType(row.get(2));
 
-				/* look for codes */
-				if (rsch.getColumnType().equalsIgnoreCase("varchar"))
-					addCodesValueIfNecessary(rsch, "_cv");
+			/* look for codes */
+			if (rsch.getColumnType().equalsIgnoreCase("varchar"))
+				addCodesValueIfNecessary(rsch, "_cv");
 
-				if (rsch.getColumnType().equalsIgnoreCase("int"))
-					addCodesValueIfNecessary(rsch, "_cd");
+			if (rsch.getColumnType().equalsIgnoreCase("int"))
+				addCodesValueIfNecessary(rsch, "_cd");
 
-				rsch.setColumnDisplayType();
+			rsch.setColumnDisplayType();
 
-				columnHeaders.add(rsch);
-			}
-			;
-			return columnHeaders;
-
-		} catch (SQLException e) {
-			throw new PlatformDataIntegrityException("error.msg.sql.error",
-					e.getMessage());
+			columnHeaders.add(rsch);
 		}
 
+		return columnHeaders;
 	}
 
 	private void addCodesValueIfNecessary(final ResultsetColumnHeader rsch,
@@ -557,18 +500,13 @@ public class ReadWriteNonCoreDataServiceImpl implements
 					+ " where m.code_name = '" + codeName
 					+ "' order by v.order_position, v.id";
 
-			CachedRowSet rsValues = genericDataService.getCachedResultSet(sql,
-					"SQL: " + sql);
+			List<ResultsetDataRow> rowValues = genericDataService
+					.fillGenericResultSet(sql).getData();
 
-			try {
-				while (rsValues.next()) {
-					rsch.getColumnValues().add(
-							new ResultsetColumnValue(rsValues.getInt("id"),
-									rsValues.getString("code_value")));
-				}
-			} catch (SQLException e) {
-				throw new PlatformDataIntegrityException("error.msg.sql.error",
-						e.getMessage());
+			for (ResultsetDataRow rowValue : rowValues) {
+				rsch.getColumnValues().add(
+						new ResultsetColumnValue(Integer.parseInt(rowValue
+								.getRow().get(0)), rowValue.getRow().get(1)));
 			}
 		}
 
@@ -1,7 +1,8 @@
 package org.mifosplatform.infrastructure.documentmanagement.api;
 
-import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -20,17 +21,21 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.mifosplatform.infrastructure.core.api.ApiConstants;
 import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
+import org.mifosplatform.infrastructure.core.api.ByteRange;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.mifosplatform.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.mifosplatform.infrastructure.core.service.FileUtils;
 import org.mifosplatform.infrastructure.documentmanagement.command.DocumentCommand;
 import org.mifosplatform.infrastructure.documentmanagement.data.DocumentData;
+import org.mifosplatform.infrastructure.documentmanagement.exception.DocumentManagementException;
 import org.mifosplatform.infrastructure.documentmanagement.service.DocumentReadPlatformService;
+import org.mifosplatform.infrastructure.documentmanagement.service.DocumentStore;
 import org.mifosplatform.infrastructure.documentmanagement.service.DocumentWritePlatformService;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -56,16 +61,19 @@ public class DocumentManagementApiResource {
     private final DocumentWritePlatformService documentWritePlatformService;
     private final ApiRequestParameterHelper apiRequestParameterHelper;
     private final ToApiJsonSerializer<DocumentData> toApiJsonSerializer;
+    private final DocumentStore documentStore;
 
     @Autowired
     public DocumentManagementApiResource(final PlatformSecurityContext context,
             final DocumentReadPlatformService documentReadPlatformService, final DocumentWritePlatformService documentWritePlatformService,
-            final ApiRequestParameterHelper apiRequestParameterHelper, final ToApiJsonSerializer<DocumentData> toApiJsonSerializer) {
+            final ApiRequestParameterHelper apiRequestParameterHelper, final ToApiJsonSerializer<DocumentData> toApiJsonSerializer,
+            final DocumentStore documentStore) {
         this.context = context;
         this.documentReadPlatformService = documentReadPlatformService;
         this.documentWritePlatformService = documentWritePlatformService;
         this.apiRequestParameterHelper = apiRequestParameterHelper;
         this.toApiJsonSerializer = toApiJsonSerializer;
+        this.documentStore = documentStore;
     }
 
     @GET
@@ -166,16 +174,57 @@ public class DocumentManagementApiResource {
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
     public Response downloadFile(@PathParam("entityType") String entityType, @PathParam("entityId") Long entityId,
-            @PathParam("documentId") Long documentId) {
+            @PathParam("documentId") Long documentId, @HeaderParam("Range") final String rangeHeader) {
 
         context.authenticatedUser().validateHasReadPermission(SystemEntityType);
 
-        DocumentData documentData = this.documentReadPlatformService.retrieveDocument(entityType, entityId, documentId);
-        File file = new File(documentData.fileLocation());
-        ResponseBuilder response = Response.ok(file);
+        final DocumentData documentData = this.documentReadPlatformService.retrieveDocument(entityType, entityId, documentId);
+        final String location = documentData.fileLocation();
+        final long contentLength;
+        try {
+            contentLength = this.documentStore.size(location);
+        } catch (IOException e) {
+            throw new DocumentManagementException(documentData.fileName());
+        }
+
+        /**
+         * Large attachments can be fetched in parts, and interrupted downloads
+         * resumed, using a single byte range
+         **/
+        final ByteRange range = ByteRange.parse(rangeHeader, contentLength);
+        if (range != null && !range.isSatisfiable()) { return Response.status(416).header("Content-Range", range.contentRange()).build(); }
+
+        final long offset = range == null ? 0 : range.first();
+        final long length = range == null ? contentLength : range.size();
+        final StreamingOutput content = new StreamingOutput() {
+
+            @Override
+            public void write(final OutputStream output) throws IOException {
+                final InputStream input = DocumentManagementApiResource.this.documentStore.read(location, offset);
+                try {
+                    final byte[] buffer = new byte[8192];
+                    long remaining = length;
+                    while (remaining > 0) {
+                        final int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                        if (read == -1) {
+                            break;
+                        }
+                        output.write(buffer, 0, read);
+                        remaining -= read;
+                    }
+                } finally {
+                    input.close();
+                }
+            }
+        };
+
+        ResponseBuilder response = range == null ? Response.ok(content) : Response.status(206).entity(content)
+                .header("Content-Range", range.contentRange());
+        response.header("Accept-Ranges", "bytes");
+        response.header("Content-Length", length);
         response.header("Content-Disposition", "attachment; filename=\"" + documentData.fileName() + "\"");
         response.header("Content-Type", documentData.contentType());
-        
+
         return response.build();
     }
 
@@ -0,0 +1,137 @@
+package org.mifosplatform.infrastructure.documentmanagement.service;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.mifosplatform.infrastructure.core.service.FileUtils;
+import org.springframework.stereotype.Service;
+
+/**
+ * A {@link DocumentStore} on the local file system that keeps each distinct
+ * piece of content once, named by its SHA-256 hash.
+ * 
+ * Uploads are hashed while they are streamed to a temporary file, which is
+ * then moved into place under
+ * <code>~/.mifosx/&lt;tenant&gt;/documents/sha256/ab/cd/abcd...</code>, or
+ * discarded if identical content is already stored. The two levels of
+ * directories keep any one directory small. Content is only shared within a
+ * tenant.
+ * 
+ * Locations saved before this store was introduced are absolute file paths
+ * and are still read and deleted from where they are.
+ */
+@Service
+public class ContentAddressedDocumentStore implements DocumentStore {
+
+    private static final String LOCATION_PREFIX = "sha256:";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    @Override
+    public String store(final InputStream content) throws IOException {
+
+        final File root = tenantRoot();
+        final File temporaryDirectory = new File(root, "tmp");
+        mkdirs(temporaryDirectory);
+
+        final MessageDigest digest = sha256();
+        final File temporaryFile = File.createTempFile("upload", null, temporaryDirectory);
+        try {
+            final OutputStream out = new FileOutputStream(temporaryFile);
+            try {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                out.close();
+            }
+
+            final String hash = toHex(digest.digest());
+            final File target = contentFile(root, hash);
+            if (!target.exists()) {
+                mkdirs(target.getParentFile());
+                // another upload of the same content may have won the race
+                if (!temporaryFile.renameTo(target) && !target.exists()) { throw new IOException("Unable to move upload to " + target); }
+            }
+            return LOCATION_PREFIX + hash;
+        } finally {
+            if (temporaryFile.exists()) {
+                temporaryFile.delete();
+            }
+        }
+    }
+
+    @Override
+    public long size(final String location) throws IOException {
+        final File file = fileAt(location);
+        if (!file.isFile()) { throw new FileNotFoundException(location); }
+        return file.length();
+    }
+
+    @Override
+    public InputStream read(final String location, final long offset) throws IOException {
+        final RandomAccessFile file = new RandomAccessFile(fileAt(location), "r");
+        try {
+            file.seek(offset);
+            return Channels.newInputStream(file.getChannel());
+        } catch (final IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean delete(final String location) {
+        return fileAt(location).delete();
+    }
+
+    private File fileAt(final String location) {
+        if (!location.startsWith(LOCATION_PREFIX)) { return new File(location); }
+
+        final String hash = location.substring(LOCATION_PREFIX.length());
+        if (hash.length() != 64 || !hash.matches("[0-9a-f]+")) { throw new IllegalArgumentException("Invalid document location " + location); }
+        return contentFile(tenantRoot(), hash);
+    }
+
+    private static File contentFile(final File root, final String hash) {
+        return new File(root, "sha256" + File.separator + hash.substring(0, 2) + File.separator + hash.substring(2, 4) + File.separator
+                + hash);
+    }
+
+    private static File tenantRoot() {
+        return new File(FileUtils.generateDocumentStoreDirectory());
+    }
+
+    private static void mkdirs(final File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) { throw new IOException("Unable to create "
+                + directory); }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,37 @@
+package org.mifosplatform.infrastructure.documentmanagement.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Where the content of documents is kept.
+ * 
+ * A store hands out an opaque location for each piece of content it stores,
+ * which is what is saved as the location of a document. Locations are only
+ * meaningful to the store that created them, for the current tenant.
+ */
+public interface DocumentStore {
+
+    /**
+     * Stores the content read from the stream, which is not closed.
+     * 
+     * @return the location of the stored content
+     */
+    String store(InputStream content) throws IOException;
+
+    long size(String location) throws IOException;
+
+    /**
+     * Opens the content at a location for reading from an offset. The caller
+     * closes the stream.
+     */
+    InputStream read(String location, long offset) throws IOException;
+
+    /**
+     * Removes the content at a location. Only called once no document refers
+     * to the location any more.
+     * 
+     * @return <code>false</code> if the content could not be removed
+     */
+    boolean delete(String location);
+}
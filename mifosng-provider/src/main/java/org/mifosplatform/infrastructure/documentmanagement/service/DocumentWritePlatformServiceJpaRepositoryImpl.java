@@ -1,12 +1,12 @@
 package org.mifosplatform.infrastructure.documentmanagement.service;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.exception.PlatformDataIntegrityException;
-import org.mifosplatform.infrastructure.core.service.FileUtils;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
 import org.mifosplatform.infrastructure.documentmanagement.command.DocumentCommand;
 import org.mifosplatform.infrastructure.documentmanagement.command.DocumentCommandValidator;
 import org.mifosplatform.infrastructure.documentmanagement.domain.Document;
@@ -19,9 +19,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Identical uploads share the same stored content, so the number of documents
+ * referring to each location is kept in <code>m_document_content</code>.
+ * 
+ * The count is changed with the documents, which locks its row until the
+ * transaction ends. Content is only deleted after a transaction that released
+ * it commits, and only if its count, read again under the lock, is still
+ * zero. An upload that finds its content already stored takes the lock before
+ * checking the content is still there, so it either keeps the content alive or
+ * fails rather than refer to deleted content.
+ */
 @Service
 public class DocumentWritePlatformServiceJpaRepositoryImpl implements DocumentWritePlatformService {
 
@@ -29,11 +48,20 @@ public class DocumentWritePlatformServiceJpaRepositoryImpl implements DocumentWr
 
     private final PlatformSecurityContext context;
     private final DocumentRepository documentRepository;
+    private final DocumentStore documentStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public DocumentWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context, final DocumentRepository documentRepository) {
+    public DocumentWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context, final DocumentRepository documentRepository,
+            final DocumentStore documentStore, final TenantAwareRoutingDataSource dataSource,
+            final PlatformTransactionManager transactionManager) {
         this.context = context;
         this.documentRepository = documentRepository;
+        this.documentStore = documentStore;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     @Transactional
@@ -48,15 +76,8 @@ public class DocumentWritePlatformServiceJpaRepositoryImpl implements DocumentWr
 
             validator.validateForCreate();
 
-            String fileUploadLocation = FileUtils.generateFileParentDirectory(documentCommand.getParentEntityType(),
-                    documentCommand.getParentEntityId());
-
-            /** Recursively create the directory if it does not exist **/
-            if (!new File(fileUploadLocation).isDirectory()) {
-                new File(fileUploadLocation).mkdirs();
-            }
-
-            String fileLocation = FileUtils.saveToFileSystem(inputStream, fileUploadLocation, documentCommand.getFileName());
+            String fileLocation = this.documentStore.store(inputStream);
+            acquireContent(documentCommand.getName(), fileLocation);
 
             Document document = Document.createNew(documentCommand.getParentEntityType(), documentCommand.getParentEntityId(),
                     documentCommand.getName(), documentCommand.getFileName(), documentCommand.getSize(), documentCommand.getType(),
@@ -92,28 +113,20 @@ public class DocumentWritePlatformServiceJpaRepositoryImpl implements DocumentWr
             oldLocation = documentForUpdate.getLocation();
             // if a new file is also passed in
             if (inputStream != null && documentCommand.isFileNameChanged()) {
-                String fileUploadLocation = FileUtils.generateFileParentDirectory(documentCommand.getParentEntityType(),
-                        documentCommand.getParentEntityId());
-
-                /** Recursively create the directory if it does not exist **/
-                if (!new File(fileUploadLocation).isDirectory()) {
-                    new File(fileUploadLocation).mkdirs();
-                }
-
-                // TODO replace file system appender with an Amazon S3 appender
-                String fileLocation = FileUtils.saveToFileSystem(inputStream, fileUploadLocation, documentCommand.getFileName());
+                String fileLocation = this.documentStore.store(inputStream);
+                acquireContent(documentCommand.getName(), fileLocation);
                 documentCommand.setLocation(fileLocation);
             }
 
             documentForUpdate.update(documentCommand);
 
+            this.documentRepository.saveAndFlush(documentForUpdate);
+
             if (inputStream != null && documentCommand.isFileNameChanged()) {
                 // delete previous file
-                deleteFile(documentCommand.getName(), oldLocation);
+                releaseContent(oldLocation);
             }
 
-            this.documentRepository.saveAndFlush(documentForUpdate);
-
             return new CommandProcessingResult(documentForUpdate.getId());
         } catch (DataIntegrityViolationException dve) {
             logger.error(dve.getMessage(), dve);
@@ -137,14 +150,67 @@ public class DocumentWritePlatformServiceJpaRepositoryImpl implements DocumentWr
                 documentCommand.getParentEntityId(), documentCommand.getId()); }
 
         this.documentRepository.delete(document);
-        deleteFile(document.getName(), document.getLocation());
+        this.documentRepository.flush();
+        releaseContent(document.getLocation());
         return new CommandProcessingResult(document.getId());
     }
 
-    private void deleteFile(String documentName, String location) {
-        File fileToBeDeleted = new File(location);
-        boolean fileDeleted = fileToBeDeleted.delete();
-        if (!fileDeleted) { throw new DocumentManagementException(documentName); }
+    private void acquireContent(final String documentName, final String location) {
+        this.jdbcTemplate.update("insert into m_document_content (location_hash, location, reference_count) values (sha2(?, 256), ?, 1) "
+                + " on duplicate key update reference_count = reference_count + 1", new Object[] { location, location });
+
+        // identical content may have been deleted after it was found stored
+        try {
+            this.documentStore.size(location);
+        } catch (final IOException e) {
+            throw new DocumentManagementException(documentName);
+        }
+    }
+
+    private void releaseContent(final String location) {
+        if (location == null) { return; }
+
+        this.jdbcTemplate.update("update m_document_content set reference_count = reference_count - 1 "
+                + " where location_hash = sha2(?, 256) and reference_count > 0", new Object[] { location });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    deleteContentIfUnreferenced(location);
+                }
+            });
+        }
+    }
+
+    /**
+     * Content left behind when deleting fails is only wasted space; the
+     * documents referring to it are already gone.
+     */
+    private void deleteContentIfUnreferenced(final String location) {
+        try {
+            this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                    final List<Integer> counts = DocumentWritePlatformServiceJpaRepositoryImpl.this.jdbcTemplate.queryForList(
+                            "select reference_count from m_document_content where location_hash = sha2(?, 256) for update",
+                            Integer.class, location);
+                    if (counts.isEmpty() || counts.get(0).intValue() > 0) { return; }
+
+                    if (!DocumentWritePlatformServiceJpaRepositoryImpl.this.documentStore.delete(location)) {
+                        logger.warn("Could not delete unreferenced document content at " + location);
+                        return;
+                    }
+                    DocumentWritePlatformServiceJpaRepositoryImpl.this.jdbcTemplate.update(
+                            "delete from m_document_content where location_hash = sha2(?, 256) and reference_count = 0",
+                            new Object[] { location });
+                }
+            });
+        } catch (final RuntimeException e) {
+            logger.error("Could not delete unreferenced document content at " + location, e);
+        }
     }
 
     private void validateParentEntityType(DocumentCommand documentCommand) {
@@ -0,0 +1,132 @@
+package org.mifosplatform.infrastructure.jobs.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.commons.lang.StringUtils;
+import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
+import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.mifosplatform.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.mifosplatform.infrastructure.jobs.data.ScheduledJobDetailData;
+import org.mifosplatform.infrastructure.jobs.data.ScheduledJobRunHistoryData;
+import org.mifosplatform.infrastructure.jobs.service.JobSchedulerService;
+import org.mifosplatform.infrastructure.jobs.service.SchedulerReadPlatformService;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+@Path("/jobs")
+@Component
+@Scope("singleton")
+public class SchedulerJobApiResource {
+
+    private static final int DEFAULT_RUN_HISTORY_LIMIT = 50;
+    private static final int MAX_RUN_HISTORY_LIMIT = 1000;
+
+    private final Set<String> JOB_DETAIL_DATA_PARAMETERS = new HashSet<String>(Arrays.asList("id", "name", "displayName",
+            "cronExpression", "active", "nextRunTime", "currentlyRunning", "runningOnNode", "runCount", "failedRunCount",
+            "averageDurationMillis", "maximumDurationMillis", "totalRowsProcessed", "lastRun"));
+
+    private final Set<String> JOB_RUN_HISTORY_DATA_PARAMETERS = new HashSet<String>(Arrays.asList("id", "triggerType", "status",
+            "nodeId", "startTime", "endTime", "durationMillis", "rowsProcessed", "errorMessage"));
+
+    private final String resourceNameForPermissions = "SCHEDULER";
+
+    private final PlatformSecurityContext context;
+    private final SchedulerReadPlatformService readPlatformService;
+    private final JobSchedulerService jobSchedulerService;
+    private final DefaultToApiJsonSerializer<ScheduledJobDetailData> toApiJsonSerializer;
+    private final DefaultToApiJsonSerializer<ScheduledJobRunHistoryData> runHistoryToApiJsonSerializer;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+
+    @Autowired
+    public SchedulerJobApiResource(final PlatformSecurityContext context, final SchedulerReadPlatformService readPlatformService,
+            final JobSchedulerService jobSchedulerService, final DefaultToApiJsonSerializer<ScheduledJobDetailData> toApiJsonSerializer,
+            final DefaultToApiJsonSerializer<ScheduledJobRunHistoryData> runHistoryToApiJsonSerializer,
+            final ApiRequestParameterHelper apiRequestParameterHelper) {
+        this.context = context;
+        this.readPlatformService = readPlatformService;
+        this.jobSchedulerService = jobSchedulerService;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+        this.runHistoryToApiJsonSerializer = runHistoryToApiJsonSerializer;
+        this.apiRequestParameterHelper = apiRequestParameterHelper;
+    }
+
+    @GET
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveAllJobs(@Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
+
+        final Collection<ScheduledJobDetailData> jobs = this.readPlatformService.retrieveAllJobDetails();
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, jobs, this.JOB_DETAIL_DATA_PARAMETERS);
+    }
+
+    @GET
+    @Path("{jobId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveJob(@PathParam("jobId") final Long jobId, @Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
+
+        final ScheduledJobDetailData job = this.readPlatformService.retrieveJobDetail(jobId);
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, job, this.JOB_DETAIL_DATA_PARAMETERS);
+    }
+
+    @GET
+    @Path("{jobId}/runhistory")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveJobRunHistory(@PathParam("jobId") final Long jobId, @QueryParam("limit") final Integer limit,
+            @Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
+
+        if (limit != null && limit.intValue() < 1) { throw new UnrecognizedQueryParamException("limit", limit.toString()); }
+        final int maxResults = limit == null ? DEFAULT_RUN_HISTORY_LIMIT : Math.min(limit.intValue(), MAX_RUN_HISTORY_LIMIT);
+
+        final Collection<ScheduledJobRunHistoryData> runs = this.readPlatformService.retrieveJobRunHistory(jobId, maxResults);
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.runHistoryToApiJsonSerializer.serialize(settings, runs, this.JOB_RUN_HISTORY_DATA_PARAMETERS);
+    }
+
+    @POST
+    @Path("{jobId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String executeJob(@PathParam("jobId") final Long jobId, @QueryParam("command") final String commandParam) {
+
+        if (!is(commandParam, "executeJob")) { throw new UnrecognizedQueryParamException("command", commandParam); }
+
+        this.jobSchedulerService.executeJob(jobId);
+
+        return this.toApiJsonSerializer.serialize(new CommandProcessingResult(jobId));
+    }
+
+    private boolean is(final String commandParam, final String commandValue) {
+        return StringUtils.isNotBlank(commandParam) && commandParam.trim().equalsIgnoreCase(commandValue);
+    }
+}
@@ -0,0 +1,59 @@
+package org.mifosplatform.infrastructure.jobs.data;
+
+import org.joda.time.DateTime;
+
+/**
+ * Immutable data object representing a scheduled job of a tenant along with
+ * totals over its run history.
+ */
+public class ScheduledJobDetailData {
+
+    @SuppressWarnings("unused")
+    private final Long id;
+    @SuppressWarnings("unused")
+    private final String name;
+    @SuppressWarnings("unused")
+    private final String displayName;
+    @SuppressWarnings("unused")
+    private final String cronExpression;
+    @SuppressWarnings("unused")
+    private final boolean active;
+    @SuppressWarnings("unused")
+    private final DateTime nextRunTime;
+    @SuppressWarnings("unused")
+    private final boolean currentlyRunning;
+    @SuppressWarnings("unused")
+    private final String runningOnNode;
+    @SuppressWarnings("unused")
+    private final Long runCount;
+    @SuppressWarnings("unused")
+    private final Long failedRunCount;
+    @SuppressWarnings("unused")
+    private final Long averageDurationMillis;
+    @SuppressWarnings("unused")
+    private final Long maximumDurationMillis;
+    @SuppressWarnings("unused")
+    private final Long totalRowsProcessed;
+    @SuppressWarnings("unused")
+    private final ScheduledJobRunHistoryData lastRun;
+
+    public ScheduledJobDetailData(final Long id, final String name, final String displayName, final String cronExpression,
+            final boolean active, final DateTime nextRunTime, final boolean currentlyRunning, final String runningOnNode,
+            final Long runCount, final Long failedRunCount, final Long averageDurationMillis, final Long maximumDurationMillis,
+            final Long totalRowsProcessed, final ScheduledJobRunHistoryData lastRun) {
+        this.id = id;
+        this.name = name;
+        this.displayName = displayName;
+        this.cronExpression = cronExpression;
+        this.active = active;
+        this.nextRunTime = nextRunTime;
+        this.currentlyRunning = currentlyRunning;
+        this.runningOnNode = runningOnNode;
+        this.runCount = runCount;
+        this.failedRunCount = failedRunCount;
+        this.averageDurationMillis = averageDurationMillis;
+        this.maximumDurationMillis = maximumDurationMillis;
+        this.totalRowsProcessed = totalRowsProcessed;
+        this.lastRun = lastRun;
+    }
+}
@@ -0,0 +1,42 @@
+package org.mifosplatform.infrastructure.jobs.data;
+
+import org.joda.time.DateTime;
+import org.mifosplatform.infrastructure.core.data.EnumOptionData;
+
+/**
+ * Immutable data object representing one run of a scheduled job.
+ */
+public class ScheduledJobRunHistoryData {
+
+    @SuppressWarnings("unused")
+    private final Long id;
+    @SuppressWarnings("unused")
+    private final EnumOptionData triggerType;
+    @SuppressWarnings("unused")
+    private final EnumOptionData status;
+    @SuppressWarnings("unused")
+    private final String nodeId;
+    @SuppressWarnings("unused")
+    private final DateTime startTime;
+    @SuppressWarnings("unused")
+    private final DateTime endTime;
+    @SuppressWarnings("unused")
+    private final Long durationMillis;
+    @SuppressWarnings("unused")
+    private final Long rowsProcessed;
+    @SuppressWarnings("unused")
+    private final String errorMessage;
+
+    public ScheduledJobRunHistoryData(final Long id, final EnumOptionData triggerType, final EnumOptionData status, final String nodeId,
+            final DateTime startTime, final DateTime endTime, final Long durationMillis, final Long rowsProcessed, final String errorMessage) {
+        this.id = id;
+        this.triggerType = triggerType;
+        this.status = status;
+        this.nodeId = nodeId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.durationMillis = durationMillis;
+        this.rowsProcessed = rowsProcessed;
+        this.errorMessage = errorMessage;
+    }
+}
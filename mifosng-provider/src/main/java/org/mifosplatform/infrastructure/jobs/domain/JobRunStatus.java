@@ -0,0 +1,39 @@
+package org.mifosplatform.infrastructure.jobs.domain;
+
+public enum JobRunStatus {
+
+    INVALID(0, "jobRunStatus.invalid"), //
+    RUNNING(100, "jobRunStatus.running"), //
+    SUCCEEDED(200, "jobRunStatus.succeeded"), //
+    FAILED(300, "jobRunStatus.failed");
+
+    private final Integer value;
+    private final String code;
+
+    private JobRunStatus(final Integer value, final String code) {
+        this.value = value;
+        this.code = code;
+    }
+
+    public static JobRunStatus fromInt(final Integer statusValue) {
+
+        JobRunStatus status = JobRunStatus.INVALID;
+        if (statusValue != null) {
+            for (final JobRunStatus candidate : values()) {
+                if (candidate.value.equals(statusValue)) {
+                    status = candidate;
+                    break;
+                }
+            }
+        }
+        return status;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public String getCode() {
+        return this.code;
+    }
+}
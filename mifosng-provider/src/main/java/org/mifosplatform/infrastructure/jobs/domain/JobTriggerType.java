@@ -0,0 +1,42 @@
+package org.mifosplatform.infrastructure.jobs.domain;
+
+public enum JobTriggerType {
+
+    INVALID(0, "jobTriggerType.invalid"), //
+    SCHEDULED(1, "jobTriggerType.scheduled"), //
+    MANUAL(2, "jobTriggerType.manual");
+
+    private final Integer value;
+    private final String code;
+
+    private JobTriggerType(final Integer value, final String code) {
+        this.value = value;
+        this.code = code;
+    }
+
+    public static JobTriggerType fromInt(final Integer triggerTypeValue) {
+
+        JobTriggerType triggerType = JobTriggerType.INVALID;
+        if (triggerTypeValue != null) {
+            for (final JobTriggerType candidate : values()) {
+                if (candidate.value.equals(triggerTypeValue)) {
+                    triggerType = candidate;
+                    break;
+                }
+            }
+        }
+        return triggerType;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public String getCode() {
+        return this.code;
+    }
+
+    public boolean isScheduled() {
+        return this.value.equals(JobTriggerType.SCHEDULED.getValue());
+    }
+}
@@ -0,0 +1,82 @@
+package org.mifosplatform.infrastructure.jobs.domain;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.joda.time.DateTime;
+import org.springframework.data.jpa.domain.AbstractPersistable;
+
+/**
+ * One run of a scheduled job for a tenant, whether started by its schedule or
+ * by hand.
+ */
+@Entity
+@Table(name = "m_job_run_history")
+public class ScheduledJobRunHistory extends AbstractPersistable<Long> {
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "trigger_type_enum", nullable = false)
+    private Integer triggerType;
+
+    @Column(name = "status_enum", nullable = false)
+    private Integer status;
+
+    @Column(name = "node_id", length = 100, nullable = false)
+    private String nodeId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "start_time", nullable = false)
+    private Date startTime;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "end_time", nullable = true)
+    private Date endTime;
+
+    @Column(name = "duration_millis", nullable = true)
+    private Long durationMillis;
+
+    @Column(name = "rows_processed", nullable = true)
+    private Long rowsProcessed;
+
+    @Column(name = "error_message", length = 500, nullable = true)
+    private String errorMessage;
+
+    public static ScheduledJobRunHistory started(final Long jobId, final JobTriggerType triggerType, final String nodeId) {
+        return new ScheduledJobRunHistory(jobId, triggerType, nodeId);
+    }
+
+    protected ScheduledJobRunHistory() {
+        //
+    }
+
+    private ScheduledJobRunHistory(final Long jobId, final JobTriggerType triggerType, final String nodeId) {
+        this.jobId = jobId;
+        this.triggerType = triggerType.getValue();
+        this.status = JobRunStatus.RUNNING.getValue();
+        this.nodeId = nodeId;
+        this.startTime = new DateTime().toDate();
+    }
+
+    public void succeeded(final long rowsProcessed) {
+        finish(JobRunStatus.SUCCEEDED);
+        this.rowsProcessed = Long.valueOf(rowsProcessed);
+    }
+
+    public void failed(final String reason) {
+        finish(JobRunStatus.FAILED);
+        this.errorMessage = reason == null || reason.length() <= 500 ? reason : reason.substring(0, 500);
+    }
+
+    private void finish(final JobRunStatus finalStatus) {
+        this.status = finalStatus.getValue();
+        this.endTime = new DateTime().toDate();
+        this.durationMillis = Long.valueOf(this.endTime.getTime() - this.startTime.getTime());
+    }
+}
@@ -0,0 +1,9 @@
+package org.mifosplatform.infrastructure.jobs.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface ScheduledJobRunHistoryRepository extends JpaRepository<ScheduledJobRunHistory, Long>,
+        JpaSpecificationExecutor<ScheduledJobRunHistory> {
+    // no added behaviour
+}
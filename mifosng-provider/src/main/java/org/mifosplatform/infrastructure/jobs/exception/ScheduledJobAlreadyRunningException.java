@@ -0,0 +1,11 @@
+package org.mifosplatform.infrastructure.jobs.exception;
+
+import org.mifosplatform.infrastructure.core.exception.AbstractPlatformDomainRuleException;
+
+public class ScheduledJobAlreadyRunningException extends AbstractPlatformDomainRuleException {
+
+    public ScheduledJobAlreadyRunningException(final Long id) {
+        super("error.msg.scheduler.job.already.running", "Scheduled job with identifier " + id
+                + " is already running or the tenant is running as many jobs as it is allowed to", id);
+    }
+}
@@ -0,0 +1,10 @@
+package org.mifosplatform.infrastructure.jobs.exception;
+
+import org.mifosplatform.infrastructure.core.exception.AbstractPlatformResourceNotFoundException;
+
+public class ScheduledJobNotFoundException extends AbstractPlatformResourceNotFoundException {
+
+    public ScheduledJobNotFoundException(final Long id) {
+        super("error.msg.scheduler.job.id.invalid", "Scheduled job with identifier " + id + " does not exist", id);
+    }
+}
@@ -0,0 +1,13 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+import org.springframework.security.access.prepost.PreAuthorize;
+
+public interface JobSchedulerService {
+
+    /**
+     * Runs a job of the current tenant now, in the background, without
+     * changing when it is next due.
+     */
+    @PreAuthorize(value = "hasAnyRole('ALL_FUNCTIONS', 'EXECUTEJOB_SCHEDULER')")
+    void executeJob(Long jobId);
+}
@@ -0,0 +1,356 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.mifosplatform.infrastructure.cache.service.SecondLevelCacheVersionService;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.jobs.domain.JobTriggerType;
+import org.mifosplatform.infrastructure.jobs.domain.ScheduledJobRunHistory;
+import org.mifosplatform.infrastructure.jobs.domain.ScheduledJobRunHistoryRepository;
+import org.mifosplatform.infrastructure.jobs.exception.ScheduledJobAlreadyRunningException;
+import org.mifosplatform.infrastructure.jobs.exception.ScheduledJobNotFoundException;
+import org.mifosplatform.infrastructure.security.service.TenantDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronSequenceGenerator;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs {@link ScheduledJob}s for every tenant on the cron schedule kept in
+ * each tenant's <code>m_job</code> table.
+ * 
+ * Every node polls each tenant for jobs that are due and runs them on a
+ * bounded pool of workers, with the tenant set on the worker thread. A job is
+ * only locked in {@link ScheduledJobStore} when a worker is free to run it
+ * straight away, and only runs on the node that holds its lock: the worker
+ * checks the lock is still held before starting, renews its lease for as long
+ * as the job runs and interrupts the job if the lock is lost. A tenant only
+ * runs as many jobs at once as it has permits for; jobs that cannot start stay
+ * due and are picked up by a later poll. Each run is
+ * recorded in <code>m_job_run_history</code> with its duration and the number
+ * of rows it processed.
+ * 
+ * Polling can be turned off and tuned with the <code>mifos.jobs.*</code>
+ * system properties read in the constructor.
+ */
+@Service
+public class JobSchedulerServiceImpl implements JobSchedulerService, InitializingBean, DisposableBean {
+
+    private final static Logger logger = LoggerFactory.getLogger(JobSchedulerServiceImpl.class);
+
+    private final TenantDetailsService tenantDetailsService;
+    private final ScheduledJobStore jobStore;
+    private final ScheduledJobRunHistoryRepository runHistoryRepository;
+    private final SecondLevelCacheVersionService secondLevelCacheVersionService;
+    private final Map<String, ScheduledJob> jobsByName = new HashMap<String, ScheduledJob>();
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+    private final boolean enabled;
+    private final long pollIntervalMillis;
+    private final long lockLeaseSeconds;
+    private final int maxConcurrentJobsPerTenant;
+    private final ConcurrentMap<Long, Semaphore> permitsByTenant = new ConcurrentHashMap<Long, Semaphore>();
+    private final ExecutorService workers;
+    private final ScheduledExecutorService lockRenewer;
+    private ThreadPoolTaskScheduler poller;
+
+    @Autowired
+    public JobSchedulerServiceImpl(final TenantDetailsService tenantDetailsService, final ScheduledJobStore jobStore,
+            final ScheduledJobRunHistoryRepository runHistoryRepository, final SecondLevelCacheVersionService secondLevelCacheVersionService,
+            final List<ScheduledJob> jobs) {
+        this.tenantDetailsService = tenantDetailsService;
+        this.jobStore = jobStore;
+        this.runHistoryRepository = runHistoryRepository;
+        this.secondLevelCacheVersionService = secondLevelCacheVersionService;
+        for (final ScheduledJob job : jobs) {
+            this.jobsByName.put(job.getName(), job);
+        }
+
+        this.enabled = Boolean.valueOf(System.getProperty("mifos.jobs.enabled", "true")).booleanValue();
+        this.pollIntervalMillis = TimeUnit.SECONDS.toMillis(Long.getLong("mifos.jobs.pollIntervalSeconds", 60).longValue());
+        this.lockLeaseSeconds = Math.max(3, Long.getLong("mifos.jobs.lockLeaseSeconds", 300).longValue());
+        this.maxConcurrentJobsPerTenant = Math.max(1, Integer.getInteger("mifos.jobs.maxConcurrentPerTenant", 1).intValue());
+        // jobs are handed straight to a free worker, never queued holding a lock
+        this.workers = new ThreadPoolExecutor(0, Math.max(1, Integer.getInteger("mifos.jobs.threads", 4).intValue()), 60L,
+                TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+        this.lockRenewer = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!this.enabled) {
+            logger.info("Scheduled jobs are disabled on node " + this.nodeId);
+            return;
+        }
+
+        this.poller = new ThreadPoolTaskScheduler();
+        this.poller.setThreadNamePrefix("mifos-job-poller-");
+        this.poller.initialize();
+        this.poller.scheduleWithFixedDelay(new Runnable() {
+
+            @Override
+            public void run() {
+                startDueJobsForAllTenants();
+            }
+        }, this.pollIntervalMillis);
+    }
+
+    @Override
+    public void destroy() {
+        if (this.poller != null) {
+            this.poller.shutdown();
+        }
+        this.workers.shutdownNow();
+        this.lockRenewer.shutdownNow();
+    }
+
+    @Override
+    public void executeJob(final Long jobId) {
+
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+
+        final ScheduledJobDetail job = this.jobStore.retrieveJob(jobId);
+        if (job == null || !this.jobsByName.containsKey(job.getName())) { throw new ScheduledJobNotFoundException(jobId); }
+
+        if (!tryStart(tenant, job, JobTriggerType.MANUAL)) { throw new ScheduledJobAlreadyRunningException(jobId); }
+    }
+
+    private void startDueJobsForAllTenants() {
+        for (final MifosPlatformTenant tenant : this.tenantDetailsService.findAllTenants()) {
+            ThreadLocalContextUtil.setTenant(tenant);
+            try {
+                startDueJobs(tenant);
+            } catch (final RuntimeException e) {
+                logger.error("Could not check scheduled jobs of tenant " + tenant.getName(), e);
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+    }
+
+    private void startDueJobs(final MifosPlatformTenant tenant) {
+
+        final Date now = new Date();
+        for (final ScheduledJobDetail job : this.jobStore.retrieveJobsDue(now)) {
+            try {
+                if (job.isScheduled()) {
+                    tryStart(tenant, job, JobTriggerType.SCHEDULED);
+                } else {
+                    this.jobStore.scheduleFirstRun(job.getId(), nextRunTime(job, now));
+                }
+            } catch (final RuntimeException e) {
+                logger.error("Could not start job " + job.getName() + " of tenant " + tenant.getName(), e);
+            }
+        }
+    }
+
+    private boolean tryStart(final MifosPlatformTenant tenant, final ScheduledJobDetail job, final JobTriggerType triggerType) {
+
+        final ScheduledJob scheduledJob = this.jobsByName.get(job.getName());
+        if (scheduledJob == null) {
+            logger.warn("No scheduled job named " + job.getName() + " is deployed, ignoring it for tenant " + tenant.getName());
+            return false;
+        }
+
+        final Semaphore permits = permitsFor(tenant);
+        if (!permits.tryAcquire()) { return false; }
+
+        boolean submitted = false;
+        try {
+            if (!this.jobStore.tryLock(job.getId(), this.nodeId, this.lockLeaseSeconds)) { return false; }
+            try {
+                this.workers.execute(new JobRunner(tenant, job, scheduledJob, triggerType, permits));
+                submitted = true;
+            } catch (final RejectedExecutionException e) {
+                logger.info("No worker is free to run job " + job.getName() + " of tenant " + tenant.getName());
+                return false;
+            } finally {
+                if (!submitted) {
+                    this.jobStore.unlock(job.getId(), this.nodeId, null);
+                }
+            }
+        } finally {
+            if (!submitted) {
+                permits.release();
+            }
+        }
+        return true;
+    }
+
+    private Semaphore permitsFor(final MifosPlatformTenant tenant) {
+        Semaphore permits = this.permitsByTenant.get(tenant.getId());
+        if (permits == null) {
+            final Semaphore created = new Semaphore(this.maxConcurrentJobsPerTenant);
+            permits = this.permitsByTenant.putIfAbsent(tenant.getId(), created);
+            if (permits == null) {
+                permits = created;
+            }
+        }
+        return permits;
+    }
+
+    private static Date nextRunTime(final ScheduledJobDetail job, final Date after) {
+        return new CronSequenceGenerator(job.getCronExpression(), TimeZone.getDefault()).next(after);
+    }
+
+    /**
+     * Runs one job for one tenant once it has checked its lock is still held,
+     * renewing the lock as it goes, and then releases its lock and permit.
+     */
+    private final class JobRunner implements Runnable {
+
+        private final MifosPlatformTenant tenant;
+        private final ScheduledJobDetail job;
+        private final ScheduledJob scheduledJob;
+        private final JobTriggerType triggerType;
+        private final Semaphore permits;
+
+        private volatile Thread worker;
+        private volatile boolean lockLost = false;
+        private boolean renewalStopped = false;
+        private volatile long lockRenewedAt;
+
+        JobRunner(final MifosPlatformTenant tenant, final ScheduledJobDetail job, final ScheduledJob scheduledJob,
+                final JobTriggerType triggerType, final Semaphore permits) {
+            this.tenant = tenant;
+            this.job = job;
+            this.scheduledJob = scheduledJob;
+            this.triggerType = triggerType;
+            this.permits = permits;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalContextUtil.setTenant(this.tenant);
+            try {
+                if (!renewLock()) {
+                    logger.warn("Lock on job " + this.job.getName() + " of tenant " + this.tenant.getName()
+                            + " was lost before it started, not running it");
+                    return;
+                }
+                runHoldingLock();
+            } catch (final RuntimeException e) {
+                logger.error("Could not finish job " + this.job.getName() + " of tenant " + this.tenant.getName()
+                        + ", its lock is released when it expires", e);
+            } finally {
+                this.permits.release();
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+
+        private void runHoldingLock() {
+            this.worker = Thread.currentThread();
+            final ScheduledFuture<?> lockRenewal = renewLockWhileRunning();
+            ScheduledJobRunHistory history = null;
+            try {
+                JobSchedulerServiceImpl.this.secondLevelCacheVersionService.evictIfChangedForCurrentTenant();
+                history = JobSchedulerServiceImpl.this.runHistoryRepository.save(ScheduledJobRunHistory.started(this.job.getId(),
+                        this.triggerType, JobSchedulerServiceImpl.this.nodeId));
+
+                final long rowsProcessed = this.scheduledJob.execute();
+
+                stopRenewing(lockRenewal);
+                if (this.lockLost) {
+                    history.failed("Lock on the job was lost while it was running");
+                } else {
+                    history.succeeded(rowsProcessed);
+                }
+                JobSchedulerServiceImpl.this.runHistoryRepository.save(history);
+            } catch (final RuntimeException e) {
+                stopRenewing(lockRenewal);
+                logger.error("Job " + this.job.getName() + " of tenant " + this.tenant.getName() + " failed", e);
+                if (history != null) {
+                    history.failed(e.getClass().getSimpleName() + ": " + e.getMessage());
+                    JobSchedulerServiceImpl.this.runHistoryRepository.save(history);
+                }
+            } finally {
+                stopRenewing(lockRenewal);
+                if (!this.lockLost) {
+                    // manual runs leave the schedule as it was
+                    final Date nextRunTime = this.triggerType.isScheduled() ? nextRunTime(this.job, new Date()) : null;
+                    JobSchedulerServiceImpl.this.jobStore.unlock(this.job.getId(), JobSchedulerServiceImpl.this.nodeId, nextRunTime);
+                }
+            }
+        }
+
+        private boolean renewLock() {
+            final boolean renewed = JobSchedulerServiceImpl.this.jobStore.renewLock(this.job.getId(), JobSchedulerServiceImpl.this.nodeId,
+                    JobSchedulerServiceImpl.this.lockLeaseSeconds);
+            if (renewed) {
+                this.lockRenewedAt = System.currentTimeMillis();
+            }
+            return renewed;
+        }
+
+        private ScheduledFuture<?> renewLockWhileRunning() {
+            final long renewalIntervalSeconds = JobSchedulerServiceImpl.this.lockLeaseSeconds / 3;
+            return JobSchedulerServiceImpl.this.lockRenewer.scheduleWithFixedDelay(new Runnable() {
+
+                @Override
+                public void run() {
+                    if (JobRunner.this.lockLost) { return; }
+
+                    ThreadLocalContextUtil.setTenant(JobRunner.this.tenant);
+                    try {
+                        if (!renewLock()) {
+                            abort("was lost while it was running");
+                        }
+                    } catch (final RuntimeException e) {
+                        logger.error("Could not renew lock on job " + JobRunner.this.job.getName() + " of tenant "
+                                + JobRunner.this.tenant.getName(), e);
+                        // the lease would lapse before the next renewal
+                        final long leaseLeftMillis = JobRunner.this.lockRenewedAt
+                                + TimeUnit.SECONDS.toMillis(JobSchedulerServiceImpl.this.lockLeaseSeconds) - System.currentTimeMillis();
+                        if (leaseLeftMillis <= TimeUnit.SECONDS.toMillis(renewalIntervalSeconds)) {
+                            abort("could not be renewed");
+                        }
+                    } finally {
+                        ThreadLocalContextUtil.clearTenant();
+                    }
+                }
+            }, renewalIntervalSeconds, renewalIntervalSeconds, TimeUnit.SECONDS);
+        }
+
+        private synchronized void abort(final String reason) {
+            if (this.renewalStopped) { return; }
+            logger.warn("Lock on job " + this.job.getName() + " of tenant " + this.tenant.getName() + " " + reason
+                    + ", interrupting it");
+            this.lockLost = true;
+            this.worker.interrupt();
+        }
+
+        /*
+         * the worker must not stay interrupted once the renewals have stopped
+         */
+        private void stopRenewing(final ScheduledFuture<?> lockRenewal) {
+            synchronized (this) {
+                this.renewalStopped = true;
+            }
+            lockRenewal.cancel(false);
+            if (this.lockLost) {
+                Thread.interrupted();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+/**
+ * A unit of periodic work that the {@link JobSchedulerService} runs for each
+ * tenant that has a matching, active row in <code>m_job</code>.
+ */
+public interface ScheduledJob {
+
+    /**
+     * The name of this job in <code>m_job</code>.
+     */
+    String getName();
+
+    /**
+     * Runs the job for the tenant set on the current thread. The thread is
+     * interrupted if this node loses the job's lock, and long running jobs
+     * should stop when it is.
+     * 
+     * @return the number of rows processed
+     */
+    long execute();
+}
@@ -0,0 +1,41 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+import java.util.Date;
+
+/**
+ * The schedule of a job of a tenant, as read by the {@link ScheduledJobStore}.
+ */
+final class ScheduledJobDetail {
+
+    private final Long id;
+    private final String name;
+    private final String cronExpression;
+    private final Date nextRunTime;
+
+    ScheduledJobDetail(final Long id, final String name, final String cronExpression, final Date nextRunTime) {
+        this.id = id;
+        this.name = name;
+        this.cronExpression = cronExpression;
+        this.nextRunTime = nextRunTime;
+    }
+
+    Long getId() {
+        return this.id;
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    String getCronExpression() {
+        return this.cronExpression;
+    }
+
+    Date getNextRunTime() {
+        return this.nextRunTime;
+    }
+
+    boolean isScheduled() {
+        return this.nextRunTime != null;
+    }
+}
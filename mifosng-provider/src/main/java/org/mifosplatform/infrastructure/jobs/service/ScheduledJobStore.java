@@ -0,0 +1,98 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads job schedules from <code>m_job</code> of the current tenant and holds
+ * the lock that stops more than one node running the same job.
+ * 
+ * The lock is the <code>lock_owner</code> column, taken with a single
+ * conditional update so that only one node can succeed. It is a lease that the
+ * node holding it renews while the job runs: if the node dies, another node may
+ * take it once <code>lock_expiry_time</code> has passed. Lease times are taken
+ * from the database clock so that the clocks of the nodes do not matter.
+ */
+@Service
+public class ScheduledJobStore {
+
+    private static final String SELECT_JOB = "select j.id as id, j.name as name, j.cron_expression as cronExpression, "
+            + "j.next_run_time as nextRunTime from m_job j ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RowMapper<ScheduledJobDetail> rm = new ScheduledJobDetailMapper();
+
+    @Autowired
+    public ScheduledJobStore(final TenantAwareRoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Active jobs that are not locked and are either due at <code>now</code>
+     * or have not been given a next run time yet.
+     */
+    List<ScheduledJobDetail> retrieveJobsDue(final Date now) {
+        final String sql = SELECT_JOB + " where j.is_active = 1 and (j.next_run_time is null or j.next_run_time <= ?) "
+                + " and (j.lock_owner is null or j.lock_expiry_time < now()) order by j.next_run_time, j.id";
+        return this.jdbcTemplate.query(sql, this.rm, new Object[] { new Timestamp(now.getTime()) });
+    }
+
+    ScheduledJobDetail retrieveJob(final Long jobId) {
+        final List<ScheduledJobDetail> jobs = this.jdbcTemplate.query(SELECT_JOB + " where j.id = ?", this.rm, new Object[] { jobId });
+        return jobs.isEmpty() ? null : jobs.get(0);
+    }
+
+    void scheduleFirstRun(final Long jobId, final Date nextRunTime) {
+        this.jdbcTemplate.update("update m_job set next_run_time = ? where id = ? and next_run_time is null", new Object[] {
+                new Timestamp(nextRunTime.getTime()), jobId });
+    }
+
+    boolean tryLock(final Long jobId, final String owner, final long leaseSeconds) {
+        final int updated = this.jdbcTemplate.update("update m_job set lock_owner = ?, lock_expiry_time = date_add(now(), interval ? second) "
+                + " where id = ? and (lock_owner is null or lock_expiry_time < now())", new Object[] { owner, Long.valueOf(leaseSeconds),
+                jobId });
+        return updated == 1;
+    }
+
+    /**
+     * Extends the lease on the lock if <code>owner</code> still holds it.
+     */
+    boolean renewLock(final Long jobId, final String owner, final long leaseSeconds) {
+        final int updated = this.jdbcTemplate.update("update m_job set lock_expiry_time = date_add(now(), interval ? second) "
+                + " where id = ? and lock_owner = ?", new Object[] { Long.valueOf(leaseSeconds), jobId, owner });
+        return updated == 1;
+    }
+
+    /**
+     * Releases the lock if <code>owner</code> still holds it, moving the next
+     * run time on if one is given.
+     */
+    void unlock(final Long jobId, final String owner, final Date nextRunTime) {
+        final Timestamp next = nextRunTime == null ? null : new Timestamp(nextRunTime.getTime());
+        this.jdbcTemplate.update("update m_job set lock_owner = null, lock_expiry_time = null, "
+                + " next_run_time = coalesce(?, next_run_time) where id = ? and lock_owner = ?", new Object[] { next, jobId, owner });
+    }
+
+    private static final class ScheduledJobDetailMapper implements RowMapper<ScheduledJobDetail> {
+
+        @Override
+        public ScheduledJobDetail mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+
+            final Long id = rs.getLong("id");
+            final String name = rs.getString("name");
+            final String cronExpression = rs.getString("cronExpression");
+            final Timestamp nextRunTime = rs.getTimestamp("nextRunTime");
+
+            return new ScheduledJobDetail(id, name, cronExpression, nextRunTime);
+        }
+    }
+}
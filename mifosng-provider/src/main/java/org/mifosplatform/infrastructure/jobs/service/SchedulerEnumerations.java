@@ -0,0 +1,54 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+import org.mifosplatform.infrastructure.core.data.EnumOptionData;
+import org.mifosplatform.infrastructure.jobs.domain.JobRunStatus;
+import org.mifosplatform.infrastructure.jobs.domain.JobTriggerType;
+
+public class SchedulerEnumerations {
+
+    public static EnumOptionData jobRunStatus(final Integer statusId) {
+        return jobRunStatus(JobRunStatus.fromInt(statusId));
+    }
+
+    public static EnumOptionData jobRunStatus(final JobRunStatus status) {
+        EnumOptionData optionData = null;
+        switch (status) {
+            case RUNNING:
+                optionData = new EnumOptionData(JobRunStatus.RUNNING.getValue().longValue(), JobRunStatus.RUNNING.getCode(), "Running");
+            break;
+            case SUCCEEDED:
+                optionData = new EnumOptionData(JobRunStatus.SUCCEEDED.getValue().longValue(), JobRunStatus.SUCCEEDED.getCode(),
+                        "Succeeded");
+            break;
+            case FAILED:
+                optionData = new EnumOptionData(JobRunStatus.FAILED.getValue().longValue(), JobRunStatus.FAILED.getCode(), "Failed");
+            break;
+            default:
+                optionData = new EnumOptionData(JobRunStatus.INVALID.getValue().longValue(), JobRunStatus.INVALID.getCode(), "Invalid");
+            break;
+        }
+        return optionData;
+    }
+
+    public static EnumOptionData jobTriggerType(final Integer triggerTypeId) {
+        return jobTriggerType(JobTriggerType.fromInt(triggerTypeId));
+    }
+
+    public static EnumOptionData jobTriggerType(final JobTriggerType triggerType) {
+        EnumOptionData optionData = null;
+        switch (triggerType) {
+            case SCHEDULED:
+                optionData = new EnumOptionData(JobTriggerType.SCHEDULED.getValue().longValue(), JobTriggerType.SCHEDULED.getCode(),
+                        "Scheduled");
+            break;
+            case MANUAL:
+                optionData = new EnumOptionData(JobTriggerType.MANUAL.getValue().longValue(), JobTriggerType.MANUAL.getCode(), "Manual");
+            break;
+            default:
+                optionData = new EnumOptionData(JobTriggerType.INVALID.getValue().longValue(), JobTriggerType.INVALID.getCode(),
+                        "Invalid");
+            break;
+        }
+        return optionData;
+    }
+}
@@ -0,0 +1,18 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+import java.util.Collection;
+
+import org.mifosplatform.infrastructure.jobs.data.ScheduledJobDetailData;
+import org.mifosplatform.infrastructure.jobs.data.ScheduledJobRunHistoryData;
+
+public interface SchedulerReadPlatformService {
+
+    Collection<ScheduledJobDetailData> retrieveAllJobDetails();
+
+    ScheduledJobDetailData retrieveJobDetail(Long jobId);
+
+    /**
+     * The most recent runs of a job, newest first.
+     */
+    Collection<ScheduledJobRunHistoryData> retrieveJobRunHistory(Long jobId, int limit);
+}
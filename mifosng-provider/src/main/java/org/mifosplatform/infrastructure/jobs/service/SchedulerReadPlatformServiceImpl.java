@@ -0,0 +1,156 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.mifosplatform.infrastructure.core.data.EnumOptionData;
+import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.mifosplatform.infrastructure.jobs.data.ScheduledJobDetailData;
+import org.mifosplatform.infrastructure.jobs.data.ScheduledJobRunHistoryData;
+import org.mifosplatform.infrastructure.jobs.domain.JobRunStatus;
+import org.mifosplatform.infrastructure.jobs.exception.ScheduledJobNotFoundException;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SchedulerReadPlatformServiceImpl implements SchedulerReadPlatformService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformSecurityContext context;
+
+    @Autowired
+    public SchedulerReadPlatformServiceImpl(final PlatformSecurityContext context, final TenantAwareRoutingDataSource dataSource) {
+        this.context = context;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public Collection<ScheduledJobDetailData> retrieveAllJobDetails() {
+
+        this.context.authenticatedUser();
+
+        final JobDetailMapper rm = new JobDetailMapper();
+        final String sql = "select " + rm.schema() + " order by j.id";
+
+        return this.jdbcTemplate.query(sql, rm, new Object[] { new Timestamp(new Date().getTime()) });
+    }
+
+    @Override
+    public ScheduledJobDetailData retrieveJobDetail(final Long jobId) {
+
+        this.context.authenticatedUser();
+
+        final JobDetailMapper rm = new JobDetailMapper();
+        final String sql = "select " + rm.schema() + " where j.id = ?";
+
+        final List<ScheduledJobDetailData> jobs = this.jdbcTemplate.query(sql, rm, new Object[] { new Timestamp(new Date().getTime()),
+                jobId });
+        if (jobs.isEmpty()) { throw new ScheduledJobNotFoundException(jobId); }
+
+        return jobs.get(0);
+    }
+
+    @Override
+    public Collection<ScheduledJobRunHistoryData> retrieveJobRunHistory(final Long jobId, final int limit) {
+
+        // also checks that the job exists
+        retrieveJobDetail(jobId);
+
+        final JobRunHistoryMapper rm = new JobRunHistoryMapper("");
+        final String sql = "select " + rm.schema() + " from m_job_run_history h where h.job_id = ? order by h.id desc limit ?";
+
+        return this.jdbcTemplate.query(sql, rm, new Object[] { jobId, Integer.valueOf(limit) });
+    }
+
+    private static final class JobDetailMapper implements RowMapper<ScheduledJobDetailData> {
+
+        private final JobRunHistoryMapper lastRunMapper = new JobRunHistoryMapper("lastRun");
+
+        public String schema() {
+            return " j.id as id, j.name as name, j.display_name as displayName, j.cron_expression as cronExpression, "
+                    + " j.is_active as active, j.next_run_time as nextRunTime, j.lock_owner as lockOwner, "
+                    + " (j.lock_owner is not null and j.lock_expiry_time > ?) as currentlyRunning, "
+                    + " stats.runCount as runCount, stats.failedRunCount as failedRunCount, "
+                    + " stats.averageDurationMillis as averageDurationMillis, stats.maximumDurationMillis as maximumDurationMillis, "
+                    + " stats.totalRowsProcessed as totalRowsProcessed, " + this.lastRunMapper.schema()
+                    + " from m_job j "
+                    + " left join (select job_id, count(*) as runCount, sum(case when status_enum = "
+                    + JobRunStatus.FAILED.getValue() + " then 1 else 0 end) as failedRunCount, "
+                    + " round(avg(duration_millis)) as averageDurationMillis, max(duration_millis) as maximumDurationMillis, "
+                    + " sum(rows_processed) as totalRowsProcessed from m_job_run_history group by job_id) stats on stats.job_id = j.id "
+                    + " left join m_job_run_history h on h.id = (select max(lh.id) from m_job_run_history lh where lh.job_id = j.id) ";
+        }
+
+        @Override
+        public ScheduledJobDetailData mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+
+            final Long id = rs.getLong("id");
+            final String name = rs.getString("name");
+            final String displayName = rs.getString("displayName");
+            final String cronExpression = rs.getString("cronExpression");
+            final boolean active = rs.getBoolean("active");
+            final DateTime nextRunTime = JdbcSupport.getDateTime(rs, "nextRunTime");
+            final boolean currentlyRunning = rs.getBoolean("currentlyRunning");
+            final String runningOnNode = currentlyRunning ? rs.getString("lockOwner") : null;
+            final Long runCount = JdbcSupport.getLong(rs, "runCount");
+            final Long failedRunCount = JdbcSupport.getLong(rs, "failedRunCount");
+            final Long averageDurationMillis = JdbcSupport.getLong(rs, "averageDurationMillis");
+            final Long maximumDurationMillis = JdbcSupport.getLong(rs, "maximumDurationMillis");
+            final Long totalRowsProcessed = JdbcSupport.getLong(rs, "totalRowsProcessed");
+
+            final ScheduledJobRunHistoryData lastRun = JdbcSupport.getLong(rs, "lastRunId") == null ? null : this.lastRunMapper.mapRow(
+                    rs, rowNum);
+
+            return new ScheduledJobDetailData(id, name, displayName, cronExpression, active, nextRunTime, currentlyRunning,
+                    runningOnNode, runCount == null ? Long.valueOf(0) : runCount, failedRunCount == null ? Long.valueOf(0) : failedRunCount,
+                    averageDurationMillis, maximumDurationMillis, totalRowsProcessed, lastRun);
+        }
+    }
+
+    private static final class JobRunHistoryMapper implements RowMapper<ScheduledJobRunHistoryData> {
+
+        private final String prefix;
+
+        JobRunHistoryMapper(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        public String schema() {
+            return " h.id as " + column("id") + ", h.trigger_type_enum as " + column("triggerType") + ", h.status_enum as "
+                    + column("status") + ", h.node_id as " + column("nodeId") + ", h.start_time as " + column("startTime")
+                    + ", h.end_time as " + column("endTime") + ", h.duration_millis as " + column("durationMillis")
+                    + ", h.rows_processed as " + column("rowsProcessed") + ", h.error_message as " + column("errorMessage");
+        }
+
+        private String column(final String name) {
+            if (this.prefix.isEmpty()) { return name; }
+            return this.prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+
+        @Override
+        public ScheduledJobRunHistoryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+
+            final Long id = rs.getLong(column("id"));
+            final EnumOptionData triggerType = SchedulerEnumerations.jobTriggerType(JdbcSupport.getInteger(rs, column("triggerType")));
+            final EnumOptionData status = SchedulerEnumerations.jobRunStatus(JdbcSupport.getInteger(rs, column("status")));
+            final String nodeId = rs.getString(column("nodeId"));
+            final DateTime startTime = JdbcSupport.getDateTime(rs, column("startTime"));
+            final DateTime endTime = JdbcSupport.getDateTime(rs, column("endTime"));
+            final Long durationMillis = JdbcSupport.getLong(rs, column("durationMillis"));
+            final Long rowsProcessed = JdbcSupport.getLong(rs, column("rowsProcessed"));
+            final String errorMessage = rs.getString(column("errorMessage"));
+
+            return new ScheduledJobRunHistoryData(id, triggerType, status, nodeId, startTime, endTime, durationMillis, rowsProcessed,
+                    errorMessage);
+        }
+    }
+}
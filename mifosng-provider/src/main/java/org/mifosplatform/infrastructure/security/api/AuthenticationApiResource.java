@@ -11,7 +11,9 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 
 import org.mifosplatform.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
 import org.mifosplatform.infrastructure.security.data.AuthenticatedUserData;
+import org.mifosplatform.infrastructure.security.service.PlatformAuthenticationTokenService;
 import org.mifosplatform.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -31,13 +33,16 @@ public class AuthenticationApiResource {
 
     private final DaoAuthenticationProvider customAuthenticationProvider;
     private final ToApiJsonSerializer<AuthenticatedUserData> apiJsonSerializerService;
+    private final PlatformAuthenticationTokenService authenticationTokenService;
 
     @Autowired
     public AuthenticationApiResource(
             @Qualifier("customAuthenticationProvider") final DaoAuthenticationProvider customAuthenticationProvider,
-            final ToApiJsonSerializer<AuthenticatedUserData> apiJsonSerializerService) {
+            final ToApiJsonSerializer<AuthenticatedUserData> apiJsonSerializerService,
+            final PlatformAuthenticationTokenService authenticationTokenService) {
         this.customAuthenticationProvider = customAuthenticationProvider;
         this.apiJsonSerializerService = apiJsonSerializerService;
+        this.authenticationTokenService = authenticationTokenService;
     }
 
     @POST
@@ -59,8 +64,12 @@ public class AuthenticationApiResource {
             AppUser principal = (AppUser) authenticationCheck.getPrincipal();
             byte[] base64EncodedAuthenticationKey = Base64.encode(username + ":" + password);
 
+            // clients may send this as 'Authorization: Token <token>' instead
+            // of basic auth credentials on subsequent requests
+            final String authenticationToken = this.authenticationTokenService.createToken(ThreadLocalContextUtil.getTenant(), principal);
+
             authenticatedUserData = new AuthenticatedUserData(username, permissions, principal.getId(), new String(
-                    base64EncodedAuthenticationKey));
+                    base64EncodedAuthenticationKey), authenticationToken);
         }
 
         return this.apiJsonSerializerService.serialize(authenticatedUserData);
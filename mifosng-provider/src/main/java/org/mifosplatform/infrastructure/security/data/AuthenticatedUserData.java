@@ -14,6 +14,8 @@ public class AuthenticatedUserData {
     @SuppressWarnings("unused")
     private final String base64EncodedAuthenticationKey;
     @SuppressWarnings("unused")
+    private final String authenticationToken;
+    @SuppressWarnings("unused")
     private final boolean authenticated;
     @SuppressWarnings("unused")
     private final Collection<String> permissions;
@@ -22,15 +24,17 @@ public class AuthenticatedUserData {
         this.username = username;
         this.userId = null;
         this.base64EncodedAuthenticationKey = null;
+        this.authenticationToken = null;
         this.authenticated = false;
         this.permissions = permissions;
     }
 
     public AuthenticatedUserData(final String username, final Collection<String> permissions, final Long userId,
-            final String base64EncodedAuthenticationKey) {
+            final String base64EncodedAuthenticationKey, final String authenticationToken) {
         this.username = username;
         this.userId = userId;
         this.base64EncodedAuthenticationKey = base64EncodedAuthenticationKey;
+        this.authenticationToken = authenticationToken;
         this.authenticated = true;
         this.permissions = permissions;
     }
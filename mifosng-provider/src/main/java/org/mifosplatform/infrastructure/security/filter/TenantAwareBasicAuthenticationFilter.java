@@ -10,6 +10,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang.time.StopWatch;
+import org.mifosplatform.infrastructure.cache.service.SecondLevelCacheVersionService;
 import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
 import org.mifosplatform.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
@@ -49,6 +50,9 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
     @Autowired
     private ToApiJsonSerializer<PlatformRequestLog> toApiJsonSerializer;
 
+    @Autowired
+    private SecondLevelCacheVersionService secondLevelCacheVersionService;
+
     private String tenantRequestHeader = "X-Mifos-Platform-TenantId";
     private boolean exceptionIfHeaderMissing = true;
 
@@ -86,6 +90,9 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
                 final MifosPlatformTenant tenant = this.tenantDetailsService.loadTenantById(tenantId);
 
                 ThreadLocalContextUtil.setTenant(tenant);
+
+                // before authentication reads the user's cached roles
+                this.secondLevelCacheVersionService.evictIfChangedForCurrentTenant();
             }
 
             super.doFilter(req, res, chain);
@@ -0,0 +1,75 @@
+package org.mifosplatform.infrastructure.security.filter;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.security.service.PlatformAuthenticationTokenService;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.web.filter.GenericFilterBean;
+
+/**
+ * Opt-in alternative to basic auth for the api.
+ * 
+ * Requests carrying an <code>Authorization: Token &lt;token&gt;</code> header,
+ * where the token was issued by the authentication api, are authenticated
+ * locally by verifying the tokens signature and expiry against the tenant
+ * already resolved by {@link TenantAwareBasicAuthenticationFilter}.
+ * 
+ * Requests without such a header are passed on untouched so basic auth keeps
+ * working as before.
+ */
+public class TenantAwareTokenAuthenticationFilter extends GenericFilterBean {
+
+    private final static Logger logger = LoggerFactory.getLogger(TenantAwareTokenAuthenticationFilter.class);
+
+    private static final String TOKEN_SCHEME = "Token ";
+
+    @Autowired
+    private PlatformAuthenticationTokenService authenticationTokenService;
+
+    private final AuthenticationEntryPoint authenticationEntryPoint;
+
+    public TenantAwareTokenAuthenticationFilter(final AuthenticationEntryPoint authenticationEntryPoint) {
+        this.authenticationEntryPoint = authenticationEntryPoint;
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws IOException, ServletException {
+
+        final HttpServletRequest request = (HttpServletRequest) req;
+        final HttpServletResponse response = (HttpServletResponse) res;
+
+        final String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith(TOKEN_SCHEME) && SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                final String token = header.substring(TOKEN_SCHEME.length()).trim();
+                final AppUser user = this.authenticationTokenService.authenticate(ThreadLocalContextUtil.getTenant(), token);
+
+                final UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user, null,
+                        user.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } catch (AuthenticationException e) {
+                logger.debug("Token authentication failed: " + e.getMessage());
+                SecurityContextHolder.clearContext();
+                this.authenticationEntryPoint.commence(request, response, e);
+                return;
+            }
+        }
+
+        chain.doFilter(req, res);
+    }
+}
@@ -0,0 +1,116 @@
+package org.mifosplatform.infrastructure.security.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * A caching implementation of {@link TenantDetailsService} that sits in front
+ * of {@link JdbcTenantDetailsService}.
+ *
+ * Tenant details are looked up on every API request but rarely change, so
+ * successfully resolved tenants are kept in memory for
+ * <code>mifos.tenantCache.ttlSeconds</code> (300 by default). Unknown tenant
+ * identifiers are never cached.
+ * 
+ * The tenants table is maintained outside the platform, so edits to it are
+ * picked up once the time to live runs out. A tenant whose connection pool is
+ * closed as idle is dropped straight away so its new pool is sized from its
+ * current settings. Hits and misses are reported by <code>GET /caches</code>.
+ */
+@Service
+@Primary
+public class CachingTenantDetailsService implements TenantDetailsService {
+
+    private final JdbcTenantDetailsService delegate;
+    private final ConcurrentMap<String, CachedTenant> tenantsByIdentifier = new ConcurrentHashMap<String, CachedTenant>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final long timeToLiveMillis;
+
+    @Autowired
+    public CachingTenantDetailsService(final JdbcTenantDetailsService delegate) {
+        this.delegate = delegate;
+        this.timeToLiveMillis = TimeUnit.SECONDS.toMillis(Long.getLong("mifos.tenantCache.ttlSeconds", 300).longValue());
+    }
+
+    @Override
+    public MifosPlatformTenant loadTenantById(final String tenantIdentifier) {
+
+        final long now = System.currentTimeMillis();
+
+        final CachedTenant cached = this.tenantsByIdentifier.get(tenantIdentifier);
+        if (cached != null && !cached.isExpired(now)) {
+            this.hits.incrementAndGet();
+            return cached.getTenant();
+        }
+
+        this.misses.incrementAndGet();
+
+        // throws InvalidTenantIdentiferException for unknown tenants
+        final MifosPlatformTenant tenant = this.delegate.loadTenantById(tenantIdentifier);
+        this.tenantsByIdentifier.put(tenantIdentifier, new CachedTenant(tenant, now + this.timeToLiveMillis));
+
+        return tenant;
+    }
+
+    /**
+     * Not cached: used by background work that visits every tenant rather than
+     * on each request.
+     */
+    @Override
+    public List<MifosPlatformTenant> findAllTenants() {
+        return this.delegate.findAllTenants();
+    }
+
+    /**
+     * Drops the cached details of the tenant with the given id, under
+     * whichever identifier they were looked up.
+     */
+    public void invalidate(final Long tenantId) {
+        for (final Map.Entry<String, CachedTenant> entry : this.tenantsByIdentifier.entrySet()) {
+            if (tenantId.equals(entry.getValue().getTenant().getId())) {
+                this.tenantsByIdentifier.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    public int getSize() {
+        return this.tenantsByIdentifier.size();
+    }
+
+    private static final class CachedTenant {
+
+        private final MifosPlatformTenant tenant;
+        private final long expiresAt;
+
+        public CachedTenant(final MifosPlatformTenant tenant, final long expiresAt) {
+            this.tenant = tenant;
+            this.expiresAt = expiresAt;
+        }
+
+        public MifosPlatformTenant getTenant() {
+            return this.tenant;
+        }
+
+        public boolean isExpired(final long now) {
+            return now >= this.expiresAt;
+        }
+    }
+}
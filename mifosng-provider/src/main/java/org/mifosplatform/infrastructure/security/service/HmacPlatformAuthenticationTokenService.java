@@ -0,0 +1,158 @@
+package org.mifosplatform.infrastructure.security.service;
+
+import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.lang.StringUtils;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.stereotype.Service;
+
+import com.sun.jersey.core.util.Base64;
+
+/**
+ * HMAC-SHA256 implementation of {@link PlatformAuthenticationTokenService}.
+ *
+ * A token is <code>base64(tenantId:userId:expiresAt:username).signature</code>
+ * where the signature also covers the users encoded password, so changing the
+ * password invalidates all tokens previously issued to that user.
+ *
+ * The signing key is read from the <code>mifos.authentication.token.secret</code>
+ * system property; it must be set to the same value on all nodes of a cluster.
+ * When absent a random key is generated and tokens are only valid on the node
+ * that issued them until it restarts.
+ */
+@Service
+public class HmacPlatformAuthenticationTokenService implements PlatformAuthenticationTokenService {
+
+    private static final String SECRET_PROPERTY = "mifos.authentication.token.secret";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final PlatformUserDetailsService userDetailsService;
+    private final UserCache userCache;
+    private final SecretKeySpec signingKey;
+    private final UserDetailsChecker userDetailsChecker = new AccountStatusUserDetailsChecker();
+
+    private volatile long timeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+
+    @Autowired
+    public HmacPlatformAuthenticationTokenService(final PlatformUserDetailsService userDetailsService,
+            final TenantAwarePlatformUserCache userCache) {
+        this.userDetailsService = userDetailsService;
+        this.userCache = userCache;
+        this.signingKey = new SecretKeySpec(secret(), HMAC_ALGORITHM);
+    }
+
+    @Override
+    public String createToken(final MifosPlatformTenant tenant, final AppUser user) {
+
+        final long expiresAt = System.currentTimeMillis() + this.timeToLiveMillis;
+        final String payload = new StringBuilder().append(tenant.getId()).append(':').append(user.getId()).append(':').append(expiresAt)
+                .append(':').append(user.getUsername()).toString();
+
+        return new String(Base64.encode(utf8(payload))) + "." + new String(Hex.encode(sign(payload, user.getPassword())));
+    }
+
+    @Override
+    public AppUser authenticate(final MifosPlatformTenant tenant, final String token) throws AuthenticationException {
+
+        final String[] tokenParts = StringUtils.split(token, '.');
+        if (tenant == null || tokenParts == null || tokenParts.length != 2) { throw new BadCredentialsException("Malformed token"); }
+
+        final String payload;
+        final byte[] presentedSignature;
+        try {
+            payload = new String(Base64.decode(tokenParts[0]), "UTF-8");
+            presentedSignature = Hex.decode(tokenParts[1]);
+        } catch (RuntimeException e) {
+            throw new BadCredentialsException("Malformed token");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        final String[] payloadParts = StringUtils.split(payload, ":", 4);
+        if (payloadParts.length != 4) { throw new BadCredentialsException("Malformed token"); }
+
+        final Long tenantId;
+        final Long userId;
+        final long expiresAt;
+        try {
+            tenantId = Long.valueOf(payloadParts[0]);
+            userId = Long.valueOf(payloadParts[1]);
+            expiresAt = Long.parseLong(payloadParts[2]);
+        } catch (NumberFormatException e) {
+            throw new BadCredentialsException("Malformed token");
+        }
+        final String username = payloadParts[3];
+
+        if (!tenant.getId().equals(tenantId)) { throw new BadCredentialsException("Token was not issued for this tenant"); }
+        if (System.currentTimeMillis() >= expiresAt) { throw new CredentialsExpiredException("Token has expired"); }
+
+        // served from the tenant user cache in steady state so token
+        // validation does not touch the database
+        final UserDetails cachedUser = this.userCache.getUserFromCache(username);
+        final AppUser user = (AppUser) (cachedUser != null ? cachedUser : this.userDetailsService.loadUserByUsername(username));
+
+        if (!MessageDigest.isEqual(presentedSignature, sign(payload, user.getPassword()))) { throw new BadCredentialsException(
+                "Invalid token signature"); }
+
+        if (!user.hasIdOf(userId)) { throw new BadCredentialsException("Token was not issued for this user"); }
+
+        this.userDetailsChecker.check(user);
+
+        if (cachedUser == null) {
+            this.userCache.putUserInCache(user);
+        }
+
+        return user;
+    }
+
+    public void setTimeToLiveMillis(final long timeToLiveMillis) {
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    private byte[] sign(final String payload, final String encodedPassword) {
+        try {
+            final Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(this.signingKey);
+            mac.update(utf8(payload));
+            mac.update((byte) 0);
+            return mac.doFinal(utf8(encodedPassword));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] secret() {
+        final String configured = System.getProperty(SECRET_PROPERTY);
+        if (StringUtils.isNotBlank(configured)) { return utf8(configured); }
+
+        final byte[] generated = new byte[32];
+        new SecureRandom().nextBytes(generated);
+        return generated;
+    }
+
+    private static byte[] utf8(final String value) {
+        try {
+            return value.getBytes("UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
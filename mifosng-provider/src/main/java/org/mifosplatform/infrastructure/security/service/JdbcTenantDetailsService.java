@@ -2,6 +2,7 @@ package org.mifosplatform.infrastructure.security.service;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 import javax.sql.DataSource;
 
@@ -33,9 +34,7 @@ public class JdbcTenantDetailsService implements TenantDetailsService {
 
         try {
             TenantMapper rm = new TenantMapper();
-            String sql = "select id, name, schema_name as schemaName, schema_server as schemaServer, schema_server_port as schemaServerPort, "
-                    + " schema_username as schemaUsername, schema_password as schemaPassword "
-                    + " from tenants t where t.identifier like ?";
+            String sql = "select " + rm.schema() + " from tenants t where t.identifier like ?";
 
             return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { tenantIdentifier });
         } catch (EmptyResultDataAccessException e) {
@@ -43,8 +42,24 @@ public class JdbcTenantDetailsService implements TenantDetailsService {
         }
     }
 
+    @Override
+    public List<MifosPlatformTenant> findAllTenants() {
+
+        TenantMapper rm = new TenantMapper();
+        String sql = "select " + rm.schema() + " from tenants t order by t.id";
+
+        return this.jdbcTemplate.query(sql, rm);
+    }
+
     private static final class TenantMapper implements RowMapper<MifosPlatformTenant> {
 
+        public String schema() {
+            return " t.id, t.name, t.schema_name as schemaName, t.schema_server as schemaServer, t.schema_server_port as schemaServerPort, "
+                    + " t.schema_username as schemaUsername, t.schema_password as schemaPassword, t.pool_initial_size as poolInitialSize, "
+                    + " t.pool_min_idle as poolMinIdle, t.pool_max_idle as poolMaxIdle, t.pool_max_active as poolMaxActive, "
+                    + " t.pool_max_wait as poolMaxWait ";
+        }
+
         @Override
         public MifosPlatformTenant mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
 
@@ -55,8 +70,14 @@ public class JdbcTenantDetailsService implements TenantDetailsService {
             String schemaServerPort = rs.getString("schemaServerPort");
             String schemaUsername = rs.getString("schemaUsername");
             String schemaPassword = rs.getString("schemaPassword");
+            int poolInitialSize = rs.getInt("poolInitialSize");
+            int poolMinIdle = rs.getInt("poolMinIdle");
+            int poolMaxIdle = rs.getInt("poolMaxIdle");
+            int poolMaxActive = rs.getInt("poolMaxActive");
+            int poolMaxWait = rs.getInt("poolMaxWait");
 
-            return new MifosPlatformTenant(id, name, schemaName, schemaServer, schemaServerPort, schemaUsername, schemaPassword);
+            return new MifosPlatformTenant(id, name, schemaName, schemaServer, schemaServerPort, schemaUsername, schemaPassword,
+                    poolInitialSize, poolMinIdle, poolMaxIdle, poolMaxActive, poolMaxWait);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.mifosplatform.infrastructure.security.service;
+
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Issues and verifies signed, expiring authentication tokens that are bound to
+ * a tenant and user. Used as an alternative to sending basic auth credentials
+ * on every request.
+ */
+public interface PlatformAuthenticationTokenService {
+
+    String createToken(MifosPlatformTenant tenant, AppUser user);
+
+    AppUser authenticate(MifosPlatformTenant tenant, String token) throws AuthenticationException;
+}
@@ -0,0 +1,120 @@
+package org.mifosplatform.infrastructure.security.service;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.codec.Hex;
+
+/**
+ * Used in securityContext.xml as the authentication provider for the stateless
+ * basic auth api.
+ *
+ * Remembers, for a short time, the digest of (tenant, username, credentials)
+ * tuples that were successfully verified by {@link DaoAuthenticationProvider}
+ * so that repeated requests with the same credentials skip re-encoding the
+ * password and re-checking the user.
+ *
+ * A remembered verification is only honoured while the exact principal it was
+ * verified against is still held by the configured user cache. Evicting a user
+ * from the user cache (e.g. on password change, user or role update) therefore
+ * also invalidates any remembered verification for that user.
+ */
+public class TenantAwareDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final ConcurrentMap<String, VerifiedCredential> verifiedCredentials = new ConcurrentHashMap<String, VerifiedCredential>();
+
+    private long timeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    @Override
+    public Authentication authenticate(final Authentication authentication) throws AuthenticationException {
+
+        final String digest = digestOf(authentication);
+        if (digest == null) { return super.authenticate(authentication); }
+
+        final VerifiedCredential verified = this.verifiedCredentials.get(digest);
+        if (verified != null) {
+            final UserDetails cachedUser = getUserCache().getUserFromCache(authentication.getName());
+            if (cachedUser == verified.getUser() && !verified.isExpired(System.currentTimeMillis())) { return createSuccessAuthentication(
+                    cachedUser, authentication, cachedUser); }
+
+            this.verifiedCredentials.remove(digest, verified);
+        }
+
+        final Authentication result = super.authenticate(authentication);
+
+        if (result.getPrincipal() instanceof UserDetails) {
+            if (this.verifiedCredentials.size() >= this.maximumSize) {
+                this.verifiedCredentials.clear();
+            }
+            final UserDetails user = (UserDetails) result.getPrincipal();
+            this.verifiedCredentials.put(digest, new VerifiedCredential(user, System.currentTimeMillis() + this.timeToLiveMillis));
+        }
+
+        return result;
+    }
+
+    public void setVerifiedCredentialTimeToLiveMillis(final long timeToLiveMillis) {
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    public void setVerifiedCredentialMaximumSize(final int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /*
+     * Raw credentials are never kept in memory, only a digest of them bound to
+     * the tenant and username.
+     */
+    private static String digestOf(final Authentication authentication) {
+
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null || !(authentication instanceof UsernamePasswordAuthenticationToken) || authentication.getName() == null
+                || authentication.getCredentials() == null) { return null; }
+
+        final String tuple = new StringBuilder().append(tenant.getId()).append('\u0000').append(authentication.getName())
+                .append('\u0000').append(authentication.getCredentials().toString()).toString();
+
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return new String(Hex.encode(messageDigest.digest(tuple.getBytes("UTF-8"))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class VerifiedCredential {
+
+        private final UserDetails user;
+        private final long expiresAt;
+
+        public VerifiedCredential(final UserDetails user, final long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+
+        public UserDetails getUser() {
+            return this.user;
+        }
+
+        public boolean isExpired(final long now) {
+            return now >= this.expiresAt;
+        }
+    }
+}
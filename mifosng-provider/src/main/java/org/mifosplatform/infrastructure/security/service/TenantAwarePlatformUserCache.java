@@ -0,0 +1,140 @@
+package org.mifosplatform.infrastructure.security.service;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tenant scoped implementation of spring security's {@link UserCache}.
+ *
+ * Used in securityContext.xml by the authentication provider which only puts a
+ * user into the cache after its credentials have been verified against the
+ * database copy, and reloads from the database whenever a cached user fails the
+ * credential check.
+ *
+ * Entries expire after a configurable time to live and are evicted by the user,
+ * role and permission command handlers whenever an administrator changes
+ * something that affects authentication or authorisation.
+ */
+@Service(value = "userCache")
+public class TenantAwarePlatformUserCache implements UserCache {
+
+    private static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final ConcurrentMap<String, CachedUser> usersByTenantAndUsername = new ConcurrentHashMap<String, CachedUser>();
+
+    private volatile long timeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+    private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    @Override
+    public UserDetails getUserFromCache(final String username) {
+        final String key = keyFor(username);
+        if (key == null) { return null; }
+
+        final CachedUser cached = this.usersByTenantAndUsername.get(key);
+        if (cached == null) { return null; }
+
+        if (cached.isExpired(System.currentTimeMillis())) {
+            this.usersByTenantAndUsername.remove(key, cached);
+            return null;
+        }
+
+        return cached.getUser();
+    }
+
+    @Override
+    public void putUserInCache(final UserDetails user) {
+        final String key = keyFor(user.getUsername());
+        if (key == null) { return; }
+
+        if (this.usersByTenantAndUsername.size() >= this.maximumSize) {
+            // keep memory bounded; entries are cheap to reload
+            this.usersByTenantAndUsername.clear();
+        }
+
+        this.usersByTenantAndUsername.put(key, new CachedUser(user, System.currentTimeMillis() + this.timeToLiveMillis));
+    }
+
+    @Override
+    public void removeUserFromCache(final String username) {
+        final String key = keyFor(username);
+        if (key != null) {
+            this.usersByTenantAndUsername.remove(key);
+        }
+    }
+
+    /**
+     * Evicts every cached user of the current tenant. When called inside a
+     * transaction the eviction is repeated once the transaction completes so a
+     * concurrent request cannot re-cache state that is about to change.
+     */
+    public void evictAllForCurrentTenant() {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null) { return; }
+
+        final String prefix = tenant.getId() + ":";
+        evictAllWithPrefix(prefix);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(@SuppressWarnings("unused") final int status) {
+                    evictAllWithPrefix(prefix);
+                }
+            });
+        }
+    }
+
+    public void setTimeToLiveMillis(final long timeToLiveMillis) {
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    public void setMaximumSize(final int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    private void evictAllWithPrefix(final String prefix) {
+        final Iterator<String> keys = this.usersByTenantAndUsername.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().startsWith(prefix)) {
+                keys.remove();
+            }
+        }
+    }
+
+    private static String keyFor(final String username) {
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null || username == null) { return null; }
+        return tenant.getId() + ":" + username;
+    }
+
+    private static final class CachedUser {
+
+        private final UserDetails user;
+        private final long expiresAt;
+
+        public CachedUser(final UserDetails user, final long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+
+        public UserDetails getUser() {
+            return this.user;
+        }
+
+        public boolean isExpired(final long now) {
+            return now >= this.expiresAt;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package org.mifosplatform.infrastructure.security.service;
 
+import java.util.List;
+
 import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
 
 public interface TenantDetailsService {
 
     MifosPlatformTenant loadTenantById(String tenantId);
 
+    List<MifosPlatformTenant> findAllTenants();
+
 }
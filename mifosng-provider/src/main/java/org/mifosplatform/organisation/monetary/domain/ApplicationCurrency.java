@@ -1,5 +1,6 @@
 package org.mifosplatform.organisation.monetary.domain;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Table;
@@ -7,6 +8,7 @@ import javax.persistence.Table;
 import org.springframework.data.jpa.domain.AbstractPersistable;
 
 @Entity
+@Cacheable
 @Table(name = "m_currency")
 public class ApplicationCurrency extends AbstractPersistable<Long> {
 
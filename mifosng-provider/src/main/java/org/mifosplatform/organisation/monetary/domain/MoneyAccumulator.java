@@ -0,0 +1,159 @@
+package org.mifosplatform.organisation.monetary.domain;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * A mutable running total of {@link Money} in a single currency.
+ *
+ * The total is held as a <code>long</code> count of minor units (e.g. cents
+ * for a currency with two digits after the decimal). Adding a {@link Money}
+ * creates at most one intermediate {@link BigDecimal} rather than a new
+ * {@link Money} and {@link MonetaryCurrency}, and tests and comparisons against
+ * zero do not allocate at all. Rounding matches {@link Money}: amounts with more
+ * digits than the currency are rounded half even into the total, and
+ * {@link #toMoney()} gives exactly what the equivalent chain of
+ * {@link Money#plus(Money)} and {@link Money#minus(Money)} calls would have.
+ *
+ * Intended for totals built up inside loops; convert back to {@link Money}
+ * before handing results to entities or data objects. Not thread safe.
+ */
+public final class MoneyAccumulator {
+
+    private final String currencyCode;
+    private final int digitsAfterDecimal;
+    private long minorUnits;
+
+    public static MoneyAccumulator zero(final MonetaryCurrency currency) {
+        return new MoneyAccumulator(currency.getCode(), currency.getDigitsAfterDecimal());
+    }
+
+    public static MoneyAccumulator of(final Money money) {
+        return new MoneyAccumulator(money.getCurrencyCode(), money.getCurrencyDigitsAfterDecimal()).plus(money);
+    }
+
+    private MoneyAccumulator(final String currencyCode, final int digitsAfterDecimal) {
+        this.currencyCode = currencyCode;
+        this.digitsAfterDecimal = digitsAfterDecimal;
+        this.minorUnits = 0;
+    }
+
+    public MoneyAccumulator plus(final Money money) {
+        checkCurrencyEqual(money.getCurrencyCode());
+        return plus(money.getAmount());
+    }
+
+    public MoneyAccumulator minus(final Money money) {
+        checkCurrencyEqual(money.getCurrencyCode());
+        final BigDecimal amount = money.getAmount();
+        if (amount.scale() <= this.digitsAfterDecimal) {
+            this.minorUnits = subtract(this.minorUnits, toLongExact(amount.movePointRight(this.digitsAfterDecimal)));
+            return this;
+        }
+        return plus(amount.negate());
+    }
+
+    public MoneyAccumulator plus(final MoneyAccumulator other) {
+        checkCurrencyEqual(other.currencyCode);
+        this.minorUnits = add(this.minorUnits, other.minorUnits);
+        return this;
+    }
+
+    public MoneyAccumulator minus(final MoneyAccumulator other) {
+        checkCurrencyEqual(other.currencyCode);
+        this.minorUnits = subtract(this.minorUnits, other.minorUnits);
+        return this;
+    }
+
+    /**
+     * Adds an amount that may have more digits than the currency, rounding the
+     * new total half even like {@link Money#plus(BigDecimal)}.
+     */
+    public MoneyAccumulator plus(final BigDecimal amount) {
+        if (amount == null || amount.signum() == 0) { return this; }
+
+        if (amount.scale() <= this.digitsAfterDecimal) {
+            this.minorUnits = add(this.minorUnits, toLongExact(amount.movePointRight(this.digitsAfterDecimal)));
+        } else {
+            final BigDecimal total = BigDecimal.valueOf(this.minorUnits, this.digitsAfterDecimal).add(amount)
+                    .setScale(this.digitsAfterDecimal, RoundingMode.HALF_EVEN);
+            this.minorUnits = toLongExact(total.movePointRight(this.digitsAfterDecimal));
+        }
+        return this;
+    }
+
+    public MoneyAccumulator reset() {
+        this.minorUnits = 0;
+        return this;
+    }
+
+    public boolean isZero() {
+        return this.minorUnits == 0;
+    }
+
+    public boolean isGreaterThanZero() {
+        return this.minorUnits > 0;
+    }
+
+    public boolean isLessThanZero() {
+        return this.minorUnits < 0;
+    }
+
+    public boolean isGreaterThanOrEqualTo(final Money money) {
+        checkCurrencyEqual(money.getCurrencyCode());
+        final BigDecimal amount = money.getAmount();
+        if (amount.scale() > this.digitsAfterDecimal) { return getAmount().compareTo(amount) >= 0; }
+        return this.minorUnits >= toLongExact(amount.movePointRight(this.digitsAfterDecimal));
+    }
+
+    public MonetaryCurrency getCurrency() {
+        return new MonetaryCurrency(this.currencyCode, this.digitsAfterDecimal);
+    }
+
+    public long getMinorUnits() {
+        return this.minorUnits;
+    }
+
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(this.minorUnits, this.digitsAfterDecimal);
+    }
+
+    public Money toMoney() {
+        return Money.of(getCurrency(), getAmount());
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder().append(this.currencyCode).append(' ').append(getAmount().toPlainString()).toString();
+    }
+
+    private void checkCurrencyEqual(final String otherCurrencyCode) {
+        if (!this.currencyCode.equals(otherCurrencyCode)) { throw new UnsupportedOperationException("currencies are different."); }
+    }
+
+    private static long toLongExact(final BigDecimal wholeMinorUnits) {
+        // up to 18 digits always fit in a long
+        if (wholeMinorUnits.scale() == 0 && wholeMinorUnits.precision() <= 18) { return wholeMinorUnits.longValue(); }
+
+        final BigInteger value = wholeMinorUnits.toBigIntegerExact();
+        if (value.bitLength() > 63) { return overflow(); }
+        return value.longValue();
+    }
+
+    private static long add(final long left, final long right) {
+        final long result = left + right;
+        if (((left ^ result) & (right ^ result)) < 0) { return overflow(); }
+        return result;
+    }
+
+    private static long subtract(final long left, final long right) {
+        final long result = left - right;
+        if (((left ^ right) & (left ^ result)) < 0) { return overflow(); }
+        return result;
+    }
+
+    private static long overflow() {
+        throw new ArithmeticException("Monetary amount is too large to accumulate.");
+    }
+}
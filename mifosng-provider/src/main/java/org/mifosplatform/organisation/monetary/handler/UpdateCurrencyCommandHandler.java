@@ -1,6 +1,8 @@
 package org.mifosplatform.organisation.monetary.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.organisation.monetary.service.CurrencyWritePlatformService;
@@ -9,19 +11,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "CURRENCY", action = "UPDATE")
 public class UpdateCurrencyCommandHandler implements NewCommandSourceHandler {
 
     private final CurrencyWritePlatformService writePlatformService;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
-    public UpdateCurrencyCommandHandler(final CurrencyWritePlatformService writePlatformService) {
+    public UpdateCurrencyCommandHandler(final CurrencyWritePlatformService writePlatformService, final TemplateDataCache templateDataCache) {
         this.writePlatformService = writePlatformService;
+        this.templateDataCache = templateDataCache;
     }
 
     @Transactional
     @Override
     public CommandProcessingResult processCommand(final JsonCommand command) {
 
-        return this.writePlatformService.updateAllowedCurrencies(command);
+        final CommandProcessingResult result = this.writePlatformService.updateAllowedCurrencies(command);
+
+        this.templateDataCache.evictAllForCurrentTenant();
+
+        return result;
     }
 }
\ No newline at end of file
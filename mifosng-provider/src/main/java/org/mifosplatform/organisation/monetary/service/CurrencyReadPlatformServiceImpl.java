@@ -2,8 +2,10 @@ package org.mifosplatform.organisation.monetary.service;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
 import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
@@ -18,11 +20,14 @@ public class CurrencyReadPlatformServiceImpl implements CurrencyReadPlatformServ
 
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
-    public CurrencyReadPlatformServiceImpl(final PlatformSecurityContext context, final TenantAwareRoutingDataSource dataSource) {
+    public CurrencyReadPlatformServiceImpl(final PlatformSecurityContext context, final TenantAwareRoutingDataSource dataSource,
+            final TemplateDataCache templateDataCache) {
         this.context = context;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.templateDataCache = templateDataCache;
     }
 
     @Override
@@ -30,11 +35,19 @@ public class CurrencyReadPlatformServiceImpl implements CurrencyReadPlatformServ
 
         context.authenticatedUser();
 
-        String sql = "select c.code as code, c.name as name, c.decimal_places as decimalPlaces, c.display_symbol as displaySymbol, c.internationalized_name_code as nameCode from m_organisation_currency c order by c.name";
+        final List<CurrencyData> currencies = this.templateDataCache.get("allowedCurrencies", new TemplateDataCache.Loader<List<CurrencyData>>() {
 
-        RowMapper<CurrencyData> rm = new CurrencyMapper();
+            @Override
+            public List<CurrencyData> load() {
+                String sql = "select c.code as code, c.name as name, c.decimal_places as decimalPlaces, c.display_symbol as displaySymbol, c.internationalized_name_code as nameCode from m_organisation_currency c order by c.name";
 
-        return this.jdbcTemplate.query(sql, rm, new Object[] {});
+                RowMapper<CurrencyData> rm = new CurrencyMapper();
+
+                return jdbcTemplate.query(sql, rm, new Object[] {});
+            }
+        });
+
+        return new ArrayList<CurrencyData>(currencies);
     }
 
     @Override
@@ -3,6 +3,7 @@ package org.mifosplatform.organisation.staff.domain;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
@@ -17,6 +18,7 @@ import org.mifosplatform.organisation.office.domain.Office;
 import org.mifosplatform.useradministration.domain.AppUser;
 
 @Entity
+@Cacheable
 @Table(name = "m_staff", uniqueConstraints = { @UniqueConstraint(columnNames = { "display_name" }, name = "display_name") })
 public class Staff extends AbstractAuditableCustom<AppUser, Long> {
 
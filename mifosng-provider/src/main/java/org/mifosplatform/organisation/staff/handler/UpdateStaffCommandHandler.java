@@ -1,5 +1,6 @@
 package org.mifosplatform.organisation.staff.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "STAFF", action = "UPDATE")
 public class UpdateStaffCommandHandler implements NewCommandSourceHandler {
 
     private final StaffWritePlatformService writePlatformService;
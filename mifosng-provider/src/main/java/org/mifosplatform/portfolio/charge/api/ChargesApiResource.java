@@ -13,13 +13,19 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.mifosplatform.commands.domain.CommandWrapper;
 import org.mifosplatform.commands.service.CommandWrapperBuilder;
 import org.mifosplatform.commands.service.PortfolioCommandSourceWritePlatformService;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
@@ -47,16 +53,18 @@ public class ChargesApiResource {
     private final DefaultToApiJsonSerializer<ChargeData> toApiJsonSerializer;
     private final ApiRequestParameterHelper apiRequestParameterHelper;
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
     public ChargesApiResource(final PlatformSecurityContext context, final ChargeReadPlatformService readPlatformService,
             final DefaultToApiJsonSerializer<ChargeData> toApiJsonSerializer, final ApiRequestParameterHelper apiRequestParameterHelper,
-            final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService) {
+            final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService, final TemplateDataCache templateDataCache) {
         this.context = context;
         this.readPlatformService = readPlatformService;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.apiRequestParameterHelper = apiRequestParameterHelper;
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
+        this.templateDataCache = templateDataCache;
     }
 
     @GET
@@ -91,18 +99,32 @@ public class ChargesApiResource {
         return this.toApiJsonSerializer.serialize(settings, charge, CHARGES_DATA_PARAMETERS);
     }
 
+    /**
+     * Responses carry an <code>ETag</code> of the tenant's template data
+     * version, so a conditional request is answered with 304 until currencies
+     * or other template data change.
+     */
     @GET
     @Path("template")
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
-    public String retrieveNewChargeDetails(@Context final UriInfo uriInfo) {
+    public Response retrieveNewChargeDetails(@Context final UriInfo uriInfo, @Context final Request request) {
 
         context.authenticatedUser().validateHasReadPermission(resourceNameForPermissions);
 
+        final EntityTag entityTag = new EntityTag(this.templateDataCache.versionTagForCurrentTenant());
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+
+        final ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) { return notModified.tag(entityTag).cacheControl(cacheControl).build(); }
+
         final ChargeData charge = this.readPlatformService.retrieveNewChargeDetails();
 
         final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper.process(uriInfo.getQueryParameters());
-        return this.toApiJsonSerializer.serialize(settings, charge, CHARGES_DATA_PARAMETERS);
+        return Response.ok().entity(this.toApiJsonSerializer.serialize(settings, charge, CHARGES_DATA_PARAMETERS)).tag(entityTag)
+                .cacheControl(cacheControl).build();
     }
 
     @POST
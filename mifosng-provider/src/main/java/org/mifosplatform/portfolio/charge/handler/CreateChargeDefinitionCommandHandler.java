@@ -1,6 +1,8 @@
 package org.mifosplatform.portfolio.charge.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.portfolio.charge.service.ChargeWritePlatformService;
@@ -9,19 +11,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "CHARGE", action = "CREATE")
 public class CreateChargeDefinitionCommandHandler implements NewCommandSourceHandler {
 
     private final ChargeWritePlatformService clientWritePlatformService;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
-    public CreateChargeDefinitionCommandHandler(final ChargeWritePlatformService clientWritePlatformService) {
+    public CreateChargeDefinitionCommandHandler(final ChargeWritePlatformService clientWritePlatformService, final TemplateDataCache templateDataCache) {
         this.clientWritePlatformService = clientWritePlatformService;
+        this.templateDataCache = templateDataCache;
     }
 
     @Transactional
     @Override
     public CommandProcessingResult processCommand(final JsonCommand command) {
 
-        return this.clientWritePlatformService.createCharge(command);
+        final CommandProcessingResult result = this.clientWritePlatformService.createCharge(command);
+
+        this.templateDataCache.evictAllForCurrentTenant();
+
+        return result;
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package org.mifosplatform.portfolio.charge.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.portfolio.charge.service.ChargeWritePlatformService;
@@ -9,19 +11,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "CHARGE", action = "DELETE")
 public class DeleteChargeDefinitionCommandHandler implements NewCommandSourceHandler {
 
     private final ChargeWritePlatformService clientWritePlatformService;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
-    public DeleteChargeDefinitionCommandHandler(final ChargeWritePlatformService clientWritePlatformService) {
+    public DeleteChargeDefinitionCommandHandler(final ChargeWritePlatformService clientWritePlatformService, final TemplateDataCache templateDataCache) {
         this.clientWritePlatformService = clientWritePlatformService;
+        this.templateDataCache = templateDataCache;
     }
 
     @Transactional
     @Override
     public CommandProcessingResult processCommand(final JsonCommand command) {
 
-        return this.clientWritePlatformService.deleteCharge(command.entityId());
+        final CommandProcessingResult result = this.clientWritePlatformService.deleteCharge(command.entityId());
+
+        this.templateDataCache.evictAllForCurrentTenant();
+
+        return result;
     }
 }
\ No newline at end of file
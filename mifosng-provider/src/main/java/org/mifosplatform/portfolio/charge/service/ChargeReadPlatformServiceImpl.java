@@ -3,10 +3,12 @@ package org.mifosplatform.portfolio.charge.service;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 import org.joda.time.LocalDate;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
 import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
@@ -30,12 +32,15 @@ public class ChargeReadPlatformServiceImpl implements ChargeReadPlatformService
     private final PlatformSecurityContext context;
     private final CurrencyReadPlatformService currencyReadPlatformService;
     private final ChargeDropdownReadPlatformService chargeDropdownReadPlatformService;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
     public ChargeReadPlatformServiceImpl(final PlatformSecurityContext context,
             final CurrencyReadPlatformService currencyReadPlatformService,
-            final ChargeDropdownReadPlatformService chargeDropdownReadPlatformService, final TenantAwareRoutingDataSource dataSource) {
+            final ChargeDropdownReadPlatformService chargeDropdownReadPlatformService, final TenantAwareRoutingDataSource dataSource,
+            final TemplateDataCache templateDataCache) {
         this.context = context;
+        this.templateDataCache = templateDataCache;
         this.chargeDropdownReadPlatformService = chargeDropdownReadPlatformService;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.currencyReadPlatformService = currencyReadPlatformService;
@@ -122,16 +127,26 @@ public class ChargeReadPlatformServiceImpl implements ChargeReadPlatformService
     public Collection<ChargeData> retrieveLoanApplicableCharges(final boolean feeChargesOnly) {
         this.context.authenticatedUser();
 
-        final ChargeMapper rm = new ChargeMapper();
+        final String key = feeChargesOnly ? "loanApplicableFeeCharges" : "loanApplicableCharges";
+        final Collection<ChargeData> charges = this.templateDataCache.get(key, new TemplateDataCache.Loader<Collection<ChargeData>>() {
 
-        String sql = "select " + rm.chargeSchema()
-                + " where c.is_deleted=0 and c.is_active=1 and c.charge_applies_to_enum=? order by c.name ";
-        if (feeChargesOnly) {
-            sql = "select " + rm.chargeSchema()
-                    + " where c.is_deleted=0 and c.is_active=1 and c.is_penalty=0 and c.charge_applies_to_enum=? order by c.name ";
-        }
+            @Override
+            public Collection<ChargeData> load() {
+                final ChargeMapper rm = new ChargeMapper();
+
+                String sql = "select " + rm.chargeSchema()
+                        + " where c.is_deleted=0 and c.is_active=1 and c.charge_applies_to_enum=? order by c.name ";
+                if (feeChargesOnly) {
+                    sql = "select " + rm.chargeSchema()
+                            + " where c.is_deleted=0 and c.is_active=1 and c.is_penalty=0 and c.charge_applies_to_enum=? order by c.name ";
+                }
+
+                return jdbcTemplate.query(sql, rm, new Object[] { ChargeAppliesTo.LOAN.getValue() });
+            }
+        });
 
-        return this.jdbcTemplate.query(sql, rm, new Object[] { ChargeAppliesTo.LOAN.getValue() });
+        // callers remove the charges already attached to a product or loan
+        return new ArrayList<ChargeData>(charges);
     }
 
     @Override
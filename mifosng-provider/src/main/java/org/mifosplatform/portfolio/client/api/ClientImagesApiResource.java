@@ -1,6 +1,8 @@
 package org.mifosplatform.portfolio.client.api;
 
+import java.io.File;
 import java.io.InputStream;
+import java.util.Date;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -11,7 +13,16 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+import org.apache.commons.lang.StringUtils;
 
 import org.mifosplatform.infrastructure.core.api.ApiConstants;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
@@ -38,6 +49,8 @@ import com.sun.jersey.multipart.FormDataParam;
 @Scope("singleton")
 public class ClientImagesApiResource {
 
+    private static final int IMAGE_MAX_AGE_SECONDS = 60 * 60;
+
     private final PlatformSecurityContext context;
     private final ClientReadPlatformService clientReadPlatformService;
     private final ClientWritePlatformService clientWritePlatformService;
@@ -100,11 +113,56 @@ public class ClientImagesApiResource {
 
         context.authenticatedUser().validateHasReadPermission("CLIENTIMAGE");
 
-        final ClientData clientData = this.clientReadPlatformService.retrieveIndividualClient(clientId);
+        final String imageKey = this.clientReadPlatformService.retrieveClientImageKey(clientId);
+
+        if (StringUtils.isBlank(imageKey)) { throw new ImageNotFoundException("clients", clientId); }
 
-        if (clientData.imageKeyDoesNotExist()) { throw new ImageNotFoundException("clients", clientId); }
+        return Base64.encodeFromFile(imageKey);
+    }
+
+    /**
+     * Returns the client image (or its thumbnail) as binary content, streamed
+     * from the file system.
+     * 
+     * Responses carry an <code>ETag</code> and <code>Last-Modified</code> and
+     * may be cached privately for an hour, after which a conditional request
+     * is answered with 304 unless the image has changed.
+     */
+    @GET
+    @Path("content")
+    public Response retrieveClientImageContent(@PathParam("clientId") final Long clientId,
+            @QueryParam("thumbnail") final Boolean thumbnail, @Context final Request request) {
+
+        context.authenticatedUser().validateHasReadPermission("CLIENTIMAGE");
 
-        return Base64.encodeFromFile(clientData.imageKey());
+        final String imageKey = this.clientReadPlatformService.retrieveClientImageKey(clientId);
+        if (StringUtils.isBlank(imageKey)) { throw new ImageNotFoundException("clients", clientId); }
+
+        File image = new File(imageKey);
+        final boolean thumbnailRequested = thumbnail != null && thumbnail.booleanValue();
+        if (thumbnailRequested) {
+            // images stored before thumbnails were generated are served whole
+            final File thumbnailImage = FileUtils.thumbnailFor(imageKey);
+            if (thumbnailImage.isFile()) {
+                image = thumbnailImage;
+            }
+        }
+        if (!image.isFile()) { throw new ImageNotFoundException("clients", clientId); }
+
+        // http dates only have second precision
+        final Date lastModified = new Date(image.lastModified() / 1000 * 1000);
+        final EntityTag entityTag = new EntityTag(Long.toHexString(image.lastModified()) + "-" + Long.toHexString(image.length())
+                + (thumbnailRequested ? "-thumbnail" : ""));
+
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setMaxAge(IMAGE_MAX_AGE_SECONDS);
+
+        final ResponseBuilder notModified = request.evaluatePreconditions(lastModified, entityTag);
+        if (notModified != null) { return notModified.tag(entityTag).cacheControl(cacheControl).build(); }
+
+        return Response.ok(image, FileUtils.imageMimeType(image.getName())).lastModified(lastModified).tag(entityTag)
+                .cacheControl(cacheControl).build();
     }
 
     /**
@@ -18,20 +18,22 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
-import org.apache.commons.lang.StringUtils;
 import org.mifosplatform.commands.data.CommandSourceData;
 import org.mifosplatform.commands.domain.CommandWrapper;
 import org.mifosplatform.commands.service.CommandWrapperBuilder;
 import org.mifosplatform.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.mifosplatform.commands.service.PortfolioCommandsReadPlatformService;
-import org.mifosplatform.infrastructure.core.api.ApiParameterHelper;
 import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
 import org.mifosplatform.infrastructure.core.api.PortfolioApiDataConversionService;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.mifosplatform.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mifosplatform.infrastructure.core.service.Page;
+import org.mifosplatform.infrastructure.core.service.SearchParameters;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.mifosplatform.organisation.office.data.OfficeLookup;
 import org.mifosplatform.organisation.office.service.OfficeReadPlatformService;
@@ -54,6 +56,7 @@ public class ClientsApiResource {
     private final ClientReadPlatformService clientReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
     private final ToApiJsonSerializer<ClientData> toApiJsonSerializer;
+    private final ToApiJsonSerializer<Page<ClientData>> pagedToApiJsonSerializer;
     private final ToApiJsonSerializer<ClientAccountSummaryCollectionData> clientAccountSummaryToApiJsonSerializer;
     private final ApiRequestParameterHelper apiRequestParameterHelper;
     private final PortfolioApiDataConversionService apiDataConversionService;
@@ -63,6 +66,7 @@ public class ClientsApiResource {
     @Autowired
     public ClientsApiResource(final PlatformSecurityContext context, final ClientReadPlatformService readPlatformService,
             final OfficeReadPlatformService officeReadPlatformService, final ToApiJsonSerializer<ClientData> toApiJsonSerializer,
+            final ToApiJsonSerializer<Page<ClientData>> pagedToApiJsonSerializer,
             final ToApiJsonSerializer<ClientAccountSummaryCollectionData> clientAccountSummaryToApiJsonSerializer,
             final ApiRequestParameterHelper apiRequestParameterHelper, final PortfolioApiDataConversionService apiDataConversionService,
             final PortfolioCommandsReadPlatformService commandsReadPlatformService,
@@ -71,6 +75,7 @@ public class ClientsApiResource {
         this.clientReadPlatformService = readPlatformService;
         this.officeReadPlatformService = officeReadPlatformService;
         this.toApiJsonSerializer = toApiJsonSerializer;
+        this.pagedToApiJsonSerializer = pagedToApiJsonSerializer;
         this.clientAccountSummaryToApiJsonSerializer = clientAccountSummaryToApiJsonSerializer;
         this.apiRequestParameterHelper = apiRequestParameterHelper;
         this.apiDataConversionService = apiDataConversionService;
@@ -78,67 +83,36 @@ public class ClientsApiResource {
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
     }
 
+    /**
+     * Lists clients in (displayName, id) order. Passing a <code>limit</code>,
+     * the <code>nextCursor</code> of a previous page as <code>after</code> or
+     * <code>totalCount=true</code> returns a single page of clients instead
+     * of all of them.
+     */
     @GET
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
-    public String retrieveAllIndividualClients(@Context final UriInfo uriInfo, @QueryParam("sqlSearch") final String sqlSearch,
+    public Response retrieveAllIndividualClients(@Context final UriInfo uriInfo, @QueryParam("sqlSearch") final String sqlSearch,
             @QueryParam("officeId") final Long officeId, @QueryParam("externalId") final String externalId,
             @QueryParam("displayName") final String displayName, @QueryParam("firstName") final String firstName,
-            @QueryParam("lastName") final String lastName, @QueryParam("underHierarchy") final String hierarchy) {
+            @QueryParam("lastName") final String lastName, @QueryParam("underHierarchy") final String hierarchy,
+            @QueryParam("limit") final Integer limit, @QueryParam("after") final String after,
+            @QueryParam("totalCount") final Boolean totalCount) {
 
         context.authenticatedUser().validateHasReadPermission("CLIENT");
 
-        // FIXME - kw - rather than exposing SQL through the api can we not just
-        // pass parameter we want to search by and build up sql like is done for
-        // other parameters?
-        final String extraCriteria = buildSqlStringFromClientCriteria(sqlSearch, officeId, externalId, displayName, firstName, lastName,
-                hierarchy);
-
-        final Collection<ClientData> clients = this.clientReadPlatformService.retrieveAllIndividualClients(extraCriteria);
+        final SearchParameters searchParameters = SearchParameters.forClients(sqlSearch, officeId, externalId, displayName, firstName,
+                lastName, hierarchy, limit, after, totalCount);
 
         final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper.process(uriInfo.getQueryParameters());
-        return this.toApiJsonSerializer.serialize(settings, clients, CLIENT_DATA_PARAMETERS);
-    }
-
-    private String buildSqlStringFromClientCriteria(final String sqlSearch, final Long officeId, final String externalId,
-            final String displayName, final String firstName, final String lastName, final String hierarchy) {
-
-        String extraCriteria = "";
-
-        if (sqlSearch != null) {
-            extraCriteria = " and (" + sqlSearch + ")";
-        }
-
-        if (officeId != null) {
-            extraCriteria += " and office_id = " + officeId;
-        }
-
-        if (externalId != null) {
-            extraCriteria += " and external_id like " + ApiParameterHelper.sqlEncodeString(externalId);
-        }
-
-        if (displayName != null) {
-            extraCriteria += " and concat(ifnull(firstname, ''), if(firstname > '',' ', '') , ifnull(lastname, '')) like "
-                    + ApiParameterHelper.sqlEncodeString(displayName);
-        }
-
-        if (firstName != null) {
-            extraCriteria += " and firstname like " + ApiParameterHelper.sqlEncodeString(firstName);
-        }
-
-        if (lastName != null) {
-            extraCriteria += " and lastname like " + ApiParameterHelper.sqlEncodeString(lastName);
-        }
-
-        if (hierarchy != null) {
-            extraCriteria += " and o.hierarchy like " + ApiParameterHelper.sqlEncodeString(hierarchy + "%");
-        }
-
-        if (StringUtils.isNotBlank(extraCriteria)) {
-            extraCriteria = extraCriteria.substring(4);
+        if (searchParameters.isPaged()) {
+            final Page<ClientData> clients = this.clientReadPlatformService.retrieveAllIndividualClients(searchParameters);
+            return Response.ok().entity(this.pagedToApiJsonSerializer.serialize(settings, clients, CLIENT_DATA_PARAMETERS)).build();
         }
 
-        return extraCriteria;
+        // without paging the list can be large so it is written as it is read
+        final JdbcRowStream<ClientData> clients = this.clientReadPlatformService.streamAllIndividualClients(searchParameters);
+        return Response.ok().entity(this.toApiJsonSerializer.serialize(settings, clients, CLIENT_DATA_PARAMETERS)).build();
     }
 
     @GET
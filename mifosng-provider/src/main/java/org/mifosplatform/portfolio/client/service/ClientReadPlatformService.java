@@ -2,6 +2,9 @@ package org.mifosplatform.portfolio.client.service;
 
 import java.util.Collection;
 
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mifosplatform.infrastructure.core.service.Page;
+import org.mifosplatform.infrastructure.core.service.SearchParameters;
 import org.mifosplatform.portfolio.client.data.ClientAccountSummaryCollectionData;
 import org.mifosplatform.portfolio.client.data.ClientAccountSummaryData;
 import org.mifosplatform.portfolio.client.data.ClientData;
@@ -11,13 +14,24 @@ import org.mifosplatform.portfolio.client.data.NoteData;
 
 public interface ClientReadPlatformService {
 
-    Collection<ClientData> retrieveAllIndividualClients(String extraCriteria);
+    Page<ClientData> retrieveAllIndividualClients(SearchParameters searchParameters);
+
+    /**
+     * All clients matching the search, in the same order as
+     * {@link #retrieveAllIndividualClients(SearchParameters)}, read as they are
+     * written out. Paging parameters are ignored.
+     */
+    JdbcRowStream<ClientData> streamAllIndividualClients(SearchParameters searchParameters);
 
     ClientData retrieveIndividualClient(Long clientId);
 
-    ClientData retrieveNewClientDetails();
+    /**
+     * The location of a client's image, or <code>null</code> if the client
+     * has none, without loading the rest of the client.
+     */
+    String retrieveClientImageKey(Long clientId);
 
-    Collection<ClientLookup> retrieveAllIndividualClientsForLookup(String extraCriteria);
+    ClientData retrieveNewClientDetails();
 
     Collection<ClientLookup> retrieveAllIndividualClientsForLookupByOfficeId(Long officeId);
 
@@ -6,11 +6,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-import org.apache.commons.lang.StringUtils;
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mifosplatform.infrastructure.core.service.KeysetCursor;
+import org.mifosplatform.infrastructure.core.service.Page;
+import org.mifosplatform.infrastructure.core.service.SearchParameters;
+import org.mifosplatform.infrastructure.core.service.SqlSearch;
 import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.mifosplatform.organisation.office.data.OfficeLookup;
@@ -53,21 +57,54 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     }
 
     @Override
-    public Collection<ClientData> retrieveAllIndividualClients(final String extraCriteria) {
+    public Page<ClientData> retrieveAllIndividualClients(final SearchParameters searchParameters) {
 
-        AppUser currentUser = context.authenticatedUser();
-        String hierarchy = currentUser.getOffice().getHierarchy();
-        String hierarchySearchString = hierarchy + "%";
+        final AppUser currentUser = context.authenticatedUser();
+        final String hierarchy = currentUser.getOffice().getHierarchy();
+        final String hierarchySearchString = hierarchy + "%";
+
+        final ClientMapper rm = new ClientMapper();
+
+        final List<Object> paramList = new ArrayList<Object>();
+        paramList.add(hierarchySearchString);
+        final String extraCriteria = buildSqlStringFromClientCriteria(searchParameters, paramList);
 
-        ClientMapper rm = new ClientMapper();
+        Integer totalFilteredRecords = null;
+        if (searchParameters.isTotalCountRequired()) {
+            totalFilteredRecords = this.jdbcTemplate.queryForInt("select count(*) " + rm.clientFromClause() + extraCriteria,
+                    paramList.toArray());
+        }
 
-        String sql = "select " + rm.clientSchema();
+        final String sql = "select " + rm.clientSchema() + extraCriteria + keysetCriteria(searchParameters, paramList)
+                + " order by c.display_name ASC, c.id ASC" + limitClause(searchParameters, paramList);
 
-        if (StringUtils.isNotBlank(extraCriteria)) sql += " and (" + extraCriteria + ")";
+        final List<ClientData> clients = this.jdbcTemplate.query(sql, rm, paramList.toArray());
 
-        sql += " order by c.display_name ASC, c.account_no ASC";
+        String nextCursor = null;
+        if (searchParameters.isPaged() && clients.size() > searchParameters.getLimit()) {
+            clients.remove(clients.size() - 1);
+            final ClientData last = clients.get(clients.size() - 1);
+            nextCursor = KeysetCursor.after(last.displayName(), last.id()).encode();
+        }
 
-        return this.jdbcTemplate.query(sql, rm, new Object[] { hierarchySearchString });
+        return new Page<ClientData>(clients, nextCursor, totalFilteredRecords);
+    }
+
+    @Override
+    public JdbcRowStream<ClientData> streamAllIndividualClients(final SearchParameters searchParameters) {
+
+        final AppUser currentUser = context.authenticatedUser();
+        final String hierarchySearchString = currentUser.getOffice().getHierarchy() + "%";
+
+        final ClientMapper rm = new ClientMapper();
+
+        final List<Object> paramList = new ArrayList<Object>();
+        paramList.add(hierarchySearchString);
+        final String extraCriteria = buildSqlStringFromClientCriteria(searchParameters, paramList);
+
+        final String sql = "select " + rm.clientSchema() + extraCriteria + " order by c.display_name ASC, c.id ASC";
+
+        return JdbcRowStream.of(this.jdbcTemplate, sql, rm, paramList.toArray());
     }
 
     @Override
@@ -90,19 +127,89 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
     }
 
     @Override
-    public Collection<ClientLookup> retrieveAllIndividualClientsForLookup(String extraCriteria) {
+    public String retrieveClientImageKey(final Long clientId) {
 
-        this.context.authenticatedUser();
+        final AppUser currentUser = this.context.authenticatedUser();
+        final String hierarchySearchString = currentUser.getOffice().getHierarchy() + "%";
 
-        ClientLookupMapper rm = new ClientLookupMapper();
+        final String sql = "select c.image_key " + new ClientMapper().clientFromClause() + " and c.id = ?";
+        final List<String> imageKeys = this.jdbcTemplate.queryForList(sql, String.class, new Object[] { hierarchySearchString, clientId });
+        if (imageKeys.isEmpty()) { throw new ClientNotFoundException(clientId); }
+
+        return imageKeys.get(0);
+    }
 
-        String sql = "select " + rm.clientLookupSchema();
+    /*
+     * Search values, including those of sqlSearch, are bound as parameters.
+     */
+    private String buildSqlStringFromClientCriteria(final SearchParameters searchParameters, final List<Object> paramList) {
 
-        if (StringUtils.isNotBlank(extraCriteria)) {
-            sql += " and (" + extraCriteria + ")";
+        final StringBuilder extraCriteria = new StringBuilder();
+
+        final SqlSearch sqlSearch = searchParameters.getSqlSearch();
+        if (sqlSearch != null) {
+            extraCriteria.append(" and (").append(sqlSearch.getSql()).append(")");
+            paramList.addAll(sqlSearch.getValues());
         }
 
-        return this.jdbcTemplate.query(sql, rm, new Object[] {});
+        if (searchParameters.getOfficeId() != null) {
+            extraCriteria.append(" and c.office_id = ?");
+            paramList.add(searchParameters.getOfficeId());
+        }
+
+        if (searchParameters.getExternalId() != null) {
+            extraCriteria.append(" and c.external_id like ?");
+            paramList.add(searchParameters.getExternalId());
+        }
+
+        if (searchParameters.getDisplayName() != null) {
+            extraCriteria.append(" and c.display_name like ?");
+            paramList.add(searchParameters.getDisplayName());
+        }
+
+        if (searchParameters.getFirstname() != null) {
+            extraCriteria.append(" and c.firstname like ?");
+            paramList.add(searchParameters.getFirstname());
+        }
+
+        if (searchParameters.getLastname() != null) {
+            extraCriteria.append(" and c.lastname like ?");
+            paramList.add(searchParameters.getLastname());
+        }
+
+        if (searchParameters.getHierarchy() != null) {
+            extraCriteria.append(" and o.hierarchy like ?");
+            paramList.add(searchParameters.getHierarchy() + "%");
+        }
+
+        return extraCriteria.toString();
+    }
+
+    /*
+     * Seeks past the last client of the previous page in (display_name, id)
+     * order so that deep pages cost the same as the first.
+     */
+    private String keysetCriteria(final SearchParameters searchParameters, final List<Object> paramList) {
+
+        final KeysetCursor after = searchParameters.getAfter();
+        if (after == null) { return ""; }
+
+        paramList.add(after.getSortValue());
+        paramList.add(after.getSortValue());
+        paramList.add(after.getId());
+        return " and (c.display_name > ? or (c.display_name = ? and c.id > ?))";
+    }
+
+    /*
+     * One more row than asked for is read to tell whether there is a next
+     * page.
+     */
+    private String limitClause(final SearchParameters searchParameters, final List<Object> paramList) {
+
+        if (!searchParameters.isPaged()) { return ""; }
+
+        paramList.add(Integer.valueOf(searchParameters.getLimit().intValue() + 1));
+        return " limit ?";
     }
 
     @Override
@@ -133,8 +240,11 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
             return "c.account_no as accountNo, c.office_id as officeId, o.name as officeName, c.id as id, "
                     + "c.firstname as firstname, c.middlename as middlename, c.lastname as lastname, "
                     + "c.fullname as fullname, c.display_name as displayName, "
-                    + "c.external_id as externalId, c.joined_date as joinedDate, c.image_key as imagekey from m_client c join m_office o on o.id = c.office_id "
-                    + " where o.hierarchy like ? and c.is_deleted=0 ";
+                    + "c.external_id as externalId, c.joined_date as joinedDate, c.image_key as imagekey " + clientFromClause();
+        }
+
+        public String clientFromClause() {
+            return "from m_client c join m_office o on o.id = c.office_id where o.hierarchy like ? and c.is_deleted=0 ";
         }
 
         @Override
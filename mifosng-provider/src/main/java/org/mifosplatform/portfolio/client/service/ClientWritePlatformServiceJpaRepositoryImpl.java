@@ -416,6 +416,9 @@ public class ClientWritePlatformServiceJpaRepositoryImpl implements ClientWriteP
     }
 
     private CommandProcessingResult updateClientImage(final Long clientId, final Client client, final String imageLocation) {
+        if (imageLocation != null) {
+            FileUtils.generateThumbnail(imageLocation);
+        }
         client.setImageKey(imageLocation);
         this.clientRepository.save(client);
 
@@ -1,6 +1,8 @@
 package org.mifosplatform.portfolio.fund.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.portfolio.fund.service.FundWritePlatformService;
@@ -9,19 +11,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "FUND", action = "CREATE")
 public class CreateFundCommandHandler implements NewCommandSourceHandler {
 
     private final FundWritePlatformService writePlatformService;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
-    public CreateFundCommandHandler(final FundWritePlatformService writePlatformService) {
+    public CreateFundCommandHandler(final FundWritePlatformService writePlatformService, final TemplateDataCache templateDataCache) {
         this.writePlatformService = writePlatformService;
+        this.templateDataCache = templateDataCache;
     }
 
     @Transactional
     @Override
     public CommandProcessingResult processCommand(final JsonCommand command) {
 
-        return this.writePlatformService.createFund(command);
+        final CommandProcessingResult result = this.writePlatformService.createFund(command);
+
+        this.templateDataCache.evictAllForCurrentTenant();
+
+        return result;
     }
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package org.mifosplatform.portfolio.fund.service;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.mifosplatform.portfolio.fund.data.FundData;
@@ -19,11 +21,14 @@ public class FundReadPlatformServiceImpl implements FundReadPlatformService {
 
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
-    public FundReadPlatformServiceImpl(final PlatformSecurityContext context, final TenantAwareRoutingDataSource dataSource) {
+    public FundReadPlatformServiceImpl(final PlatformSecurityContext context, final TenantAwareRoutingDataSource dataSource,
+            final TemplateDataCache templateDataCache) {
         this.context = context;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.templateDataCache = templateDataCache;
     }
 
     private static final class FundMapper implements RowMapper<FundData> {
@@ -48,10 +53,18 @@ public class FundReadPlatformServiceImpl implements FundReadPlatformService {
 
         context.authenticatedUser();
 
-        final FundMapper rm = new FundMapper();
-        final String sql = "select " + rm.schema() + " order by f.name";
+        final Collection<FundData> funds = this.templateDataCache.get("funds", new TemplateDataCache.Loader<Collection<FundData>>() {
 
-        return this.jdbcTemplate.query(sql, rm, new Object[] {});
+            @Override
+            public Collection<FundData> load() {
+                final FundMapper rm = new FundMapper();
+                final String sql = "select " + rm.schema() + " order by f.name";
+
+                return jdbcTemplate.query(sql, rm, new Object[] {});
+            }
+        });
+
+        return new ArrayList<FundData>(funds);
     }
 
     @Override
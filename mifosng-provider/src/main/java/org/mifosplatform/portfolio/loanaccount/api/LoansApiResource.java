@@ -27,40 +27,24 @@ import org.mifosplatform.infrastructure.core.api.ApiParameterHelper;
 import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
 import org.mifosplatform.infrastructure.core.api.JsonQuery;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
-import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
 import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.mifosplatform.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.mifosplatform.infrastructure.core.serialization.FromJsonHelper;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
-import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
-import org.mifosplatform.organisation.monetary.domain.Money;
 import org.mifosplatform.organisation.staff.data.BulkTransferLoanOfficerData;
 import org.mifosplatform.organisation.staff.data.StaffData;
 import org.mifosplatform.organisation.staff.service.StaffReadPlatformService;
-import org.mifosplatform.portfolio.charge.data.ChargeData;
-import org.mifosplatform.portfolio.charge.service.ChargeReadPlatformService;
-import org.mifosplatform.portfolio.fund.data.FundData;
-import org.mifosplatform.portfolio.fund.service.FundReadPlatformService;
-import org.mifosplatform.portfolio.loanaccount.data.DisbursementData;
 import org.mifosplatform.portfolio.loanaccount.data.LoanAccountData;
 import org.mifosplatform.portfolio.loanaccount.data.LoanBasicDetailsData;
-import org.mifosplatform.portfolio.loanaccount.data.LoanChargeData;
-import org.mifosplatform.portfolio.loanaccount.data.LoanPermissionData;
-import org.mifosplatform.portfolio.loanaccount.data.LoanTransactionData;
-import org.mifosplatform.portfolio.loanaccount.gaurantor.data.GuarantorData;
-import org.mifosplatform.portfolio.loanaccount.gaurantor.service.GuarantorReadPlatformService;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleQuoteData;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.service.LoanScheduleCalculationPlatformService;
+import org.mifosplatform.portfolio.loanaccount.service.LoanAccountViewAssembler;
 import org.mifosplatform.portfolio.loanaccount.service.LoanReadPlatformService;
-import org.mifosplatform.portfolio.loanproduct.data.LoanProductData;
-import org.mifosplatform.portfolio.loanproduct.data.TransactionProcessingStrategyData;
-import org.mifosplatform.portfolio.loanproduct.service.LoanDropdownReadPlatformService;
-import org.mifosplatform.portfolio.loanproduct.service.LoanProductReadPlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
-import org.springframework.util.CollectionUtils;
 
 import com.google.gson.JsonElement;
 
@@ -84,15 +68,12 @@ public class LoansApiResource {
 
     private final PlatformSecurityContext context;
     private final LoanReadPlatformService loanReadPlatformService;
-    private final LoanProductReadPlatformService loanProductReadPlatformService;
-    private final LoanDropdownReadPlatformService dropdownReadPlatformService;
-    private final FundReadPlatformService fundReadPlatformService;
-    private final ChargeReadPlatformService chargeReadPlatformService;
     private final LoanScheduleCalculationPlatformService calculationPlatformService;
     private final StaffReadPlatformService staffReadPlatformService;
-    private final GuarantorReadPlatformService guarantorReadPlatformService;
+    private final LoanAccountViewAssembler loanAccountViewAssembler;
     private final DefaultToApiJsonSerializer<LoanAccountData> toApiJsonSerializer;
     private final DefaultToApiJsonSerializer<LoanScheduleData> loanScheduleToApiJsonSerializer;
+    private final DefaultToApiJsonSerializer<LoanScheduleQuoteData> loanScheduleQuoteToApiJsonSerializer;
     private final DefaultToApiJsonSerializer<BulkTransferLoanOfficerData> loanOfficeTransferToApiJsonSerializer;
     private final ApiRequestParameterHelper apiRequestParameterHelper;
     private final FromJsonHelper fromJsonHelper;
@@ -100,27 +81,22 @@ public class LoansApiResource {
 
     @Autowired
     public LoansApiResource(final PlatformSecurityContext context, final LoanReadPlatformService loanReadPlatformService,
-            final LoanProductReadPlatformService loanProductReadPlatformService,
-            final LoanDropdownReadPlatformService dropdownReadPlatformService, final FundReadPlatformService fundReadPlatformService,
-            final ChargeReadPlatformService chargeReadPlatformService,
             final LoanScheduleCalculationPlatformService calculationPlatformService,
-            final StaffReadPlatformService staffReadPlatformService, final GuarantorReadPlatformService guarantorReadPlatformService,
+            final StaffReadPlatformService staffReadPlatformService, final LoanAccountViewAssembler loanAccountViewAssembler,
             final DefaultToApiJsonSerializer<LoanAccountData> toApiJsonSerializer,
             final DefaultToApiJsonSerializer<LoanScheduleData> loanScheduleToApiJsonSerializer,
+            final DefaultToApiJsonSerializer<LoanScheduleQuoteData> loanScheduleQuoteToApiJsonSerializer,
             final DefaultToApiJsonSerializer<BulkTransferLoanOfficerData> loanOfficeTransferToApiJsonSerializer,
             final ApiRequestParameterHelper apiRequestParameterHelper, final FromJsonHelper fromJsonHelper,
             final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService) {
         this.context = context;
         this.loanReadPlatformService = loanReadPlatformService;
-        this.loanProductReadPlatformService = loanProductReadPlatformService;
-        this.dropdownReadPlatformService = dropdownReadPlatformService;
-        this.fundReadPlatformService = fundReadPlatformService;
-        this.chargeReadPlatformService = chargeReadPlatformService;
         this.calculationPlatformService = calculationPlatformService;
         this.staffReadPlatformService = staffReadPlatformService;
-        this.guarantorReadPlatformService = guarantorReadPlatformService;
+        this.loanAccountViewAssembler = loanAccountViewAssembler;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.loanScheduleToApiJsonSerializer = loanScheduleToApiJsonSerializer;
+        this.loanScheduleQuoteToApiJsonSerializer = loanScheduleQuoteToApiJsonSerializer;
         this.loanOfficeTransferToApiJsonSerializer = loanOfficeTransferToApiJsonSerializer;
         this.apiRequestParameterHelper = apiRequestParameterHelper;
         this.fromJsonHelper = fromJsonHelper;
@@ -136,46 +112,7 @@ public class LoansApiResource {
 
         context.authenticatedUser().validateHasReadPermission(resourceNameForPermissions);
 
-        // tempate related
-        Collection<LoanProductData> productOptions = this.loanProductReadPlatformService.retrieveAllLoanProductsForLookup();
-        Collection<EnumOptionData> loanTermFrequencyTypeOptions = dropdownReadPlatformService.retrieveLoanTermFrequencyTypeOptions();
-        Collection<EnumOptionData> repaymentFrequencyTypeOptions = dropdownReadPlatformService.retrieveRepaymentFrequencyTypeOptions();
-        Collection<EnumOptionData> interestRateFrequencyTypeOptions = dropdownReadPlatformService
-                .retrieveInterestRateFrequencyTypeOptions();
-
-        Collection<EnumOptionData> amortizationTypeOptions = dropdownReadPlatformService.retrieveLoanAmortizationTypeOptions();
-        Collection<EnumOptionData> interestTypeOptions = dropdownReadPlatformService.retrieveLoanInterestTypeOptions();
-        Collection<EnumOptionData> interestCalculationPeriodTypeOptions = dropdownReadPlatformService
-                .retrieveLoanInterestRateCalculatedInPeriodOptions();
-
-        Collection<FundData> fundOptions = this.fundReadPlatformService.retrieveAllFunds();
-        Collection<TransactionProcessingStrategyData> repaymentStrategyOptions = this.dropdownReadPlatformService
-                .retreiveTransactionProcessingStrategies();
-
-        final boolean feeChargesOnly = false;
-        Collection<ChargeData> chargeOptions = this.chargeReadPlatformService.retrieveLoanApplicableCharges(feeChargesOnly);
-        ChargeData chargeTemplate = this.chargeReadPlatformService.retrieveLoanChargeTemplate();
-
-        LoanBasicDetailsData loanBasicDetails;
-        Long officeId;
-
-        if (clientId != null) {
-            loanBasicDetails = this.loanReadPlatformService.retrieveClientAndProductDetails(clientId, productId);
-            officeId = loanBasicDetails.getClientOfficeId();
-        } else {
-            loanBasicDetails = this.loanReadPlatformService.retrieveGroupAndProductDetails(groupId, productId);
-            officeId = loanBasicDetails.getGroupOfficeId();
-        }
-
-        final boolean convenienceDataRequired = false;
-        Collection<LoanChargeData> charges = loanBasicDetails.getCharges();
-
-        Collection<StaffData> allowedLoanOfficers = this.staffReadPlatformService.retrieveAllLoanOfficersByOffice(officeId);
-
-        final LoanAccountData newLoanAccount = new LoanAccountData(loanBasicDetails, convenienceDataRequired, null, null, null, charges,
-                productOptions, loanTermFrequencyTypeOptions, repaymentFrequencyTypeOptions, repaymentStrategyOptions,
-                interestRateFrequencyTypeOptions, amortizationTypeOptions, interestTypeOptions, interestCalculationPeriodTypeOptions,
-                fundOptions, chargeOptions, chargeTemplate, allowedLoanOfficers, null);
+        final LoanAccountData newLoanAccount = this.loanAccountViewAssembler.assembleNewLoanApplication(clientId, groupId, productId);
 
         final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper.process(uriInfo.getQueryParameters());
         return this.toApiJsonSerializer.serialize(settings, newLoanAccount, LOAN_DATA_PARAMETERS);
@@ -189,150 +126,46 @@ public class LoansApiResource {
 
         context.authenticatedUser().validateHasReadPermission(resourceNameForPermissions);
 
-        final LoanBasicDetailsData loanBasicDetails = this.loanReadPlatformService.retrieveLoanAccountDetails(loanId);
-
-        int loanRepaymentsCount = 0;
-        Collection<LoanTransactionData> loanRepayments = null;
-        LoanScheduleData repaymentSchedule = null;
-        LoanPermissionData permissions = null;
-        Collection<LoanChargeData> charges = null;
-        GuarantorData guarantorData = null;
-
-        boolean convenienceDataRequired = false;
         final Set<String> associationParameters = ApiParameterHelper.extractAssociationsForResponseIfProvided(uriInfo.getQueryParameters());
-        if (!associationParameters.isEmpty()) {
-
-            if (associationParameters.contains("all")) {
-                associationParameters.addAll(Arrays.asList("repaymentSchedule", "transactions", "permissions", "convenienceData",
-                        "charges", "guarantor"));
-            }
-
-            boolean existsGuarantor = false;
-            if (associationParameters.contains("guarantor")) {
-                if (guarantorReadPlatformService.existsGuarantor(loanId)) {
-                    guarantorData = this.guarantorReadPlatformService.retrieveGuarantor(loanId);
-                    existsGuarantor = true;
-                }
-            }
-
-            if (associationParameters.contains("transactions")) {
-                final Collection<LoanTransactionData> currentLoanRepayments = this.loanReadPlatformService.retrieveLoanTransactions(loanId);
-                if (!CollectionUtils.isEmpty(currentLoanRepayments)) {
-                    loanRepayments = currentLoanRepayments;
-                }
-            }
-
-            if (associationParameters.contains("repaymentSchedule") || associationParameters.contains("permissions")) {
-
-                DisbursementData singleDisbursement = loanBasicDetails.toDisburementData();
-                repaymentSchedule = this.loanReadPlatformService.retrieveRepaymentSchedule(loanId, loanBasicDetails.getCurrency(),
-                        singleDisbursement, loanBasicDetails.getTotalDisbursementCharges(), loanBasicDetails.getInArrearsTolerance());
-
-                convenienceDataRequired = true;
-            }
-
-            if (associationParameters.contains("permissions")) {
-
-                if (repaymentSchedule == null) { throw new IllegalStateException(); }
-
-                // FIXME - KW - Waive feature was changed to waive interest at
-                // anytime so this permission checking is probably not needed -
-                // look into.
-                final MonetaryCurrency currency = new MonetaryCurrency(loanBasicDetails.getCurrency().code(), loanBasicDetails
-                        .getCurrency().decimalPlaces());
-                final Money tolerance = Money.of(currency, loanBasicDetails.getInArrearsTolerance());
-
-                final Money totalOutstandingMoney = Money.of(currency, repaymentSchedule.totalOutstanding());
-
-                boolean isWaiveAllowed = totalOutstandingMoney.isGreaterThanZero()
-                        && (tolerance.isGreaterThan(totalOutstandingMoney) || tolerance.isEqualTo(totalOutstandingMoney));
-
-                loanRepaymentsCount = retrieveNonDisbursementTransactions(loanRepayments);
-                permissions = this.loanReadPlatformService.retrieveLoanPermissions(loanBasicDetails, isWaiveAllowed, loanRepaymentsCount,
-                        existsGuarantor);
-
-                // clear parent data which wasn't requested
-                if (!associationParameters.contains("repaymentSchedule")) {
-                    repaymentSchedule = null;
-                }
-            }
-
-            if (associationParameters.contains("charges")) {
-                charges = this.chargeReadPlatformService.retrieveLoanCharges(loanId);
-                if (CollectionUtils.isEmpty(charges)) {
-                    charges = null; // set back to null so doesnt appear in JSON
-                                    // is no charges exist.
-                }
-            }
-        }
-
-        Collection<LoanProductData> productOptions = null;
-        Collection<EnumOptionData> loanTermFrequencyTypeOptions = null;
-        Collection<EnumOptionData> repaymentFrequencyTypeOptions = null;
-        Collection<TransactionProcessingStrategyData> repaymentStrategyOptions = null;
-        Collection<EnumOptionData> interestRateFrequencyTypeOptions = null;
-        Collection<EnumOptionData> amortizationTypeOptions = null;
-        Collection<EnumOptionData> interestTypeOptions = null;
-        Collection<EnumOptionData> interestCalculationPeriodTypeOptions = null;
-        Collection<FundData> fundOptions = null;
-        Collection<ChargeData> chargeOptions = null;
-        ChargeData chargeTemplate = null;
-
         final boolean template = ApiParameterHelper.template(uriInfo.getQueryParameters());
-        if (template) {
-            productOptions = this.loanProductReadPlatformService.retrieveAllLoanProductsForLookup();
-            loanTermFrequencyTypeOptions = dropdownReadPlatformService.retrieveLoanTermFrequencyTypeOptions();
-            repaymentFrequencyTypeOptions = dropdownReadPlatformService.retrieveRepaymentFrequencyTypeOptions();
-            interestRateFrequencyTypeOptions = dropdownReadPlatformService.retrieveInterestRateFrequencyTypeOptions();
-
-            amortizationTypeOptions = dropdownReadPlatformService.retrieveLoanAmortizationTypeOptions();
-            interestTypeOptions = dropdownReadPlatformService.retrieveLoanInterestTypeOptions();
-            interestCalculationPeriodTypeOptions = dropdownReadPlatformService.retrieveLoanInterestRateCalculatedInPeriodOptions();
-
-            fundOptions = this.fundReadPlatformService.retrieveAllFunds();
-            repaymentStrategyOptions = this.dropdownReadPlatformService.retreiveTransactionProcessingStrategies();
-            final boolean feeChargesOnly = false;
-            chargeOptions = this.chargeReadPlatformService.retrieveLoanApplicableCharges(feeChargesOnly);
-            chargeTemplate = this.chargeReadPlatformService.retrieveLoanChargeTemplate();
-        }
 
-        final LoanAccountData loanAccount = new LoanAccountData(loanBasicDetails, convenienceDataRequired, repaymentSchedule,
-                loanRepayments, permissions, charges, productOptions, loanTermFrequencyTypeOptions, repaymentFrequencyTypeOptions,
-                repaymentStrategyOptions, interestRateFrequencyTypeOptions, amortizationTypeOptions, interestTypeOptions,
-                interestCalculationPeriodTypeOptions, fundOptions, chargeOptions, chargeTemplate, null, guarantorData);
+        final LoanAccountData loanAccount = this.loanAccountViewAssembler.assembleLoanAccount(loanId, associationParameters, template);
 
         final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper.process(uriInfo.getQueryParameters());
         return this.toApiJsonSerializer.serialize(settings, loanAccount, LOAN_DATA_PARAMETERS);
     }
 
-    private int retrieveNonDisbursementTransactions(final Collection<LoanTransactionData> loanRepayments) {
-        int loanRepaymentsCount = 0;
-        if (!CollectionUtils.isEmpty(loanRepayments)) {
-            for (LoanTransactionData transaction : loanRepayments) {
-                if (transaction.isNotDisbursement()) {
-                    // use this to decide if undo disbural should permission
-                    // should be set to true.
-                    loanRepaymentsCount++;
-                }
-            }
-        }
-        return loanRepaymentsCount;
-    }
-
     @POST
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
     public String calculateLoanScheduleOrSubmitLoanApplication(@QueryParam("command") final String commandParam,
             @Context final UriInfo uriInfo, final String apiRequestBodyAsJson) {
 
-        if (is(commandParam, "calculateLoanSchedule")) {
+        if (is(commandParam, "calculateLoanSchedule") || is(commandParam, "quoteLoanSchedule")) {
 
             final JsonElement parsedQuery = this.fromJsonHelper.parse(apiRequestBodyAsJson);
             final JsonQuery query = JsonQuery.from(apiRequestBodyAsJson, parsedQuery, this.fromJsonHelper);
+            final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper.process(uriInfo.getQueryParameters());
 
-            final LoanScheduleData loanSchedule = this.calculationPlatformService.calculateLoanSchedule(query);
+            // an array of loans calculates each of them in one request
+            final boolean batch = parsedQuery != null && parsedQuery.isJsonArray();
 
-            final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+            if (is(commandParam, "quoteLoanSchedule")) {
+                if (batch) {
+                    final Collection<LoanScheduleQuoteData> quotes = this.calculationPlatformService.quoteLoanSchedules(query);
+                    return this.loanScheduleQuoteToApiJsonSerializer.serialize(settings, quotes, new HashSet<String>());
+                }
+
+                final LoanScheduleQuoteData quote = this.calculationPlatformService.quoteLoanSchedule(query);
+                return this.loanScheduleQuoteToApiJsonSerializer.serialize(settings, quote, new HashSet<String>());
+            }
+
+            if (batch) {
+                final Collection<LoanScheduleData> loanSchedules = this.calculationPlatformService.calculateLoanSchedules(query);
+                return this.loanScheduleToApiJsonSerializer.serialize(settings, loanSchedules, new HashSet<String>());
+            }
+
+            final LoanScheduleData loanSchedule = this.calculationPlatformService.calculateLoanSchedule(query);
             return this.loanScheduleToApiJsonSerializer.serialize(settings, loanSchedule, new HashSet<String>());
         }
 
@@ -6,6 +6,7 @@ import java.util.Set;
 import org.joda.time.LocalDate;
 import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
 import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.organisation.monetary.domain.MoneyAccumulator;
 
 /**
  * Abstract implementation of {@link LoanRepaymentScheduleTransactionProcessor}
@@ -114,11 +115,11 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
 
     private void updateFeeChargesPaidAmountBy(final Money feeCharges, final Set<LoanCharge> charges) {
 
-        Money amountRemaining = feeCharges;
+        final MoneyAccumulator amountRemaining = MoneyAccumulator.of(feeCharges);
         for (LoanCharge loanCharge : charges) {
             if (!loanCharge.isDueAtDisbursement()) {
                 if (loanCharge.isFeeCharge() && loanCharge.isNotFullyPaid() && amountRemaining.isGreaterThanZero()) {
-                    amountRemaining = loanCharge.updatePaidAmountBy(amountRemaining);
+                    loanCharge.updatePaidAmountBy(amountRemaining);
                 }
             }
         }
@@ -126,13 +127,13 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
 
     private void updatePenaltyChargesPaidAmountBy(final Money feeCharges, final Set<LoanCharge> charges) {
 
-        Money amountRemaining = feeCharges;
+        final MoneyAccumulator amountRemaining = MoneyAccumulator.of(feeCharges);
         for (LoanCharge loanCharge : charges) {
             if (!loanCharge.isDueAtDisbursement()) {
 
                 if (loanCharge.isPenaltyCharge() && amountRemaining.isGreaterThanZero()) {
                     final LoanCharge unpaidCharge = findEarliestUnpaidChargeFromUnOrderedSet(charges);
-                    amountRemaining = unpaidCharge.updatePaidAmountBy(amountRemaining);
+                    unpaidCharge.updatePaidAmountBy(amountRemaining);
                 }
             }
         }
@@ -157,22 +158,23 @@ public abstract class AbstractLoanRepaymentScheduleTransactionProcessor implemen
     public void handleWriteOff(final LoanTransaction loanTransaction, final MonetaryCurrency currency,
             final List<LoanRepaymentScheduleInstallment> installments) {
 
-        Money principalPortion = Money.zero(currency);
-        Money interestPortion = Money.zero(currency);
-        Money feeChargesPortion = Money.zero(currency);
-        Money penaltychargesPortion = Money.zero(currency);
+        final MoneyAccumulator principalPortion = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator interestPortion = MoneyAccumulator.zero(currency);
+        final Money feeChargesPortion = Money.zero(currency);
+        final Money penaltychargesPortion = Money.zero(currency);
 
         // determine how much is written off in total and breakdown for
         // principal, interest and charges
         for (LoanRepaymentScheduleInstallment currentInstallment : installments) {
 
             if (currentInstallment.isNotFullyCompleted()) {
-                principalPortion = principalPortion.plus(currentInstallment.writeOffOutstandingPrincipal(currency));
-                interestPortion = interestPortion.plus(currentInstallment.writeOffOutstandingInterest(currency));
+                principalPortion.plus(currentInstallment.writeOffOutstandingPrincipal(currency));
+                interestPortion.plus(currentInstallment.writeOffOutstandingInterest(currency));
             }
         }
 
-        loanTransaction.updateComponentsAndTotal(principalPortion, interestPortion, feeChargesPortion, penaltychargesPortion);
+        loanTransaction.updateComponentsAndTotal(principalPortion.toMoney(), interestPortion.toMoney(), feeChargesPortion,
+                penaltychargesPortion);
     }
 
     // abstract interface
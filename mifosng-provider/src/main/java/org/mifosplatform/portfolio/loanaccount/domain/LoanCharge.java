@@ -19,6 +19,7 @@ import org.joda.time.LocalDate;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
 import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.organisation.monetary.domain.MoneyAccumulator;
 import org.mifosplatform.portfolio.charge.domain.Charge;
 import org.mifosplatform.portfolio.charge.domain.ChargeCalculationType;
 import org.mifosplatform.portfolio.charge.domain.ChargeTimeType;
@@ -465,29 +466,27 @@ public class LoanCharge extends AbstractPersistable<Long> {
         return Money.of(currency, this.amountWrittenOff);
     }
 
-    public Money updatePaidAmountBy(final Money incrementBy) {
+    /**
+     * Pays off as much of this charge as possible from the amount remaining and
+     * deducts what was paid from it.
+     */
+    public void updatePaidAmountBy(final MoneyAccumulator amountRemaining) {
 
-        Money amountPaidToDate = Money.of(incrementBy.getCurrency(), this.amountPaid);
-        Money amountOutstanding = Money.of(incrementBy.getCurrency(), this.amountOutstanding);
+        final MonetaryCurrency currency = amountRemaining.getCurrency();
+        final Money amountOutstanding = Money.of(currency, this.amountOutstanding);
 
-        Money amountPaidOnThisCharge = Money.zero(incrementBy.getCurrency());
-        if (incrementBy.isGreaterThanOrEqualTo(amountOutstanding)) {
-            amountPaidOnThisCharge = amountOutstanding;
-            amountPaidToDate = amountPaidToDate.plus(amountOutstanding);
-            this.amountPaid = amountPaidToDate.getAmount();
+        if (amountRemaining.isGreaterThanOrEqualTo(amountOutstanding)) {
+            this.amountPaid = getAmountPaid(currency).plus(amountOutstanding).getAmount();
             this.amountOutstanding = BigDecimal.ZERO;
+            amountRemaining.minus(amountOutstanding);
         } else {
-            amountPaidOnThisCharge = incrementBy;
-            amountPaidToDate = amountPaidToDate.plus(incrementBy);
+            final Money amountPaidToDate = getAmountPaid(currency).plus(amountRemaining.getAmount());
             this.amountPaid = amountPaidToDate.getAmount();
-
-            Money amountExpected = Money.of(incrementBy.getCurrency(), this.amount);
-            this.amountOutstanding = amountExpected.minus(amountPaidToDate).getAmount();
+            this.amountOutstanding = getAmount(currency).minus(amountPaidToDate).getAmount();
+            amountRemaining.reset();
         }
 
         this.paid = determineIfFullyPaid();
-
-        return incrementBy.minus(amountPaidOnThisCharge);
     }
 
     public String name() {
@@ -6,6 +6,7 @@ import java.util.Set;
 import org.joda.time.LocalDate;
 import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
 import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.organisation.monetary.domain.MoneyAccumulator;
 
 /**
  * A wrapper around loan schedule related data exposing needed behaviour by
@@ -18,13 +19,13 @@ public class LoanScheduleWrapper {
 
     public Money calculateTotalOutstanding(final MonetaryCurrency currency, final List<LoanRepaymentScheduleInstallment> installments) {
 
-        Money cumulativeValue = Money.zero(currency);
+        final MoneyAccumulator cumulativeValue = MoneyAccumulator.zero(currency);
 
         for (LoanRepaymentScheduleInstallment scheduledRepayment : installments) {
-            cumulativeValue = cumulativeValue.plus(scheduledRepayment.getTotalOutstanding(currency));
+            cumulativeValue.plus(scheduledRepayment.getTotalOutstanding(currency));
         }
 
-        return cumulativeValue;
+        return cumulativeValue.toMoney();
     }
 
     /**
@@ -34,112 +35,43 @@ public class LoanScheduleWrapper {
     public void reprocess(final MonetaryCurrency currency, final LocalDate disbursementDate,
             final List<LoanRepaymentScheduleInstallment> repaymentPeriods, final Set<LoanCharge> loanCharges) {
 
+        final MoneyAccumulator feeChargesDue = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator feeChargesWaived = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator feeChargesWrittenOff = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator penaltyChargesDue = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator penaltyChargesWaived = MoneyAccumulator.zero(currency);
+        final MoneyAccumulator penaltyChargesWrittenOff = MoneyAccumulator.zero(currency);
+
         LocalDate startDate = disbursementDate;
         for (LoanRepaymentScheduleInstallment period : repaymentPeriods) {
 
-            final Money feeChargesDueForRepaymentPeriod = cumulativeFeeChargesDueWithin(startDate, period.getDueDate(), loanCharges,
-                    currency);
-            final Money feeChargesWaivedForRepaymentPeriod = cumulativeFeeChargesWaivedWithin(startDate, period.getDueDate(), loanCharges,
-                    currency);
-            final Money feeChargesWrittenOffForRepaymentPeriod = cumulativeFeeChargesWrittenOffWithin(startDate, period.getDueDate(),
-                    loanCharges, currency);
-
-            final Money penaltyChargesDueForRepaymentPeriod = cumulativePenaltyChargesDueWithin(startDate, period.getDueDate(),
-                    loanCharges, currency);
-            final Money penaltyChargesWaivedForRepaymentPeriod = cumulativePenaltyChargesWaivedWithin(startDate, period.getDueDate(),
-                    loanCharges, currency);
-            final Money penaltyChargesWrittenOffForRepaymentPeriod = cumulativePenaltyChargesWrittenOffWithin(startDate,
-                    period.getDueDate(), loanCharges, currency);
-
-            period.updateChargePortion(feeChargesDueForRepaymentPeriod, feeChargesWaivedForRepaymentPeriod,
-                    feeChargesWrittenOffForRepaymentPeriod, penaltyChargesDueForRepaymentPeriod, penaltyChargesWaivedForRepaymentPeriod,
-                    penaltyChargesWrittenOffForRepaymentPeriod);
-
-            startDate = period.getDueDate();
-        }
-    }
-
-    private Money cumulativeFeeChargesDueWithin(final LocalDate periodStart, final LocalDate periodEnd, final Set<LoanCharge> loanCharges,
-            final MonetaryCurrency monetaryCurrency) {
-
-        Money cumulative = Money.zero(monetaryCurrency);
-
-        for (LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isDueForCollectionBetween(periodStart, periodEnd) && loanCharge.isFeeCharge()) {
-                cumulative = cumulative.plus(loanCharge.amount());
+            feeChargesDue.reset();
+            feeChargesWaived.reset();
+            feeChargesWrittenOff.reset();
+            penaltyChargesDue.reset();
+            penaltyChargesWaived.reset();
+            penaltyChargesWrittenOff.reset();
+
+            // single pass over charges accumulating all components due within
+            // the repayment period
+            for (LoanCharge loanCharge : loanCharges) {
+                if (loanCharge.isDueForCollectionBetween(startDate, period.getDueDate())) {
+                    if (loanCharge.isFeeCharge()) {
+                        feeChargesDue.plus(loanCharge.amount());
+                        feeChargesWaived.plus(loanCharge.getAmountWaived(currency));
+                        feeChargesWrittenOff.plus(loanCharge.getAmountWrittenOff(currency));
+                    } else {
+                        penaltyChargesDue.plus(loanCharge.amount());
+                        penaltyChargesWaived.plus(loanCharge.getAmountWaived(currency));
+                        penaltyChargesWrittenOff.plus(loanCharge.getAmountWrittenOff(currency));
+                    }
+                }
             }
-        }
 
-        return cumulative;
-    }
+            period.updateChargePortion(feeChargesDue.toMoney(), feeChargesWaived.toMoney(), feeChargesWrittenOff.toMoney(),
+                    penaltyChargesDue.toMoney(), penaltyChargesWaived.toMoney(), penaltyChargesWrittenOff.toMoney());
 
-    private Money cumulativeFeeChargesWaivedWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency) {
-
-        Money cumulative = Money.zero(currency);
-
-        for (LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isDueForCollectionBetween(periodStart, periodEnd) && loanCharge.isFeeCharge()) {
-                cumulative = cumulative.plus(loanCharge.getAmountWaived(currency));
-            }
-        }
-
-        return cumulative;
-    }
-
-    private Money cumulativeFeeChargesWrittenOffWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency) {
-
-        Money cumulative = Money.zero(currency);
-
-        for (LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isDueForCollectionBetween(periodStart, periodEnd) && loanCharge.isFeeCharge()) {
-                cumulative = cumulative.plus(loanCharge.getAmountWrittenOff(currency));
-            }
-        }
-
-        return cumulative;
-    }
-
-    private Money cumulativePenaltyChargesDueWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency) {
-
-        Money cumulative = Money.zero(currency);
-
-        for (LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isDueForCollectionBetween(periodStart, periodEnd) && loanCharge.isPenaltyCharge()) {
-                cumulative = cumulative.plus(loanCharge.amount());
-            }
-        }
-
-        return cumulative;
-    }
-
-    private Money cumulativePenaltyChargesWaivedWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency) {
-
-        Money cumulative = Money.zero(currency);
-
-        for (LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isDueForCollectionBetween(periodStart, periodEnd) && loanCharge.isPenaltyCharge()) {
-                cumulative = cumulative.plus(loanCharge.getAmountWaived(currency));
-            }
-        }
-
-        return cumulative;
-    }
-
-    private Money cumulativePenaltyChargesWrittenOffWithin(final LocalDate periodStart, final LocalDate periodEnd,
-            final Set<LoanCharge> loanCharges, final MonetaryCurrency currency) {
-
-        Money cumulative = Money.zero(currency);
-
-        for (LoanCharge loanCharge : loanCharges) {
-            if (loanCharge.isDueForCollectionBetween(periodStart, periodEnd) && loanCharge.isPenaltyCharge()) {
-                cumulative = cumulative.plus(loanCharge.getAmountWrittenOff(currency));
-            }
+            startDate = period.getDueDate();
         }
-
-        return cumulative;
     }
 }
\ No newline at end of file
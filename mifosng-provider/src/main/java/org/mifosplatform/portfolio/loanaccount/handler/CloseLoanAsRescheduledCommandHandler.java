@@ -1,5 +1,6 @@
 package org.mifosplatform.portfolio.loanaccount.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "LOAN", action = "CLOSEASRESCHEDULED")
 public class CloseLoanAsRescheduledCommandHandler implements NewCommandSourceHandler {
 
     private final LoanWritePlatformService writePlatformService;
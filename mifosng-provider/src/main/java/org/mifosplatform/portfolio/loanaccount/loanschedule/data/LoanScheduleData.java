@@ -16,20 +16,17 @@ import org.mifosplatform.organisation.monetary.data.CurrencyData;
  */
 public class LoanScheduleData {
 
-    @SuppressWarnings("unused")
     private final Integer loanTermInDays;
 
     /**
      * The currency associated with all monetary values in loan schedule.
      */
-    @SuppressWarnings("unused")
     private final CurrencyData currency;
 
     /**
      * The cumulative total of all money (principal) disbursed to the loan
      * applicant.
      */
-    @SuppressWarnings("unused")
     private final BigDecimal cumulativePrincipalDisbursed;
 
     /**
@@ -49,7 +46,6 @@ public class LoanScheduleData {
      * The cumulative total of interest expected on any principal disbursed.
      * (originalInterest)
      */
-    @SuppressWarnings("unused")
     private final BigDecimal cumulativeInterestExpected;
     @SuppressWarnings("unused")
     private final BigDecimal cumulativeInterestPaid;
@@ -63,7 +59,6 @@ public class LoanScheduleData {
     /**
      * The cumulative total of all fee charges applied on the loan to date.
      */
-    @SuppressWarnings("unused")
     private final BigDecimal cumulativeFeeChargesToDate;
     @SuppressWarnings("unused")
     private final BigDecimal cumulativeFeeChargesPaid;
@@ -99,7 +94,6 @@ public class LoanScheduleData {
      * The sum of <code>principalDisbursed</code> and
      * <code>totalCostOfLoan</code>. (originalTotal)
      */
-    @SuppressWarnings("unused")
     private final BigDecimal totalExpectedRepayment;
 
     /**
@@ -141,6 +135,18 @@ public class LoanScheduleData {
      */
     private final Collection<LoanSchedulePeriodData> periods;
 
+    /**
+     * The principal and interest due on the first repayment; only set on
+     * schedules generated without their <code>periods</code>.
+     */
+    private final BigDecimal installmentAmount;
+
+    /**
+     * The annual percentage rate including fees; only set on schedules
+     * generated without their <code>periods</code>.
+     */
+    private final BigDecimal annualPercentageRate;
+
     public LoanScheduleData() {
         this.cumulativePrincipalDisbursed = null;
         this.cumulativePrincipalPaid = null;
@@ -178,12 +184,37 @@ public class LoanScheduleData {
         this.currency = null;
         this.periods = null;
         this.loanTermInDays = null;
+        this.installmentAmount = null;
+        this.annualPercentageRate = null;
+    }
+
+    /**
+     * Used when only the totals of a schedule are asked for, in which case
+     * the periods are never created.
+     */
+    public static LoanScheduleData totalsOnly(final CurrencyData currency, final Integer loanTermInDays,
+            final BigDecimal cumulativePrincipalDisbursed, final BigDecimal cumulativePrincipalDue,
+            final BigDecimal cumulativePrincipalOutstanding, final BigDecimal cumulativeInterestExpected,
+            final BigDecimal cumulativeFeeChargesToDate, final BigDecimal totalExpectedRepayment, final BigDecimal installmentAmount,
+            final BigDecimal annualPercentageRate) {
+        return new LoanScheduleData(currency, null, loanTermInDays, cumulativePrincipalDisbursed, cumulativePrincipalDue,
+                cumulativePrincipalOutstanding, cumulativeInterestExpected, cumulativeFeeChargesToDate, totalExpectedRepayment,
+                installmentAmount, annualPercentageRate);
     }
 
     public LoanScheduleData(final CurrencyData currency, final Collection<LoanSchedulePeriodData> periods, final Integer loanTermInDays,
             final BigDecimal cumulativePrincipalDisbursed, final BigDecimal cumulativePrincipalDue,
             final BigDecimal cumulativePrincipalOutstanding, final BigDecimal cumulativeInterestExpected,
             final BigDecimal cumulativeFeeChargesToDate, final BigDecimal totalExpectedRepayment) {
+        this(currency, periods, loanTermInDays, cumulativePrincipalDisbursed, cumulativePrincipalDue, cumulativePrincipalOutstanding,
+                cumulativeInterestExpected, cumulativeFeeChargesToDate, totalExpectedRepayment, null, null);
+    }
+
+    private LoanScheduleData(final CurrencyData currency, final Collection<LoanSchedulePeriodData> periods, final Integer loanTermInDays,
+            final BigDecimal cumulativePrincipalDisbursed, final BigDecimal cumulativePrincipalDue,
+            final BigDecimal cumulativePrincipalOutstanding, final BigDecimal cumulativeInterestExpected,
+            final BigDecimal cumulativeFeeChargesToDate, final BigDecimal totalExpectedRepayment, final BigDecimal installmentAmount,
+            final BigDecimal annualPercentageRate) {
         this.currency = currency;
         this.periods = periods;
         this.loanTermInDays = loanTermInDays;
@@ -226,6 +257,8 @@ public class LoanScheduleData {
         this.totalWrittenOffToDate = BigDecimal.ZERO;
         this.totalOutstanding = totalExpectedRepayment;
         this.totalInArrears = BigDecimal.ZERO;
+        this.installmentAmount = installmentAmount;
+        this.annualPercentageRate = annualPercentageRate;
     }
 
     /*
@@ -276,6 +309,8 @@ public class LoanScheduleData {
         this.totalWrittenOffToDate = totalWrittenOffToDate;
         this.totalOutstanding = totalOutstanding;
         this.totalInArrears = totalInArrears;
+        this.installmentAmount = null;
+        this.annualPercentageRate = null;
     }
 
     public Collection<LoanSchedulePeriodData> getPeriods() {
@@ -285,4 +320,10 @@ public class LoanScheduleData {
     public BigDecimal totalOutstanding() {
         return this.totalOutstanding;
     }
+
+    public LoanScheduleQuoteData toQuote(final Integer numberOfRepayments, final BigDecimal annualNominalInterestRate) {
+        return new LoanScheduleQuoteData(this.currency, this.cumulativePrincipalDisbursed, numberOfRepayments, this.loanTermInDays,
+                this.installmentAmount, annualNominalInterestRate, this.cumulativeInterestExpected, this.cumulativeFeeChargesToDate,
+                this.totalExpectedRepayment, this.annualPercentageRate);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package org.mifosplatform.portfolio.loanaccount.loanschedule.data;
+
+import java.math.BigDecimal;
+
+import org.mifosplatform.organisation.monetary.data.CurrencyData;
+
+/**
+ * Immutable data object holding only the totals of a loan schedule, as used to
+ * quote a loan before its full repayment schedule is asked for.
+ */
+public class LoanScheduleQuoteData {
+
+    @SuppressWarnings("unused")
+    private final CurrencyData currency;
+    @SuppressWarnings("unused")
+    private final BigDecimal principal;
+    @SuppressWarnings("unused")
+    private final Integer numberOfRepayments;
+    @SuppressWarnings("unused")
+    private final Integer loanTermInDays;
+
+    /**
+     * The principal and interest due on the first repayment. For loans
+     * amortized using equal installments this is the installment paid on
+     * every repayment.
+     */
+    @SuppressWarnings("unused")
+    private final BigDecimal installmentAmount;
+
+    /**
+     * The nominal annual interest rate the schedule is calculated with.
+     */
+    @SuppressWarnings("unused")
+    private final BigDecimal annualNominalInterestRate;
+
+    @SuppressWarnings("unused")
+    private final BigDecimal totalInterest;
+    @SuppressWarnings("unused")
+    private final BigDecimal totalFeeCharges;
+    @SuppressWarnings("unused")
+    private final BigDecimal totalRepayment;
+
+    /**
+     * The effective annual percentage rate, including fees, that discounts the
+     * repayments back to the amount received at disbursement, that is the
+     * principal less the charges due at disbursement.
+     */
+    @SuppressWarnings("unused")
+    private final BigDecimal apr;
+
+    public LoanScheduleQuoteData(final CurrencyData currency, final BigDecimal principal, final Integer numberOfRepayments,
+            final Integer loanTermInDays, final BigDecimal installmentAmount, final BigDecimal annualNominalInterestRate,
+            final BigDecimal totalInterest, final BigDecimal totalFeeCharges, final BigDecimal totalRepayment, final BigDecimal apr) {
+        this.currency = currency;
+        this.principal = principal;
+        this.numberOfRepayments = numberOfRepayments;
+        this.loanTermInDays = loanTermInDays;
+        this.installmentAmount = installmentAmount;
+        this.annualNominalInterestRate = annualNominalInterestRate;
+        this.totalInterest = totalInterest;
+        this.totalFeeCharges = totalFeeCharges;
+        this.totalRepayment = totalRepayment;
+        this.apr = apr;
+    }
+}
@@ -20,5 +20,6 @@ public interface AmortizationLoanScheduleGenerator {
 			BigDecimal periodInterestRateForRepaymentPeriod,
 			LocalDate idealDisbursementDateBasedOnFirstRepaymentDate,
 			List<LocalDate> scheduledDates, 
-			Set<LoanCharge> loanCharges);
+			Set<LoanCharge> loanCharges,
+			boolean includePeriods);
 }
\ No newline at end of file
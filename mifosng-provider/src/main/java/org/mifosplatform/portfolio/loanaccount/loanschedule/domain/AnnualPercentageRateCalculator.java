@@ -0,0 +1,81 @@
+package org.mifosplatform.portfolio.loanaccount.loanschedule.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+
+/**
+ * Calculates the annual percentage rate of a loan from its cash flows as a
+ * schedule is generated: the amount the borrower receives on disbursement,
+ * that is the principal less the charges due at disbursement, and the total
+ * due on each repayment including fees.
+ * 
+ * The rate is the effective annual rate <code>r</code> at which the
+ * repayments, each discounted by <code>(1 + r)</code> to the power of the
+ * years since disbursement (days / 365), add up to the amount received.
+ */
+public class AnnualPercentageRateCalculator {
+
+    private static final double DAYS_IN_YEAR = 365d;
+    private static final int MAX_ITERATIONS = 200;
+
+    private final LocalDate disbursementDate;
+    private final double amountReceived;
+    private double[] yearsSinceDisbursement = new double[16];
+    private double[] amountsDue = new double[16];
+    private int numberOfRepayments = 0;
+
+    public AnnualPercentageRateCalculator(final LocalDate disbursementDate, final BigDecimal principal,
+            final BigDecimal chargesDueAtDisbursement) {
+        this.disbursementDate = disbursementDate;
+        this.amountReceived = principal.subtract(chargesDueAtDisbursement).doubleValue();
+    }
+
+    public void repaymentDue(final LocalDate dueDate, final BigDecimal amountDue) {
+        if (this.numberOfRepayments == this.amountsDue.length) {
+            this.yearsSinceDisbursement = Arrays.copyOf(this.yearsSinceDisbursement, this.numberOfRepayments * 2);
+            this.amountsDue = Arrays.copyOf(this.amountsDue, this.numberOfRepayments * 2);
+        }
+        this.yearsSinceDisbursement[this.numberOfRepayments] = Days.daysBetween(this.disbursementDate, dueDate).getDays() / DAYS_IN_YEAR;
+        this.amountsDue[this.numberOfRepayments] = amountDue.doubleValue();
+        this.numberOfRepayments++;
+    }
+
+    /**
+     * The annual percentage rate rounded to two decimal places, or null when
+     * nothing is received or repaid.
+     */
+    public BigDecimal calculate() {
+        if (this.amountReceived <= 0 || this.numberOfRepayments == 0) { return null; }
+
+        // the present value of the repayments falls as the rate rises, so
+        // the rate is found by bisection between a lower and an upper bound
+        double lower = -0.99;
+        double upper = 1d;
+        while (presentValueOfRepayments(upper) > this.amountReceived && upper < 1e6) {
+            lower = upper;
+            upper *= 2;
+        }
+        for (int i = 0; i < MAX_ITERATIONS && upper - lower > 1e-10; i++) {
+            final double rate = (lower + upper) / 2;
+            if (presentValueOfRepayments(rate) > this.amountReceived) {
+                lower = rate;
+            } else {
+                upper = rate;
+            }
+        }
+
+        return BigDecimal.valueOf((lower + upper) / 2 * 100).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private double presentValueOfRepayments(final double rate) {
+        double presentValue = 0;
+        for (int i = 0; i < this.numberOfRepayments; i++) {
+            presentValue += this.amountsDue[i] / Math.pow(1 + rate, this.yearsSinceDisbursement[i]);
+        }
+        return presentValue;
+    }
+}
@@ -46,7 +46,8 @@ public class DecliningBalanceMethodLoanScheduleGenerator implements LoanSchedule
     @Override
     public LoanScheduleData generate(final ApplicationCurrency applicationCurrency, final LoanProductRelatedDetail loanScheduleInfo,
             final Integer loanTermFrequency, final PeriodFrequencyType loanTermFrequencyType, final LocalDate disbursementDate,
-            final LocalDate firstRepaymentDate, final LocalDate interestCalculatedFrom, final Set<LoanCharge> loanCharges) {
+            final LocalDate firstRepaymentDate, final LocalDate interestCalculatedFrom, final Set<LoanCharge> loanCharges,
+            final boolean includePeriods) {
 
         // 1. generate valid set of 'due dates' based on some of the 'loan
         // attributes'
@@ -64,6 +65,7 @@ public class DecliningBalanceMethodLoanScheduleGenerator implements LoanSchedule
                 .getAmortizationMethod());
 
         return generator.generate(applicationCurrency, loanScheduleInfo, disbursementDate, interestCalculatedFrom,
-                periodInterestRateForRepaymentPeriod, idealDisbursementDateBasedOnFirstRepaymentDate, scheduledDates, loanCharges);
+                periodInterestRateForRepaymentPeriod, idealDisbursementDateBasedOnFirstRepaymentDate, scheduledDates, loanCharges,
+                includePeriods);
     }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import org.mifosplatform.organisation.monetary.data.CurrencyData;
 import org.mifosplatform.organisation.monetary.domain.ApplicationCurrency;
 import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
 import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.organisation.monetary.domain.MoneyAccumulator;
 import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanSchedulePeriodData;
@@ -35,9 +36,10 @@ public class EqualInstallmentsAmortizationLoanScheduleGenerator implements Amort
 			final BigDecimal periodInterestRateForRepaymentPeriod, 
 			final LocalDate idealDisbursementDateBasedOnFirstRepaymentDate,
 			final List<LocalDate> scheduledDates,
-			final Set<LoanCharge> loanCharges) {
+			final Set<LoanCharge> loanCharges,
+			final boolean includePeriods) {
 		
-		final Collection<LoanSchedulePeriodData> periods = new ArrayList<LoanSchedulePeriodData>();
+		final Collection<LoanSchedulePeriodData> periods = includePeriods ? new ArrayList<LoanSchedulePeriodData>() : null;
 		
 		// determine 'total payment' for each repayment based on pmt function (and hence the total due overall)
 		final MonetaryCurrency monetaryCurrency = loanScheduleInfo.getPrincipal().getCurrency();
@@ -47,8 +49,8 @@ public class EqualInstallmentsAmortizationLoanScheduleGenerator implements Amort
 		Money totalInterestDue = totalRepaymentDueForLoanTerm.minus(loanScheduleInfo.getPrincipal());
 		Money outstandingBalance = loanScheduleInfo.getPrincipal();
 		Money principalDisbursed = loanScheduleInfo.getPrincipal();
-		Money totalPrincipal = Money.zero(monetaryCurrency);
-		Money totalInterest = Money.zero(monetaryCurrency);
+		final MoneyAccumulator totalPrincipal = MoneyAccumulator.zero(monetaryCurrency);
+		final MoneyAccumulator totalInterest = MoneyAccumulator.zero(monetaryCurrency);
 		
 		double interestCalculationGraceOnRepaymentPeriodFraction = this.paymentPeriodsInOneYearCalculator.calculateRepaymentPeriodAsAFractionOfDays(
 				loanScheduleInfo.getRepaymentPeriodFrequencyType(), 
@@ -67,14 +69,19 @@ public class EqualInstallmentsAmortizationLoanScheduleGenerator implements Amort
 		BigDecimal cumulativeChargesToDate = chargesDueAtTimeOfDisbursement;
 		
 		// create entries of disbursement period on loan schedule
-		final LoanSchedulePeriodData disbursementPeriod = LoanSchedulePeriodData.disbursementOnlyPeriod(disbursementDate, principalDisbursed.getAmount(), chargesDueAtTimeOfDisbursement, false);
-		periods.add(disbursementPeriod);
+		if (includePeriods) {
+			final LoanSchedulePeriodData disbursementPeriod = LoanSchedulePeriodData.disbursementOnlyPeriod(disbursementDate, principalDisbursed.getAmount(), chargesDueAtTimeOfDisbursement, false);
+			periods.add(disbursementPeriod);
+		}
 		
 		int loanTermInDays = Integer.valueOf(0);
 		BigDecimal cumulativePrincipalDisbursed = loanScheduleInfo.getPrincipal().getAmount();
 		BigDecimal cumulativePrincipalDue = BigDecimal.ZERO;
 		BigDecimal cumulativeInterestExpected = BigDecimal.ZERO;
 		BigDecimal totalExpectedRepayment = chargesDueAtTimeOfDisbursement;
+		BigDecimal installmentAmount = null;
+		final AnnualPercentageRateCalculator annualPercentageRateCalculator = includePeriods ? null : new AnnualPercentageRateCalculator(disbursementDate, 
+				cumulativePrincipalDisbursed, chargesDueAtTimeOfDisbursement);
 		
 		LocalDate startDate = disbursementDate;
 		int periodNumber = 1;
@@ -98,18 +105,18 @@ public class EqualInstallmentsAmortizationLoanScheduleGenerator implements Amort
 				interestCalculationGraceOnRepaymentPeriodFraction = Double.valueOf("0");
 			}
 			
-			totalPrincipal = totalPrincipal.plus(principalForInstallment);
-			totalInterest = totalInterest.plus(interestForInstallment);
+			totalPrincipal.plus(principalForInstallment);
+			totalInterest.plus(interestForInstallment);
 			
 			if (periodNumber == loanScheduleInfo.getNumberOfRepayments()) {
-				Money principalDifference = totalPrincipal.minus(loanScheduleInfo.getPrincipal());
+				Money principalDifference = totalPrincipal.toMoney().minus(loanScheduleInfo.getPrincipal());
 				if (principalDifference.isLessThanZero()) {
 					principalForInstallment = principalForInstallment.plus(principalDifference.abs());
 				} else if (principalDifference.isGreaterThanZero()) {
 					principalForInstallment = principalForInstallment.minus(principalDifference.abs());
 				}
 				
-				final Money interestDifference = totalInterest.minus(totalInterestDue);
+				final Money interestDifference = totalInterest.toMoney().minus(totalInterestDue);
 				if (interestDifference.isLessThanZero()) {
 					interestForInstallment = interestForInstallment.plus(interestDifference.abs());
 				} else if (interestDifference.isGreaterThanZero()) {
@@ -124,16 +131,23 @@ public class EqualInstallmentsAmortizationLoanScheduleGenerator implements Amort
 			final Money totalInstallmentDue = principalForInstallment.plus(interestForInstallment).plus(feeChargesForInstallment).plus(penaltyChargesForInstallment);
 			cumulativeChargesToDate = cumulativeChargesToDate.add(feeChargesForInstallment.getAmount());
 			
-			LoanSchedulePeriodData installment = LoanSchedulePeriodData.repaymentOnlyPeriod(periodNumber, startDate, 
-					scheduledDueDate, 
-					principalForInstallment.getAmount(), 
-					outstandingBalance.getAmount(), 
-					interestForInstallment.getAmount(),
-					feeChargesForInstallment.getAmount(),
-					penaltyChargesForInstallment.getAmount(),
-					totalInstallmentDue.getAmount());
+			if (includePeriods) {
+				LoanSchedulePeriodData installment = LoanSchedulePeriodData.repaymentOnlyPeriod(periodNumber, startDate, 
+						scheduledDueDate, 
+						principalForInstallment.getAmount(), 
+						outstandingBalance.getAmount(), 
+						interestForInstallment.getAmount(),
+						feeChargesForInstallment.getAmount(),
+						penaltyChargesForInstallment.getAmount(),
+						totalInstallmentDue.getAmount());
 
-			periods.add(installment);
+				periods.add(installment);
+			} else {
+				annualPercentageRateCalculator.repaymentDue(scheduledDueDate, totalInstallmentDue.getAmount());
+				if (installmentAmount == null) {
+					installmentAmount = principalForInstallment.plus(interestForInstallment).getAmount();
+				}
+			}
 			
 			// handle cumulative fields
 			loanTermInDays += daysInPeriod;
@@ -154,6 +168,12 @@ public class EqualInstallmentsAmortizationLoanScheduleGenerator implements Amort
 				currency.getDisplaySymbol(),
 				currency.getNameCode());
 		
+		if (!includePeriods) {
+			return LoanScheduleData.totalsOnly(currencyData, loanTermInDays, cumulativePrincipalDisbursed, cumulativePrincipalDue, 
+					cumulativePrincipalOutstanding, cumulativeInterestExpected, cumulativeChargesToDate, totalExpectedRepayment, installmentAmount, 
+					annualPercentageRateCalculator.calculate());
+		}
+
 		return new LoanScheduleData(currencyData, periods, loanTermInDays, cumulativePrincipalDisbursed, cumulativePrincipalDue, 
 				cumulativePrincipalOutstanding, cumulativeInterestExpected, cumulativeChargesToDate, totalExpectedRepayment);
 	}
@@ -164,15 +184,15 @@ public class EqualInstallmentsAmortizationLoanScheduleGenerator implements Amort
 			final Set<LoanCharge> loanCharges, 
 			final MonetaryCurrency monetaryCurrency) {
 		
-		Money cumulative = Money.zero(monetaryCurrency);
+		final MoneyAccumulator cumulative = MoneyAccumulator.zero(monetaryCurrency);
 		
 		for (LoanCharge loanCharge : loanCharges) {
 			if (loanCharge.isDueForCollectionBetween(periodStart, periodEnd) && loanCharge.isFeeCharge()) {
-				cumulative = cumulative.plus(loanCharge.amount());
+				cumulative.plus(loanCharge.amount());
 			}
 		}
 		
-		return cumulative;
+		return cumulative.toMoney();
 	}
 	
 	private Money cumulativePenaltyChargesDueWithin(
@@ -181,14 +201,14 @@ public class EqualInstallmentsAmortizationLoanScheduleGenerator implements Amort
 			final Set<LoanCharge> loanCharges, 
 			final MonetaryCurrency monetaryCurrency) {
 		
-		Money cumulative = Money.zero(monetaryCurrency);
+		final MoneyAccumulator cumulative = MoneyAccumulator.zero(monetaryCurrency);
 		
 		for (LoanCharge loanCharge : loanCharges) {
 			if (loanCharge.isDueForCollectionBetween(periodStart, periodEnd) && loanCharge.isPenaltyCharge()) {
-				cumulative = cumulative.plus(loanCharge.amount());
+				cumulative.plus(loanCharge.amount());
 			}
 		}
 		
-		return cumulative;
+		return cumulative.toMoney();
 	}
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import org.mifosplatform.organisation.monetary.data.CurrencyData;
 import org.mifosplatform.organisation.monetary.domain.ApplicationCurrency;
 import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
 import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.organisation.monetary.domain.MoneyAccumulator;
 import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanSchedulePeriodData;
@@ -31,9 +32,10 @@ public class EqualPrincipalAmortizationLoanScheduleGenerator implements Amortiza
 			final BigDecimal periodInterestRateForRepaymentPeriod,
 			final LocalDate idealDisbursementDateBasedOnFirstRepaymentDate,
 			final List<LocalDate> scheduledDates,
-			final Set<LoanCharge> loanCharges) {
+			final Set<LoanCharge> loanCharges,
+			final boolean includePeriods) {
 
-		final Collection<LoanSchedulePeriodData> periods = new ArrayList<LoanSchedulePeriodData>();
+		final Collection<LoanSchedulePeriodData> periods = includePeriods ? new ArrayList<LoanSchedulePeriodData>() : null;
 		
 		// 1. we know 'principal' must be equal over repayments so use this to calculate interest and thus total repayment due.
 		final MonetaryCurrency monetaryCurrency = loanScheduleInfo.getPrincipal().getCurrency();
@@ -41,8 +43,8 @@ public class EqualPrincipalAmortizationLoanScheduleGenerator implements Amortiza
 
 		Money outstandingBalance = loanScheduleInfo.getPrincipal();
 		Money principalDisbursed = loanScheduleInfo.getPrincipal(); 
-		Money totalPrincipal = Money.zero(monetaryCurrency);
-		Money totalInterest = Money.zero(monetaryCurrency);
+		final MoneyAccumulator totalPrincipal = MoneyAccumulator.zero(monetaryCurrency);
+		final MoneyAccumulator totalInterest = MoneyAccumulator.zero(monetaryCurrency);
 		
 		double interestCalculationGraceOnRepaymentPeriodFraction = this.paymentPeriodsInOneYearCalculator.calculateRepaymentPeriodAsAFractionOfDays(loanScheduleInfo.getRepaymentPeriodFrequencyType(), 
 												loanScheduleInfo.getRepayEvery(), interestCalculatedFrom, scheduledDates, idealDisbursementDateBasedOnFirstRepaymentDate);
@@ -57,14 +59,19 @@ public class EqualPrincipalAmortizationLoanScheduleGenerator implements Amortiza
 		BigDecimal cumulativeChargesToDate = chargesDueAtTimeOfDisbursement;
 		
 		// create entries of disbursement period on loan schedule
-		final LoanSchedulePeriodData disbursementPeriod = LoanSchedulePeriodData.disbursementOnlyPeriod(disbursementDate, principalDisbursed.getAmount(), chargesDueAtTimeOfDisbursement, false);
-		periods.add(disbursementPeriod);
+		if (includePeriods) {
+			final LoanSchedulePeriodData disbursementPeriod = LoanSchedulePeriodData.disbursementOnlyPeriod(disbursementDate, principalDisbursed.getAmount(), chargesDueAtTimeOfDisbursement, false);
+			periods.add(disbursementPeriod);
+		}
 		
 		int loanTermInDays = Integer.valueOf(0);
 		BigDecimal cumulativePrincipalDisbursed = principalDisbursed.getAmount();
 		BigDecimal cumulativePrincipalDue = BigDecimal.ZERO;
 		BigDecimal cumulativeInterestExpected = BigDecimal.ZERO;
 		BigDecimal totalExpectedRepayment = chargesDueAtTimeOfDisbursement;
+		BigDecimal installmentAmount = null;
+		final AnnualPercentageRateCalculator annualPercentageRateCalculator = includePeriods ? null : new AnnualPercentageRateCalculator(disbursementDate, 
+				cumulativePrincipalDisbursed, chargesDueAtTimeOfDisbursement);
 		
 		LocalDate startDate = disbursementDate;
 		int periodNumber = 1;
@@ -86,11 +93,11 @@ public class EqualPrincipalAmortizationLoanScheduleGenerator implements Amortiza
 				interestCalculationGraceOnRepaymentPeriodFraction = Double.valueOf("0");
 			}
 			
-			totalPrincipal = totalPrincipal.plus(principalForInstallment);
-			totalInterest = totalInterest.plus(interestForInstallment);
+			totalPrincipal.plus(principalForInstallment);
+			totalInterest.plus(interestForInstallment);
 			
 			if (periodNumber == loanScheduleInfo.getNumberOfRepayments()) {
-				Money principalDifference = totalPrincipal.minus(loanScheduleInfo.getPrincipal());
+				Money principalDifference = totalPrincipal.toMoney().minus(loanScheduleInfo.getPrincipal());
 				if (principalDifference.isLessThanZero()) {
 					principalForInstallment = principalForInstallment.plus(principalDifference.abs());
 				} else if (principalDifference.isGreaterThanZero()) {
@@ -105,16 +112,23 @@ public class EqualPrincipalAmortizationLoanScheduleGenerator implements Amortiza
 			Money totalInstallmentDue = principalForInstallment.plus(interestForInstallment).plus(feeChargesForInstallment);
 			cumulativeChargesToDate = cumulativeChargesToDate.add(feeChargesForInstallment.getAmount());
 			
-			LoanSchedulePeriodData installment = LoanSchedulePeriodData.repaymentOnlyPeriod(periodNumber, startDate, 
-					scheduledDueDate, 
-					principalForInstallment.getAmount(), 
-					outstandingBalance.getAmount(), 
-					interestForInstallment.getAmount(), 
-					feeChargesForInstallment.getAmount(),
-					penaltyChargesForInstallment.getAmount(),
-					totalInstallmentDue.getAmount());
+			if (includePeriods) {
+				LoanSchedulePeriodData installment = LoanSchedulePeriodData.repaymentOnlyPeriod(periodNumber, startDate, 
+						scheduledDueDate, 
+						principalForInstallment.getAmount(), 
+						outstandingBalance.getAmount(), 
+						interestForInstallment.getAmount(), 
+						feeChargesForInstallment.getAmount(),
+						penaltyChargesForInstallment.getAmount(),
+						totalInstallmentDue.getAmount());
 
-			periods.add(installment);
+				periods.add(installment);
+			} else {
+				annualPercentageRateCalculator.repaymentDue(scheduledDueDate, totalInstallmentDue.getAmount());
+				if (installmentAmount == null) {
+					installmentAmount = principalForInstallment.plus(interestForInstallment).getAmount();
+				}
+			}
 			
 			// handle cumulative fields
 			loanTermInDays += daysInPeriod;
@@ -135,6 +149,12 @@ public class EqualPrincipalAmortizationLoanScheduleGenerator implements Amortiza
 				currency.getDisplaySymbol(),
 				currency.getNameCode());
 		
+		if (!includePeriods) {
+			return LoanScheduleData.totalsOnly(currencyData, loanTermInDays, cumulativePrincipalDisbursed, cumulativePrincipalDue, 
+					cumulativePrincipalOutstanding, cumulativeInterestExpected, cumulativeChargesToDate, totalExpectedRepayment, installmentAmount, 
+					annualPercentageRateCalculator.calculate());
+		}
+
 		return new LoanScheduleData(currencyData, periods, loanTermInDays, cumulativePrincipalDisbursed, cumulativePrincipalDue, 
 				cumulativePrincipalOutstanding, cumulativeInterestExpected, cumulativeChargesToDate, totalExpectedRepayment);
 	}
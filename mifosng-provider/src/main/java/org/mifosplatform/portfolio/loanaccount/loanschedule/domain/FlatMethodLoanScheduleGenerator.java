@@ -14,6 +14,7 @@ import org.mifosplatform.organisation.monetary.data.CurrencyData;
 import org.mifosplatform.organisation.monetary.domain.ApplicationCurrency;
 import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
 import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.organisation.monetary.domain.MoneyAccumulator;
 import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanSchedulePeriodData;
@@ -28,9 +29,10 @@ public class FlatMethodLoanScheduleGenerator implements LoanScheduleGenerator {
     @Override
     public LoanScheduleData generate(final ApplicationCurrency currency, final LoanProductRelatedDetail loanScheduleInfo,
             final Integer loanTermFrequency, final PeriodFrequencyType loanTermFrequencyType, final LocalDate disbursementDate,
-            final LocalDate firstRepaymentDate, final LocalDate interestCalculatedFrom, final Set<LoanCharge> loanCharges) {
+            final LocalDate firstRepaymentDate, final LocalDate interestCalculatedFrom, final Set<LoanCharge> loanCharges,
+            final boolean includePeriods) {
 
-        final Collection<LoanSchedulePeriodData> periods = new ArrayList<LoanSchedulePeriodData>();
+        final Collection<LoanSchedulePeriodData> periods = includePeriods ? new ArrayList<LoanSchedulePeriodData>() : null;
 
         final List<LocalDate> scheduledDates = this.scheduledDateGenerator.generate(loanScheduleInfo, disbursementDate, firstRepaymentDate);
 
@@ -52,8 +54,8 @@ public class FlatMethodLoanScheduleGenerator implements LoanScheduleGenerator {
 
         Money outstandingBalance = loanScheduleInfo.getPrincipal();
         Money principalDisbursed = loanScheduleInfo.getPrincipal();
-        Money totalPrincipal = Money.zero(outstandingBalance.getCurrency());
-        Money totalInterest = Money.zero(outstandingBalance.getCurrency());
+        final MoneyAccumulator totalPrincipal = MoneyAccumulator.zero(outstandingBalance.getCurrency());
+        final MoneyAccumulator totalInterest = MoneyAccumulator.zero(outstandingBalance.getCurrency());
 
         BigDecimal chargesDueAtTimeOfDisbursement = BigDecimal.ZERO;
         for (LoanCharge loanCharge : loanCharges) {
@@ -65,35 +67,40 @@ public class FlatMethodLoanScheduleGenerator implements LoanScheduleGenerator {
         BigDecimal cumulativeChargesToDate = chargesDueAtTimeOfDisbursement;
 
         // create entries of disbursement period on loan schedule
-        final LoanSchedulePeriodData disbursementPeriod = LoanSchedulePeriodData.disbursementOnlyPeriod(disbursementDate,
-                principalDisbursed.getAmount(), chargesDueAtTimeOfDisbursement, false);
-        periods.add(disbursementPeriod);
+        if (includePeriods) {
+            final LoanSchedulePeriodData disbursementPeriod = LoanSchedulePeriodData.disbursementOnlyPeriod(disbursementDate,
+                    principalDisbursed.getAmount(), chargesDueAtTimeOfDisbursement, false);
+            periods.add(disbursementPeriod);
+        }
 
         int loanTermInDays = Integer.valueOf(0);
         BigDecimal cumulativePrincipalDisbursed = principalDisbursed.getAmount();
         BigDecimal cumulativePrincipalDue = BigDecimal.ZERO;
         BigDecimal cumulativeInterestExpected = BigDecimal.ZERO;
         BigDecimal totalExpectedRepayment = chargesDueAtTimeOfDisbursement;
+        BigDecimal installmentAmount = null;
+        final AnnualPercentageRateCalculator annualPercentageRateCalculator = includePeriods ? null : new AnnualPercentageRateCalculator(
+                disbursementDate, cumulativePrincipalDisbursed, chargesDueAtTimeOfDisbursement);
 
         LocalDate startDate = disbursementDate;
         int periodNumber = 1;
         for (LocalDate scheduledDueDate : scheduledDates) {
-            totalPrincipal = totalPrincipal.plus(principalPerInstallment);
-            totalInterest = totalInterest.plus(interestPerInstallment);
+            totalPrincipal.plus(principalPerInstallment);
+            totalInterest.plus(interestPerInstallment);
 
             // number of days from startDate to this scheduledDate
             int daysInPeriod = Days.daysBetween(startDate.toDateMidnight().toDateTime(), scheduledDueDate.toDateMidnight().toDateTime())
                     .getDays();
 
             if (periodNumber == loanScheduleInfo.getNumberOfRepayments()) {
-                final Money difference = totalPrincipal.minus(loanScheduleInfo.getPrincipal());
+                final Money difference = totalPrincipal.toMoney().minus(loanScheduleInfo.getPrincipal());
                 if (difference.isLessThanZero()) {
                     principalPerInstallment = principalPerInstallment.plus(difference.abs());
                 } else if (difference.isGreaterThanZero()) {
                     principalPerInstallment = principalPerInstallment.minus(difference.abs());
                 }
 
-                final Money interestDifference = totalInterest.minus(totalInterestForLoanTerm);
+                final Money interestDifference = totalInterest.toMoney().minus(totalInterestForLoanTerm);
                 if (interestDifference.isLessThanZero()) {
                     interestPerInstallment = interestPerInstallment.plus(interestDifference.abs());
                 } else if (interestDifference.isGreaterThanZero()) {
@@ -111,11 +118,19 @@ public class FlatMethodLoanScheduleGenerator implements LoanScheduleGenerator {
             cumulativeChargesToDate = cumulativeChargesToDate.add(feeChargesForInstallment.getAmount()).add(
                     penaltyChargesForInstallment.getAmount());
 
-            LoanSchedulePeriodData installment = LoanSchedulePeriodData.repaymentOnlyPeriod(periodNumber, startDate, scheduledDueDate,
-                    principalPerInstallment.getAmount(), outstandingBalance.getAmount(), interestPerInstallment.getAmount(),
-                    feeChargesForInstallment.getAmount(), penaltyChargesForInstallment.getAmount(), totalInstallmentDue.getAmount());
-
-            periods.add(installment);
+            if (includePeriods) {
+                LoanSchedulePeriodData installment = LoanSchedulePeriodData.repaymentOnlyPeriod(periodNumber, startDate,
+                        scheduledDueDate, principalPerInstallment.getAmount(), outstandingBalance.getAmount(),
+                        interestPerInstallment.getAmount(), feeChargesForInstallment.getAmount(),
+                        penaltyChargesForInstallment.getAmount(), totalInstallmentDue.getAmount());
+
+                periods.add(installment);
+            } else {
+                annualPercentageRateCalculator.repaymentDue(scheduledDueDate, totalInstallmentDue.getAmount());
+                if (installmentAmount == null) {
+                    installmentAmount = principalPerInstallment.plus(interestPerInstallment).getAmount();
+                }
+            }
 
             // handle cumulative fields
             loanTermInDays += daysInPeriod;
@@ -132,6 +147,10 @@ public class FlatMethodLoanScheduleGenerator implements LoanScheduleGenerator {
         CurrencyData currencyData = new CurrencyData(currency.getCode(), currency.getName(), monetaryCurrency.getDigitsAfterDecimal(),
                 currency.getDisplaySymbol(), currency.getNameCode());
 
+        if (!includePeriods) { return LoanScheduleData.totalsOnly(currencyData, loanTermInDays, cumulativePrincipalDisbursed,
+                cumulativePrincipalDue, cumulativePrincipalOutstanding, cumulativeInterestExpected, cumulativeChargesToDate,
+                totalExpectedRepayment, installmentAmount, annualPercentageRateCalculator.calculate()); }
+
         return new LoanScheduleData(currencyData, periods, loanTermInDays, cumulativePrincipalDisbursed, cumulativePrincipalDue,
                 cumulativePrincipalOutstanding, cumulativeInterestExpected, cumulativeChargesToDate, totalExpectedRepayment);
     }
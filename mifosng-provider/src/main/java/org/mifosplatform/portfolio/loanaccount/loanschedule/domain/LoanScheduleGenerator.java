@@ -11,8 +11,12 @@ import org.mifosplatform.portfolio.loanproduct.domain.PeriodFrequencyType;
 
 public interface LoanScheduleGenerator {
 
+    /**
+     * When <code>includePeriods</code> is false only the totals of the
+     * schedule are calculated and none of its periods are created.
+     */
     LoanScheduleData generate(ApplicationCurrency applicationCurrency, LoanProductRelatedDetail loanScheduleInfo,
             Integer loanTermFrequency, PeriodFrequencyType loanTermFrequencyType, LocalDate disbursementDate, LocalDate firstRepaymentDate,
-            LocalDate interestCalculatedFrom, Set<LoanCharge> loanCharges);
+            LocalDate interestCalculatedFrom, Set<LoanCharge> loanCharges, boolean includePeriods);
 
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.util.Set;
 
 import org.joda.time.LocalDate;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.serialization.FromJsonHelper;
 import org.mifosplatform.organisation.monetary.domain.ApplicationCurrency;
 import org.mifosplatform.organisation.monetary.domain.ApplicationCurrencyRepository;
@@ -35,17 +36,19 @@ public class LoanScheduleAssembler {
     private final LoanChargeAssembler loanChargeAssembler;
     private final LoanScheduleGeneratorFactory loanScheduleFactory;
     private final AprCalculator aprCalculator;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
     public LoanScheduleAssembler(final FromJsonHelper fromApiJsonHelper, final LoanProductRepository loanProductRepository,
             final ApplicationCurrencyRepository applicationCurrencyRepository, final LoanScheduleGeneratorFactory loanScheduleFactory,
-            final AprCalculator aprCalculator, final LoanChargeAssembler loanChargeAssembler) {
+            final AprCalculator aprCalculator, final LoanChargeAssembler loanChargeAssembler, final TemplateDataCache templateDataCache) {
         this.fromApiJsonHelper = fromApiJsonHelper;
         this.loanProductRepository = loanProductRepository;
         this.applicationCurrencyRepository = applicationCurrencyRepository;
         this.loanScheduleFactory = loanScheduleFactory;
         this.aprCalculator = aprCalculator;
         this.loanChargeAssembler = loanChargeAssembler;
+        this.templateDataCache = templateDataCache;
     }
 
     public LoanSchedule fromJson(final String json) {
@@ -60,11 +63,7 @@ public class LoanScheduleAssembler {
     public LoanSchedule fromJson(final JsonElement element, final BigDecimal inArrearsTolerance) {
         final Long loanProductId = fromApiJsonHelper.extractLongNamed("productId", element);
 
-        final LoanProduct loanProduct = this.loanProductRepository.findOne(loanProductId);
-        if (loanProduct == null) { throw new LoanProductNotFoundException(loanProductId); }
-
-        final MonetaryCurrency currency = loanProduct.getCurrency();
-        final ApplicationCurrency applicationCurrency = this.applicationCurrencyRepository.findOneByCode(currency.getCode());
+        final ApplicationCurrency applicationCurrency = applicationCurrencyOf(loanProductId);
 
         final BigDecimal principal = fromApiJsonHelper.extractBigDecimalWithLocaleNamed("principal", element);
         final BigDecimal interestRatePerPeriod = fromApiJsonHelper.extractBigDecimalWithLocaleNamed("interestRatePerPeriod", element);
@@ -105,4 +104,24 @@ public class LoanScheduleAssembler {
                 repaymentEvery, repaymentPeriodFrequencyType, numberOfRepayments, amortizationMethod, loanTermFrequency,
                 loanTermPeriodFrequencyType, loanCharges, expectedDisbursementDate, repaymentsStartingFromDate, interestChargedFromDate, inArrearsTolerance);
     }
+
+    /*
+     * The currency of a product is resolved once per tenant until a product or
+     * currency is changed, as schedules are calculated over and over for the
+     * same few products.
+     */
+    private ApplicationCurrency applicationCurrencyOf(final Long loanProductId) {
+        return this.templateDataCache.get("loanProductApplicationCurrency." + loanProductId,
+                new TemplateDataCache.Loader<ApplicationCurrency>() {
+
+                    @Override
+                    public ApplicationCurrency load() {
+                        final LoanProduct loanProduct = loanProductRepository.findOne(loanProductId);
+                        if (loanProduct == null) { throw new LoanProductNotFoundException(loanProductId); }
+
+                        final MonetaryCurrency currency = loanProduct.getCurrency();
+                        return applicationCurrencyRepository.findOneByCode(currency.getCode());
+                    }
+                });
+    }
 }
\ No newline at end of file
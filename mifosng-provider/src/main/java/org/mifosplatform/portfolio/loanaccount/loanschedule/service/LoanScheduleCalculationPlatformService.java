@@ -1,9 +1,18 @@
 package org.mifosplatform.portfolio.loanaccount.loanschedule.service;
 
+import java.util.List;
+
 import org.mifosplatform.infrastructure.core.api.JsonQuery;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleQuoteData;
 
 public interface LoanScheduleCalculationPlatformService {
 
     LoanScheduleData calculateLoanSchedule(JsonQuery query);
+
+    LoanScheduleQuoteData quoteLoanSchedule(JsonQuery query);
+
+    List<LoanScheduleData> calculateLoanSchedules(JsonQuery query);
+
+    List<LoanScheduleQuoteData> quoteLoanSchedules(JsonQuery query);
 }
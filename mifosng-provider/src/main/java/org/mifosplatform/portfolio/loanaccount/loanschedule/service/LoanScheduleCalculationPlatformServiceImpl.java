@@ -1,27 +1,54 @@
 package org.mifosplatform.portfolio.loanaccount.loanschedule.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
 import org.mifosplatform.infrastructure.core.api.JsonQuery;
+import org.mifosplatform.infrastructure.core.service.TenantAwareTaskExecutor;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleQuoteData;
 import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.LoanSchedule;
 import org.mifosplatform.portfolio.loanaccount.serialization.CalculateLoanScheduleQueryFromApiJsonHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.google.gson.JsonElement;
+
 @Service
 public class LoanScheduleCalculationPlatformServiceImpl implements LoanScheduleCalculationPlatformService {
 
+    private static final ScheduleCalculation<LoanScheduleData> GENERATE = new ScheduleCalculation<LoanScheduleData>() {
+
+        @Override
+        public LoanScheduleData calculate(final LoanSchedule loanSchedule) {
+            return loanSchedule.generate();
+        }
+    };
+
+    private static final ScheduleCalculation<LoanScheduleQuoteData> QUOTE = new ScheduleCalculation<LoanScheduleQuoteData>() {
+
+        @Override
+        public LoanScheduleQuoteData calculate(final LoanSchedule loanSchedule) {
+            return loanSchedule.quote();
+        }
+    };
+
     private final PlatformSecurityContext context;
     private final CalculateLoanScheduleQueryFromApiJsonHelper fromApiJsonDeserializer;
     private final LoanScheduleAssembler loanScheduleAssembler;
+    private final TenantAwareTaskExecutor taskExecutor;
 
     @Autowired
     public LoanScheduleCalculationPlatformServiceImpl(final PlatformSecurityContext context,
             final CalculateLoanScheduleQueryFromApiJsonHelper fromApiJsonDeserializer,
-            final LoanScheduleAssembler loanScheduleAssembler) {
+            final LoanScheduleAssembler loanScheduleAssembler, final TenantAwareTaskExecutor taskExecutor) {
         this.context = context;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
         this.loanScheduleAssembler = loanScheduleAssembler;
+        this.taskExecutor = taskExecutor;
     }
 
     @Override
@@ -33,4 +60,83 @@ public class LoanScheduleCalculationPlatformServiceImpl implements LoanScheduleC
         final LoanSchedule loanSchedule = this.loanScheduleAssembler.fromJson(query.parsedJson());
         return loanSchedule.generate();
     }
-}
\ No newline at end of file
+
+    @Override
+    public LoanScheduleQuoteData quoteLoanSchedule(final JsonQuery query) {
+        context.authenticatedUser();
+
+        this.fromApiJsonDeserializer.validate(query.json());
+
+        final LoanSchedule loanSchedule = this.loanScheduleAssembler.fromJson(query.parsedJson());
+        return loanSchedule.quote();
+    }
+
+    @Override
+    public List<LoanScheduleData> calculateLoanSchedules(final JsonQuery query) {
+        return calculateAcrossThreads(assembleScenarios(query), GENERATE);
+    }
+
+    @Override
+    public List<LoanScheduleQuoteData> quoteLoanSchedules(final JsonQuery query) {
+        return calculateAcrossThreads(assembleScenarios(query), QUOTE);
+    }
+
+    /*
+     * Scenarios are assembled on the request thread as charges are looked up
+     * in the tenant's database; generating their schedules after that needs
+     * nothing but the CPU.
+     */
+    private List<LoanSchedule> assembleScenarios(final JsonQuery query) {
+        context.authenticatedUser();
+
+        this.fromApiJsonDeserializer.validateScenarios(query.json());
+
+        final List<LoanSchedule> loanSchedules = new ArrayList<LoanSchedule>();
+        for (final JsonElement scenario : query.parsedJson().getAsJsonArray()) {
+            loanSchedules.add(this.loanScheduleAssembler.fromJson(scenario));
+        }
+        return loanSchedules;
+    }
+
+    /*
+     * Splits the scenarios into one slice per processor, calculating the first
+     * slice on the request thread while the others are calculated on the task
+     * executor. Results are in the same order as the scenarios.
+     */
+    private <T> List<T> calculateAcrossThreads(final List<LoanSchedule> loanSchedules, final ScheduleCalculation<T> calculation) {
+        final int scenarios = loanSchedules.size();
+        final int slices = Math.max(1, Math.min(scenarios, Runtime.getRuntime().availableProcessors()));
+        final int sliceSize = (scenarios + slices - 1) / slices;
+
+        final List<Future<List<T>>> calculatedSlices = new ArrayList<Future<List<T>>>();
+        for (int from = sliceSize; from < scenarios; from += sliceSize) {
+            final List<LoanSchedule> slice = loanSchedules.subList(from, Math.min(scenarios, from + sliceSize));
+            calculatedSlices.add(this.taskExecutor.submit(new Callable<List<T>>() {
+
+                @Override
+                public List<T> call() {
+                    return calculateAll(slice, calculation);
+                }
+            }));
+        }
+
+        final List<T> results = calculateAll(loanSchedules.subList(0, Math.min(scenarios, sliceSize)), calculation);
+        for (final Future<List<T>> calculatedSlice : calculatedSlices) {
+            results.addAll(TenantAwareTaskExecutor.resultOf(calculatedSlice));
+        }
+        return results;
+    }
+
+    private static <T> List<T> calculateAll(final List<LoanSchedule> loanSchedules, final ScheduleCalculation<T> calculation) {
+        final List<T> results = new ArrayList<T>(loanSchedules.size());
+        for (final LoanSchedule loanSchedule : loanSchedules) {
+            results.add(calculation.calculate(loanSchedule));
+        }
+        return results;
+    }
+
+    private interface ScheduleCalculation<T> {
+
+        T calculate(LoanSchedule loanSchedule);
+    }
+}
@@ -46,6 +46,31 @@ public final class CalculateLoanScheduleQueryFromApiJsonHelper {
         this.fromApiJsonHelper = fromApiJsonHelper;
     }
 
+    /**
+     * Validates a batch of loan schedule calculations, given as an array of
+     * the same objects {@link #validate(String)} accepts.
+     */
+    public void validateScenarios(final String json) {
+        if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
+
+        final JsonElement element = fromApiJsonHelper.parse(json);
+        if (!element.isJsonArray()) { throw new InvalidJsonException(); }
+
+        final List<ApiParameterError> dataValidationErrors = new ArrayList<ApiParameterError>();
+        final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("loan");
+
+        final JsonArray scenarios = element.getAsJsonArray();
+        baseDataValidator.reset().parameter("scenarios").value(Integer.valueOf(scenarios.size()))
+                .inMinMaxRange(1, Integer.getInteger("mifos.loanschedule.maxScenarios", 100));
+
+        if (!dataValidationErrors.isEmpty()) { throw new PlatformApiDataValidationException("validation.msg.validation.errors.exist",
+                "Validation errors exist.", dataValidationErrors); }
+
+        for (final JsonElement scenario : scenarios) {
+            validate(scenario.toString());
+        }
+    }
+
     public void validate(final String json) {
         if (StringUtils.isBlank(json)) { throw new InvalidJsonException(); }
 
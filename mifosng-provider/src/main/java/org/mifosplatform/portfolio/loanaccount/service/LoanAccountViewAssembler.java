@@ -0,0 +1,313 @@
+package org.mifosplatform.portfolio.loanaccount.service;
+
+import static org.mifosplatform.infrastructure.core.service.TenantAwareTaskExecutor.resultOf;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.mifosplatform.infrastructure.core.data.EnumOptionData;
+import org.mifosplatform.infrastructure.core.service.TenantAwareTaskExecutor;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.organisation.staff.data.StaffData;
+import org.mifosplatform.organisation.staff.service.StaffReadPlatformService;
+import org.mifosplatform.portfolio.charge.data.ChargeData;
+import org.mifosplatform.portfolio.charge.service.ChargeReadPlatformService;
+import org.mifosplatform.portfolio.fund.data.FundData;
+import org.mifosplatform.portfolio.fund.service.FundReadPlatformService;
+import org.mifosplatform.portfolio.loanaccount.data.DisbursementData;
+import org.mifosplatform.portfolio.loanaccount.data.LoanAccountData;
+import org.mifosplatform.portfolio.loanaccount.data.LoanBasicDetailsData;
+import org.mifosplatform.portfolio.loanaccount.data.LoanChargeData;
+import org.mifosplatform.portfolio.loanaccount.data.LoanPermissionData;
+import org.mifosplatform.portfolio.loanaccount.data.LoanTransactionData;
+import org.mifosplatform.portfolio.loanaccount.gaurantor.data.GuarantorData;
+import org.mifosplatform.portfolio.loanaccount.gaurantor.service.GuarantorReadPlatformService;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.mifosplatform.portfolio.loanproduct.data.LoanProductData;
+import org.mifosplatform.portfolio.loanproduct.data.TransactionProcessingStrategyData;
+import org.mifosplatform.portfolio.loanproduct.service.LoanDropdownReadPlatformService;
+import org.mifosplatform.portfolio.loanproduct.service.LoanProductReadPlatformService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Puts together the {@link LoanAccountData} returned for a loan and for a new
+ * loan application.
+ *
+ * Each association and template option asked for is read on its own
+ * connection through {@link TenantAwareTaskExecutor} while the loan itself is
+ * read on the request thread, so a loan view takes about as long as its
+ * slowest read rather than the sum of them. Only the repayment schedule and
+ * the permissions derived from it wait on other reads.
+ */
+@Service
+public class LoanAccountViewAssembler {
+
+    private final LoanReadPlatformService loanReadPlatformService;
+    private final LoanProductReadPlatformService loanProductReadPlatformService;
+    private final LoanDropdownReadPlatformService dropdownReadPlatformService;
+    private final FundReadPlatformService fundReadPlatformService;
+    private final ChargeReadPlatformService chargeReadPlatformService;
+    private final StaffReadPlatformService staffReadPlatformService;
+    private final GuarantorReadPlatformService guarantorReadPlatformService;
+    private final TenantAwareTaskExecutor taskExecutor;
+
+    @Autowired
+    public LoanAccountViewAssembler(final LoanReadPlatformService loanReadPlatformService,
+            final LoanProductReadPlatformService loanProductReadPlatformService,
+            final LoanDropdownReadPlatformService dropdownReadPlatformService, final FundReadPlatformService fundReadPlatformService,
+            final ChargeReadPlatformService chargeReadPlatformService, final StaffReadPlatformService staffReadPlatformService,
+            final GuarantorReadPlatformService guarantorReadPlatformService, final TenantAwareTaskExecutor taskExecutor) {
+        this.loanReadPlatformService = loanReadPlatformService;
+        this.loanProductReadPlatformService = loanProductReadPlatformService;
+        this.dropdownReadPlatformService = dropdownReadPlatformService;
+        this.fundReadPlatformService = fundReadPlatformService;
+        this.chargeReadPlatformService = chargeReadPlatformService;
+        this.staffReadPlatformService = staffReadPlatformService;
+        this.guarantorReadPlatformService = guarantorReadPlatformService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public LoanAccountData assembleNewLoanApplication(final Long clientId, final Long groupId, final Long productId) {
+
+        final TemplateOptions templateOptions = new TemplateOptions();
+
+        LoanBasicDetailsData loanBasicDetails;
+        Long officeId;
+
+        if (clientId != null) {
+            loanBasicDetails = this.loanReadPlatformService.retrieveClientAndProductDetails(clientId, productId);
+            officeId = loanBasicDetails.getClientOfficeId();
+        } else {
+            loanBasicDetails = this.loanReadPlatformService.retrieveGroupAndProductDetails(groupId, productId);
+            officeId = loanBasicDetails.getGroupOfficeId();
+        }
+
+        final Collection<StaffData> allowedLoanOfficers = this.staffReadPlatformService.retrieveAllLoanOfficersByOffice(officeId);
+
+        final boolean convenienceDataRequired = false;
+        final Collection<LoanChargeData> charges = loanBasicDetails.getCharges();
+
+        return new LoanAccountData(loanBasicDetails, convenienceDataRequired, null, null, null, charges, resultOf(templateOptions.products),
+                templateOptions.termFrequencyTypes, templateOptions.repaymentFrequencyTypes, resultOf(templateOptions.repaymentStrategies),
+                templateOptions.interestRateFrequencyTypes, templateOptions.amortizationTypes, templateOptions.interestTypes,
+                templateOptions.interestCalculationPeriodTypes, resultOf(templateOptions.funds), resultOf(templateOptions.charges),
+                resultOf(templateOptions.chargeTemplate), allowedLoanOfficers, null);
+    }
+
+    public LoanAccountData assembleLoanAccount(final Long loanId, final Set<String> associationParameters, final boolean template) {
+
+        if (associationParameters.contains("all")) {
+            associationParameters.addAll(Arrays.asList("repaymentSchedule", "transactions", "permissions", "convenienceData", "charges",
+                    "guarantor"));
+        }
+
+        Future<GuarantorData> guarantorFuture = null;
+        if (associationParameters.contains("guarantor")) {
+            guarantorFuture = this.taskExecutor.submit(new Callable<GuarantorData>() {
+
+                @Override
+                public GuarantorData call() {
+                    if (!guarantorReadPlatformService.existsGuarantor(loanId)) { return null; }
+                    return guarantorReadPlatformService.retrieveGuarantor(loanId);
+                }
+            });
+        }
+
+        Future<Collection<LoanTransactionData>> transactionsFuture = null;
+        if (associationParameters.contains("transactions")) {
+            transactionsFuture = this.taskExecutor.submit(new Callable<Collection<LoanTransactionData>>() {
+
+                @Override
+                public Collection<LoanTransactionData> call() {
+                    return loanReadPlatformService.retrieveLoanTransactions(loanId);
+                }
+            });
+        }
+
+        Future<Collection<LoanChargeData>> chargesFuture = null;
+        if (associationParameters.contains("charges")) {
+            chargesFuture = this.taskExecutor.submit(new Callable<Collection<LoanChargeData>>() {
+
+                @Override
+                public Collection<LoanChargeData> call() {
+                    return chargeReadPlatformService.retrieveLoanCharges(loanId);
+                }
+            });
+        }
+
+        final TemplateOptions templateOptions = template ? new TemplateOptions() : null;
+
+        // the loan itself is read here while the associations are read
+        // alongside it
+        final LoanBasicDetailsData loanBasicDetails = this.loanReadPlatformService.retrieveLoanAccountDetails(loanId);
+
+        LoanScheduleData repaymentSchedule = null;
+        LoanPermissionData permissions = null;
+        boolean convenienceDataRequired = false;
+
+        if (associationParameters.contains("repaymentSchedule") || associationParameters.contains("permissions")) {
+
+            final DisbursementData singleDisbursement = loanBasicDetails.toDisburementData();
+            repaymentSchedule = this.loanReadPlatformService.retrieveRepaymentSchedule(loanId, loanBasicDetails.getCurrency(),
+                    singleDisbursement, loanBasicDetails.getTotalDisbursementCharges(), loanBasicDetails.getInArrearsTolerance());
+
+            convenienceDataRequired = true;
+        }
+
+        final GuarantorData guarantorData = resultOf(guarantorFuture);
+
+        Collection<LoanTransactionData> loanRepayments = resultOf(transactionsFuture);
+        if (CollectionUtils.isEmpty(loanRepayments)) {
+            loanRepayments = null;
+        }
+
+        if (associationParameters.contains("permissions")) {
+
+            // FIXME - KW - Waive feature was changed to waive interest at
+            // anytime so this permission checking is probably not needed -
+            // look into.
+            final MonetaryCurrency currency = new MonetaryCurrency(loanBasicDetails.getCurrency().code(), loanBasicDetails.getCurrency()
+                    .decimalPlaces());
+            final Money tolerance = Money.of(currency, loanBasicDetails.getInArrearsTolerance());
+
+            final Money totalOutstandingMoney = Money.of(currency, repaymentSchedule.totalOutstanding());
+
+            final boolean isWaiveAllowed = totalOutstandingMoney.isGreaterThanZero()
+                    && (tolerance.isGreaterThan(totalOutstandingMoney) || tolerance.isEqualTo(totalOutstandingMoney));
+
+            final int loanRepaymentsCount = retrieveNonDisbursementTransactions(loanRepayments);
+            final boolean existsGuarantor = guarantorData != null;
+            permissions = this.loanReadPlatformService.retrieveLoanPermissions(loanBasicDetails, isWaiveAllowed, loanRepaymentsCount,
+                    existsGuarantor);
+
+            // clear parent data which wasn't requested
+            if (!associationParameters.contains("repaymentSchedule")) {
+                repaymentSchedule = null;
+            }
+        }
+
+        Collection<LoanChargeData> charges = resultOf(chargesFuture);
+        if (CollectionUtils.isEmpty(charges)) {
+            charges = null; // set back to null so doesnt appear in JSON is no
+                            // charges exist.
+        }
+
+        Collection<LoanProductData> productOptions = null;
+        Collection<EnumOptionData> loanTermFrequencyTypeOptions = null;
+        Collection<EnumOptionData> repaymentFrequencyTypeOptions = null;
+        Collection<TransactionProcessingStrategyData> repaymentStrategyOptions = null;
+        Collection<EnumOptionData> interestRateFrequencyTypeOptions = null;
+        Collection<EnumOptionData> amortizationTypeOptions = null;
+        Collection<EnumOptionData> interestTypeOptions = null;
+        Collection<EnumOptionData> interestCalculationPeriodTypeOptions = null;
+        Collection<FundData> fundOptions = null;
+        Collection<ChargeData> chargeOptions = null;
+        ChargeData chargeTemplate = null;
+
+        if (templateOptions != null) {
+            productOptions = resultOf(templateOptions.products);
+            loanTermFrequencyTypeOptions = templateOptions.termFrequencyTypes;
+            repaymentFrequencyTypeOptions = templateOptions.repaymentFrequencyTypes;
+            repaymentStrategyOptions = resultOf(templateOptions.repaymentStrategies);
+            interestRateFrequencyTypeOptions = templateOptions.interestRateFrequencyTypes;
+            amortizationTypeOptions = templateOptions.amortizationTypes;
+            interestTypeOptions = templateOptions.interestTypes;
+            interestCalculationPeriodTypeOptions = templateOptions.interestCalculationPeriodTypes;
+            fundOptions = resultOf(templateOptions.funds);
+            chargeOptions = resultOf(templateOptions.charges);
+            chargeTemplate = resultOf(templateOptions.chargeTemplate);
+        }
+
+        return new LoanAccountData(loanBasicDetails, convenienceDataRequired, repaymentSchedule, loanRepayments, permissions, charges,
+                productOptions, loanTermFrequencyTypeOptions, repaymentFrequencyTypeOptions, repaymentStrategyOptions,
+                interestRateFrequencyTypeOptions, amortizationTypeOptions, interestTypeOptions, interestCalculationPeriodTypeOptions,
+                fundOptions, chargeOptions, chargeTemplate, null, guarantorData);
+    }
+
+    private static int retrieveNonDisbursementTransactions(final Collection<LoanTransactionData> loanRepayments) {
+        int loanRepaymentsCount = 0;
+        if (!CollectionUtils.isEmpty(loanRepayments)) {
+            for (LoanTransactionData transaction : loanRepayments) {
+                if (transaction.isNotDisbursement()) {
+                    // use this to decide if undo disbural should permission
+                    // should be set to true.
+                    loanRepaymentsCount++;
+                }
+            }
+        }
+        return loanRepaymentsCount;
+    }
+
+    /**
+     * The options offered when creating or modifying a loan. Those read from
+     * the database are started as soon as this is created; the rest are
+     * built from enums on the calling thread.
+     */
+    private final class TemplateOptions {
+
+        private final Future<Collection<LoanProductData>> products;
+        private final Future<Collection<FundData>> funds;
+        private final Future<Collection<TransactionProcessingStrategyData>> repaymentStrategies;
+        private final Future<Collection<ChargeData>> charges;
+        private final Future<ChargeData> chargeTemplate;
+
+        private final Collection<EnumOptionData> termFrequencyTypes;
+        private final Collection<EnumOptionData> repaymentFrequencyTypes;
+        private final Collection<EnumOptionData> interestRateFrequencyTypes;
+        private final Collection<EnumOptionData> amortizationTypes;
+        private final Collection<EnumOptionData> interestTypes;
+        private final Collection<EnumOptionData> interestCalculationPeriodTypes;
+
+        TemplateOptions() {
+            this.products = taskExecutor.submit(new Callable<Collection<LoanProductData>>() {
+
+                @Override
+                public Collection<LoanProductData> call() {
+                    return loanProductReadPlatformService.retrieveAllLoanProductsForLookup();
+                }
+            });
+            this.funds = taskExecutor.submit(new Callable<Collection<FundData>>() {
+
+                @Override
+                public Collection<FundData> call() {
+                    return fundReadPlatformService.retrieveAllFunds();
+                }
+            });
+            this.repaymentStrategies = taskExecutor.submit(new Callable<Collection<TransactionProcessingStrategyData>>() {
+
+                @Override
+                public Collection<TransactionProcessingStrategyData> call() {
+                    return dropdownReadPlatformService.retreiveTransactionProcessingStrategies();
+                }
+            });
+            this.charges = taskExecutor.submit(new Callable<Collection<ChargeData>>() {
+
+                @Override
+                public Collection<ChargeData> call() {
+                    final boolean feeChargesOnly = false;
+                    return chargeReadPlatformService.retrieveLoanApplicableCharges(feeChargesOnly);
+                }
+            });
+            this.chargeTemplate = taskExecutor.submit(new Callable<ChargeData>() {
+
+                @Override
+                public ChargeData call() {
+                    return chargeReadPlatformService.retrieveLoanChargeTemplate();
+                }
+            });
+
+            this.termFrequencyTypes = dropdownReadPlatformService.retrieveLoanTermFrequencyTypeOptions();
+            this.repaymentFrequencyTypes = dropdownReadPlatformService.retrieveRepaymentFrequencyTypeOptions();
+            this.interestRateFrequencyTypes = dropdownReadPlatformService.retrieveInterestRateFrequencyTypeOptions();
+            this.amortizationTypes = dropdownReadPlatformService.retrieveLoanAmortizationTypeOptions();
+            this.interestTypes = dropdownReadPlatformService.retrieveLoanInterestTypeOptions();
+            this.interestCalculationPeriodTypes = dropdownReadPlatformService.retrieveLoanInterestRateCalculatedInPeriodOptions();
+        }
+    }
+}
@@ -13,8 +13,13 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.mifosplatform.accounting.AccountingConstants.LOAN_PRODUCT_ACCOUNTING_PARAMS;
@@ -25,6 +30,7 @@ import org.mifosplatform.accounting.service.ProductToGLAccountMappingReadPlatfor
 import org.mifosplatform.commands.domain.CommandWrapper;
 import org.mifosplatform.commands.service.CommandWrapperBuilder;
 import org.mifosplatform.commands.service.PortfolioCommandSourceWritePlatformService;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
@@ -74,6 +80,7 @@ public class LoanProductsApiResource {
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
     private final GLAccountReadPlatformService accountReadPlatformService;
     private final ProductToGLAccountMappingReadPlatformService accountMappingReadPlatformService;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
     public LoanProductsApiResource(final PlatformSecurityContext context, final LoanProductReadPlatformService readPlatformService,
@@ -83,7 +90,8 @@ public class LoanProductsApiResource {
             final ApiRequestParameterHelper apiRequestParameterHelper,
             final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
             final GLAccountReadPlatformService accountReadPlatformService,
-            final ProductToGLAccountMappingReadPlatformService accountMappingReadPlatformService) {
+            final ProductToGLAccountMappingReadPlatformService accountMappingReadPlatformService,
+            final TemplateDataCache templateDataCache) {
         this.context = context;
         this.loanProductReadPlatformService = readPlatformService;
         this.chargeReadPlatformService = chargeReadPlatformService;
@@ -95,6 +103,7 @@ public class LoanProductsApiResource {
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
         this.accountReadPlatformService = accountReadPlatformService;
         this.accountMappingReadPlatformService = accountMappingReadPlatformService;
+        this.templateDataCache = templateDataCache;
     }
 
     @POST
@@ -122,19 +131,33 @@ public class LoanProductsApiResource {
         return this.toApiJsonSerializer.serialize(settings, products, LOAN_PRODUCT_DATA_PARAMETERS);
     }
 
+    /**
+     * Responses carry an <code>ETag</code> of the tenant's template data
+     * version, so a conditional request is answered with 304 until charges,
+     * funds, currencies, gl accounts or other template data change.
+     */
     @GET
     @Path("template")
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
-    public String retrieveNewLoanProductDetails(@Context final UriInfo uriInfo) {
+    public Response retrieveNewLoanProductDetails(@Context final UriInfo uriInfo, @Context final Request request) {
 
         context.authenticatedUser().validateHasReadPermission(resourceNameForPermissions);
 
+        final EntityTag entityTag = new EntityTag(this.templateDataCache.versionTagForCurrentTenant());
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+
+        final ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) { return notModified.tag(entityTag).cacheControl(cacheControl).build(); }
+
         LoanProductData loanProduct = this.loanProductReadPlatformService.retrieveNewLoanProductDetails();
         loanProduct = handleTemplate(loanProduct);
 
         final ApiRequestJsonSerializationSettings settings = apiRequestParameterHelper.process(uriInfo.getQueryParameters());
-        return this.toApiJsonSerializer.serialize(settings, loanProduct, LOAN_PRODUCT_DATA_PARAMETERS);
+        return Response.ok().entity(this.toApiJsonSerializer.serialize(settings, loanProduct, LOAN_PRODUCT_DATA_PARAMETERS))
+                .tag(entityTag).cacheControl(cacheControl).build();
     }
 
     @GET
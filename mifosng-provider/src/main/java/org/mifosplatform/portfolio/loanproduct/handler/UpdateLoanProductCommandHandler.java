@@ -1,6 +1,8 @@
 package org.mifosplatform.portfolio.loanproduct.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.portfolio.loanproduct.service.LoanProductWritePlatformService;
@@ -9,19 +11,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "LOANPRODUCT", action = "UPDATE")
 public class UpdateLoanProductCommandHandler implements NewCommandSourceHandler {
 
     private final LoanProductWritePlatformService writePlatformService;
+    private final TemplateDataCache templateDataCache;
 
     @Autowired
-    public UpdateLoanProductCommandHandler(final LoanProductWritePlatformService writePlatformService) {
+    public UpdateLoanProductCommandHandler(final LoanProductWritePlatformService writePlatformService, final TemplateDataCache templateDataCache) {
         this.writePlatformService = writePlatformService;
+        this.templateDataCache = templateDataCache;
     }
 
     @Transactional
     @Override
     public CommandProcessingResult processCommand(final JsonCommand command) {
 
-        return this.writePlatformService.updateLoanProduct(command.entityId(), command);
+        final CommandProcessingResult result = this.writePlatformService.updateLoanProduct(command.entityId(), command);
+
+        this.templateDataCache.evictAllForCurrentTenant();
+
+        return result;
     }
 }
\ No newline at end of file
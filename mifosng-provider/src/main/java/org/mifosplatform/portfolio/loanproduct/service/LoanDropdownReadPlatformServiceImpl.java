@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.portfolio.loanaccount.domain.LoanTransactionProcessingStrategyRepository;
 import org.mifosplatform.portfolio.loanproduct.data.TransactionProcessingStrategyData;
@@ -27,10 +28,13 @@ import org.springframework.stereotype.Service;
 public class LoanDropdownReadPlatformServiceImpl implements LoanDropdownReadPlatformService {
 
 	private final LoanTransactionProcessingStrategyRepository loanTransactionProcessingStrategyRepository;
+	private final TemplateDataCache templateDataCache;
 
 	@Autowired
-	public LoanDropdownReadPlatformServiceImpl(final LoanTransactionProcessingStrategyRepository loanTransactionProcessingStrategyRepository) {
+	public LoanDropdownReadPlatformServiceImpl(final LoanTransactionProcessingStrategyRepository loanTransactionProcessingStrategyRepository,
+			final TemplateDataCache templateDataCache) {
 		this.loanTransactionProcessingStrategyRepository = loanTransactionProcessingStrategyRepository;
+		this.templateDataCache = templateDataCache;
 	}
 	
 	@Override
@@ -93,14 +97,23 @@ public class LoanDropdownReadPlatformServiceImpl implements LoanDropdownReadPlat
 
 	@Override
 	public Collection<TransactionProcessingStrategyData> retreiveTransactionProcessingStrategies() {
-		
-		Collection<TransactionProcessingStrategyData> strategyOptions = new ArrayList<TransactionProcessingStrategyData>();
-		
-		List<LoanTransactionProcessingStrategy> strategies = this.loanTransactionProcessingStrategyRepository.findAll();
-		for (LoanTransactionProcessingStrategy strategy : strategies) {
-			strategyOptions.add(strategy.toData());
-		}
-		
-		return strategyOptions;
+
+		final Collection<TransactionProcessingStrategyData> strategyOptions = this.templateDataCache.get("transactionProcessingStrategies",
+				new TemplateDataCache.Loader<Collection<TransactionProcessingStrategyData>>() {
+
+					@Override
+					public Collection<TransactionProcessingStrategyData> load() {
+						Collection<TransactionProcessingStrategyData> strategyOptions = new ArrayList<TransactionProcessingStrategyData>();
+
+						List<LoanTransactionProcessingStrategy> strategies = loanTransactionProcessingStrategyRepository.findAll();
+						for (LoanTransactionProcessingStrategy strategy : strategies) {
+							strategyOptions.add(strategy.toData());
+						}
+
+						return strategyOptions;
+					}
+				});
+
+		return new ArrayList<TransactionProcessingStrategyData>(strategyOptions);
 	}
 }
\ No newline at end of file
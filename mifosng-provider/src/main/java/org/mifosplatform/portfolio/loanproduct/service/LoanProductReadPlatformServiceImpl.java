@@ -3,9 +3,11 @@ package org.mifosplatform.portfolio.loanproduct.service;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 
 import org.joda.time.DateTime;
+import org.mifosplatform.infrastructure.cache.service.TemplateDataCache;
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.infrastructure.core.domain.JdbcSupport;
 import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
@@ -27,15 +29,18 @@ public class LoanProductReadPlatformServiceImpl implements LoanProductReadPlatfo
 	private final PlatformSecurityContext context;
 	private final JdbcTemplate jdbcTemplate;
     private final ChargeReadPlatformService chargeReadPlatformService;
+	private final TemplateDataCache templateDataCache;
 
 	@Autowired
 	public LoanProductReadPlatformServiceImpl(
 			final PlatformSecurityContext context,
             final ChargeReadPlatformService chargeReadPlatformService,
-			final TenantAwareRoutingDataSource dataSource) {
+			final TenantAwareRoutingDataSource dataSource,
+			final TemplateDataCache templateDataCache) {
 		this.context = context;
         this.chargeReadPlatformService = chargeReadPlatformService;
 		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.templateDataCache = templateDataCache;
 	}
 
 	@Override
@@ -72,11 +77,20 @@ public class LoanProductReadPlatformServiceImpl implements LoanProductReadPlatfo
 
 		this.context.authenticatedUser();
 
-		final LoanProductLookupMapper rm = new LoanProductLookupMapper();
+		final Collection<LoanProductData> products = this.templateDataCache.get("loanProductsForLookup",
+				new TemplateDataCache.Loader<Collection<LoanProductData>>() {
 
-		final String sql = "select " + rm.loanProductLookupSchema();
+					@Override
+					public Collection<LoanProductData> load() {
+						final LoanProductLookupMapper rm = new LoanProductLookupMapper();
 
-		return this.jdbcTemplate.query(sql, rm, new Object[] {});
+						final String sql = "select " + rm.loanProductLookupSchema();
+
+						return jdbcTemplate.query(sql, rm, new Object[] {});
+					}
+				});
+
+		return new ArrayList<LoanProductData>(products);
 	}
 
 	@Override
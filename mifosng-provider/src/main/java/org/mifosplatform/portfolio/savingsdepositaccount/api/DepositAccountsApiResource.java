@@ -24,11 +24,14 @@ import javax.ws.rs.core.UriInfo;
 
 import org.apache.commons.lang.StringUtils;
 import org.mifosplatform.infrastructure.core.api.ApiParameterHelper;
+import org.mifosplatform.infrastructure.core.api.ApiRequestParameterHelper;
 import org.mifosplatform.infrastructure.core.api.PortfolioApiDataConversionService;
 import org.mifosplatform.infrastructure.core.api.PortfolioApiJsonSerializerService;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+import org.mifosplatform.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.mifosplatform.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
 import org.mifosplatform.portfolio.loanaccount.command.UndoStateTransitionCommand;
 import org.mifosplatform.portfolio.loanproduct.domain.PeriodFrequencyType;
@@ -39,10 +42,11 @@ import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositAccountW
 import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositStateTransitionApprovalCommand;
 import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositStateTransitionCommand;
 import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositAccountData;
-import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositAccountsForLookup;
+import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositInterestPostingRunData;
 import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositPermissionData;
 import org.mifosplatform.portfolio.savingsdepositaccount.service.DepositAccountReadPlatformService;
 import org.mifosplatform.portfolio.savingsdepositaccount.service.DepositAccountWritePlatformService;
+import org.mifosplatform.portfolio.savingsdepositaccount.service.DepositInterestPostingJobService;
 import org.mifosplatform.portfolio.savingsdepositaccount.service.GeneratePDF;
 import org.mifosplatform.portfolio.savingsdepositproduct.data.DepositProductLookup;
 import org.mifosplatform.portfolio.savingsdepositproduct.service.DepositProductReadPlatformService;
@@ -70,6 +74,15 @@ public class DepositAccountsApiResource {
     @Autowired
     private PortfolioApiJsonSerializerService apiJsonSerializerService;
 
+    @Autowired
+    private DepositInterestPostingJobService depositInterestPostingJobService;
+
+    @Autowired
+    private ToApiJsonSerializer<DepositInterestPostingRunData> interestPostingRunToApiJsonSerializer;
+
+    @Autowired
+    private ApiRequestParameterHelper apiRequestParameterHelper;
+
     private final String entityType = "DEPOSITACCOUNT";
     @Autowired
     private PlatformSecurityContext context;
@@ -82,6 +95,10 @@ public class DepositAccountsApiResource {
             "isLockinPeriodAllowed", "lockinPeriod", "lockinPeriodType", "printFDdetailsLocation", "availableInterest",
             "interestPostedAmount", "lastInterestPostedDate", "nextInterestPostedDate", "fatherName", "address", "imageKey"));
 
+    private static final Set<String> interestPostingRunResponseParameters = new HashSet<String>(Arrays.asList("id", "status",
+            "chunkSize", "totalAccounts", "processedCount", "failedCount", "lastProcessedAccountId", "startedOn", "lastModifiedOn",
+            "completedOn", "errorMessage", "failures"));
+
     @POST
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
@@ -268,11 +285,24 @@ public class DepositAccountsApiResource {
     @Path("postinterest")
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
-    public Response postInterest() {
-        Collection<DepositAccountsForLookup> accounts = this.depositAccountReadPlatformService.retrieveDepositAccountForLookup();
-        CommandProcessingResult entityIdentifier = this.depositAccountWritePlatformService.postInterestToDepositAccount(accounts);
-        return Response.ok().entity(entityIdentifier).build();
+    public String postInterest(@Context final UriInfo uriInfo) {
+
+        final DepositInterestPostingRunData run = this.depositInterestPostingJobService.startOrResumeRun();
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.interestPostingRunToApiJsonSerializer.serialize(settings, run, interestPostingRunResponseParameters);
+    }
+
+    @GET
+    @Path("postinterest/{runId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveInterestPostingRun(@PathParam("runId") final Long runId, @Context final UriInfo uriInfo) {
+
+        final DepositInterestPostingRunData run = this.depositInterestPostingJobService.retrieveRun(runId);
 
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.interestPostingRunToApiJsonSerializer.serialize(settings, run, interestPostingRunResponseParameters);
     }
 
     @GET
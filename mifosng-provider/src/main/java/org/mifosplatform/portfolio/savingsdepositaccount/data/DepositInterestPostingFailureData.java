@@ -0,0 +1,19 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.data;
+
+import org.joda.time.DateTime;
+
+public class DepositInterestPostingFailureData {
+
+    @SuppressWarnings("unused")
+    private final Long depositAccountId;
+    @SuppressWarnings("unused")
+    private final String errorMessage;
+    @SuppressWarnings("unused")
+    private final DateTime failedOn;
+
+    public DepositInterestPostingFailureData(final Long depositAccountId, final String errorMessage, final DateTime failedOn) {
+        this.depositAccountId = depositAccountId;
+        this.errorMessage = errorMessage;
+        this.failedOn = failedOn;
+    }
+}
@@ -0,0 +1,56 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.data;
+
+import java.util.Collection;
+
+import org.joda.time.DateTime;
+import org.mifosplatform.infrastructure.core.data.EnumOptionData;
+
+/**
+ * Immutable data object representing the progress of a deposit interest
+ * posting run.
+ */
+public class DepositInterestPostingRunData {
+
+    @SuppressWarnings("unused")
+    private final Long id;
+    @SuppressWarnings("unused")
+    private final EnumOptionData status;
+    @SuppressWarnings("unused")
+    private final Integer chunkSize;
+    @SuppressWarnings("unused")
+    private final Integer totalAccounts;
+    @SuppressWarnings("unused")
+    private final Integer processedCount;
+    @SuppressWarnings("unused")
+    private final Integer failedCount;
+    @SuppressWarnings("unused")
+    private final Long lastProcessedAccountId;
+    @SuppressWarnings("unused")
+    private final DateTime startedOn;
+    @SuppressWarnings("unused")
+    private final DateTime lastModifiedOn;
+    @SuppressWarnings("unused")
+    private final DateTime completedOn;
+    @SuppressWarnings("unused")
+    private final String errorMessage;
+    @SuppressWarnings("unused")
+    private final Collection<DepositInterestPostingFailureData> failures;
+
+    public DepositInterestPostingRunData(final Long id, final EnumOptionData status, final Integer chunkSize, final Integer totalAccounts,
+            final Integer processedCount, final Integer failedCount, final Long lastProcessedAccountId, final DateTime startedOn,
+            final DateTime lastModifiedOn, final DateTime completedOn, final String errorMessage,
+            final Collection<DepositInterestPostingFailureData> failures) {
+        this.id = id;
+        this.status = status;
+        this.chunkSize = chunkSize;
+        this.totalAccounts = totalAccounts;
+        this.processedCount = processedCount;
+        this.failedCount = failedCount;
+        this.lastProcessedAccountId = lastProcessedAccountId;
+        this.startedOn = startedOn;
+        this.lastModifiedOn = lastModifiedOn;
+        this.completedOn = completedOn;
+        this.errorMessage = errorMessage;
+        this.failures = failures;
+    }
+}
@@ -0,0 +1,68 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.domain;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.joda.time.DateTime;
+import org.springframework.data.jpa.domain.AbstractPersistable;
+
+/**
+ * A deposit account that interest could not be posted to during a
+ * {@link DepositInterestPostingRun}.
+ */
+@Entity
+@Table(name = "m_deposit_interest_posting_failure")
+public class DepositInterestPostingFailure extends AbstractPersistable<Long> {
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "deposit_account_id", nullable = false)
+    private Long depositAccountId;
+
+    @Column(name = "error_message", length = 500, nullable = true)
+    private String errorMessage;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "failed_date", nullable = false)
+    private Date failedDate;
+
+    public static DepositInterestPostingFailure record(final Long runId, final Long depositAccountId, final Throwable cause) {
+        String errorMessage = cause.getClass().getSimpleName();
+        if (cause.getMessage() != null) {
+            errorMessage += ": " + cause.getMessage();
+        }
+        if (errorMessage.length() > 500) {
+            errorMessage = errorMessage.substring(0, 500);
+        }
+        return new DepositInterestPostingFailure(runId, depositAccountId, errorMessage);
+    }
+
+    protected DepositInterestPostingFailure() {
+        //
+    }
+
+    private DepositInterestPostingFailure(final Long runId, final Long depositAccountId, final String errorMessage) {
+        this.runId = runId;
+        this.depositAccountId = depositAccountId;
+        this.errorMessage = errorMessage;
+        this.failedDate = new DateTime().toDate();
+    }
+
+    public Long getDepositAccountId() {
+        return this.depositAccountId;
+    }
+
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+
+    public Date getFailedDate() {
+        return this.failedDate;
+    }
+}
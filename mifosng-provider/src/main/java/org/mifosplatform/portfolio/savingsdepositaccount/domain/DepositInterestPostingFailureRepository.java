@@ -0,0 +1,12 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.domain;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface DepositInterestPostingFailureRepository extends JpaRepository<DepositInterestPostingFailure, Long>,
+        JpaSpecificationExecutor<DepositInterestPostingFailure> {
+
+    List<DepositInterestPostingFailure> findByRunIdOrderByIdAsc(Long runId);
+}
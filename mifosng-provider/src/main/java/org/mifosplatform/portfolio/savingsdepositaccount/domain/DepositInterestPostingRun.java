@@ -0,0 +1,165 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.domain;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.joda.time.DateTime;
+import org.springframework.data.jpa.domain.AbstractPersistable;
+
+/**
+ * A run of the batch job that posts interest to all active deposit accounts.
+ *
+ * Accounts are processed in order of id and
+ * <code>lastProcessedAccountId</code> is the checkpoint: every account up to
+ * and including it has been processed. A run that failed or was interrupted
+ * is resumed from the checkpoint.
+ * 
+ * Until it completes a run is <code>resumable</code>, which is unique so that
+ * a tenant never has more than one run to resume.
+ */
+@Entity
+@Table(name = "m_deposit_interest_posting_run")
+public class DepositInterestPostingRun extends AbstractPersistable<Long> {
+
+    @Column(name = "status_enum", nullable = false)
+    private Integer status;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "total_accounts", nullable = false)
+    private Integer totalAccounts;
+
+    @Column(name = "last_processed_account_id", nullable = true)
+    private Long lastProcessedAccountId;
+
+    @Column(name = "processed_count", nullable = false)
+    private Integer processedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private Integer failedCount;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "started_date", nullable = false)
+    private Date startedDate;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "lastmodified_date", nullable = false)
+    private Date lastModifiedDate;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "completed_date", nullable = true)
+    private Date completedDate;
+
+    @Column(name = "error_message", length = 500, nullable = true)
+    private String errorMessage;
+
+    @Column(name = "resumable", nullable = true)
+    private Boolean resumable;
+
+    public static DepositInterestPostingRun start(final Integer chunkSize, final Integer totalAccounts) {
+        return new DepositInterestPostingRun(chunkSize, totalAccounts);
+    }
+
+    protected DepositInterestPostingRun() {
+        //
+    }
+
+    private DepositInterestPostingRun(final Integer chunkSize, final Integer totalAccounts) {
+        final Date now = new DateTime().toDate();
+        this.status = DepositInterestPostingRunStatus.IN_PROGRESS.getValue();
+        this.chunkSize = chunkSize;
+        this.totalAccounts = totalAccounts;
+        this.lastProcessedAccountId = null;
+        this.processedCount = Integer.valueOf(0);
+        this.failedCount = Integer.valueOf(0);
+        this.startedDate = now;
+        this.lastModifiedDate = now;
+        this.resumable = Boolean.TRUE;
+    }
+
+    /**
+     * Resumes a failed or interrupted run from its checkpoint.
+     */
+    public void resume(final Integer newChunkSize) {
+        this.status = DepositInterestPostingRunStatus.IN_PROGRESS.getValue();
+        this.chunkSize = newChunkSize;
+        this.completedDate = null;
+        this.errorMessage = null;
+        this.lastModifiedDate = new DateTime().toDate();
+    }
+
+    public void chunkProcessed(final Long lastAccountIdInChunk, final int processed, final int failed) {
+        this.lastProcessedAccountId = lastAccountIdInChunk;
+        this.processedCount = Integer.valueOf(this.processedCount.intValue() + processed);
+        this.failedCount = Integer.valueOf(this.failedCount.intValue() + failed);
+        this.lastModifiedDate = new DateTime().toDate();
+    }
+
+    public void completed() {
+        final Date now = new DateTime().toDate();
+        this.status = DepositInterestPostingRunStatus.COMPLETED.getValue();
+        this.completedDate = now;
+        this.lastModifiedDate = now;
+        this.resumable = null;
+    }
+
+    public void failed(final String reason) {
+        this.status = DepositInterestPostingRunStatus.FAILED.getValue();
+        this.errorMessage = reason == null || reason.length() <= 500 ? reason : reason.substring(0, 500);
+        this.lastModifiedDate = new DateTime().toDate();
+    }
+
+    public boolean isInProgress() {
+        return DepositInterestPostingRunStatus.fromInt(this.status).isInProgress();
+    }
+
+    public boolean isCompleted() {
+        return DepositInterestPostingRunStatus.fromInt(this.status).isCompleted();
+    }
+
+    public Integer getStatus() {
+        return this.status;
+    }
+
+    public Integer getChunkSize() {
+        return this.chunkSize;
+    }
+
+    public Integer getTotalAccounts() {
+        return this.totalAccounts;
+    }
+
+    public Long getLastProcessedAccountId() {
+        return this.lastProcessedAccountId;
+    }
+
+    public Integer getProcessedCount() {
+        return this.processedCount;
+    }
+
+    public Integer getFailedCount() {
+        return this.failedCount;
+    }
+
+    public Date getStartedDate() {
+        return this.startedDate;
+    }
+
+    public Date getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
+    public Date getCompletedDate() {
+        return this.completedDate;
+    }
+
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+}
@@ -0,0 +1,10 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+public interface DepositInterestPostingRunRepository extends JpaRepository<DepositInterestPostingRun, Long>,
+        JpaSpecificationExecutor<DepositInterestPostingRun> {
+
+    DepositInterestPostingRun findByResumable(Boolean resumable);
+}
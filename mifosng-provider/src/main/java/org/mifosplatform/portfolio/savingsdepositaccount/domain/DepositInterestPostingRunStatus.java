@@ -0,0 +1,51 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.domain;
+
+public enum DepositInterestPostingRunStatus {
+
+    INVALID(0, "interestPostingRunStatus.invalid"), //
+    IN_PROGRESS(100, "interestPostingRunStatus.in.progress"), //
+    COMPLETED(200, "interestPostingRunStatus.completed"), //
+    FAILED(300, "interestPostingRunStatus.failed");
+
+    private final Integer value;
+    private final String code;
+
+    private DepositInterestPostingRunStatus(final Integer value, final String code) {
+        this.value = value;
+        this.code = code;
+    }
+
+    public static DepositInterestPostingRunStatus fromInt(final Integer statusValue) {
+
+        DepositInterestPostingRunStatus status = DepositInterestPostingRunStatus.INVALID;
+        if (statusValue != null) {
+            for (final DepositInterestPostingRunStatus candidate : values()) {
+                if (candidate.value.equals(statusValue)) {
+                    status = candidate;
+                    break;
+                }
+            }
+        }
+        return status;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public String getCode() {
+        return this.code;
+    }
+
+    public boolean isInProgress() {
+        return this.value.equals(DepositInterestPostingRunStatus.IN_PROGRESS.getValue());
+    }
+
+    public boolean isCompleted() {
+        return this.value.equals(DepositInterestPostingRunStatus.COMPLETED.getValue());
+    }
+
+    public boolean isFailed() {
+        return this.value.equals(DepositInterestPostingRunStatus.FAILED.getValue());
+    }
+}
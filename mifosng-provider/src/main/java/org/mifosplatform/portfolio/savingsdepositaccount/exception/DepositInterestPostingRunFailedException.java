@@ -0,0 +1,11 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.exception;
+
+import org.mifosplatform.infrastructure.core.exception.AbstractPlatformDomainRuleException;
+
+public class DepositInterestPostingRunFailedException extends AbstractPlatformDomainRuleException {
+
+    public DepositInterestPostingRunFailedException(final Long runId, final String reason) {
+        super("error.msg.deposit.interest.posting.run.failed", "Deposit interest posting run with identifier " + runId + " failed: "
+                + reason, runId, reason);
+    }
+}
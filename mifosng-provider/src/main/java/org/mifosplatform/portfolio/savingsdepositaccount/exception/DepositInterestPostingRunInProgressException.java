@@ -0,0 +1,11 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.exception;
+
+import org.mifosplatform.infrastructure.core.exception.AbstractPlatformDomainRuleException;
+
+public class DepositInterestPostingRunInProgressException extends AbstractPlatformDomainRuleException {
+
+    public DepositInterestPostingRunInProgressException(final Long runId) {
+        super("error.msg.deposit.interest.posting.run.in.progress", "Deposit interest posting run with identifier " + runId
+                + " is already in progress", runId);
+    }
+}
@@ -0,0 +1,11 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.exception;
+
+import org.mifosplatform.infrastructure.core.exception.AbstractPlatformResourceNotFoundException;
+
+public class DepositInterestPostingRunNotFoundException extends AbstractPlatformResourceNotFoundException {
+
+    public DepositInterestPostingRunNotFoundException(final Long id) {
+        super("error.msg.deposit.interest.posting.run.id.invalid", "Deposit interest posting run with identifier " + id
+                + " does not exist", id);
+    }
+}
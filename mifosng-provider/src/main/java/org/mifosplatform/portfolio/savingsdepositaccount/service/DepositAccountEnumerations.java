@@ -2,6 +2,7 @@ package org.mifosplatform.portfolio.savingsdepositaccount.service;
 
 import org.mifosplatform.infrastructure.core.data.EnumOptionData;
 import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositAccountStatus;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositInterestPostingRunStatus;
 
 public class DepositAccountEnumerations {
 
@@ -53,4 +54,31 @@ public class DepositAccountEnumerations {
         }
         return optionData;
     }
+
+    public static EnumOptionData interestPostingRunStatus(final Integer statusId) {
+        return interestPostingRunStatus(DepositInterestPostingRunStatus.fromInt(statusId));
+    }
+
+    public static EnumOptionData interestPostingRunStatus(final DepositInterestPostingRunStatus status) {
+        EnumOptionData optionData = null;
+        switch (status) {
+            case IN_PROGRESS:
+                optionData = new EnumOptionData(DepositInterestPostingRunStatus.IN_PROGRESS.getValue().longValue(),
+                        DepositInterestPostingRunStatus.IN_PROGRESS.getCode(), "In progress");
+            break;
+            case COMPLETED:
+                optionData = new EnumOptionData(DepositInterestPostingRunStatus.COMPLETED.getValue().longValue(),
+                        DepositInterestPostingRunStatus.COMPLETED.getCode(), "Completed");
+            break;
+            case FAILED:
+                optionData = new EnumOptionData(DepositInterestPostingRunStatus.FAILED.getValue().longValue(),
+                        DepositInterestPostingRunStatus.FAILED.getCode(), "Failed");
+            break;
+            default:
+                optionData = new EnumOptionData(DepositInterestPostingRunStatus.INVALID.getValue().longValue(),
+                        DepositInterestPostingRunStatus.INVALID.getCode(), "Invalid");
+            break;
+        }
+        return optionData;
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.mifosplatform.portfolio.savingsdepositaccount.service;
 
 import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.List;
 
 import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositAccountData;
 import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositAccountsForLookup;
@@ -19,6 +20,19 @@ public interface DepositAccountReadPlatformService {
 
     BigDecimal retrieveAvailableInterestForWithdrawal(DepositAccountData account);
 
-    Collection<DepositAccountsForLookup> retrieveDepositAccountForLookup();
+    /**
+     * Active deposit accounts with an id greater than the one given, in order
+     * of id.
+     * 
+     * Does not need an authenticated user, as it is called by the interest
+     * posting job when run by the scheduler.
+     */
+    List<DepositAccountsForLookup> retrieveDepositAccountForLookup(Long afterAccountId, int maxResults);
+
+    /**
+     * Counts the accounts {@link #retrieveDepositAccountForLookup(Long, int)}
+     * would return; also needs no authenticated user.
+     */
+    int countDepositAccountForLookup(Long afterAccountId);
 }
 
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.List;
 
 import org.joda.time.LocalDate;
 import org.joda.time.Months;
@@ -295,13 +296,19 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
     }
 
     @Override
-    public Collection<DepositAccountsForLookup> retrieveDepositAccountForLookup() {
+    public List<DepositAccountsForLookup> retrieveDepositAccountForLookup(final Long afterAccountId, final int maxResults) {
 
-        this.context.authenticatedUser();
         DepositAccountLookupMapper mapper = new DepositAccountLookupMapper();
-        String sql = "select " + mapper.depositAccountLookupSchema();
-        return this.jdbcTemplate.query(sql, mapper, new Object[] {});
+        String sql = "select " + mapper.depositAccountLookupSchema() + " and da.id > ? order by da.id limit ?";
+        return this.jdbcTemplate.query(sql, mapper, new Object[] { afterAccountId == null ? Long.valueOf(0) : afterAccountId,
+                Integer.valueOf(maxResults) });
+    }
+
+    @Override
+    public int countDepositAccountForLookup(final Long afterAccountId) {
 
+        String sql = "select count(*) from m_deposit_account da where da.status_enum=300 and da.is_deleted=0 and da.id > ?";
+        return this.jdbcTemplate.queryForInt(sql, new Object[] { afterAccountId == null ? Long.valueOf(0) : afterAccountId });
     }
 
     private static final class DepositAccountLookupMapper implements RowMapper<DepositAccountsForLookup> {
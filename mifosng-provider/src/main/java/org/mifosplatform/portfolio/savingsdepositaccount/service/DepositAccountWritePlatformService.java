@@ -1,6 +1,5 @@
 package org.mifosplatform.portfolio.savingsdepositaccount.service;
 
-import java.util.Collection;
 
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.portfolio.loanaccount.command.UndoStateTransitionCommand;
@@ -9,7 +8,6 @@ import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositAccountW
 import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositAccountWithdrawalCommand;
 import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositStateTransitionApprovalCommand;
 import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositStateTransitionCommand;
-import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositAccountsForLookup;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 public interface DepositAccountWritePlatformService {
@@ -53,7 +51,4 @@ public interface DepositAccountWritePlatformService {
     @PreAuthorize(value = "hasAnyRole('ALL_FUNCTIONS', 'RENEW_DEPOSITACCOUNT')")
     CommandProcessingResult renewDepositAccount(DepositAccountCommand command);
 
-    @PreAuthorize(value = "hasAnyRole('ALL_FUNCTIONS')")
-    CommandProcessingResult postInterestToDepositAccount(Collection<DepositAccountsForLookup> accounts);
-
 }
\ No newline at end of file
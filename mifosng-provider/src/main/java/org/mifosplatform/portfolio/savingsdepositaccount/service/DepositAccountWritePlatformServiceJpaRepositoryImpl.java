@@ -2,7 +2,6 @@ package org.mifosplatform.portfolio.savingsdepositaccount.service;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
@@ -24,7 +23,6 @@ import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositStateTra
 import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositStateTransitionApprovalCommandValidator;
 import org.mifosplatform.portfolio.savingsdepositaccount.command.DepositStateTransitionCommand;
 import org.mifosplatform.portfolio.savingsdepositaccount.command.WithDrawDepositAccountInterestCommandValidator;
-import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositAccountsForLookup;
 import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositAccount;
 import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositAccountRepository;
 import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositAccountStatus;
@@ -422,22 +420,4 @@ public class DepositAccountWritePlatformServiceJpaRepositoryImpl implements Depo
         }
     }
 
-    @Transactional
-    @Override
-    public CommandProcessingResult postInterestToDepositAccount(Collection<DepositAccountsForLookup> accounts) {
-
-        try {
-
-            for (DepositAccountsForLookup accountData : accounts) {
-                DepositAccount account = this.depositAccountRepository.findOne(accountData.getId());
-                if (account == null || account.isDeleted()) { throw new DepositAccountNotFoundException(accountData.getId()); }
-                this.depositAccountAssembler.postInterest(account);
-                this.depositAccountRepository.save(account);
-            }
-            return new CommandProcessingResult(new Long(accounts.size()));
-        } catch (Exception e) {
-            return new CommandProcessingResult(Long.valueOf(-1));
-        }
-
-    }
 }
\ No newline at end of file
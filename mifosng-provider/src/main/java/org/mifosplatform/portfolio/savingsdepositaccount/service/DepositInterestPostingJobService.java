@@ -0,0 +1,23 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.service;
+
+import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositInterestPostingRunData;
+
+public interface DepositInterestPostingJobService {
+
+    /**
+     * Starts posting interest to all active deposit accounts of the current
+     * tenant in the background, resuming the last run from its checkpoint if
+     * it failed or was interrupted. If a run is already in progress, on this
+     * or any other node, it is returned instead of starting another.
+     */
+    DepositInterestPostingRunData startOrResumeRun();
+
+    /**
+     * Starts or resumes a run like {@link #startOrResumeRun()} but on the
+     * calling thread, returning the number of accounts interest was posted to
+     * once the run completes. Used when posting interest as a scheduled job.
+     */
+    int runToCompletion();
+
+    DepositInterestPostingRunData retrieveRun(Long runId);
+}
@@ -0,0 +1,491 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.joda.time.DateTime;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositAccountsForLookup;
+import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositInterestPostingFailureData;
+import org.mifosplatform.portfolio.savingsdepositaccount.data.DepositInterestPostingRunData;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositAccount;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositAccountRepository;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositInterestPostingFailure;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositInterestPostingFailureRepository;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositInterestPostingRun;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositInterestPostingRunRepository;
+import org.mifosplatform.portfolio.savingsdepositaccount.exception.DepositAccountNotFoundException;
+import org.mifosplatform.portfolio.savingsdepositaccount.exception.DepositInterestPostingRunFailedException;
+import org.mifosplatform.portfolio.savingsdepositaccount.exception.DepositInterestPostingRunInProgressException;
+import org.mifosplatform.portfolio.savingsdepositaccount.exception.DepositInterestPostingRunNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Posts interest to deposit accounts as a background batch job.
+ *
+ * Accounts are read in chunks in order of id and each chunk is posted in its
+ * own transaction on a bounded pool of workers. The run's checkpoint is only
+ * moved past a chunk once it and every chunk before it are done, so a run
+ * that stops part way is resumed without skipping accounts. Posting interest
+ * to an account is driven by its last and next posting dates, so accounts
+ * after the checkpoint that were already posted before the run stopped are
+ * not posted to twice.
+ *
+ * If a chunk fails, its accounts are retried one at a time and the accounts
+ * that still fail are recorded against the run instead of failing it.
+ *
+ * A tenant has at most one run to resume, and it is only posted by whoever
+ * holds its claim: a lease on the run's <code>lock_owner</code> column, taken
+ * with a conditional update and renewed with every checkpoint. Requests and the
+ * scheduled job on any node go through the same claim, so a run is never
+ * posted twice at once.
+ *
+ * The chunk size, number of workers and lease are read from the
+ * <code>mifos.deposit.interestposting.chunksize</code>,
+ * <code>mifos.deposit.interestposting.threads</code> and
+ * <code>mifos.deposit.interestposting.leaseSeconds</code> system properties;
+ * the lease must outlast the posting of a chunk.
+ */
+@Service
+public class DepositInterestPostingJobServiceImpl implements DepositInterestPostingJobService, DisposableBean {
+
+    private final static Logger logger = LoggerFactory.getLogger(DepositInterestPostingJobServiceImpl.class);
+
+    private static final int DEFAULT_CHUNK_SIZE = 100;
+    private static final int DEFAULT_THREADS = 4;
+    private static final long DEFAULT_LEASE_SECONDS = 600;
+
+    private final PlatformSecurityContext context;
+    private final DepositAccountReadPlatformService depositAccountReadPlatformService;
+    private final DepositAccountRepository depositAccountRepository;
+    private final DepositAccountAssembler depositAccountAssembler;
+    private final DepositInterestPostingRunRepository runRepository;
+    private final DepositInterestPostingFailureRepository failureRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+    private final int chunkSize;
+    private final int threads;
+    private final long leaseSeconds;
+    private final ExecutorService coordinators;
+    private final ExecutorService workers;
+
+    @Autowired
+    public DepositInterestPostingJobServiceImpl(final PlatformSecurityContext context,
+            final DepositAccountReadPlatformService depositAccountReadPlatformService,
+            final DepositAccountRepository depositAccountRepository, final DepositAccountAssembler depositAccountAssembler,
+            final DepositInterestPostingRunRepository runRepository, final DepositInterestPostingFailureRepository failureRepository,
+            final PlatformTransactionManager transactionManager, final TenantAwareRoutingDataSource dataSource) {
+        this.context = context;
+        this.depositAccountReadPlatformService = depositAccountReadPlatformService;
+        this.depositAccountRepository = depositAccountRepository;
+        this.depositAccountAssembler = depositAccountAssembler;
+        this.runRepository = runRepository;
+        this.failureRepository = failureRepository;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+
+        this.chunkSize = Math.max(1, Integer.getInteger("mifos.deposit.interestposting.chunksize", DEFAULT_CHUNK_SIZE).intValue());
+        this.threads = Math.max(1, Integer.getInteger("mifos.deposit.interestposting.threads", DEFAULT_THREADS).intValue());
+        this.leaseSeconds = Math.max(1, Long.getLong("mifos.deposit.interestposting.leaseSeconds", DEFAULT_LEASE_SECONDS).longValue());
+        this.coordinators = Executors.newCachedThreadPool();
+        this.workers = Executors.newFixedThreadPool(this.threads);
+    }
+
+    @Override
+    public DepositInterestPostingRunData startOrResumeRun() {
+
+        this.context.authenticatedUser();
+
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final RunClaim claim = claimRun();
+        if (claim.isHeld()) {
+            this.coordinators.submit(new RunCoordinator(tenant, SecurityContextHolder.getContext(), claim));
+        }
+
+        return runData(claim.runId);
+    }
+
+    @Override
+    public int runToCompletion() {
+
+        final MifosPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final RunClaim claim = claimRun();
+        if (!claim.isHeld()) { throw new DepositInterestPostingRunInProgressException(claim.runId); }
+
+        new RunCoordinator(tenant, SecurityContextHolder.getContext(), claim).coordinate();
+
+        final DepositInterestPostingRun run = this.runRepository.findOne(claim.runId);
+        if (!run.isCompleted()) { throw new DepositInterestPostingRunFailedException(claim.runId, run.getErrorMessage()); }
+
+        return run.getProcessedCount().intValue();
+    }
+
+    /**
+     * Claims the run to resume, starting one if there is none. The claim is
+     * not held if another request or node holds an unexpired claim on it.
+     */
+    private RunClaim claimRun() {
+
+        final Long runId = resumableRunId();
+        final String owner = this.nodeId + "/" + UUID.randomUUID().toString();
+        final int claimed = this.jdbcTemplate.update("update m_deposit_interest_posting_run set lock_owner = ?, "
+                + " lock_expiry_time = date_add(now(), interval ? second) where id = ? and (lock_owner is null or lock_expiry_time < now())",
+                new Object[] { owner, Long.valueOf(this.leaseSeconds), runId });
+        if (claimed == 0) { return new RunClaim(runId, null); }
+
+        final RunClaim claim = new RunClaim(runId, owner);
+        updateRun(claim, new RunUpdate() {
+
+            @Override
+            public void applyTo(final DepositInterestPostingRun run) {
+                run.resume(Integer.valueOf(DepositInterestPostingJobServiceImpl.this.chunkSize));
+            }
+        });
+        return claim;
+    }
+
+    private Long resumableRunId() {
+        try {
+            return findOrStartResumableRun();
+        } catch (final DataIntegrityViolationException e) {
+            // another node started a run at the same time
+            return findOrStartResumableRun();
+        }
+    }
+
+    private Long findOrStartResumableRun() {
+
+        return this.transactionTemplate.execute(new TransactionCallback<Long>() {
+
+            @Override
+            public Long doInTransaction(@SuppressWarnings("unused") final TransactionStatus status) {
+                DepositInterestPostingRun run = DepositInterestPostingJobServiceImpl.this.runRepository.findByResumable(Boolean.TRUE);
+                if (run == null) {
+                    final int totalAccounts = DepositInterestPostingJobServiceImpl.this.depositAccountReadPlatformService
+                            .countDepositAccountForLookup(null);
+                    run = DepositInterestPostingJobServiceImpl.this.runRepository.saveAndFlush(DepositInterestPostingRun.start(
+                            Integer.valueOf(DepositInterestPostingJobServiceImpl.this.chunkSize), Integer.valueOf(totalAccounts)));
+                }
+                return run.getId();
+            }
+        });
+    }
+
+    private void releaseClaim(final RunClaim claim) {
+        this.jdbcTemplate.update("update m_deposit_interest_posting_run set lock_owner = null, lock_expiry_time = null "
+                + " where id = ? and lock_owner = ?", new Object[] { claim.runId, claim.owner });
+    }
+
+    @Override
+    public DepositInterestPostingRunData retrieveRun(final Long runId) {
+
+        this.context.authenticatedUser();
+
+        return runData(runId);
+    }
+
+    private DepositInterestPostingRunData runData(final Long runId) {
+
+        final DepositInterestPostingRun run = this.runRepository.findOne(runId);
+        if (run == null) { throw new DepositInterestPostingRunNotFoundException(runId); }
+
+        final Collection<DepositInterestPostingFailureData> failures = new ArrayList<DepositInterestPostingFailureData>();
+        for (final DepositInterestPostingFailure failure : this.failureRepository.findByRunIdOrderByIdAsc(runId)) {
+            failures.add(new DepositInterestPostingFailureData(failure.getDepositAccountId(), failure.getErrorMessage(), new DateTime(
+                    failure.getFailedDate())));
+        }
+
+        return new DepositInterestPostingRunData(run.getId(), DepositAccountEnumerations.interestPostingRunStatus(run.getStatus()),
+                run.getChunkSize(), run.getTotalAccounts(), run.getProcessedCount(), run.getFailedCount(), run.getLastProcessedAccountId(),
+                dateTimeOf(run.getStartedDate()), dateTimeOf(run.getLastModifiedDate()), dateTimeOf(run.getCompletedDate()),
+                run.getErrorMessage(), failures);
+    }
+
+    private static DateTime dateTimeOf(final Date date) {
+        return date == null ? null : new DateTime(date);
+    }
+
+    @Override
+    public void destroy() {
+        this.coordinators.shutdownNow();
+        this.workers.shutdownNow();
+    }
+
+    private void postInterest(final Long accountId) {
+        final DepositAccount account = this.depositAccountRepository.findOne(accountId);
+        if (account == null || account.isDeleted()) { throw new DepositAccountNotFoundException(accountId); }
+        this.depositAccountAssembler.postInterest(account);
+        this.depositAccountRepository.save(account);
+    }
+
+    /**
+     * Updates the run, renewing the claim in the same transaction; fails if
+     * the claim has been lost.
+     */
+    private void updateRun(final RunClaim claim, final RunUpdate update) {
+        this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+            @Override
+            protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                final int renewed = DepositInterestPostingJobServiceImpl.this.jdbcTemplate.update(
+                        "update m_deposit_interest_posting_run set lock_expiry_time = date_add(now(), interval ? second) "
+                                + " where id = ? and lock_owner = ?", new Object[] {
+                                Long.valueOf(DepositInterestPostingJobServiceImpl.this.leaseSeconds), claim.runId, claim.owner });
+                if (renewed == 0) { throw new DepositInterestPostingRunInProgressException(claim.runId); }
+
+                final DepositInterestPostingRun run = DepositInterestPostingJobServiceImpl.this.runRepository.findOne(claim.runId);
+                update.applyTo(run);
+                DepositInterestPostingJobServiceImpl.this.runRepository.save(run);
+            }
+        });
+    }
+
+    private interface RunUpdate {
+
+        void applyTo(DepositInterestPostingRun run);
+    }
+
+    private static final class RunClaim {
+
+        private final Long runId;
+        private final String owner;
+
+        RunClaim(final Long runId, final String owner) {
+            this.runId = runId;
+            this.owner = owner;
+        }
+
+        boolean isHeld() {
+            return this.owner != null;
+        }
+    }
+
+    /**
+     * Reads chunks of accounts, hands them to the workers and moves the
+     * checkpoint forward as chunks complete in order.
+     */
+    private final class RunCoordinator implements Runnable {
+
+        private final MifosPlatformTenant tenant;
+        private final SecurityContext securityContext;
+        private final RunClaim claim;
+        private final Long runId;
+
+        RunCoordinator(final MifosPlatformTenant tenant, final SecurityContext securityContext, final RunClaim claim) {
+            this.tenant = tenant;
+            this.securityContext = securityContext;
+            this.claim = claim;
+            this.runId = claim.runId;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalContextUtil.setTenant(this.tenant);
+            SecurityContextHolder.setContext(this.securityContext);
+            try {
+                coordinate();
+            } finally {
+                SecurityContextHolder.clearContext();
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+
+        /**
+         * Runs to the end of the accounts on the calling thread, which must
+         * already have the tenant set, and then releases the claim.
+         */
+        void coordinate() {
+            final LinkedList<Future<ChunkResult>> inFlight = new LinkedList<Future<ChunkResult>>();
+            try {
+                Long lastAccountId = DepositInterestPostingJobServiceImpl.this.runRepository.findOne(this.runId)
+                        .getLastProcessedAccountId();
+
+                List<DepositAccountsForLookup> chunk = DepositInterestPostingJobServiceImpl.this.depositAccountReadPlatformService
+                        .retrieveDepositAccountForLookup(lastAccountId, DepositInterestPostingJobServiceImpl.this.chunkSize);
+                while (!chunk.isEmpty()) {
+                    final List<Long> accountIds = new ArrayList<Long>(chunk.size());
+                    for (final DepositAccountsForLookup account : chunk) {
+                        accountIds.add(account.getId());
+                    }
+                    inFlight.add(DepositInterestPostingJobServiceImpl.this.workers.submit(new ChunkWorker(this.tenant,
+                            this.securityContext, this.runId, accountIds)));
+                    lastAccountId = accountIds.get(accountIds.size() - 1);
+
+                    if (inFlight.size() >= DepositInterestPostingJobServiceImpl.this.threads) {
+                        checkpoint(inFlight.removeFirst());
+                    }
+
+                    chunk = DepositInterestPostingJobServiceImpl.this.depositAccountReadPlatformService.retrieveDepositAccountForLookup(
+                            lastAccountId, DepositInterestPostingJobServiceImpl.this.chunkSize);
+                }
+
+                while (!inFlight.isEmpty()) {
+                    checkpoint(inFlight.removeFirst());
+                }
+
+                updateRun(this.claim, new RunUpdate() {
+
+                    @Override
+                    public void applyTo(final DepositInterestPostingRun run) {
+                        run.completed();
+                    }
+                });
+            } catch (final DepositInterestPostingRunInProgressException e) {
+                logger.error("Deposit interest posting run " + this.runId + " was claimed elsewhere and is no longer posted here.", e);
+                cancel(inFlight);
+            } catch (final Exception e) {
+                logger.error("Deposit interest posting run " + this.runId + " failed and can be resumed from its checkpoint.", e);
+                cancel(inFlight);
+                final Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                updateRun(this.claim, new RunUpdate() {
+
+                    @Override
+                    public void applyTo(final DepositInterestPostingRun run) {
+                        run.failed(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                    }
+                });
+            } finally {
+                releaseClaim(this.claim);
+            }
+        }
+
+        private void cancel(final List<Future<ChunkResult>> inFlight) {
+            for (final Future<ChunkResult> future : inFlight) {
+                future.cancel(false);
+            }
+        }
+
+        private void checkpoint(final Future<ChunkResult> future) throws InterruptedException, ExecutionException {
+            final ChunkResult result = future.get();
+            updateRun(this.claim, new RunUpdate() {
+
+                @Override
+                public void applyTo(final DepositInterestPostingRun run) {
+                    run.chunkProcessed(result.lastAccountId, result.posted, result.failed);
+                }
+            });
+        }
+    }
+
+    /**
+     * Posts interest to one chunk of accounts in a single transaction, falling
+     * back to one transaction per account if the chunk fails.
+     */
+    private final class ChunkWorker implements Callable<ChunkResult> {
+
+        private final MifosPlatformTenant tenant;
+        private final SecurityContext securityContext;
+        private final Long runId;
+        private final List<Long> accountIds;
+
+        ChunkWorker(final MifosPlatformTenant tenant, final SecurityContext securityContext, final Long runId, final List<Long> accountIds) {
+            this.tenant = tenant;
+            this.securityContext = securityContext;
+            this.runId = runId;
+            this.accountIds = accountIds;
+        }
+
+        @Override
+        public ChunkResult call() {
+            ThreadLocalContextUtil.setTenant(this.tenant);
+            SecurityContextHolder.setContext(this.securityContext);
+            try {
+                final Long lastAccountId = this.accountIds.get(this.accountIds.size() - 1);
+                try {
+                    DepositInterestPostingJobServiceImpl.this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                        @Override
+                        protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                            for (final Long accountId : ChunkWorker.this.accountIds) {
+                                postInterest(accountId);
+                            }
+                        }
+                    });
+                    return new ChunkResult(lastAccountId, this.accountIds.size(), 0);
+                } catch (final RuntimeException e) {
+                    logger.warn("Posting interest to deposit accounts up to " + lastAccountId
+                            + " failed, retrying each account on its own.", e);
+                    final int failed = postOneAtATime();
+                    return new ChunkResult(lastAccountId, this.accountIds.size() - failed, failed);
+                }
+            } finally {
+                SecurityContextHolder.clearContext();
+                ThreadLocalContextUtil.clearTenant();
+            }
+        }
+
+        private int postOneAtATime() {
+            int failed = 0;
+            for (final Long accountId : this.accountIds) {
+                try {
+                    DepositInterestPostingJobServiceImpl.this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                        @Override
+                        protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                            postInterest(accountId);
+                        }
+                    });
+                } catch (final RuntimeException e) {
+                    failed++;
+                    recordFailure(accountId, e);
+                }
+            }
+            return failed;
+        }
+
+        private void recordFailure(final Long accountId, final RuntimeException cause) {
+            DepositInterestPostingJobServiceImpl.this.transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(@SuppressWarnings("unused") final TransactionStatus status) {
+                    DepositInterestPostingJobServiceImpl.this.failureRepository.save(DepositInterestPostingFailure.record(
+                            ChunkWorker.this.runId, accountId, cause));
+                }
+            });
+        }
+    }
+
+    private static final class ChunkResult {
+
+        private final Long lastAccountId;
+        private final int posted;
+        private final int failed;
+
+        ChunkResult(final Long lastAccountId, final int posted, final int failed) {
+            this.lastAccountId = lastAccountId;
+            this.posted = posted;
+            this.failed = failed;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.mifosplatform.portfolio.savingsdepositaccount.service;
+
+import org.mifosplatform.infrastructure.jobs.service.ScheduledJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Posts interest to deposit accounts as a scheduled job, typically as part of
+ * end of day processing.
+ */
+@Component
+public class DepositInterestPostingScheduledJob implements ScheduledJob {
+
+    private final DepositInterestPostingJobService depositInterestPostingJobService;
+
+    @Autowired
+    public DepositInterestPostingScheduledJob(final DepositInterestPostingJobService depositInterestPostingJobService) {
+        this.depositInterestPostingJobService = depositInterestPostingJobService;
+    }
+
+    @Override
+    public String getName() {
+        return "DEPOSIT_INTEREST_POSTING";
+    }
+
+    @Override
+    public long execute() {
+        return this.depositInterestPostingJobService.runToCompletion();
+    }
+}
@@ -2,6 +2,7 @@ package org.mifosplatform.useradministration.domain;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -16,6 +17,7 @@ import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 
 import org.apache.commons.lang.StringUtils;
@@ -79,6 +81,16 @@ public class AppUser extends AbstractAuditableCustom<AppUser, Long> implements P
     @JoinTable(name = "m_appuser_role", joinColumns = @JoinColumn(name = "appuser_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
     private Set<Role> roles;
 
+    /**
+     * Upper-cased permission codes across all roles of this user, derived once
+     * from {@link #roles} so permission checks are a single hash lookup.
+     */
+    @Transient
+    private volatile Set<String> permissionCodes;
+
+    @Transient
+    private volatile List<GrantedAuthority> grantedAuthorities;
+
     public static AppUser fromJson(final Office userOffice, final Set<Role> allRoles, final JsonCommand command) {
 
         final String username = command.stringValueOfParameterNamed("username");
@@ -140,6 +152,8 @@ public class AppUser extends AbstractAuditableCustom<AppUser, Long> implements P
         if (!allRoles.isEmpty()) {
             this.roles.clear();
             this.roles = allRoles;
+            this.permissionCodes = null;
+            this.grantedAuthorities = null;
         }
     }
 
@@ -244,14 +258,34 @@ public class AppUser extends AbstractAuditableCustom<AppUser, Long> implements P
     }
 
     private List<GrantedAuthority> populateGrantedAuthorities() {
-        List<GrantedAuthority> grantedAuthorities = new ArrayList<GrantedAuthority>();
-        for (Role role : this.roles) {
-            Collection<Permission> permissions = role.getPermissions();
-            for (Permission permission : permissions) {
-                grantedAuthorities.add(new SimpleGrantedAuthority(permission.getCode()));
+        List<GrantedAuthority> authorities = this.grantedAuthorities;
+        if (authorities == null) {
+            final List<GrantedAuthority> populated = new ArrayList<GrantedAuthority>();
+            for (Role role : this.roles) {
+                Collection<Permission> permissions = role.getPermissions();
+                for (Permission permission : permissions) {
+                    populated.add(new SimpleGrantedAuthority(permission.getCode()));
+                }
+            }
+            authorities = Collections.unmodifiableList(populated);
+            this.grantedAuthorities = authorities;
+        }
+        return authorities;
+    }
+
+    private Set<String> permissionCodes() {
+        Set<String> codes = this.permissionCodes;
+        if (codes == null) {
+            final Set<String> flattened = new HashSet<String>();
+            for (Role role : this.roles) {
+                for (Permission permission : role.getPermissions()) {
+                    flattened.add(permission.getCode().toUpperCase());
+                }
             }
+            codes = Collections.unmodifiableSet(flattened);
+            this.permissionCodes = codes;
         }
-        return grantedAuthorities;
+        return codes;
     }
 
     @Override
@@ -374,27 +408,8 @@ public class AppUser extends AbstractAuditableCustom<AppUser, Long> implements P
     }
 
     private boolean hasPermissionTo(final String permissionCode) {
-        boolean hasPermission = hasAllFunctionsPermission();
-        if (!hasPermission) {
-            for (Role role : this.roles) {
-                if (role.hasPermissionTo(permissionCode)) {
-                    hasPermission = true;
-                    break;
-                }
-            }
-        }
-        return hasPermission;
-    }
-    
-    private boolean hasAllFunctionsPermission() {
-        boolean match = false;
-        for (Role role : this.roles) {
-            if (role.hasPermissionTo("ALL_FUNCTIONS")) {
-                match = true;
-                break;
-            }
-        }
-        return match;
+        final Set<String> codes = permissionCodes();
+        return codes.contains("ALL_FUNCTIONS") || codes.contains(permissionCode.toUpperCase());
     }
 
     public boolean hasIdOf(final Long userId) {
@@ -1,8 +1,12 @@
 package org.mifosplatform.useradministration.domain;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Permission findOneByCode(String code);
 }
@@ -1,27 +1,37 @@
 package org.mifosplatform.useradministration.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
+import org.mifosplatform.infrastructure.security.service.TenantAwarePlatformUserCache;
 import org.mifosplatform.useradministration.service.AppUserWritePlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "USER", action = "DELETE")
 public class DeleteUserCommandHandler implements NewCommandSourceHandler {
 
     private final AppUserWritePlatformService writePlatformService;
+    private final TenantAwarePlatformUserCache userCache;
 
     @Autowired
-    public DeleteUserCommandHandler(final AppUserWritePlatformService writePlatformService) {
+    public DeleteUserCommandHandler(final AppUserWritePlatformService writePlatformService,
+            final TenantAwarePlatformUserCache userCache) {
         this.writePlatformService = writePlatformService;
+        this.userCache = userCache;
     }
 
     @Transactional
     @Override
     public CommandProcessingResult processCommand(final JsonCommand command) {
 
-        return this.writePlatformService.deleteUser(command.entityId());
+        final CommandProcessingResult result = this.writePlatformService.deleteUser(command.entityId());
+
+        this.userCache.evictAllForCurrentTenant();
+
+        return result;
     }
 }
\ No newline at end of file
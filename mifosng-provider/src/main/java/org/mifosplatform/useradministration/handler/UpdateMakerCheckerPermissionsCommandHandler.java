@@ -1,27 +1,41 @@
 package org.mifosplatform.useradministration.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
+import org.mifosplatform.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
+import org.mifosplatform.infrastructure.security.service.TenantAwarePlatformUserCache;
 import org.mifosplatform.useradministration.service.PermissionWritePlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "PERMISSION", action = "UPDATE")
 public class UpdateMakerCheckerPermissionsCommandHandler implements NewCommandSourceHandler {
 
     private final PermissionWritePlatformService writePlatformService;
+    private final TenantAwarePlatformUserCache userCache;
+    private final ConfigurationDomainService configurationDomainService;
 
     @Autowired
-    public UpdateMakerCheckerPermissionsCommandHandler(final PermissionWritePlatformService writePlatformService) {
+    public UpdateMakerCheckerPermissionsCommandHandler(final PermissionWritePlatformService writePlatformService,
+            final TenantAwarePlatformUserCache userCache, final ConfigurationDomainService configurationDomainService) {
         this.writePlatformService = writePlatformService;
+        this.userCache = userCache;
+        this.configurationDomainService = configurationDomainService;
     }
 
     @Transactional
     @Override
     public CommandProcessingResult processCommand(final JsonCommand command) {
 
-        return this.writePlatformService.updateMakerCheckerPermissions(command);
+        final CommandProcessingResult result = this.writePlatformService.updateMakerCheckerPermissions(command);
+
+        this.userCache.evictAllForCurrentTenant();
+        this.configurationDomainService.evictCachedConfigurationForCurrentTenant();
+
+        return result;
     }
 }
\ No newline at end of file
@@ -1,27 +1,37 @@
 package org.mifosplatform.useradministration.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
+import org.mifosplatform.infrastructure.security.service.TenantAwarePlatformUserCache;
 import org.mifosplatform.useradministration.service.RoleWritePlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "ROLE", action = "PERMISSIONS")
 public class UpdateRolePermissionsCommandHandler implements NewCommandSourceHandler {
 
     private final RoleWritePlatformService writePlatformService;
+    private final TenantAwarePlatformUserCache userCache;
 
     @Autowired
-    public UpdateRolePermissionsCommandHandler(final RoleWritePlatformService writePlatformService) {
+    public UpdateRolePermissionsCommandHandler(final RoleWritePlatformService writePlatformService,
+            final TenantAwarePlatformUserCache userCache) {
         this.writePlatformService = writePlatformService;
+        this.userCache = userCache;
     }
 
     @Transactional
     @Override
     public CommandProcessingResult processCommand(final JsonCommand command) {
 
-        return this.writePlatformService.updateRolePermissions(command.entityId(), command);
+        final CommandProcessingResult result = this.writePlatformService.updateRolePermissions(command.entityId(), command);
+
+        this.userCache.evictAllForCurrentTenant();
+
+        return result;
     }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package org.mifosplatform.useradministration.handler;
 
+import org.mifosplatform.commands.handler.CommandType;
 import org.mifosplatform.commands.handler.NewCommandSourceHandler;
 import org.mifosplatform.infrastructure.core.api.JsonCommand;
 import org.mifosplatform.infrastructure.core.data.CommandProcessingResult;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.mifosplatform.infrastructure.security.service.TenantAwarePlatformUserCache;
 import org.mifosplatform.useradministration.domain.AppUser;
 import org.mifosplatform.useradministration.service.AppUserWritePlatformService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,15 +13,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@CommandType(entity = "USER", action = "UPDATE")
 public class UpdateUserCommandHandler implements NewCommandSourceHandler {
 
     private final AppUserWritePlatformService writePlatformService;
     private final PlatformSecurityContext context;
+    private final TenantAwarePlatformUserCache userCache;
 
     @Autowired
-    public UpdateUserCommandHandler(final PlatformSecurityContext context, final AppUserWritePlatformService writePlatformService) {
+    public UpdateUserCommandHandler(final PlatformSecurityContext context, final AppUserWritePlatformService writePlatformService,
+            final TenantAwarePlatformUserCache userCache) {
         this.context = context;
         this.writePlatformService = writePlatformService;
+        this.userCache = userCache;
     }
 
     @Transactional
@@ -36,6 +42,8 @@ public class UpdateUserCommandHandler implements NewCommandSourceHandler {
             result = this.writePlatformService.updateUser(userId, command);
         }
 
+        this.userCache.evictAllForCurrentTenant();
+
         return result;
     }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import org.mifosplatform.infrastructure.core.exception.PlatformDataIntegrityExce
 import org.mifosplatform.infrastructure.core.service.PlatformEmailSendException;
 import org.mifosplatform.infrastructure.security.service.PlatformPasswordEncoder;
 import org.mifosplatform.infrastructure.security.service.PlatformSecurityContext;
+import org.mifosplatform.infrastructure.security.service.TenantAwarePlatformUserCache;
 import org.mifosplatform.organisation.office.domain.Office;
 import org.mifosplatform.organisation.office.domain.OfficeRepository;
 import org.mifosplatform.organisation.office.exception.OfficeNotFoundException;
@@ -47,11 +48,13 @@ public class AppUserWritePlatformServiceJpaRepositoryImpl implements AppUserWrit
     private final OfficeRepository officeRepository;
     private final RoleRepository roleRepository;
     private final UserCommandFromApiJsonDeserializer fromApiJsonDeserializer;
+    private final TenantAwarePlatformUserCache userCache;
 
     @Autowired
     public AppUserWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context, final AppUserRepository appUserRepository,
             final UserDomainService userDomainService, final OfficeRepository officeRepository, final RoleRepository roleRepository,
-            final PlatformPasswordEncoder platformPasswordEncoder, final UserCommandFromApiJsonDeserializer fromApiJsonDeserializer) {
+            final PlatformPasswordEncoder platformPasswordEncoder, final UserCommandFromApiJsonDeserializer fromApiJsonDeserializer,
+            final TenantAwarePlatformUserCache userCache) {
         this.context = context;
         this.appUserRepository = appUserRepository;
         this.userDomainService = userDomainService;
@@ -59,6 +62,7 @@ public class AppUserWritePlatformServiceJpaRepositoryImpl implements AppUserWrit
         this.roleRepository = roleRepository;
         this.platformPasswordEncoder = platformPasswordEncoder;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
+        this.userCache = userCache;
     }
 
     @Transactional
@@ -114,7 +118,12 @@ public class AppUserWritePlatformServiceJpaRepositoryImpl implements AppUserWrit
             final AppUser userToUpdate = this.appUserRepository.findOne(userId);
             if (userToUpdate == null) { throw new UserNotFoundException(userId); }
 
+            final String existingUsername = userToUpdate.getUsername();
             final Map<String, Object> changes = userToUpdate.update(command, this.platformPasswordEncoder);
+            if (changes.containsKey("passwordEncoded")) {
+                // forget any remembered credential verification for the old password
+                this.userCache.removeUserFromCache(existingUsername);
+            }
 
             if (changes.containsKey("officeId")) {
                 final Long officeId = (Long) changes.get("officeId");
@@ -161,7 +170,12 @@ public class AppUserWritePlatformServiceJpaRepositoryImpl implements AppUserWrit
             final AppUser userToUpdate = this.appUserRepository.findOne(userId);
             if (userToUpdate == null) { throw new UserNotFoundException(userId); }
 
+            final String existingUsername = userToUpdate.getUsername();
             final Map<String, Object> changes = userToUpdate.update(command, this.platformPasswordEncoder);
+            if (changes.containsKey("passwordEncoded")) {
+                // forget any remembered credential verification for the old password
+                this.userCache.removeUserFromCache(existingUsername);
+            }
 
             if (changes.containsKey("officeId")) {
                 final Long officeId = (Long) changes.get("officeId");
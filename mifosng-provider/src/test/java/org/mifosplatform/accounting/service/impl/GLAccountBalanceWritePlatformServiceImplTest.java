@@ -0,0 +1,105 @@
+package org.mifosplatform.accounting.service.impl;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.accounting.domain.GLAccount;
+import org.mifosplatform.accounting.domain.GLJournalEntry;
+import org.mifosplatform.accounting.domain.JournalEntryType;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.mifosplatform.organisation.office.domain.Office;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GLAccountBalanceWritePlatformServiceImplTest {
+
+    private static final LocalDate ENTRY_DATE = new LocalDate(2013, 2, 1);
+
+    @Mock
+    private TenantAwareRoutingDataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData databaseMetaData;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Office office;
+
+    @Mock
+    private GLAccount cash;
+
+    @Mock
+    private GLAccount loanPortfolio;
+
+    private GLAccountBalanceWritePlatformServiceImpl service;
+
+    @Before
+    public void setUp() throws Exception {
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.getMetaData()).thenReturn(this.databaseMetaData);
+        when(this.databaseMetaData.supportsBatchUpdates()).thenReturn(true);
+        when(this.connection.prepareStatement(anyString())).thenReturn(this.preparedStatement);
+        when(this.preparedStatement.getConnection()).thenReturn(this.connection);
+        when(this.preparedStatement.executeBatch()).thenReturn(new int[] { 1, 1 });
+
+        when(this.office.getId()).thenReturn(Long.valueOf(1));
+        when(this.cash.getId()).thenReturn(Long.valueOf(20));
+        when(this.loanPortfolio.getId()).thenReturn(Long.valueOf(10));
+
+        this.service = new GLAccountBalanceWritePlatformServiceImpl(this.dataSource);
+    }
+
+    @Test
+    public void givenEntriesForSameAccountAndDayTheyAreAddedToOneBalanceInAccountOrder() throws Exception {
+
+        this.service.addToBalances(Arrays.asList(entry(this.cash, JournalEntryType.DEBIT, "100"),
+                entry(this.loanPortfolio, JournalEntryType.CREDIT, "100"), entry(this.cash, JournalEntryType.DEBIT, "25"),
+                entry(this.cash, JournalEntryType.CREDIT, "5")));
+
+        verify(this.preparedStatement, times(2)).addBatch();
+
+        final InOrder inOrder = inOrder(this.preparedStatement);
+        inOrder.verify(this.preparedStatement).setLong(2, 10L);
+        inOrder.verify(this.preparedStatement).setBigDecimal(4, BigDecimal.ZERO);
+        inOrder.verify(this.preparedStatement).setBigDecimal(5, new BigDecimal("100"));
+        inOrder.verify(this.preparedStatement).setLong(2, 20L);
+        inOrder.verify(this.preparedStatement).setDate(3, new Date(ENTRY_DATE.toDateMidnight().getMillis()));
+        inOrder.verify(this.preparedStatement).setBigDecimal(4, new BigDecimal("125"));
+        inOrder.verify(this.preparedStatement).setBigDecimal(5, new BigDecimal("5"));
+    }
+
+    @Test
+    public void givenNoEntriesNothingIsWritten() throws Exception {
+
+        this.service.addToBalances(Arrays.<GLJournalEntry> asList());
+
+        verify(this.dataSource, never()).getConnection();
+    }
+
+    private GLJournalEntry entry(final GLAccount glAccount, final JournalEntryType type, final String amount) {
+        return GLJournalEntry.createNew(this.office, glAccount, "T1", false, ENTRY_DATE.toDateMidnight().toDate(), type, new BigDecimal(
+                amount), null, null, null);
+    }
+}
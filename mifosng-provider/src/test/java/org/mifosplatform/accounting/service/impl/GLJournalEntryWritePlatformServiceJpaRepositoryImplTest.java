@@ -0,0 +1,177 @@
+package org.mifosplatform.accounting.service.impl;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.accounting.AccountingConstants.CASH_ACCOUNTS_FOR_LOAN;
+import org.mifosplatform.accounting.api.data.LoanDTO;
+import org.mifosplatform.accounting.api.data.LoanTransactionDTO;
+import org.mifosplatform.accounting.domain.GLAccount;
+import org.mifosplatform.accounting.domain.GLAccountRepository;
+import org.mifosplatform.accounting.domain.GLClosureRepository;
+import org.mifosplatform.accounting.domain.GLJournalEntry;
+import org.mifosplatform.accounting.domain.GLJournalEntryRepository;
+import org.mifosplatform.accounting.domain.PortfolioProductType;
+import org.mifosplatform.accounting.domain.ProductToGLAccountMapping;
+import org.mifosplatform.accounting.domain.ProductToGLAccountMappingRepository;
+import org.mifosplatform.accounting.exceptions.ProductToGLAccountMappingNotFoundException;
+import org.mifosplatform.accounting.service.GLAccountBalanceWritePlatformService;
+import org.mifosplatform.organisation.office.domain.Office;
+import org.mifosplatform.organisation.office.domain.OfficeRepository;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GLJournalEntryWritePlatformServiceJpaRepositoryImplTest {
+
+    private static final Long LOAN_PRODUCT_ID = Long.valueOf(7);
+    private static final Long OFFICE_ID = Long.valueOf(1);
+
+    @Mock
+    private GLClosureRepository glClosureRepository;
+
+    @Mock
+    private GLAccountRepository glAccountRepository;
+
+    @Mock
+    private GLJournalEntryRepository glJournalEntryRepository;
+
+    @Mock
+    private OfficeRepository officeRepository;
+
+    @Mock
+    private ProductToGLAccountMappingRepository accountMappingRepository;
+
+    @Mock
+    private GLAccountBalanceWritePlatformService glAccountBalanceWritePlatformService;
+
+    @Mock
+    private Office office;
+
+    @Mock
+    private GLAccount fundSource;
+
+    @Mock
+    private GLAccount loanPortfolio;
+
+    @Mock
+    private GLAccount interestOnLoans;
+
+    private GLJournalEntryWritePlatformServiceJpaRepositoryImpl service;
+
+    @Before
+    public void setUp() {
+        when(this.officeRepository.findOne(OFFICE_ID)).thenReturn(this.office);
+        when(this.accountMappingRepository.findByProductIdAndProductType(LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue()))
+                .thenReturn(Arrays.asList(mapping(this.fundSource, CASH_ACCOUNTS_FOR_LOAN.FUND_SOURCE), //
+                        mapping(this.loanPortfolio, CASH_ACCOUNTS_FOR_LOAN.LOAN_PORTFOLIO), //
+                        mapping(this.interestOnLoans, CASH_ACCOUNTS_FOR_LOAN.INTEREST_ON_LOANS)));
+
+        this.service = new GLJournalEntryWritePlatformServiceJpaRepositoryImpl(this.glClosureRepository, this.glAccountRepository,
+                this.glJournalEntryRepository, this.officeRepository, this.accountMappingRepository,
+                this.glAccountBalanceWritePlatformService);
+    }
+
+    @Test
+    public void givenSeveralLoanTransactionsMappingsAreResolvedOnceAndEntriesWrittenInOneBatch() {
+
+        final List<LoanTransactionDTO> transactions = new ArrayList<LoanTransactionDTO>();
+        transactions.add(disbursement("1", "1000"));
+        transactions.add(repayment("2", "100", "10"));
+        transactions.add(repayment("3", "100", "10"));
+
+        this.service.createJournalEntriesForLoan(loan(transactions));
+
+        verify(this.accountMappingRepository, times(1)).findByProductIdAndProductType(LOAN_PRODUCT_ID,
+                PortfolioProductType.LOAN.getValue());
+        verify(this.accountMappingRepository, never()).findByProductIdAndProductTypeAndFinancialAccountType(anyLong(), anyInt(),
+                anyInt());
+        verify(this.glJournalEntryRepository, never()).saveAndFlush(any(GLJournalEntry.class));
+
+        final List<GLJournalEntry> written = captureSingleBatch();
+        assertThat(written.size(), is(8));
+
+        // repayment: credit portfolio and interest, debit fund source total
+        assertThat(written.get(2).getGlAccount(), is(sameInstance(this.loanPortfolio)));
+        assertThat(written.get(2).isDebitEntry(), is(false));
+        assertThat(written.get(3).getGlAccount(), is(sameInstance(this.interestOnLoans)));
+        assertThat(written.get(4).getGlAccount(), is(sameInstance(this.fundSource)));
+        assertThat(written.get(4).isDebitEntry(), is(true));
+        assertThat(written.get(4).getAmount(), is(new BigDecimal("110")));
+        assertThat(written.get(4).getTransactionId(), is("2"));
+
+        verify(this.glAccountBalanceWritePlatformService, times(1)).addToBalances(written);
+    }
+
+    @Test
+    public void givenContraLegsAreReversedAndTransactionIdMarked() {
+
+        final List<LoanTransactionDTO> transactions = new ArrayList<LoanTransactionDTO>();
+        transactions.add(new LoanTransactionDTO("4", new Date(), new BigDecimal("110"), new BigDecimal("100"), new BigDecimal("10"),
+                null, null, false, false, false, true, false));
+
+        this.service.createJournalEntriesForLoan(loan(transactions));
+
+        final List<GLJournalEntry> written = captureSingleBatch();
+        assertThat(written.size(), is(3));
+        assertThat(written.get(0).isDebitEntry(), is(true));
+        assertThat(written.get(2).getGlAccount(), is(sameInstance(this.fundSource)));
+        assertThat(written.get(2).isDebitEntry(), is(false));
+        assertThat(written.get(2).getTransactionId(), is("reversal-4"));
+    }
+
+    @Test(expected = ProductToGLAccountMappingNotFoundException.class)
+    public void givenMissingMappingForLegServiceFailsWithNotFound() {
+
+        final List<LoanTransactionDTO> transactions = new ArrayList<LoanTransactionDTO>();
+        transactions.add(new LoanTransactionDTO("5", new Date(), null, new BigDecimal("100"), null, null, null, false, false, false,
+                false, true));
+
+        this.service.createJournalEntriesForLoan(loan(transactions));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<GLJournalEntry> captureSingleBatch() {
+        final ArgumentCaptor<List> batch = ArgumentCaptor.forClass(List.class);
+        verify(this.glJournalEntryRepository, times(1)).insertAllInBatch(batch.capture());
+        return batch.getValue();
+    }
+
+    private static ProductToGLAccountMapping mapping(final GLAccount glAccount, final CASH_ACCOUNTS_FOR_LOAN type) {
+        return new ProductToGLAccountMapping(glAccount, LOAN_PRODUCT_ID, PortfolioProductType.LOAN.getValue(), type.getValue());
+    }
+
+    private static LoanDTO loan(final List<LoanTransactionDTO> transactions) {
+        return new LoanDTO(Long.valueOf(3), LOAN_PRODUCT_ID, OFFICE_ID, true, false, transactions);
+    }
+
+    private static LoanTransactionDTO disbursement(final String transactionId, final String amount) {
+        return new LoanTransactionDTO(transactionId, new Date(), new BigDecimal(amount), null, null, null, null, true, false, false,
+                false, false);
+    }
+
+    private static LoanTransactionDTO repayment(final String transactionId, final String principal, final String interest) {
+        final BigDecimal principalAmount = new BigDecimal(principal);
+        final BigDecimal interestAmount = new BigDecimal(interest);
+        return new LoanTransactionDTO(transactionId, new Date(), principalAmount.add(interestAmount), principalAmount, interestAmount,
+                BigDecimal.ZERO, null, false, true, false, false, false);
+    }
+}
@@ -0,0 +1,84 @@
+package org.mifosplatform.infrastructure.cache.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CacheVersionServiceTest {
+
+    private static final String SELECT_VERSION = "select version from c_cache_version";
+
+    @Mock
+    private TenantAwareRoutingDataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement selectVersion;
+    @Mock
+    private PreparedStatement changeVersion;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private CacheVersionService cacheVersionService;
+
+    @Before
+    public void setUp() throws Exception {
+        ThreadLocalContextUtil.setTenant(new MifosPlatformTenant(Long.valueOf(1), "default", "mifostenant-default", "localhost", "3306",
+                "root", "mysql"));
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareStatement(startsWith(SELECT_VERSION))).thenReturn(this.selectVersion);
+        when(this.connection.prepareStatement(startsWith("insert into c_cache_version"))).thenReturn(this.changeVersion);
+        when(this.selectVersion.executeQuery()).thenReturn(this.resultSet);
+        when(this.resultSet.getMetaData()).thenReturn(this.metaData);
+        when(this.metaData.getColumnCount()).thenReturn(1);
+        when(this.resultSet.next()).thenReturn(true, false, true, false);
+        when(this.resultSet.getLong(1)).thenReturn(3L, 4L);
+
+        this.cacheVersionService = new CacheVersionService(this.dataSource);
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void versionIsReadOnceWithinCheckInterval() throws Exception {
+
+        assertThat(this.cacheVersionService.versionOf("templateData"), is(3L));
+        assertThat(this.cacheVersionService.versionOf("templateData"), is(3L));
+
+        verify(this.connection, times(1)).prepareStatement(startsWith(SELECT_VERSION));
+    }
+
+    @Test
+    public void versionIsReadAgainOnceChangedThroughThisNode() throws Exception {
+
+        assertThat(this.cacheVersionService.versionOf("templateData"), is(3L));
+        this.cacheVersionService.changeVersionOf("templateData");
+
+        assertThat(this.cacheVersionService.versionOf("templateData"), is(4L));
+        verify(this.connection, times(2)).prepareStatement(startsWith(SELECT_VERSION));
+    }
+}
@@ -0,0 +1,87 @@
+package org.mifosplatform.infrastructure.cache.service;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SecondLevelCacheVersionServiceTest {
+
+    @Mock
+    private HibernateEntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactory sessionFactory;
+    @Mock
+    private Cache cache;
+    @Mock
+    private CacheVersionService cacheVersionService;
+
+    private SecondLevelCacheVersionService secondLevelCacheVersionService;
+
+    @Before
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new MifosPlatformTenant(Long.valueOf(1), "default", "mifostenant-default", "localhost", "3306",
+                "root", "mysql"));
+        when(this.entityManagerFactory.getSessionFactory()).thenReturn(this.sessionFactory);
+        when(this.sessionFactory.getCache()).thenReturn(this.cache);
+        when(this.cacheVersionService.versionOf("secondLevelCache")).thenReturn(Long.valueOf(3));
+
+        this.secondLevelCacheVersionService = new SecondLevelCacheVersionService(this.entityManagerFactory, this.cacheVersionService);
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void regionsAreEvictedOnlyWhenVersionHasMovedOn() {
+
+        this.secondLevelCacheVersionService.evictIfChangedForCurrentTenant();
+        this.secondLevelCacheVersionService.evictIfChangedForCurrentTenant();
+        verify(this.cache, times(1)).evictEntityRegions();
+
+        when(this.cacheVersionService.versionOf("secondLevelCache")).thenReturn(Long.valueOf(4));
+        this.secondLevelCacheVersionService.evictIfChangedForCurrentTenant();
+
+        verify(this.cache, times(2)).evictEntityRegions();
+        verify(this.cache, times(2)).evictCollectionRegions();
+        verify(this.cache, times(2)).evictQueryRegions();
+    }
+
+    @Test
+    public void versionIsChangedOncePerTransaction() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            this.secondLevelCacheVersionService.cachedEntityChanged();
+            this.secondLevelCacheVersionService.cachedEntityChanged();
+            verify(this.cacheVersionService, times(1)).changeVersionOf("secondLevelCache");
+
+            for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        this.secondLevelCacheVersionService.cachedEntityChanged();
+        verify(this.cacheVersionService, times(2)).changeVersionOf("secondLevelCache");
+        verify(this.cache, never()).evictEntityRegions();
+    }
+}
@@ -0,0 +1,169 @@
+package org.mifosplatform.infrastructure.cache.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class TemplateDataCacheTest {
+
+    private final MifosPlatformTenant defaultTenant = tenant(1L, "default");
+    private final MifosPlatformTenant otherTenant = tenant(2L, "other");
+
+    /**
+     * Stands in for <code>c_cache_version</code> of each tenant's database.
+     */
+    private final Map<Long, Long> versionsByTenant = new HashMap<Long, Long>();
+
+    private TemplateDataCache cache;
+    private CountingLoader loader;
+
+    @Before
+    public void setUp() {
+        final CacheVersionService cacheVersionService = mock(CacheVersionService.class);
+        when(cacheVersionService.versionOf(anyString())).thenAnswer(new Answer<Long>() {
+
+            @Override
+            public Long answer(@SuppressWarnings("unused") final InvocationOnMock invocation) {
+                return currentVersion();
+            }
+        });
+        doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(@SuppressWarnings("unused") final InvocationOnMock invocation) {
+                changeVersionOfCurrentTenant();
+                return null;
+            }
+        }).when(cacheVersionService).changeVersionOf(anyString());
+
+        this.cache = new TemplateDataCache(cacheVersionService);
+        this.loader = new CountingLoader();
+        ThreadLocalContextUtil.setTenant(this.defaultTenant);
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void valuesAreLoadedOncePerTenant() {
+
+        this.cache.get("funds", this.loader);
+        this.cache.get("funds", this.loader);
+        assertThat(this.loader.loads, is(1));
+
+        ThreadLocalContextUtil.setTenant(this.otherTenant);
+        this.cache.get("funds", this.loader);
+        assertThat(this.loader.loads, is(2));
+    }
+
+    @Test
+    public void evictionReloadsValuesAndChangesVersionOfCurrentTenantOnly() {
+
+        this.cache.get("funds", this.loader);
+        final String defaultVersion = this.cache.versionTagForCurrentTenant();
+
+        ThreadLocalContextUtil.setTenant(this.otherTenant);
+        this.cache.get("funds", this.loader);
+        final String otherVersion = this.cache.versionTagForCurrentTenant();
+
+        ThreadLocalContextUtil.setTenant(this.defaultTenant);
+        this.cache.evictAllForCurrentTenant();
+
+        assertThat(this.cache.versionTagForCurrentTenant(), is(not(defaultVersion)));
+        this.cache.get("funds", this.loader);
+        assertThat(this.loader.loads, is(3));
+
+        ThreadLocalContextUtil.setTenant(this.otherTenant);
+        assertThat(this.cache.versionTagForCurrentTenant(), is(otherVersion));
+        this.cache.get("funds", this.loader);
+        assertThat(this.loader.loads, is(3));
+    }
+
+    @Test
+    public void valuesAreReloadedOnceVersionIsChangedByAnotherNode() {
+
+        this.cache.get("funds", this.loader);
+        final String version = this.cache.versionTagForCurrentTenant();
+
+        changeVersionOfCurrentTenant();
+
+        assertThat(this.cache.versionTagForCurrentTenant(), is(not(version)));
+        assertThat(this.cache.get("funds", this.loader), is("value2"));
+        assertThat(this.loader.loads, is(2));
+    }
+
+    @Test
+    public void templateRequestReadsVersionFromDatabaseOnce() throws Exception {
+
+        final TenantAwareRoutingDataSource dataSource = mock(TenantAwareRoutingDataSource.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement selectVersion = mock(PreparedStatement.class);
+        final ResultSet resultSet = mock(ResultSet.class);
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(startsWith("select version from c_cache_version"))).thenReturn(selectVersion);
+        when(selectVersion.executeQuery()).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getLong(1)).thenReturn(7L);
+
+        final TemplateDataCache templateDataCache = new TemplateDataCache(new CacheVersionService(dataSource));
+        templateDataCache.versionTagForCurrentTenant();
+        templateDataCache.get("loanProducts", this.loader);
+        templateDataCache.get("funds", this.loader);
+        templateDataCache.get("charges", this.loader);
+
+        verify(connection, times(1)).prepareStatement(startsWith("select version from c_cache_version"));
+    }
+
+    private Long currentVersion() {
+        final Long version = this.versionsByTenant.get(ThreadLocalContextUtil.getTenant().getId());
+        return version == null ? Long.valueOf(0) : version;
+    }
+
+    private void changeVersionOfCurrentTenant() {
+        this.versionsByTenant.put(ThreadLocalContextUtil.getTenant().getId(), Long.valueOf(currentVersion().longValue() + 1));
+    }
+
+    private static MifosPlatformTenant tenant(final long id, final String name) {
+        return new MifosPlatformTenant(Long.valueOf(id), name, "mifostenant-" + name, "localhost", "3306", "root", "mysql");
+    }
+
+    private static final class CountingLoader implements TemplateDataCache.Loader<String> {
+
+        private int loads = 0;
+
+        @Override
+        public String load() {
+            this.loads++;
+            return "value" + this.loads;
+        }
+    }
+}
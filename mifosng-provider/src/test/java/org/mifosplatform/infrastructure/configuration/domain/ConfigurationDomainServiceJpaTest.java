@@ -0,0 +1,97 @@
+package org.mifosplatform.infrastructure.configuration.domain;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.cache.service.CacheVersionService;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.useradministration.domain.Permission;
+import org.mifosplatform.useradministration.domain.PermissionRepository;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigurationDomainServiceJpaTest {
+
+    @Mock
+    private PermissionRepository permissionRepository;
+    @Mock
+    private GlobalConfigurationRepository globalConfigurationRepository;
+    @Mock
+    private HibernateEntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactory sessionFactory;
+    @Mock
+    private Cache cache;
+    @Mock
+    private CacheVersionService cacheVersionService;
+    @Mock
+    private Permission permission;
+
+    private ConfigurationDomainServiceJpa configurationDomainService;
+
+    @Before
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new MifosPlatformTenant(Long.valueOf(1), "default", "mifostenant-default", "localhost", "3306",
+                "root", "mysql"));
+        when(this.entityManagerFactory.getSessionFactory()).thenReturn(this.sessionFactory);
+        when(this.sessionFactory.getCache()).thenReturn(this.cache);
+        when(this.permission.getCode()).thenReturn("CREATE_CLIENT");
+        when(this.permission.hasMakerCheckerEnabled()).thenReturn(true);
+        when(this.permissionRepository.findAll()).thenReturn(Arrays.asList(this.permission));
+        when(this.globalConfigurationRepository.findAll()).thenReturn(
+                Arrays.asList(new GlobalConfigurationProperty("maker-checker", true)));
+        when(this.cacheVersionService.versionOf("configuration")).thenReturn(Long.valueOf(3));
+
+        this.configurationDomainService = new ConfigurationDomainServiceJpa(this.permissionRepository, this.globalConfigurationRepository,
+                this.entityManagerFactory, this.cacheVersionService);
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void snapshotIsReusedWhileVersionIsUnchanged() {
+
+        assertThat(this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_CLIENT"), is(true));
+        assertThat(this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_CLIENT"), is(true));
+
+        verify(this.permissionRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void snapshotIsReloadedOnceVersionIsChangedByAnotherNode() {
+
+        this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_CLIENT");
+        when(this.cacheVersionService.versionOf("configuration")).thenReturn(Long.valueOf(4));
+        when(this.permission.hasMakerCheckerEnabled()).thenReturn(false);
+
+        assertThat(this.configurationDomainService.isMakerCheckerEnabledForTask("CREATE_CLIENT"), is(false));
+
+        verify(this.permissionRepository, times(2)).findAll();
+        verify(this.cache).evictEntityRegion(Permission.class);
+    }
+
+    @Test
+    public void evictionChangesVersion() {
+
+        this.configurationDomainService.evictCachedConfigurationForCurrentTenant();
+
+        verify(this.cacheVersionService).changeVersionOf("configuration");
+    }
+}
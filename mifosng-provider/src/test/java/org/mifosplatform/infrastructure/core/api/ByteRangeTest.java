@@ -0,0 +1,48 @@
+package org.mifosplatform.infrastructure.core.api;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class ByteRangeTest {
+
+    @Test
+    public void givenNoOrUnsupportedRangeWholeContentIsReturned() {
+        assertThat(ByteRange.parse(null, 1000), is(nullValue()));
+        assertThat(ByteRange.parse("items=0-10", 1000), is(nullValue()));
+        assertThat(ByteRange.parse("bytes=0-10,20-30", 1000), is(nullValue()));
+        assertThat(ByteRange.parse("bytes=10-5", 1000), is(nullValue()));
+        assertThat(ByteRange.parse("bytes=a-b", 1000), is(nullValue()));
+    }
+
+    @Test
+    public void givenClosedRangeBytesAreInclusive() {
+        final ByteRange range = ByteRange.parse("bytes=0-499", 1000);
+
+        assertThat(range.first(), is(0L));
+        assertThat(range.size(), is(500L));
+        assertThat(range.contentRange(), is("bytes 0-499/1000"));
+    }
+
+    @Test
+    public void givenOpenOrOversizedRangeItEndsAtLastByte() {
+        assertThat(ByteRange.parse("bytes=600-", 1000).contentRange(), is("bytes 600-999/1000"));
+        assertThat(ByteRange.parse("bytes=600-5000", 1000).size(), is(400L));
+    }
+
+    @Test
+    public void givenSuffixRangeLastBytesAreReturned() {
+        assertThat(ByteRange.parse("bytes=-100", 1000).contentRange(), is("bytes 900-999/1000"));
+        assertThat(ByteRange.parse("bytes=-5000", 1000).contentRange(), is("bytes 0-999/1000"));
+    }
+
+    @Test
+    public void givenRangeBeyondContentItIsNotSatisfiable() {
+        final ByteRange range = ByteRange.parse("bytes=1000-", 1000);
+
+        assertThat(range.isSatisfiable(), is(false));
+        assertThat(range.contentRange(), is("bytes */1000"));
+    }
+}
@@ -0,0 +1,121 @@
+package org.mifosplatform.infrastructure.core.serialization;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.core.service.JdbcRowStream;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultToApiJsonSerializerTest {
+
+    private static final Set<String> SUPPORTED_PARAMETERS = new HashSet<String>(Arrays.asList("id", "name"));
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Item> items = Arrays.asList(new Item(1L, "one"), new Item(2L, "two"), new Item(3L, "three"));
+
+    private DefaultToApiJsonSerializer<Item> serializer;
+
+    @Before
+    public void setUp() {
+        this.serializer = new DefaultToApiJsonSerializer<Item>(new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson(),
+                new ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson(), new CommandProcessingResultJsonSerializer(),
+                new GoogleGsonSerializerHelper());
+
+        doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws SQLException {
+                final RowCallbackHandler handler = (RowCallbackHandler) invocation.getArguments()[1];
+                for (int i = 0; i < DefaultToApiJsonSerializerTest.this.items.size(); i++) {
+                    handler.processRow(mock(ResultSet.class));
+                }
+                return null;
+            }
+        }).when(this.jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    public void streamedRowsMatchSerializedCollection() throws IOException {
+        final ApiRequestJsonSerializationSettings settings = settings(false, Collections.<String> emptySet());
+
+        assertThat(write(this.serializer.serialize(settings, rows(), SUPPORTED_PARAMETERS)),
+                is(this.serializer.serialize(settings, this.items, SUPPORTED_PARAMETERS)));
+    }
+
+    @Test
+    public void streamedRowsHonourRequestedFields() throws IOException {
+        final ApiRequestJsonSerializationSettings settings = settings(false, new HashSet<String>(Arrays.asList("name")));
+
+        assertThat(write(this.serializer.serialize(settings, rows(), SUPPORTED_PARAMETERS)),
+                is("[{\"name\":\"one\"},{\"name\":\"two\"},{\"name\":\"three\"}]"));
+    }
+
+    @Test
+    public void prettyPrintedStreamedRowsAreValidJson() throws IOException {
+        final ApiRequestJsonSerializationSettings settings = settings(true, Collections.<String> emptySet());
+
+        final String json = write(this.serializer.serialize(settings, rows(), SUPPORTED_PARAMETERS));
+        assertThat(json.replaceAll("\\s", ""), is(this.serializer.serialize(settings(false, Collections.<String> emptySet()), this.items,
+                SUPPORTED_PARAMETERS)));
+    }
+
+    private JdbcRowStream<Item> rows() {
+        return JdbcRowStream.of(this.jdbcTemplate, "select id, name from item", new RowMapper<Item>() {
+
+            @Override
+            public Item mapRow(@SuppressWarnings("unused") final ResultSet rs, final int rowNum) {
+                return DefaultToApiJsonSerializerTest.this.items.get(rowNum);
+            }
+        });
+    }
+
+    private static String write(final StreamingOutput output) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        output.write(bytes);
+        return bytes.toString("UTF-8");
+    }
+
+    private static ApiRequestJsonSerializationSettings settings(final boolean prettyPrint, final Set<String> fields) {
+        return ApiRequestJsonSerializationSettings.from(prettyPrint, fields, false, null, false, false);
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Item {
+
+        private final Long id;
+        private final String name;
+
+        Item(final Long id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.mifosplatform.infrastructure.core.serialization;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.mifosplatform.infrastructure.core.exception.UnsupportedParameterException;
+
+import com.google.gson.Gson;
+
+public class GoogleGsonSerializerHelperTest {
+
+    private static final Set<String> SUPPORTED_PARAMETERS = new HashSet<String>(Arrays.asList("id", "name", "description"));
+
+    private final GoogleGsonSerializerHelper helper = new GoogleGsonSerializerHelper();
+
+    @Test
+    public void givenSameFieldsAndPrettyPrintingSerializerIsReused() {
+        final Gson first = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                fields("id", "name"));
+        final Gson second = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                fields("name", "id"));
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(this.helper.cachedSerializerCount(), is(1));
+    }
+
+    @Test
+    public void givenDifferentFieldsOrPrettyPrintingSerializersDiffer() {
+        final Gson idAndName = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                fields("id", "name"));
+        final Gson idOnly = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                fields("id"));
+        final Gson idAndNamePretty = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS,
+                true, fields("id", "name"));
+
+        assertThat(idOnly, is(not(sameInstance(idAndName))));
+        assertThat(idAndNamePretty, is(not(sameInstance(idAndName))));
+        assertThat(this.helper.serializedJsonFrom(idAndName, new Item(1L, "one", "first")), is("{\"id\":1,\"name\":\"one\"}"));
+        assertThat(this.helper.serializedJsonFrom(idOnly, new Item(1L, "one", "first")), is("{\"id\":1}"));
+    }
+
+    @Test
+    public void givenNoFieldsRequestedNothingIsSkipped() {
+        final Gson gson = this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false,
+                Collections.<String> emptySet());
+
+        assertThat(this.helper.serializedJsonFrom(gson, new Item(1L, "one", "first")),
+                is("{\"id\":1,\"name\":\"one\",\"description\":\"first\"}"));
+    }
+
+    @Test(expected = UnsupportedParameterException.class)
+    public void givenUnsupportedFieldRequestIsRejectedEvenWhenCached() {
+        this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false, fields("id"));
+        this.helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, false, fields("id", "unknown"));
+    }
+
+    @Test
+    public void excludeNothingSerializersPreloadAdaptersForDataClasses() {
+        assertThat(new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson().serialize(new Item(1L, "one", null)),
+                is("{\"id\":1,\"name\":\"one\"}"));
+        new ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson();
+    }
+
+    private static Set<String> fields(final String... names) {
+        return new HashSet<String>(Arrays.asList(names));
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Item {
+
+        private final Long id;
+        private final String name;
+        private final String description;
+
+        Item(final Long id, final String name, final String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void givenEncodedCursorDecodingGivesSamePosition() {
+
+        final KeysetCursor cursor = KeysetCursor.after("Asare-Frimpong: Müller & Söhne / Ltd?", Long.valueOf(1234567));
+
+        final String encoded = cursor.encode();
+        final KeysetCursor decoded = KeysetCursor.decode("after", encoded);
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertThat(decoded.getSortValue(), is(cursor.getSortValue()));
+        assertThat(decoded.getId(), is(cursor.getId()));
+    }
+
+    @Test
+    public void givenNoCursorDecodingGivesNull() {
+        assertThat(KeysetCursor.decode("after", ""), is(nullValue()));
+    }
+
+    @Test(expected = UnrecognizedQueryParamException.class)
+    public void givenCursorNotProducedByEncodeDecodingFails() {
+        KeysetCursor.decode("after", "not-a-cursor");
+    }
+}
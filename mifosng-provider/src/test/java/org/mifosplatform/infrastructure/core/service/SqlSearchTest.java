@@ -0,0 +1,59 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.mifosplatform.infrastructure.core.exception.UnrecognizedQueryParamException;
+
+public class SqlSearchTest {
+
+    private final Map<String, String> columnsByName = new HashMap<String, String>();
+
+    public SqlSearchTest() {
+        this.columnsByName.put("display_name", "c.display_name");
+        this.columnsByName.put("c.display_name", "c.display_name");
+        this.columnsByName.put("office_id", "c.office_id");
+    }
+
+    @Test
+    public void givenComparisonsOfWhitelistedColumnsValuesAreBound() {
+
+        final SqlSearch search = SqlSearch.parse("sqlSearch", "C.Display_Name LIKE '%o''brien%' or (office_id = 2 AND display_name != 'x')",
+                this.columnsByName);
+
+        assertThat(search.getSql(), is("c.display_name like ? or (c.office_id = ? and c.display_name <> ?)"));
+        assertThat(search.getValues(), is(Arrays.<Object> asList("%o'brien%", new BigDecimal("2"), "x")));
+    }
+
+    @Test
+    public void givenNoCriteriaParsingGivesNull() {
+        assertThat(SqlSearch.parse("sqlSearch", " ", this.columnsByName), is(nullValue()));
+    }
+
+    @Test(expected = UnrecognizedQueryParamException.class)
+    public void givenColumnNotWhitelistedParsingFails() {
+        SqlSearch.parse("sqlSearch", "o.hierarchy like '.%'", this.columnsByName);
+    }
+
+    @Test(expected = UnrecognizedQueryParamException.class)
+    public void givenInjectedSqlParsingFails() {
+        SqlSearch.parse("sqlSearch", "display_name = 'x' or 1 = 1", this.columnsByName);
+    }
+
+    @Test(expected = UnrecognizedQueryParamException.class)
+    public void givenSubqueryParsingFails() {
+        SqlSearch.parse("sqlSearch", "office_id = (select id from m_office)", this.columnsByName);
+    }
+
+    @Test(expected = UnrecognizedQueryParamException.class)
+    public void givenUnterminatedValueParsingFails() {
+        SqlSearch.parse("sqlSearch", "display_name = 'x", this.columnsByName);
+    }
+}
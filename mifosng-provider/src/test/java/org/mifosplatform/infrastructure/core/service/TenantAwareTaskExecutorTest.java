@@ -0,0 +1,120 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class TenantAwareTaskExecutorTest {
+
+    private final MifosPlatformTenant tenant = new MifosPlatformTenant(Long.valueOf(1), "default", "mifostenant-default", "localhost",
+            "3306", "root", "mysql");
+    private final Authentication authentication = new TestingAuthenticationToken("mifos", "password");
+
+    private TenantAwareTaskExecutor executor;
+
+    @Before
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+        SecurityContextHolder.getContext().setAuthentication(this.authentication);
+        this.executor = new TenantAwareTaskExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        this.executor.destroy();
+        ThreadLocalContextUtil.clearTenant();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void tasksRunOnAnotherThreadWithTenantAndUserOfSubmitter() {
+
+        final Future<Object[]> seen = this.executor.submit(new Callable<Object[]>() {
+
+            @Override
+            public Object[] call() {
+                return new Object[] { Thread.currentThread(), ThreadLocalContextUtil.getTenant(),
+                        SecurityContextHolder.getContext().getAuthentication() };
+            }
+        });
+
+        final Object[] context = TenantAwareTaskExecutor.resultOf(seen);
+        assertThat(context[0], is(not(sameInstance((Object) Thread.currentThread()))));
+        assertThat(context[1], is(sameInstance((Object) this.tenant)));
+        assertThat(context[2], is(sameInstance((Object) this.authentication)));
+    }
+
+    @Test
+    public void tasksRunConcurrently() throws InterruptedException {
+
+        // each task only finishes once both have started
+        final CountDownLatch started = new CountDownLatch(2);
+        final Callable<Boolean> task = new Callable<Boolean>() {
+
+            @Override
+            public Boolean call() throws InterruptedException {
+                started.countDown();
+                return Boolean.valueOf(started.await(5, TimeUnit.SECONDS));
+            }
+        };
+
+        final Future<Boolean> first = this.executor.submit(task);
+        final Future<Boolean> second = this.executor.submit(task);
+
+        assertThat(TenantAwareTaskExecutor.resultOf(first), is(Boolean.TRUE));
+        assertThat(TenantAwareTaskExecutor.resultOf(second), is(Boolean.TRUE));
+    }
+
+    @Test
+    public void workerThreadsAreClearedAfterEachTask() {
+
+        TenantAwareTaskExecutor.resultOf(this.executor.submit(new Callable<Void>() {
+
+            @Override
+            public Void call() {
+                return null;
+            }
+        }));
+
+        ThreadLocalContextUtil.clearTenant();
+        SecurityContextHolder.clearContext();
+
+        final Object[] context = TenantAwareTaskExecutor.resultOf(this.executor.submit(new Callable<Object[]>() {
+
+            @Override
+            public Object[] call() {
+                return new Object[] { ThreadLocalContextUtil.getTenant(), SecurityContextHolder.getContext().getAuthentication() };
+            }
+        }));
+
+        assertThat(context[0], is(nullValue()));
+        assertThat(context[1], is(nullValue()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void runtimeExceptionsOfTasksAreRethrownAsIs() {
+
+        TenantAwareTaskExecutor.resultOf(this.executor.submit(new Callable<Void>() {
+
+            @Override
+            public Void call() {
+                throw new IllegalArgumentException();
+            }
+        }));
+    }
+}
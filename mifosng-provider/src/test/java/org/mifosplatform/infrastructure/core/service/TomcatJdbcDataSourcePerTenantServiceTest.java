@@ -0,0 +1,157 @@
+package org.mifosplatform.infrastructure.core.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.security.service.CachingTenantDetailsService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TomcatJdbcDataSourcePerTenantServiceTest {
+
+    private final MifosPlatformTenant tenant = new MifosPlatformTenant(Long.valueOf(1), "default", "mifostenant-default", "localhost",
+            "3306", "root", "mysql", 3, 2, 8, 25, 5000);
+
+    @Mock
+    private DataSource tenantsDataSource;
+
+    @Mock
+    private CachingTenantDetailsService tenantDetailsService;
+
+    private TomcatJdbcDataSourcePerTenantService dataSourcePerTenantService;
+
+    @Before
+    public void setUp() {
+        this.dataSourcePerTenantService = new TomcatJdbcDataSourcePerTenantService(this.tenantsDataSource, this.tenantDetailsService);
+    }
+
+    @After
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+        this.dataSourcePerTenantService.destroy();
+    }
+
+    @Test
+    public void givenNoTenantTheTenantsDatabaseIsUsed() {
+        assertThat(this.dataSourcePerTenantService.retrieveTenantAwareDataSource(), is(sameInstance(this.tenantsDataSource)));
+    }
+
+    @Test
+    public void givenTenantPoolIsSizedFromTenantSettings() {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+
+        final TenantConnectionPool pool = (TenantConnectionPool) this.dataSourcePerTenantService.retrieveTenantAwareDataSource();
+
+        assertThat(pool.getPoolProperties().getInitialSize(), is(3));
+        assertThat(pool.getPoolProperties().getMinIdle(), is(2));
+        assertThat(pool.getPoolProperties().getMaxIdle(), is(8));
+        assertThat(pool.getPoolProperties().getMaxActive(), is(25));
+        assertThat(pool.getPoolProperties().getMaxWait(), is(5000));
+    }
+
+    @Test
+    public void givenConcurrentFirstRequestsForTenantOnlyOnePoolIsCreated() throws Exception {
+
+        final int threads = 16;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<DataSource>> results = new ArrayList<Future<DataSource>>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(new Callable<DataSource>() {
+
+                    @Override
+                    public DataSource call() throws Exception {
+                        ThreadLocalContextUtil.setTenant(TomcatJdbcDataSourcePerTenantServiceTest.this.tenant);
+                        start.await();
+                        return TomcatJdbcDataSourcePerTenantServiceTest.this.dataSourcePerTenantService.retrieveTenantAwareDataSource();
+                    }
+                }));
+            }
+            start.countDown();
+
+            final Set<DataSource> pools = new HashSet<DataSource>();
+            for (final Future<DataSource> result : results) {
+                pools.add(result.get());
+            }
+            assertThat(pools.size(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void givenPoolNeverOpenedItIsNotClosedAsIdle() {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+
+        final TenantConnectionPool pool = (TenantConnectionPool) this.dataSourcePerTenantService.retrieveTenantAwareDataSource();
+
+        assertThat(pool.retireIfIdleSince(System.currentTimeMillis() + 1000, new Runnable() {
+
+            @Override
+            public void run() {
+                throw new AssertionError("a pool that was never opened is not unregistered");
+            }
+        }), is(false));
+        assertThat(pool.getPool() == null, is(true));
+    }
+
+    @Test
+    public void givenIdlePoolIsRetiredNextRequestGetsNewPoolAndFreshTenantDetails() throws Exception {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+
+        final TenantConnectionPool pool = (TenantConnectionPool) this.dataSourcePerTenantService.retrieveTenantAwareDataSource();
+        // opens the pool without connecting, as the tenant database is not
+        // there
+        pool.getPoolProperties().setInitialSize(0);
+        pool.createPool();
+
+        this.dataSourcePerTenantService.closePoolsIdleSince(System.currentTimeMillis() + 1000);
+
+        assertThat(pool.isRetired(), is(true));
+        verify(this.tenantDetailsService).invalidate(this.tenant.getId());
+
+        final TenantConnectionPool replacement = (TenantConnectionPool) this.dataSourcePerTenantService.retrieveTenantAwareDataSource();
+        assertThat(replacement, is(not(sameInstance(pool))));
+        assertThat(replacement.isRetired(), is(false));
+    }
+
+    @Test(expected = TenantConnectionPool.RetiredPoolException.class)
+    public void givenRetiredPoolBorrowingFromItFails() throws Exception {
+        ThreadLocalContextUtil.setTenant(this.tenant);
+
+        final TenantConnectionPool pool = (TenantConnectionPool) this.dataSourcePerTenantService.retrieveTenantAwareDataSource();
+        pool.getPoolProperties().setInitialSize(0);
+        pool.createPool();
+        assertThat(pool.retireIfIdleSince(System.currentTimeMillis() + 1000, new Runnable() {
+
+            @Override
+            public void run() {
+                //
+            }
+        }), is(true));
+
+        pool.getConnection();
+    }
+}
@@ -0,0 +1,220 @@
+package org.mifosplatform.infrastructure.dataqueries.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.core.serialization.ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson;
+import org.mifosplatform.infrastructure.core.serialization.ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.mifosplatform.infrastructure.dataqueries.data.GenericResultsetData;
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetColumnHeader;
+import org.mifosplatform.infrastructure.dataqueries.data.ResultsetDataRow;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GenericResultsetStreamingTest {
+
+    @Mock
+    private TenantAwareRoutingDataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    @Test
+    public void streamedJsonMatchesSerializedGenericResultset() throws IOException {
+
+        final StringWriter json = new StringWriter();
+        writeSample(new GenericResultsetJsonWriter(json, false));
+
+        assertThat(json.toString(), is(new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson().serialize(sampleResultset())));
+    }
+
+    @Test
+    public void prettyPrintedStreamedJsonMatchesSerializedGenericResultset() throws IOException {
+
+        final StringWriter json = new StringWriter();
+        writeSample(new GenericResultsetJsonWriter(json, true));
+
+        assertThat(json.toString(), is(new ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson().serialize(sampleResultset())));
+    }
+
+    @Test
+    public void csvQuotesTextAndLeavesNumbersAndNullsBare() throws IOException {
+
+        final StringWriter csv = new StringWriter();
+        writeSample(new GenericResultsetCsvWriter(csv));
+
+        assertThat(csv.toString(), is("\"id\",\"name\",\"balance\"\n" //
+                + "1,\"Sarah \"\"Sal\"\" Jones\",1250.500000\n" //
+                + "2,,\n"));
+    }
+
+    @Test
+    public void rowsAreReadFromForwardOnlyStreamingCursorAsTypedValues() throws Exception {
+
+        givenSampleQuery();
+
+        final List<Object[]> rows = new ArrayList<Object[]>();
+        new GenericDataServiceImpl(this.dataSource).streamGenericResultSet("select x.* from (sample) x", new GenericResultsetRowHandler() {
+
+            @Override
+            public void columnHeaders(final List<ResultsetColumnHeader> columnHeaders) {
+                assertThat(columnHeaders.get(1).getColumnName(), is("name"));
+                assertThat(columnHeaders.get(2).getColumnType(), is("DECIMAL"));
+            }
+
+            @Override
+            public void row(final Object[] columnValues) {
+                rows.add(columnValues);
+            }
+        });
+
+        verify(this.connection).createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(this.statement).setFetchSize(Integer.MIN_VALUE);
+        verify(this.statement).close();
+        verify(this.connection).close();
+
+        assertThat(rows.size(), is(1));
+        assertThat(Arrays.asList(rows.get(0)), is(Arrays.<Object> asList(Long.valueOf(1), "Sarah", new BigDecimal("1250.500000"))));
+    }
+
+    @Test
+    public void filledResultsetKeepsColumnValuesAsText() throws Exception {
+
+        givenSampleQuery();
+
+        final GenericResultsetData result = new GenericDataServiceImpl(this.dataSource).fillGenericResultSet("select x.* from (sample) x");
+
+        assertThat(result.getColumnHeaders().size(), is(3));
+        assertThat(result.getData().get(0).getRow(), is(Arrays.asList("1", "Sarah", "1250.500000")));
+    }
+
+    @Test
+    public void csvLeavesEveryNumericColumnTypeBare() throws IOException {
+
+        final StringWriter csv = new StringWriter();
+        final GenericResultsetCsvWriter writer = new GenericResultsetCsvWriter(csv);
+        writer.columnHeaders(Arrays.asList(header("a", "TINYINT"), header("b", "MEDIUMINT"), header("c", "FLOAT"),
+                header("d", "INT UNSIGNED"), header("e", "VARCHAR")));
+        writer.row(new Object[] { Integer.valueOf(1), Integer.valueOf(2), Float.valueOf(2.5f), Long.valueOf(4), "5" });
+        writer.finish();
+
+        assertThat(csv.toString(), is("\"a\",\"b\",\"c\",\"d\",\"e\"\n1,2,2.5,4,\"5\"\n"));
+    }
+
+    /**
+     * Each row must reach the underlying writer as soon as it is handed over,
+     * so the size of a report never decides how much the writers hold on to,
+     * as it did when the whole resultset was cached before being written.
+     */
+    @Test
+    public void rowsAreWrittenThroughAsTheyArrive() throws IOException {
+
+        final StringWriter json = new StringWriter();
+        assertRowsWrittenThrough(new GenericResultsetJsonWriter(json, false), json);
+
+        final StringWriter csv = new StringWriter();
+        assertRowsWrittenThrough(new GenericResultsetCsvWriter(csv), csv);
+    }
+
+    private static void assertRowsWrittenThrough(final GenericResultsetRowHandler writer, final StringWriter out) throws IOException {
+
+        writer.columnHeaders(sampleColumnHeaders());
+        for (int i = 0; i < 100; i++) {
+            final Object[] columnValues = new Object[] { Long.valueOf(i), "client " + i, BigDecimal.valueOf(i * 100L + 50, 2) };
+            writer.row(columnValues);
+
+            // the row is not kept around to be written later
+            columnValues[1] = "changed";
+            assertTrue(writer.getClass().getSimpleName() + " row " + i, out.getBuffer().indexOf("\"client " + i + "\"") >= 0);
+        }
+        assertThat(out.getBuffer().indexOf("changed"), is(-1));
+    }
+
+    private void givenSampleQuery() throws SQLException {
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(this.statement);
+        when(this.statement.executeQuery("select x.* from (sample) x")).thenReturn(this.resultSet);
+        when(this.resultSet.getMetaData()).thenReturn(this.metaData);
+        when(this.resultSet.next()).thenReturn(true, false);
+
+        when(this.metaData.getColumnCount()).thenReturn(3);
+        when(this.metaData.getColumnLabel(1)).thenReturn("id");
+        when(this.metaData.getColumnLabel(2)).thenReturn("name");
+        when(this.metaData.getColumnLabel(3)).thenReturn("balance");
+        when(this.metaData.getColumnTypeName(1)).thenReturn("BIGINT");
+        when(this.metaData.getColumnTypeName(2)).thenReturn("VARCHAR");
+        when(this.metaData.getColumnTypeName(3)).thenReturn("DECIMAL");
+        when(this.metaData.getColumnType(1)).thenReturn(Types.BIGINT);
+        when(this.metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+        when(this.metaData.getColumnType(3)).thenReturn(Types.DECIMAL);
+        when(this.metaData.isSigned(1)).thenReturn(true);
+
+        when(this.resultSet.getLong(1)).thenReturn(1L);
+        when(this.resultSet.getString(2)).thenReturn("Sarah");
+        when(this.resultSet.getBigDecimal(3)).thenReturn(new BigDecimal("1250.500000"));
+    }
+
+    private static void writeSample(final GenericResultsetRowHandler writer) throws IOException {
+        writer.columnHeaders(sampleColumnHeaders());
+        writer.row(new Object[] { Long.valueOf(1), "Sarah \"Sal\" Jones", new BigDecimal("1250.500000") });
+        writer.row(new Object[] { Long.valueOf(2), null, null });
+        if (writer instanceof GenericResultsetJsonWriter) {
+            ((GenericResultsetJsonWriter) writer).finish();
+        } else {
+            ((GenericResultsetCsvWriter) writer).finish();
+        }
+    }
+
+    private static GenericResultsetData sampleResultset() {
+        final List<ResultsetDataRow> rows = new ArrayList<ResultsetDataRow>();
+        rows.add(row("1", "Sarah \"Sal\" Jones", "1250.500000"));
+        rows.add(row("2", null, null));
+        return new GenericResultsetData(sampleColumnHeaders(), rows);
+    }
+
+    private static ResultsetDataRow row(final String... values) {
+        final ResultsetDataRow row = new ResultsetDataRow();
+        row.setRow(Arrays.asList(values));
+        return row;
+    }
+
+    private static List<ResultsetColumnHeader> sampleColumnHeaders() {
+        return Arrays.asList(header("id", "BIGINT"), header("name", "VARCHAR"), header("balance", "DECIMAL"));
+    }
+
+    private static ResultsetColumnHeader header(final String name, final String type) {
+        final ResultsetColumnHeader header = new ResultsetColumnHeader();
+        header.setColumnName(name);
+        header.setColumnType(type);
+        return header;
+    }
+}
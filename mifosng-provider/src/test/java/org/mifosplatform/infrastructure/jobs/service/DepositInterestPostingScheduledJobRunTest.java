@@ -0,0 +1,240 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.cache.service.SecondLevelCacheVersionService;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.TenantAwareRoutingDataSource;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.jobs.domain.ScheduledJobRunHistory;
+import org.mifosplatform.infrastructure.jobs.domain.ScheduledJobRunHistoryRepository;
+import org.mifosplatform.infrastructure.security.service.SpringSecurityPlatformSecurityContext;
+import org.mifosplatform.infrastructure.security.service.TenantDetailsService;
+import org.mifosplatform.portfolio.client.service.ClientReadPlatformService;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositAccount;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositAccountRepository;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositInterestPostingFailureRepository;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositInterestPostingRun;
+import org.mifosplatform.portfolio.savingsdepositaccount.domain.DepositInterestPostingRunRepository;
+import org.mifosplatform.portfolio.savingsdepositaccount.service.DepositAccountAssembler;
+import org.mifosplatform.portfolio.savingsdepositaccount.service.DepositAccountReadPlatformServiceImpl;
+import org.mifosplatform.portfolio.savingsdepositaccount.service.DepositInterestPostingJobServiceImpl;
+import org.mifosplatform.portfolio.savingsdepositaccount.service.DepositInterestPostingScheduledJob;
+import org.mifosplatform.portfolio.savingsdepositproduct.service.DepositProductReadPlatformService;
+import org.mifosplatform.useradministration.domain.AppUser;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+/**
+ * Runs the deposit interest posting job the way the scheduler does: on a job
+ * worker thread that has the tenant set but no authenticated user.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DepositInterestPostingScheduledJobRunTest {
+
+    private final MifosPlatformTenant tenant = new MifosPlatformTenant(Long.valueOf(1), "default", "mifostenant-default", "localhost",
+            "3306", "root", "mysql");
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+    @Mock
+    private ScheduledJobStore jobStore;
+    @Mock
+    private ScheduledJobRunHistoryRepository runHistoryRepository;
+    @Mock
+    private SecondLevelCacheVersionService secondLevelCacheVersionService;
+    @Mock
+    private TenantAwareRoutingDataSource dataSource;
+    @Mock
+    private DepositAccountRepository depositAccountRepository;
+    @Mock
+    private DepositAccountAssembler depositAccountAssembler;
+    @Mock
+    private DepositInterestPostingRunRepository runRepository;
+    @Mock
+    private DepositInterestPostingFailureRepository failureRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private DepositAccount firstAccount;
+    @Mock
+    private DepositAccount secondAccount;
+    @Mock
+    private Connection connection;
+
+    private final AtomicReference<DepositInterestPostingRun> savedRun = new AtomicReference<DepositInterestPostingRun>();
+
+    private DepositInterestPostingJobServiceImpl depositInterestPostingJobService;
+    private JobSchedulerServiceImpl scheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        System.setProperty("mifos.jobs.enabled", "false");
+
+        givenTwoActiveDepositAccounts();
+        when(this.depositAccountRepository.findOne(Long.valueOf(1))).thenReturn(this.firstAccount);
+        when(this.depositAccountRepository.findOne(Long.valueOf(2))).thenReturn(this.secondAccount);
+        when(this.transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(mock(TransactionStatus.class));
+        final Answer<DepositInterestPostingRun> saveRun = new Answer<DepositInterestPostingRun>() {
+
+            @Override
+            public DepositInterestPostingRun answer(final InvocationOnMock invocation) throws Exception {
+                final DepositInterestPostingRun run = (DepositInterestPostingRun) invocation.getArguments()[0];
+                if (run.getId() == null) {
+                    final Method setId = run.getClass().getSuperclass().getDeclaredMethod("setId", Serializable.class);
+                    setId.setAccessible(true);
+                    setId.invoke(run, Long.valueOf(1));
+                }
+                DepositInterestPostingScheduledJobRunTest.this.savedRun.set(run);
+                return run;
+            }
+        };
+        when(this.runRepository.save(any(DepositInterestPostingRun.class))).thenAnswer(saveRun);
+        when(this.runRepository.saveAndFlush(any(DepositInterestPostingRun.class))).thenAnswer(saveRun);
+        when(this.runRepository.findOne(Long.valueOf(1))).thenAnswer(new Answer<DepositInterestPostingRun>() {
+
+            @Override
+            public DepositInterestPostingRun answer(@SuppressWarnings("unused") final InvocationOnMock invocation) {
+                return DepositInterestPostingScheduledJobRunTest.this.savedRun.get();
+            }
+        });
+        when(this.runHistoryRepository.save(any(ScheduledJobRunHistory.class))).thenAnswer(new Answer<ScheduledJobRunHistory>() {
+
+            @Override
+            public ScheduledJobRunHistory answer(final InvocationOnMock invocation) {
+                return (ScheduledJobRunHistory) invocation.getArguments()[0];
+            }
+        });
+        when(this.jobStore.retrieveJob(Long.valueOf(1))).thenReturn(
+                new ScheduledJobDetail(Long.valueOf(1), "DEPOSIT_INTEREST_POSTING", "0 0 1 * * *", null));
+        when(this.jobStore.tryLock(eq(Long.valueOf(1)), anyString(), anyLong())).thenReturn(true);
+        when(this.jobStore.renewLock(eq(Long.valueOf(1)), anyString(), anyLong())).thenReturn(true);
+
+        final DepositAccountReadPlatformServiceImpl depositAccountReadPlatformService = new DepositAccountReadPlatformServiceImpl(
+                new SpringSecurityPlatformSecurityContext(), this.dataSource, mock(DepositProductReadPlatformService.class),
+                mock(ClientReadPlatformService.class));
+        this.depositInterestPostingJobService = new DepositInterestPostingJobServiceImpl(new SpringSecurityPlatformSecurityContext(),
+                depositAccountReadPlatformService, this.depositAccountRepository, this.depositAccountAssembler, this.runRepository,
+                this.failureRepository, this.transactionManager, this.dataSource);
+        this.scheduler = new JobSchedulerServiceImpl(this.tenantDetailsService, this.jobStore, this.runHistoryRepository,
+                this.secondLevelCacheVersionService,
+                Arrays.<ScheduledJob> asList(new DepositInterestPostingScheduledJob(this.depositInterestPostingJobService)));
+        this.scheduler.afterPropertiesSet();
+
+        SecurityContextHolder.clearContext();
+        ThreadLocalContextUtil.setTenant(this.tenant);
+    }
+
+    @After
+    public void tearDown() {
+        this.scheduler.destroy();
+        this.depositInterestPostingJobService.destroy();
+        ThreadLocalContextUtil.clearTenant();
+        System.clearProperty("mifos.jobs.enabled");
+    }
+
+    @Test
+    public void jobPostsInterestToEveryAccountWithoutAnAuthenticatedUser() {
+
+        this.scheduler.executeJob(Long.valueOf(1));
+
+        verify(this.jobStore, timeout(5000)).unlock(eq(Long.valueOf(1)), anyString(), (Date) isNull());
+        verify(this.depositAccountAssembler).postInterest(this.firstAccount);
+        verify(this.depositAccountAssembler).postInterest(this.secondAccount);
+        assertThat(this.savedRun.get().isCompleted(), is(true));
+        assertThat(this.savedRun.get().getProcessedCount(), is(Integer.valueOf(2)));
+    }
+
+    @Test
+    public void givenRunIsClaimedElsewhereJobDoesNotPostInterest() throws Exception {
+
+        givenRunIsClaimedElsewhere();
+
+        this.scheduler.executeJob(Long.valueOf(1));
+
+        verify(this.jobStore, timeout(5000)).unlock(eq(Long.valueOf(1)), anyString(), (Date) isNull());
+        verify(this.depositAccountAssembler, never()).postInterest(any(DepositAccount.class));
+        assertThat(this.savedRun.get().isInProgress(), is(true));
+    }
+
+    @Test
+    public void givenRunIsClaimedElsewhereRequestReturnsItWithoutPosting() throws Exception {
+
+        givenRunIsClaimedElsewhere();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(mock(AppUser.class), null));
+        try {
+            this.depositInterestPostingJobService.startOrResumeRun();
+
+            // resuming the run is the first thing its claimant does
+            verify(this.runRepository, never()).save(any(DepositInterestPostingRun.class));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void givenRunIsClaimedElsewhere() throws Exception {
+        final PreparedStatement claimStatement = mock(PreparedStatement.class);
+        when(this.connection.prepareStatement(contains("lock_owner is null or lock_expiry_time < now()"))).thenReturn(claimStatement);
+    }
+
+    private void givenTwoActiveDepositAccounts() throws Exception {
+
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+
+        final PreparedStatement runUpdate = mock(PreparedStatement.class);
+        when(runUpdate.executeUpdate()).thenReturn(1);
+        when(this.connection.prepareStatement(startsWith("update m_deposit_interest_posting_run"))).thenReturn(runUpdate);
+
+        final ResultSetMetaData countMetaData = mock(ResultSetMetaData.class);
+        when(countMetaData.getColumnCount()).thenReturn(1);
+        final ResultSet count = mock(ResultSet.class);
+        when(count.next()).thenReturn(true, false);
+        when(count.getMetaData()).thenReturn(countMetaData);
+        when(count.getInt(1)).thenReturn(2);
+        final PreparedStatement countStatement = mock(PreparedStatement.class);
+        when(countStatement.executeQuery()).thenReturn(count);
+        when(this.connection.prepareStatement(startsWith("select count(*) from m_deposit_account"))).thenReturn(countStatement);
+
+        final ResultSet firstChunk = mock(ResultSet.class);
+        when(firstChunk.next()).thenReturn(true, true, false);
+        when(firstChunk.getLong("id")).thenReturn(1L, 2L);
+        final ResultSet lastChunk = mock(ResultSet.class);
+        final PreparedStatement lookupStatement = mock(PreparedStatement.class);
+        when(lookupStatement.executeQuery()).thenReturn(firstChunk, lastChunk);
+        when(this.connection.prepareStatement(contains("order by da.id"))).thenReturn(lookupStatement);
+    }
+}
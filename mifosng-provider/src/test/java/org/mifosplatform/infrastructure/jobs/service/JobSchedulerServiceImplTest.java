@@ -0,0 +1,217 @@
+package org.mifosplatform.infrastructure.jobs.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.cache.service.SecondLevelCacheVersionService;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mifosplatform.infrastructure.core.service.ThreadLocalContextUtil;
+import org.mifosplatform.infrastructure.jobs.domain.JobRunStatus;
+import org.mifosplatform.infrastructure.jobs.domain.ScheduledJobRunHistory;
+import org.mifosplatform.infrastructure.jobs.domain.ScheduledJobRunHistoryRepository;
+import org.mifosplatform.infrastructure.jobs.exception.ScheduledJobAlreadyRunningException;
+import org.mifosplatform.infrastructure.jobs.exception.ScheduledJobNotFoundException;
+import org.mifosplatform.infrastructure.security.service.TenantDetailsService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JobSchedulerServiceImplTest {
+
+    private final MifosPlatformTenant tenant = new MifosPlatformTenant(Long.valueOf(1), "default", "mifostenant-default", "localhost",
+            "3306", "root", "mysql");
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    @Mock
+    private ScheduledJobStore jobStore;
+
+    @Mock
+    private ScheduledJobRunHistoryRepository runHistoryRepository;
+    @Mock
+    private SecondLevelCacheVersionService secondLevelCacheVersionService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final BlockingJob job = new BlockingJob("BLOCKING", this.release);
+    private JobSchedulerServiceImpl scheduler;
+
+    @Before
+    public void setUp() {
+        System.setProperty("mifos.jobs.enabled", "false");
+        System.setProperty("mifos.jobs.lockLeaseSeconds", "3");
+        this.scheduler = new JobSchedulerServiceImpl(this.tenantDetailsService, this.jobStore, this.runHistoryRepository,
+                this.secondLevelCacheVersionService, Arrays.<ScheduledJob> asList(this.job));
+        this.scheduler.afterPropertiesSet();
+
+        when(this.runHistoryRepository.save(any(ScheduledJobRunHistory.class))).thenAnswer(new Answer<ScheduledJobRunHistory>() {
+
+            @Override
+            public ScheduledJobRunHistory answer(final InvocationOnMock invocation) {
+                return (ScheduledJobRunHistory) invocation.getArguments()[0];
+            }
+        });
+        when(this.jobStore.renewLock(any(Long.class), anyString(), anyLong())).thenReturn(true);
+        when(this.jobStore.retrieveJob(Long.valueOf(1))).thenReturn(new ScheduledJobDetail(Long.valueOf(1), "BLOCKING", "0 0 1 * * *", null));
+        when(this.jobStore.retrieveJob(Long.valueOf(2))).thenReturn(new ScheduledJobDetail(Long.valueOf(2), "BLOCKING", "0 0 1 * * *", null));
+
+        ThreadLocalContextUtil.setTenant(this.tenant);
+    }
+
+    @After
+    public void tearDown() {
+        this.release.countDown();
+        this.scheduler.destroy();
+        ThreadLocalContextUtil.clearTenant();
+        System.clearProperty("mifos.jobs.enabled");
+        System.clearProperty("mifos.jobs.lockLeaseSeconds");
+    }
+
+    @Test
+    public void givenJobIsLockedManualRunRunsItForTenantAndReleasesLockWithoutRescheduling() throws Exception {
+
+        when(this.jobStore.tryLock(eq(Long.valueOf(1)), anyString(), anyLong())).thenReturn(true);
+
+        this.scheduler.executeJob(Long.valueOf(1));
+        this.release.countDown();
+
+        assertThat(this.job.started.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(this.job.tenantDuringRun, is(this.tenant));
+        verify(this.jobStore, timeout(5000)).unlock(eq(Long.valueOf(1)), anyString(), (Date) isNull());
+    }
+
+    @Test
+    public void givenJobRunsLongerThanRenewalIntervalItsLockIsRenewedUntilItFinishes() throws Exception {
+
+        when(this.jobStore.tryLock(eq(Long.valueOf(1)), anyString(), anyLong())).thenReturn(true);
+
+        this.scheduler.executeJob(Long.valueOf(1));
+        assertThat(this.job.started.await(5, TimeUnit.SECONDS), is(true));
+
+        verify(this.jobStore, timeout(3000)).renewLock(eq(Long.valueOf(1)), anyString(), eq(3L));
+        this.release.countDown();
+        verify(this.jobStore, timeout(5000)).unlock(eq(Long.valueOf(1)), anyString(), (Date) isNull());
+    }
+
+    @Test
+    public void givenLockIsLostBeforeWorkerStartsJobIsNotRun() throws Exception {
+
+        when(this.jobStore.tryLock(eq(Long.valueOf(1)), anyString(), anyLong())).thenReturn(true);
+        when(this.jobStore.renewLock(eq(Long.valueOf(1)), anyString(), anyLong())).thenReturn(false);
+
+        this.scheduler.executeJob(Long.valueOf(1));
+
+        assertThat(this.job.started.await(1, TimeUnit.SECONDS), is(false));
+        verify(this.jobStore, never()).unlock(eq(Long.valueOf(1)), anyString(), any(Date.class));
+    }
+
+    @Test
+    public void givenLockIsLostWhileRunningJobIsInterruptedAndRecordedAsFailed() throws Exception {
+
+        when(this.jobStore.tryLock(eq(Long.valueOf(1)), anyString(), anyLong())).thenReturn(true);
+        when(this.jobStore.renewLock(eq(Long.valueOf(1)), anyString(), anyLong())).thenReturn(true, false);
+
+        this.scheduler.executeJob(Long.valueOf(1));
+        assertThat(this.job.started.await(5, TimeUnit.SECONDS), is(true));
+
+        assertThat(this.job.interrupted.await(5, TimeUnit.SECONDS), is(true));
+        final ArgumentCaptor<ScheduledJobRunHistory> history = ArgumentCaptor.forClass(ScheduledJobRunHistory.class);
+        verify(this.runHistoryRepository, timeout(5000).times(2)).save(history.capture());
+        final Field status = ScheduledJobRunHistory.class.getDeclaredField("status");
+        status.setAccessible(true);
+        assertThat(status.get(history.getValue()), is((Object) JobRunStatus.FAILED.getValue()));
+        verify(this.jobStore, never()).unlock(eq(Long.valueOf(1)), anyString(), any(Date.class));
+    }
+
+    @Test
+    public void givenTenantIsRunningAsManyJobsAsAllowedAnotherJobIsRejectedWithoutTakingItsLock() throws Exception {
+
+        when(this.jobStore.tryLock(any(Long.class), anyString(), anyLong())).thenReturn(true);
+
+        this.scheduler.executeJob(Long.valueOf(1));
+        assertThat(this.job.started.await(5, TimeUnit.SECONDS), is(true));
+
+        try {
+            this.scheduler.executeJob(Long.valueOf(2));
+            fail("expected tenant concurrency limit to reject the second job");
+        } catch (final ScheduledJobAlreadyRunningException e) {
+            verify(this.jobStore, never()).tryLock(eq(Long.valueOf(2)), anyString(), anyLong());
+        }
+    }
+
+    @Test
+    public void givenAnotherNodeHoldsTheLockJobIsRejectedAndTenantPermitIsReturned() {
+
+        when(this.jobStore.tryLock(eq(Long.valueOf(1)), anyString(), anyLong())).thenReturn(false);
+        when(this.jobStore.tryLock(eq(Long.valueOf(2)), anyString(), anyLong())).thenReturn(true);
+
+        try {
+            this.scheduler.executeJob(Long.valueOf(1));
+            fail("expected job locked by another node to be rejected");
+        } catch (final ScheduledJobAlreadyRunningException e) {
+            // permit must have been released for the next job to start
+            this.scheduler.executeJob(Long.valueOf(2));
+        }
+    }
+
+    @Test(expected = ScheduledJobNotFoundException.class)
+    public void givenJobHasNoDeployedImplementationItIsNotFound() {
+        when(this.jobStore.retrieveJob(Long.valueOf(3))).thenReturn(new ScheduledJobDetail(Long.valueOf(3), "UNKNOWN", "0 0 1 * * *", null));
+        this.scheduler.executeJob(Long.valueOf(3));
+    }
+
+    private static final class BlockingJob implements ScheduledJob {
+
+        private final String name;
+        private final CountDownLatch release;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private volatile MifosPlatformTenant tenantDuringRun;
+
+        BlockingJob(final String name, final CountDownLatch release) {
+            this.name = name;
+            this.release = release;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public long execute() {
+            this.tenantDuringRun = ThreadLocalContextUtil.getTenant();
+            this.started.countDown();
+            try {
+                this.release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                this.interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return 10;
+        }
+    }
+}
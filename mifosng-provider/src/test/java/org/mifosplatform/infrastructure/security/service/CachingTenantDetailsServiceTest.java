@@ -0,0 +1,54 @@
+package org.mifosplatform.infrastructure.security.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mifosplatform.infrastructure.core.domain.MifosPlatformTenant;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingTenantDetailsServiceTest {
+
+    private final MifosPlatformTenant tenant = new MifosPlatformTenant(Long.valueOf(1), "default", "mifostenant-default", "localhost",
+            "3306", "root", "mysql");
+
+    @Mock
+    private JdbcTenantDetailsService delegate;
+
+    private CachingTenantDetailsService tenantDetailsService;
+
+    @Before
+    public void setUp() {
+        when(this.delegate.loadTenantById("default")).thenReturn(this.tenant);
+        this.tenantDetailsService = new CachingTenantDetailsService(this.delegate);
+    }
+
+    @Test
+    public void tenantsAreLoadedOnceAndCounted() {
+
+        this.tenantDetailsService.loadTenantById("default");
+        this.tenantDetailsService.loadTenantById("default");
+
+        verify(this.delegate, times(1)).loadTenantById("default");
+        assertThat(this.tenantDetailsService.getMissCount(), is(1L));
+        assertThat(this.tenantDetailsService.getHitCount(), is(1L));
+        assertThat(this.tenantDetailsService.getSize(), is(1));
+    }
+
+    @Test
+    public void invalidatedTenantsAreLoadedAgain() {
+
+        this.tenantDetailsService.loadTenantById("default");
+        this.tenantDetailsService.invalidate(this.tenant.getId());
+        this.tenantDetailsService.loadTenantById("default");
+
+        verify(this.delegate, times(2)).loadTenantById("default");
+    }
+}
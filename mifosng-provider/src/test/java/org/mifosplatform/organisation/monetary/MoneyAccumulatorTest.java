@@ -0,0 +1,70 @@
+package org.mifosplatform.organisation.monetary;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.organisation.monetary.domain.Money;
+import org.mifosplatform.organisation.monetary.domain.MoneyAccumulator;
+
+public class MoneyAccumulatorTest {
+
+    private final MonetaryCurrency usDollars = new MonetaryCurrency("USD", 2);
+
+    @Test
+    public void givenRandomAmountsAccumulatorMatchesChainOfMoneyOperations() {
+
+        final Random random = new Random(7);
+        Money expected = Money.zero(this.usDollars);
+        final MoneyAccumulator actual = MoneyAccumulator.zero(this.usDollars);
+
+        for (int i = 0; i < 10000; i++) {
+            // amounts with up to six decimal places as stored on entities
+            final BigDecimal amount = BigDecimal.valueOf(random.nextInt(2000000) - 1000000, random.nextInt(7));
+            switch (random.nextInt(3)) {
+                case 0:
+                    expected = expected.plus(amount);
+                    actual.plus(amount);
+                break;
+                case 1:
+                    expected = expected.plus(Money.of(this.usDollars, amount));
+                    actual.plus(Money.of(this.usDollars, amount));
+                break;
+                default:
+                    expected = expected.minus(Money.of(this.usDollars, amount));
+                    actual.minus(Money.of(this.usDollars, amount));
+                break;
+            }
+            assertThat(actual.toString(), is(expected.toString()));
+        }
+
+        assertThat(actual.toMoney().isEqualTo(expected), is(true));
+    }
+
+    @Test
+    public void givenHalfWayAmountTotalIsRoundedHalfEvenLikeMoney() {
+
+        final BigDecimal halfCent = new BigDecimal("0.005");
+
+        final MoneyAccumulator accumulator = MoneyAccumulator.zero(this.usDollars).plus(Money.of(this.usDollars, new BigDecimal("0.01")));
+        accumulator.plus(halfCent);
+
+        assertThat(accumulator.getAmount(), is(Money.of(this.usDollars, new BigDecimal("0.01")).plus(halfCent).getAmount()));
+        assertThat(accumulator.getAmount(), is(new BigDecimal("0.02")));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void givenTotalBeyondLongRangeAccumulatorFailsRatherThanOverflowing() {
+        final Money large = Money.of(this.usDollars, BigDecimal.valueOf(Long.MAX_VALUE / 100));
+        MoneyAccumulator.of(large).plus(large);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void givenDifferentCurrencyAccumulatorRejectsAmount() {
+        MoneyAccumulator.zero(this.usDollars).plus(Money.of(new MonetaryCurrency("EUR", 2), BigDecimal.ONE));
+    }
+}
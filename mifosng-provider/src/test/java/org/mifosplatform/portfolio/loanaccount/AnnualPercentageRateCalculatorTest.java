@@ -0,0 +1,52 @@
+package org.mifosplatform.portfolio.loanaccount;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.AnnualPercentageRateCalculator;
+
+public class AnnualPercentageRateCalculatorTest {
+
+    private final LocalDate disbursementDate = new LocalDate(2013, 1, 2);
+
+    @Test
+    public void singleRepaymentAfterOneYearWithoutFeesGivesSimpleRate() {
+        final AnnualPercentageRateCalculator calculator = new AnnualPercentageRateCalculator(this.disbursementDate,
+                BigDecimal.valueOf(1000), BigDecimal.ZERO);
+        calculator.repaymentDue(this.disbursementDate.plusDays(365), BigDecimal.valueOf(1100));
+
+        assertThat(calculator.calculate(), is(new BigDecimal("10.00")));
+    }
+
+    @Test
+    public void chargesDueAtDisbursementRaiseTheRate() {
+        final AnnualPercentageRateCalculator calculator = new AnnualPercentageRateCalculator(this.disbursementDate,
+                BigDecimal.valueOf(1000), BigDecimal.valueOf(50));
+        calculator.repaymentDue(this.disbursementDate.plusDays(365), BigDecimal.valueOf(1100));
+
+        assertThat(calculator.calculate(), is(new BigDecimal("15.79")));
+    }
+
+    @Test
+    public void twoRepaymentsAreDiscountedFromTheirDueDates() {
+        final AnnualPercentageRateCalculator calculator = new AnnualPercentageRateCalculator(this.disbursementDate,
+                BigDecimal.valueOf(1000), BigDecimal.ZERO);
+        calculator.repaymentDue(this.disbursementDate.plusDays(365), BigDecimal.valueOf(576.19));
+        calculator.repaymentDue(this.disbursementDate.plusDays(730), BigDecimal.valueOf(576.19));
+
+        assertThat(calculator.calculate(), is(new BigDecimal("10.00")));
+    }
+
+    @Test
+    public void noRepaymentsGivesNoRate() {
+        final AnnualPercentageRateCalculator calculator = new AnnualPercentageRateCalculator(this.disbursementDate,
+                BigDecimal.valueOf(1000), BigDecimal.ZERO);
+
+        assertThat(calculator.calculate(), is(nullValue()));
+    }
+}
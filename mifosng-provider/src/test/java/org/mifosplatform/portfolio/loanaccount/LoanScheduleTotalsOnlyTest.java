@@ -0,0 +1,86 @@
+package org.mifosplatform.portfolio.loanaccount;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.joda.time.LocalDate;
+import org.junit.Test;
+import org.mifosplatform.organisation.monetary.domain.ApplicationCurrency;
+import org.mifosplatform.organisation.monetary.domain.MonetaryCurrency;
+import org.mifosplatform.portfolio.loanaccount.domain.LoanCharge;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.data.LoanSchedulePeriodData;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.DefaultLoanScheduleGeneratorFactory;
+import org.mifosplatform.portfolio.loanaccount.loanschedule.domain.LoanScheduleGenerator;
+import org.mifosplatform.portfolio.loanproduct.domain.AmortizationMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.InterestMethod;
+import org.mifosplatform.portfolio.loanproduct.domain.LoanProductRelatedDetail;
+import org.mifosplatform.portfolio.loanproduct.domain.PeriodFrequencyType;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+public class LoanScheduleTotalsOnlyTest {
+
+    private final ApplicationCurrency applicationCurrency = new ApplicationCurrency("USD", "US Dollar", 2, "currency.USD", "$");
+    private final MonetaryCurrency currency = new MonetaryCurrencyBuilder().withCode("USD").withDigitsAfterDecimal(2).build();
+    private final LocalDate disbursementDate = new LocalDate(2013, 1, 2);
+    private final Set<LoanCharge> loanCharges = new HashSet<LoanCharge>();
+    private final Integer numberOfRepayments = Integer.valueOf(12);
+
+    @Test
+    public void totalsOfDecliningBalanceEqualInstallmentsScheduleMatchFullSchedule() {
+        assertTotalsOnlyMatchFullSchedule(InterestMethod.DECLINING_BALANCE, AmortizationMethod.EQUAL_INSTALLMENTS);
+    }
+
+    @Test
+    public void totalsOfDecliningBalanceEqualPrincipalScheduleMatchFullSchedule() {
+        assertTotalsOnlyMatchFullSchedule(InterestMethod.DECLINING_BALANCE, AmortizationMethod.EQUAL_PRINCIPAL);
+    }
+
+    @Test
+    public void totalsOfFlatScheduleMatchFullSchedule() {
+        assertTotalsOnlyMatchFullSchedule(InterestMethod.FLAT, AmortizationMethod.EQUAL_INSTALLMENTS);
+    }
+
+    private void assertTotalsOnlyMatchFullSchedule(final InterestMethod interestMethod, final AmortizationMethod amortizationMethod) {
+
+        final LoanScheduleGenerator generator = new DefaultLoanScheduleGeneratorFactory().create(interestMethod);
+        final LoanProductRelatedDetail loanScheduleInfo = new LoanProductRelatedDetail(this.currency, BigDecimal.valueOf(100000),
+                BigDecimal.valueOf(2), PeriodFrequencyType.MONTHS, BigDecimal.valueOf(24), interestMethod,
+                InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD, Integer.valueOf(1), PeriodFrequencyType.MONTHS,
+                this.numberOfRepayments, amortizationMethod, BigDecimal.ZERO);
+
+        final LoanScheduleData fullSchedule = generator.generate(this.applicationCurrency, loanScheduleInfo, this.numberOfRepayments,
+                PeriodFrequencyType.MONTHS, this.disbursementDate, null, null, this.loanCharges, true);
+        final LoanScheduleData totalsOnly = generator.generate(this.applicationCurrency, loanScheduleInfo, this.numberOfRepayments,
+                PeriodFrequencyType.MONTHS, this.disbursementDate, null, null, this.loanCharges, false);
+
+        assertThat(totalsOnly.getPeriods(), is(nullValue()));
+
+        final Gson gson = new Gson();
+        final JsonObject fullQuote = gson.toJsonTree(fullSchedule.toQuote(this.numberOfRepayments, BigDecimal.valueOf(24)))
+                .getAsJsonObject();
+        final JsonObject totalsOnlyQuote = gson.toJsonTree(totalsOnly.toQuote(this.numberOfRepayments, BigDecimal.valueOf(24)))
+                .getAsJsonObject();
+
+        final BigDecimal installmentAmount = totalsOnlyQuote.remove("installmentAmount").getAsBigDecimal();
+        final BigDecimal apr = totalsOnlyQuote.remove("apr").getAsBigDecimal();
+        assertThat(totalsOnlyQuote, is(fullQuote));
+
+        final Iterator<LoanSchedulePeriodData> periods = fullSchedule.getPeriods().iterator();
+        periods.next();
+        final LoanSchedulePeriodData firstRepayment = periods.next();
+        assertThat(installmentAmount, is(firstRepayment.principalDue().add(firstRepayment.interestDue())));
+
+        // compounding monthly repayments makes the effective rate exceed the nominal rate
+        assertThat(apr.compareTo(BigDecimal.valueOf(24)) > 0, is(true));
+    }
+}